@@ -0,0 +1,20 @@
+#!/usr/bin/env sh
+# Mide el rendimiento y la latencia de los movimientos de stock concurrentes contra una instancia en marcha.
+# Ejecutar una vez con inventory.stock.group-commit.enabled=false y otra con true, y comparar.
+# Uso: ./run.sh <ids de producto separados por comas> [clientes] [segundos]
+set -e
+
+PRODUCTS=${1:?"indique los IDs de producto, p. ej. 1,2,3,4"}
+CLIENTS=${2:-64}
+DURATION=${3:-30}
+URL=${URL:-http://localhost:8080}
+
+DIR=$(dirname "$0")
+
+echo "== Compras concurrentes ($CLIENTS clientes, ${DURATION}s, productos $PRODUCTS)"
+java "$DIR/../http/StockLoadTest.java" url="$URL" path=/api/v1/stock/purchase \
+    products="$PRODUCTS" clients="$CLIENTS" seconds="$DURATION"
+
+echo "== Métricas de la confirmación agrupada"
+curl -s "$URL/actuator/metrics/inventory.stock.groupcommit.batch.size" || true
+echo
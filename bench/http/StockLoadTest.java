@@ -0,0 +1,131 @@
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Generador de carga HTTP de bucle cerrado para la API de inventario.
+ * <p>
+ * Cada cliente envía una petición, espera la respuesta y envía la siguiente. Al final muestra el rendimiento
+ * y los percentiles de latencia. Se ejecuta sin compilar: {@code java StockLoadTest.java clave=valor ...}
+ * </p>
+ * Parámetros:
+ * <ul>
+ *     <li>{@code url}: URL base de la API (por defecto {@code http://localhost:8080}).</li>
+ *     <li>{@code path}: ruta de la petición (por defecto {@code /api/v1/stock/purchase}).</li>
+ *     <li>{@code method}: {@code POST} envía un movimiento de stock, {@code GET} solo consulta.</li>
+ *     <li>{@code products}: IDs de producto separados por comas; los clientes los recorren por turnos.</li>
+ *     <li>{@code clients}: número de clientes concurrentes (por defecto 32).</li>
+ *     <li>{@code seconds}: duración de la medición (por defecto 30).</li>
+ *     <li>{@code warmup}: segundos de calentamiento que no se miden (por defecto 5).</li>
+ * </ul>
+ */
+public class StockLoadTest {
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            options.put(arg.substring(0, separator), arg.substring(separator + 1));
+        }
+        String url = options.getOrDefault("url", "http://localhost:8080");
+        String path = options.getOrDefault("path", "/api/v1/stock/purchase");
+        String method = options.getOrDefault("method", "POST").toUpperCase();
+        long[] products = Arrays.stream(options.getOrDefault("products", "1").split(","))
+                .mapToLong(id -> Long.parseLong(id.trim())).toArray();
+        int clients = Integer.parseInt(options.getOrDefault("clients", "32"));
+        long seconds = Long.parseLong(options.getOrDefault("seconds", "30"));
+        long warmup = Long.parseLong(options.getOrDefault("warmup", "5"));
+
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        URI uri = URI.create(url + path);
+
+        long start = System.nanoTime();
+        long measureFrom = start + Duration.ofSeconds(warmup).toNanos();
+        long end = measureFrom + Duration.ofSeconds(seconds).toNanos();
+        // Histograma de latencias en microsegundos, hasta 60 s.
+        AtomicLong[] histogram = new AtomicLong[60_000_001 / 100];
+        for (int i = 0; i < histogram.length; i++) {
+            histogram[i] = new AtomicLong();
+        }
+        AtomicLong ok = new AtomicLong();
+        AtomicLong maxMicros = new AtomicLong();
+        Map<String, AtomicLong> errors = new ConcurrentHashMap<>();
+        AtomicInteger nextProduct = new AtomicInteger();
+        CountDownLatch done = new CountDownLatch(clients);
+
+        for (int c = 0; c < clients; c++) {
+            Thread worker = new Thread(() -> {
+                try {
+                    while (System.nanoTime() < end) {
+                        long product = products[Math.floorMod(nextProduct.getAndIncrement(), products.length)];
+                        HttpRequest.Builder request = HttpRequest.newBuilder(uri).timeout(Duration.ofSeconds(30));
+                        if ("GET".equals(method)) {
+                            request.GET();
+                        } else {
+                            request.header("Content-Type", "application/json")
+                                    .POST(HttpRequest.BodyPublishers.ofString(
+                                            "{\"idProduct\":" + product + ",\"amount\":1,\"notes\":\"bench\"}"));
+                        }
+                        long sent = System.nanoTime();
+                        String outcome;
+                        try {
+                            HttpResponse<Void> response = client.send(request.build(), HttpResponse.BodyHandlers.discarding());
+                            outcome = response.statusCode() / 100 == 2 ? null : "HTTP " + response.statusCode();
+                        } catch (Exception e) {
+                            outcome = e.getClass().getSimpleName();
+                        }
+                        long received = System.nanoTime();
+                        if (sent < measureFrom || received > end) {
+                            continue;
+                        }
+                        if (outcome != null) {
+                            errors.computeIfAbsent(outcome, key -> new AtomicLong()).incrementAndGet();
+                            continue;
+                        }
+                        long micros = (received - sent) / 1_000;
+                        histogram[(int) Math.min(histogram.length - 1, micros / 100)].incrementAndGet();
+                        maxMicros.accumulateAndGet(micros, Math::max);
+                        ok.incrementAndGet();
+                    }
+                } finally {
+                    done.countDown();
+                }
+            }, "load-" + c);
+            worker.setDaemon(true);
+            worker.start();
+        }
+        done.await();
+
+        long total = ok.get();
+        System.out.printf("peticiones correctas: %d, errores: %s%n", total, errors);
+        System.out.printf("rendimiento: %.1f peticiones/s%n", total / (double) seconds);
+        System.out.printf("latencia p50: %.1f ms, p99: %.1f ms, p99.9: %.1f ms, max: %.1f ms%n",
+                percentile(histogram, total, 0.50), percentile(histogram, total, 0.99),
+                percentile(histogram, total, 0.999), maxMicros.get() / 1_000.0);
+    }
+
+    private static double percentile(AtomicLong[] histogram, long total, double quantile) {
+        long target = (long) Math.ceil(total * quantile);
+        long seen = 0;
+        for (int i = 0; i < histogram.length; i++) {
+            seen += histogram[i].get();
+            if (seen >= target && target > 0) {
+                // Límite superior de la casilla de 100 µs.
+                return (i + 1) / 10.0;
+            }
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,96 @@
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Destino HTTP de prueba para la bandeja de salida ({@code inventory.outbox.sink=http}).
+ * <p>
+ * Acepta los lotes que envía el repetidor en {@code POST /events}, cuenta los eventos recibidos y muestra cada
+ * segundo el total y el ritmo. Se ejecuta sin compilar: {@code java OutboxStubServer.java clave=valor ...}
+ * </p>
+ * Parámetros:
+ * <ul>
+ *     <li>{@code port}: puerto de escucha (por defecto 9090).</li>
+ *     <li>{@code fail}: porcentaje de lotes que se rechazan con 503 para probar los reintentos (por defecto 0).</li>
+ *     <li>{@code delayMs}: espera antes de responder a cada lote (por defecto 0).</li>
+ * </ul>
+ */
+public class OutboxStubServer {
+
+    private static final Pattern EVENT_ID = Pattern.compile("\\{\"id\":(\\d+)");
+
+    public static void main(String[] args) throws IOException {
+        Map<String, String> params = new HashMap<>();
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (eq > 0) {
+                params.put(arg.substring(0, eq), arg.substring(eq + 1));
+            }
+        }
+        int port = Integer.parseInt(params.getOrDefault("port", "9090"));
+        int failPercent = Integer.parseInt(params.getOrDefault("fail", "0"));
+        long delayMs = Long.parseLong(params.getOrDefault("delayMs", "0"));
+
+        AtomicLong batches = new AtomicLong();
+        AtomicLong events = new AtomicLong();
+        AtomicLong rejected = new AtomicLong();
+        AtomicLong duplicates = new AtomicLong();
+        AtomicLong maxId = new AtomicLong();
+
+        HttpServer server = HttpServer.create(new InetSocketAddress(port), 0);
+        server.setExecutor(Executors.newFixedThreadPool(4));
+        server.createContext("/events", exchange -> {
+            try (exchange; InputStream body = exchange.getRequestBody()) {
+                String json = new String(body.readAllBytes(), StandardCharsets.UTF_8);
+                if (delayMs > 0) {
+                    Thread.sleep(delayMs);
+                }
+                if (failPercent > 0 && Math.floorMod(batches.get() * 37, 100) < failPercent) {
+                    batches.incrementAndGet();
+                    rejected.incrementAndGet();
+                    exchange.sendResponseHeaders(503, -1);
+                    return;
+                }
+                batches.incrementAndGet();
+                Matcher matcher = EVENT_ID.matcher(json);
+                while (matcher.find()) {
+                    long id = Long.parseLong(matcher.group(1));
+                    // La entrega es al menos una vez: un ID ya visto cuenta como duplicado.
+                    if (id <= maxId.get()) {
+                        duplicates.incrementAndGet();
+                    }
+                    maxId.accumulateAndGet(id, Math::max);
+                    events.incrementAndGet();
+                }
+                exchange.sendResponseHeaders(204, -1);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        server.start();
+        System.out.printf("Escuchando en http://localhost:%d/events%n", port);
+
+        long previous = 0;
+        while (true) {
+            try {
+                Thread.sleep(1000);
+            } catch (InterruptedException e) {
+                server.stop(0);
+                return;
+            }
+            long total = events.get();
+            System.out.printf("lotes=%d eventos=%d (+%d/s) rechazados=%d fuera de orden o repetidos=%d%n",
+                    batches.get(), total, total - previous, rejected.get(), duplicates.get());
+            previous = total;
+        }
+    }
+}
@@ -0,0 +1,117 @@
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Lanza peticiones secuenciales a un endpoint de listado y muestra su latencia y la memoria que reserva el servidor
+ * en cada una. Con {@code follow=true}, cada petición medida es el recorrido completo del listado siguiendo el cursor
+ * {@code nextCursor} de cada página hasta la última.
+ * Se ejecuta sin compilar: {@code java ListingBench.java clave=valor ...}
+ * <p>
+ * La memoria se calcula con la métrica {@code jvm.gc.memory.allocated} del actuador, que solo avanza en cada
+ * recolección: con pocas peticiones la cifra es aproximada.
+ * </p>
+ * Parámetros:
+ * <ul>
+ *     <li>{@code url}: dirección base de la aplicación (por defecto http://localhost:8080).</li>
+ *     <li>{@code path}: endpoint a medir, con sus parámetros (por defecto /api/v1/products?size=500).</li>
+ *     <li>{@code follow}: recorrer todas las páginas en cada petición (por defecto false).</li>
+ *     <li>{@code requests}: peticiones medidas (por defecto 30).</li>
+ *     <li>{@code warmup}: peticiones previas sin medir (por defecto 5).</li>
+ * </ul>
+ */
+public class ListingBench {
+
+    private static final Pattern VALUE = Pattern.compile("\"value\":([0-9.E+-]+)");
+    private static final Pattern NEXT_CURSOR = Pattern.compile("\"nextCursor\":\"([^\"]+)\"");
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> params = new HashMap<>();
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (eq > 0) {
+                params.put(arg.substring(0, eq), arg.substring(eq + 1));
+            }
+        }
+        String url = params.getOrDefault("url", "http://localhost:8080");
+        String path = params.getOrDefault("path", "/api/v1/products?size=500");
+        boolean follow = Boolean.parseBoolean(params.getOrDefault("follow", "false"));
+        int requests = Integer.parseInt(params.getOrDefault("requests", "30"));
+        int warmup = Integer.parseInt(params.getOrDefault("warmup", "5"));
+
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+        URI listing = URI.create(url + path);
+
+        long[] walk = {0, 0};
+        for (int i = 0; i < warmup; i++) {
+            walk = fetch(client, listing, follow);
+        }
+
+        double allocatedBefore = allocated(client, url);
+        long[] latencies = new long[requests];
+        for (int i = 0; i < requests; i++) {
+            long start = System.nanoTime();
+            walk = fetch(client, listing, follow);
+            latencies[i] = System.nanoTime() - start;
+        }
+        double allocatedAfter = allocated(client, url);
+
+        Arrays.sort(latencies);
+        System.out.printf("%s: %d peticiones, %d páginas y %.1f MB por petición%n",
+                path, requests, walk[0], walk[1] / 1e6);
+        System.out.printf("latencia ms: p50=%.1f p90=%.1f p99=%.1f máx=%.1f%n",
+                percentile(latencies, 0.50), percentile(latencies, 0.90),
+                percentile(latencies, 0.99), latencies[requests - 1] / 1e6);
+        System.out.printf("memoria reservada en el servidor: %.1f MB por petición%n",
+                (allocatedAfter - allocatedBefore) / requests / 1e6);
+    }
+
+    /**
+     * Pide la primera página y, si {@code follow} es cierto, las siguientes hasta que no haya cursor.
+     *
+     * @return número de páginas y bytes recibidos.
+     */
+    private static long[] fetch(HttpClient client, URI listing, boolean follow) throws Exception {
+        long pages = 0;
+        long bytes = 0;
+        URI next = listing;
+        while (next != null) {
+            HttpResponse<String> response = client.send(HttpRequest.newBuilder(next).GET().build(),
+                    HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200) {
+                throw new IllegalStateException("Respuesta " + response.statusCode() + " de " + next);
+            }
+            pages++;
+            bytes += response.body().length();
+            Matcher cursor = NEXT_CURSOR.matcher(response.body());
+            next = follow && cursor.find() ? withCursor(listing, cursor.group(1)) : null;
+        }
+        return new long[]{pages, bytes};
+    }
+
+    private static URI withCursor(URI listing, String cursor) {
+        String separator = listing.getQuery() == null ? "?" : "&";
+        return URI.create(listing + separator + "cursor=" + cursor);
+    }
+
+    private static double allocated(HttpClient client, String url) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url + "/actuator/metrics/jvm.gc.memory.allocated"))
+                .GET().build();
+        Matcher matcher = VALUE.matcher(client.send(request, HttpResponse.BodyHandlers.ofString()).body());
+        if (!matcher.find()) {
+            throw new IllegalStateException("El actuador no expone jvm.gc.memory.allocated");
+        }
+        return Double.parseDouble(matcher.group(1));
+    }
+
+    private static double percentile(long[] sorted, double p) {
+        return sorted[Math.min(sorted.length - 1, (int) Math.ceil(p * sorted.length) - 1)] / 1e6;
+    }
+}
@@ -0,0 +1,28 @@
+#!/usr/bin/env sh
+# Mide la latencia y la memoria reservada por petición al listar el catálogo (GET /api/v1/products): la primera
+# página y el recorrido completo siguiendo el cursor de cada página.
+# La aplicación debe estar arrancada; para comparar dos versiones, arranque cada jar y repita la medida.
+# Uso: ./run.sh [productos] [peticiones]
+set -e
+
+PRODUCTS=${1:-50000}
+REQUESTS=${2:-30}
+URL=${URL:-http://localhost:8080}
+
+export PGHOST=${PGHOST:-localhost}
+export PGPORT=${PGPORT:-5432}
+export PGUSER=${PGUSER:-user_inventory}
+export PGPASSWORD=${PGPASSWORD:-password_inventory}
+export PGDATABASE=${PGDATABASE:-inventory_db}
+
+DIR=$(dirname "$0")
+
+psql -q -v ON_ERROR_STOP=1 -v products="$PRODUCTS" -f "$DIR/setup.sql"
+psql -q -t -c "SELECT count(*) || ' productos en el catálogo' FROM products"
+
+java "$DIR/ListingBench.java" url="$URL" requests="$REQUESTS"
+java "$DIR/ListingBench.java" url="$URL" requests="$REQUESTS" follow=true
+
+if [ "${KEEP:-0}" != "1" ]; then
+    psql -q -c "DELETE FROM products WHERE code LIKE 'BL-%'"
+fi
@@ -0,0 +1,23 @@
+-- Crea :products productos de prueba repartidos entre 20 categorías y 20 proveedores.
+-- Requiere que la aplicación haya creado el esquema al menos una vez. Los productos ya creados se conservan.
+
+INSERT INTO categories (name, description, status, version, created_date, last_modified_date)
+SELECT 'BENCH-LIST-' || g, 'Categoría para pruebas de rendimiento', 'ACTIVE', 0, now(), now()
+  FROM generate_series(1, 20) AS g
+ON CONFLICT (name) DO NOTHING;
+
+INSERT INTO suppliers (name, contact_info, status, version, created_date, last_modified_date)
+SELECT 'BENCH-LIST-' || g, 'Proveedor para pruebas de rendimiento', 'ACTIVE', 0, now(), now()
+  FROM generate_series(1, 20) AS g
+ON CONFLICT (name) DO NOTHING;
+
+INSERT INTO products (name, code, description, price, current_stock, status, category_id, supplier_id,
+                      stock_sharded, version, created_date, last_modified_date)
+SELECT 'Producto de prueba ' || g, 'BL-' || g, 'Producto generado para medir el listado', 9.99, g % 500,
+       'ACTIVE', c.id_category, s.id_supplier, false, 0, now(), now()
+  FROM generate_series(1, :products) AS g
+  JOIN categories c ON c.name = 'BENCH-LIST-' || (g % 20 + 1)
+  JOIN suppliers s ON s.name = 'BENCH-LIST-' || (g % 20 + 1)
+ON CONFLICT (code) DO NOTHING;
+
+ANALYZE products;
@@ -0,0 +1,27 @@
+#!/usr/bin/env sh
+# Compara el rendimiento de las ventas sobre una sola fila frente al stock fragmentado.
+# Uso: ./run.sh [clientes] [segundos] [subcontadores]
+set -e
+
+CLIENTS=${1:-32}
+DURATION=${2:-30}
+SHARDS=${3:-16}
+STOCK=100000000
+
+export PGHOST=${PGHOST:-localhost}
+export PGPORT=${PGPORT:-5432}
+export PGUSER=${PGUSER:-user_inventory}
+export PGPASSWORD=${PGPASSWORD:-password_inventory}
+export PGDATABASE=${PGDATABASE:-inventory_db}
+
+DIR=$(dirname "$0")
+
+psql -q -v ON_ERROR_STOP=1 -v stock=$STOCK -v shards=$SHARDS -f "$DIR/setup.sql"
+
+echo "== Una sola fila ($CLIENTS clientes, ${DURATION}s)"
+pgbench -n -c "$CLIENTS" -j "$CLIENTS" -T "$DURATION" -f "$DIR/single_row.sql"
+
+echo "== Fragmentado en $SHARDS subcontadores ($CLIENTS clientes, ${DURATION}s)"
+pgbench -n -c "$CLIENTS" -j "$CLIENTS" -T "$DURATION" -f "$DIR/sharded.sql"
+
+psql -q -c "DELETE FROM movement_logs WHERE operation_message = 'bench'"
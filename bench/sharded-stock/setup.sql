@@ -0,0 +1,30 @@
+-- Prepara dos productos de prueba con el mismo stock: uno con una sola fila y otro fragmentado.
+-- Requiere que la aplicación haya creado el esquema al menos una vez.
+
+INSERT INTO categories (name, description, status, version, created_date, last_modified_date)
+VALUES ('BENCH', 'Categoría para pruebas de rendimiento', 'ACTIVE', 0, now(), now())
+ON CONFLICT (name) DO NOTHING;
+
+INSERT INTO suppliers (name, contact_info, status, version, created_date, last_modified_date)
+VALUES ('BENCH', 'Proveedor para pruebas de rendimiento', 'ACTIVE', 0, now(), now())
+ON CONFLICT (name) DO NOTHING;
+
+INSERT INTO products (name, code, price, current_stock, status, category_id, supplier_id,
+                      stock_sharded, version, created_date, last_modified_date)
+SELECT p.code, p.code, 1.00, 0, 'ACTIVE', c.id_category, s.id_supplier, false, 0, now(), now()
+  FROM (VALUES ('BENCH-SINGLE'), ('BENCH-SHARDED')) AS p(code),
+       categories c, suppliers s
+ WHERE c.name = 'BENCH' AND s.name = 'BENCH'
+ON CONFLICT (code) DO NOTHING;
+
+UPDATE products SET current_stock = :stock, stock_sharded = false WHERE code = 'BENCH-SINGLE';
+
+DELETE FROM product_stock_shards
+ WHERE product_id = (SELECT id_product FROM products WHERE code = 'BENCH-SHARDED');
+
+INSERT INTO product_stock_shards (product_id, shard, stock)
+SELECT p.id_product, g.shard, :stock / :shards
+  FROM products p, generate_series(0, :shards - 1) AS g(shard)
+ WHERE p.code = 'BENCH-SHARDED';
+
+UPDATE products SET current_stock = 0, stock_sharded = true WHERE code = 'BENCH-SHARDED';
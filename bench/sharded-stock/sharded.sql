@@ -0,0 +1,15 @@
+-- Venta de una unidad sobre un subcontador libre, como en el modo de stock fragmentado.
+BEGIN;
+UPDATE product_stock_shards
+   SET stock = stock - 1
+ WHERE id = (SELECT s.id FROM product_stock_shards s
+              WHERE s.product_id = (SELECT id_product FROM products WHERE code = 'BENCH-SHARDED')
+                AND s.stock >= 1
+              ORDER BY random()
+              LIMIT 1
+              FOR UPDATE SKIP LOCKED);
+INSERT INTO movement_logs (id, product_id, quantity_change, movement_type, operation_status,
+                           operation_message, timestamp)
+SELECT gen_random_uuid(), id_product, 1, 'SALE', 'SUCCESS', 'bench', now()
+  FROM products WHERE code = 'BENCH-SHARDED';
+COMMIT;
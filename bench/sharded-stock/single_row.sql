@@ -0,0 +1,15 @@
+-- Venta de una unidad sobre la fila del producto, como en el modo de aplicación atómico.
+WITH updated AS (
+    UPDATE products p
+       SET current_stock = p.current_stock - 1,
+           last_modified_date = now(),
+           version = p.version + 1
+     WHERE p.code = 'BENCH-SINGLE'
+       AND p.current_stock >= 1
+    RETURNING p.id_product, p.current_stock
+)
+INSERT INTO movement_logs (id, product_id, quantity_change, previous_quantity, new_quantity,
+                           movement_type, operation_status, operation_message, timestamp)
+SELECT gen_random_uuid(), u.id_product, 1, u.current_stock + 1, u.current_stock,
+       'SALE', 'SUCCESS', 'bench', now()
+  FROM updated u;
@@ -0,0 +1,17 @@
+-- Carga :rows filas en cada tabla, con marcas de tiempo crecientes de un milisegundo, como un registro real.
+\timing on
+
+\echo == Carga de :rows filas con UUID v4
+INSERT INTO bench_keys_v4 (id, product_id, quantity_change, timestamp)
+SELECT gen_random_uuid(), 1 + g % 1000, 1, now() - (:rows - g) * interval '1 millisecond'
+  FROM generate_series(1, :rows) AS g;
+
+\echo == Carga de :rows filas con UUID v7
+INSERT INTO bench_keys_v7 (id, product_id, quantity_change, timestamp)
+SELECT bench_uuid_v7(now() - (:rows - g) * interval '1 millisecond'), 1 + g % 1000, 1,
+       now() - (:rows - g) * interval '1 millisecond'
+  FROM generate_series(1, :rows) AS g;
+
+\timing off
+VACUUM ANALYZE bench_keys_v4;
+VACUUM ANALYZE bench_keys_v7;
@@ -0,0 +1,3 @@
+\set product random(1, 1000)
+INSERT INTO bench_keys_v4 (id, product_id, quantity_change, timestamp)
+VALUES (gen_random_uuid(), :product, 1, clock_timestamp());
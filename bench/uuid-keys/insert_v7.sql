@@ -0,0 +1,3 @@
+\set product random(1, 1000)
+INSERT INTO bench_keys_v7 (id, product_id, quantity_change, timestamp)
+VALUES (bench_uuid_v7(clock_timestamp()), :product, 1, clock_timestamp());
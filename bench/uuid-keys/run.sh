@@ -0,0 +1,37 @@
+#!/usr/bin/env sh
+# Compara claves UUID v4 aleatorias con UUID v7 ordenadas por tiempo en un registro de movimientos grande:
+# duración de la carga inicial, tamaño del índice de clave primaria y ritmo de inserción concurrente.
+# Uso: ./run.sh [filas] [clientes] [segundos]
+# Con KEEP=1 se conservan las tablas de prueba al terminar.
+set -e
+
+ROWS=${1:-50000000}
+CLIENTS=${2:-32}
+DURATION=${3:-60}
+
+export PGHOST=${PGHOST:-localhost}
+export PGPORT=${PGPORT:-5432}
+export PGUSER=${PGUSER:-user_inventory}
+export PGPASSWORD=${PGPASSWORD:-password_inventory}
+export PGDATABASE=${PGDATABASE:-inventory_db}
+
+DIR=$(dirname "$0")
+
+psql -q -v ON_ERROR_STOP=1 -f "$DIR/setup.sql"
+psql -q -v ON_ERROR_STOP=1 -v rows="$ROWS" -f "$DIR/fill.sql"
+
+echo "== Tamaños tras la carga"
+psql -q -f "$DIR/sizes.sql"
+
+echo "== Inserciones con UUID v4 ($CLIENTS clientes, ${DURATION}s)"
+pgbench -n -c "$CLIENTS" -j "$CLIENTS" -T "$DURATION" -f "$DIR/insert_v4.sql"
+
+echo "== Inserciones con UUID v7 ($CLIENTS clientes, ${DURATION}s)"
+pgbench -n -c "$CLIENTS" -j "$CLIENTS" -T "$DURATION" -f "$DIR/insert_v7.sql"
+
+echo "== Tamaños tras las inserciones"
+psql -q -f "$DIR/sizes.sql"
+
+if [ "${KEEP:-0}" != "1" ]; then
+    psql -q -c "DROP TABLE bench_keys_v4; DROP TABLE bench_keys_v7; DROP FUNCTION bench_uuid_v7(timestamptz);"
+fi
@@ -0,0 +1,27 @@
+-- Crea dos copias vacías del registro de movimientos que solo se diferencian en cómo se genera la clave primaria:
+-- UUID v4 aleatorio (como antes) y UUID v7 ordenado por tiempo (como genera ahora la aplicación).
+
+-- PostgreSQL 16 no incluye uuidv7(): se construye a partir de un v4 sustituyendo los 48 bits altos por los
+-- milisegundos del instante indicado y la versión por 7.
+CREATE OR REPLACE FUNCTION bench_uuid_v7(ts timestamptz) RETURNS uuid
+LANGUAGE sql VOLATILE AS $$
+SELECT encode(
+           set_bit(set_bit(
+               overlay(uuid_send(gen_random_uuid())
+                       PLACING substring(int8send(floor(extract(epoch FROM ts) * 1000)::bigint) FROM 3)
+                       FROM 1 FOR 6),
+               52, 1), 53, 1),
+           'hex')::uuid
+$$;
+
+DROP TABLE IF EXISTS bench_keys_v4;
+DROP TABLE IF EXISTS bench_keys_v7;
+
+CREATE TABLE bench_keys_v4 (
+    id               uuid PRIMARY KEY,
+    product_id       bigint    NOT NULL,
+    quantity_change  integer   NOT NULL,
+    timestamp        timestamp NOT NULL
+);
+
+CREATE TABLE bench_keys_v7 (LIKE bench_keys_v4 INCLUDING ALL);
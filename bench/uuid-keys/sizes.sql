@@ -0,0 +1,10 @@
+-- Tamaño de la tabla y de su índice de clave primaria.
+SELECT c.relname                                    AS tabla,
+       c.reltuples::bigint                          AS filas,
+       pg_size_pretty(pg_relation_size(c.oid))      AS datos,
+       pg_size_pretty(pg_relation_size(i.indexrelid)) AS indice_pk,
+       round(pg_relation_size(i.indexrelid) / greatest(c.reltuples, 1)::numeric, 1) AS bytes_indice_por_fila
+  FROM pg_class c
+  JOIN pg_index i ON i.indrelid = c.oid AND i.indisprimary
+ WHERE c.relname IN ('bench_keys_v4', 'bench_keys_v7')
+ ORDER BY c.relname;
@@ -0,0 +1,47 @@
+#!/usr/bin/env sh
+# Compara los hilos de plataforma de Tomcat con los hilos virtuales en las consultas de productos y en los
+# movimientos de stock. Arranca la aplicación en cada modo, lanza la carga y la detiene.
+# Requiere Java 21 y el jar construido con el perfil java21: mvn -Pjava21 package -DskipTests
+# Uso: ./run.sh <ids de producto separados por comas> [clientes] [segundos]
+set -e
+
+PRODUCTS=${1:?"indique los IDs de producto, p. ej. 1,2,3,4"}
+CLIENTS=${2:-400}
+DURATION=${3:-30}
+URL=${URL:-http://localhost:8080}
+
+DIR=$(dirname "$0")
+JAR=${JAR:-$DIR/../../target/inventory-api-0.0.1-SNAPSHOT.jar}
+LOAD="$DIR/../http/StockLoadTest.java"
+
+run_mode() {
+    MODE=$1
+    shift
+    java "$@" -jar "$JAR" --spring.jpa.show-sql=false > "bench-$MODE.log" 2>&1 &
+    PID=$!
+    until curl -sf "$URL/actuator/health" > /dev/null; do
+        sleep 1
+    done
+
+    echo "== $MODE: GET /api/v1/products ($CLIENTS clientes, ${DURATION}s)"
+    java "$LOAD" url="$URL" method=GET path=/api/v1/products clients="$CLIENTS" seconds="$DURATION"
+
+    echo "== $MODE: POST /api/v1/stock/purchase ($CLIENTS clientes, ${DURATION}s)"
+    java "$LOAD" url="$URL" path=/api/v1/stock/purchase products="$PRODUCTS" clients="$CLIENTS" seconds="$DURATION"
+
+    echo "== $MODE: POST /api/v1/stock/sale ($CLIENTS clientes, ${DURATION}s)"
+    java "$LOAD" url="$URL" path=/api/v1/stock/sale products="$PRODUCTS" clients="$CLIENTS" seconds="$DURATION"
+
+    if [ "$MODE" = "virtual" ]; then
+        echo "== $MODE: anclajes de hilos virtuales"
+        curl -s "$URL/actuator/metrics/inventory.threads.virtual.pinned" || true
+        echo
+        grep -c "anclado a su portador" "bench-$MODE.log" || true
+    fi
+
+    kill "$PID"
+    wait "$PID" || true
+}
+
+run_mode platform
+run_mode virtual -Djdk.tracePinnedThreads=short -Dspring.profiles.active=dev,virtual-threads
@@ -0,0 +1,32 @@
+package org.atabero.inventory.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Propiedades de configuración de las claves de idempotencia.
+ * Se leen del prefijo {@code inventory.idempotency} del fichero de configuración.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "inventory.idempotency")
+public class IdempotencyProperties {
+
+    /**
+     * Número máximo de respuestas que se mantienen en memoria.
+     */
+    private int cacheSize = 10000;
+
+    /**
+     * Tiempo durante el que una clave sigue siendo válida.
+     */
+    private Duration ttl = Duration.ofHours(24);
+
+    /**
+     * Intervalo entre purgas de las claves caducadas.
+     */
+    private Duration purgeInterval = Duration.ofHours(1);
+}
@@ -0,0 +1,80 @@
+package org.atabero.inventory.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Propiedades de configuración de la bandeja de salida de eventos.
+ * Se leen del prefijo {@code inventory.outbox} del fichero de configuración.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "inventory.outbox")
+public class OutboxProperties {
+
+    /**
+     * Activa el repetidor que publica los eventos pendientes. Los eventos se registran siempre.
+     */
+    private boolean relayEnabled = true;
+
+    /**
+     * Intervalo entre comprobaciones de eventos pendientes cuando la bandeja queda vacía.
+     */
+    private Duration pollInterval = Duration.ofMillis(500);
+
+    /**
+     * Número máximo de eventos de cada lote publicado.
+     */
+    private int batchSize = 100;
+
+    /**
+     * Tiempo que se conservan los eventos ya publicados.
+     */
+    private Duration retention = Duration.ofDays(7);
+
+    /**
+     * Intervalo entre purgas de los eventos publicados.
+     */
+    private Duration purgeInterval = Duration.ofHours(1);
+
+    /**
+     * Destino al que se publican los eventos.
+     */
+    private SinkType sink = SinkType.FILE;
+
+    /**
+     * Fichero NDJSON al que se añaden los eventos con el destino {@code FILE}.
+     */
+    private Path file = Path.of("data", "outbox", "events.ndjson");
+
+    /**
+     * URL a la que se envía cada lote en un POST con un array JSON con el destino {@code HTTP}.
+     */
+    private URI url = URI.create("http://localhost:9090/events");
+
+    /**
+     * Tiempo máximo de espera de cada envío HTTP.
+     */
+    private Duration httpTimeout = Duration.ofSeconds(10);
+
+    /**
+     * Destinos disponibles para los eventos.
+     */
+    public enum SinkType {
+
+        /**
+         * Añade cada evento como una línea JSON a un fichero local.
+         */
+        FILE,
+
+        /**
+         * Envía cada lote por HTTP.
+         */
+        HTTP
+    }
+}
@@ -0,0 +1,25 @@
+package org.atabero.inventory.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Propiedades de configuración de la paginación de los listados.
+ * Se leen del prefijo {@code inventory.pagination} del fichero de configuración.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "inventory.pagination")
+public class PaginationProperties {
+
+    /**
+     * Tamaño de página cuando la petición no lo indica.
+     */
+    private int defaultPageSize = 50;
+
+    /**
+     * Tamaño de página máximo que se admite; las peticiones mayores se rechazan.
+     */
+    private int maxPageSize = 500;
+}
@@ -0,0 +1,549 @@
+package org.atabero.inventory.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Propiedades de configuración del procesamiento de movimientos de stock.
+ * Se leen del prefijo {@code inventory.stock} del fichero de configuración.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "inventory.stock")
+public class StockProperties {
+
+    /**
+     * Modo en el que se aplican los movimientos de stock sobre el producto.
+     */
+    private ApplyMode applyMode = ApplyMode.ENTITY;
+
+    /**
+     * Configuración del motor de escritura por franjas.
+     */
+    private Engine engine = new Engine();
+
+    /**
+     * Configuración de la confirmación agrupada de movimientos concurrentes.
+     */
+    private GroupCommit groupCommit = new GroupCommit();
+
+    /**
+     * Configuración de los reintentos ante conflictos de concurrencia optimista.
+     */
+    private Retry retry = new Retry();
+
+    /**
+     * Configuración del registro asíncrono de movimientos fallidos.
+     */
+    private Audit audit = new Audit();
+
+    /**
+     * Configuración del stock fragmentado en subcontadores.
+     */
+    private Sharding sharding = new Sharding();
+
+    /**
+     * Configuración de las reservas de stock.
+     */
+    private Reservations reservations = new Reservations();
+
+    /**
+     * Configuración de la ingesta de movimientos en flujo NDJSON.
+     */
+    private Ingestion ingestion = new Ingestion();
+
+    /**
+     * Configuración de las importaciones de ficheros de movimientos.
+     */
+    private Imports imports = new Imports();
+
+    /**
+     * Configuración de las particiones mensuales de {@code movement_logs}.
+     */
+    private MovementLogs movementLogs = new MovementLogs();
+
+    /**
+     * Configuración de las fotos periódicas de stock para las consultas a una fecha.
+     */
+    private Snapshots snapshots = new Snapshots();
+
+    /**
+     * Configuración de los acumulados diarios de movimientos.
+     */
+    private Rollups rollups = new Rollups();
+
+    /**
+     * Configuración del flujo de eventos de cambios de stock.
+     */
+    private ChangeStream changeStream = new ChangeStream();
+
+    /**
+     * Configuración del índice de productos con stock bajo.
+     */
+    private LowStock lowStock = new LowStock();
+
+    /**
+     * Propuestas de pedido calculadas a partir de la demanda.
+     */
+    private Reorder reorder = new Reorder();
+
+    /**
+     * Estrategias disponibles para aplicar un movimiento de stock.
+     */
+    public enum ApplyMode {
+
+        /**
+         * Carga la entidad {@code Product}, valida en Java y guarda la entidad completa.
+         */
+        ENTITY,
+
+        /**
+         * Valida, modifica {@code current_stock} e inserta el movimiento en una única sentencia SQL.
+         */
+        ATOMIC
+    }
+
+    /**
+     * Propiedades del motor que enruta las mutaciones de cada producto a una franja de ejecución.
+     */
+    @Getter
+    @Setter
+    public static class Engine {
+
+        /**
+         * Activa el motor; si está desactivado las mutaciones se ejecutan en el hilo de la petición.
+         */
+        private boolean enabled = false;
+
+        /**
+         * Número de franjas (hilos escritores) entre las que se reparten los productos.
+         */
+        private int stripes = 8;
+
+        /**
+         * Número máximo de mutaciones en espera por franja.
+         */
+        private int queueCapacity = 1000;
+    }
+
+    /**
+     * Propiedades de la confirmación agrupada: los movimientos que llegan a la vez se aplican en una única
+     * transacción, cada uno en su propio punto de guardado.
+     */
+    @Getter
+    @Setter
+    public static class GroupCommit {
+
+        /**
+         * Activa la confirmación agrupada; si está activa sustituye al motor de franjas en los movimientos.
+         */
+        private boolean enabled = false;
+
+        /**
+         * Tiempo máximo que se espera a más movimientos desde que llega el primero del grupo.
+         */
+        private Duration window = Duration.ofMillis(2);
+
+        /**
+         * Número máximo de movimientos por transacción.
+         */
+        private int maxBatchSize = 64;
+
+        /**
+         * Número de hilos que confirman grupos; cada producto se asigna siempre al mismo.
+         */
+        private int lanes = 4;
+
+        /**
+         * Número máximo de movimientos en espera por hilo.
+         */
+        private int queueCapacity = 10000;
+    }
+
+    /**
+     * Propiedades de los reintentos automáticos cuando la versión de un producto cambió durante la transacción.
+     */
+    @Getter
+    @Setter
+    public static class Retry {
+
+        /**
+         * Número máximo de intentos, incluido el primero.
+         */
+        private int maxAttempts = 3;
+
+        /**
+         * Espera antes del primer reintento.
+         */
+        private Duration initialBackoff = Duration.ofMillis(10);
+
+        /**
+         * Factor por el que se multiplica la espera en cada reintento.
+         */
+        private double multiplier = 2.0;
+
+        /**
+         * Espera máxima entre reintentos.
+         */
+        private Duration maxBackoff = Duration.ofMillis(200);
+
+        /**
+         * Proporción de reintentos permitidos respecto a las peticiones recibidas (presupuesto de reintentos).
+         */
+        private double budgetRatio = 0.2;
+
+        /**
+         * Reintentos acumulables como máximo en el presupuesto.
+         */
+        private int budgetMaxTokens = 100;
+    }
+
+    /**
+     * Propiedades del escritor asíncrono que registra en lotes los movimientos de stock fallidos.
+     */
+    @Getter
+    @Setter
+    public static class Audit {
+
+        /**
+         * Número máximo de registros pendientes de escribir.
+         */
+        private int queueCapacity = 10000;
+
+        /**
+         * Número de registros a partir del cual se escribe el lote sin esperar.
+         */
+        private int batchSize = 200;
+
+        /**
+         * Tiempo máximo que un registro espera en memoria antes de escribirse.
+         */
+        private Duration flushInterval = Duration.ofMillis(200);
+
+        /**
+         * Qué hacer con un registro nuevo cuando la cola está llena.
+         */
+        private OverflowPolicy overflowPolicy = OverflowPolicy.DROP_NEWEST;
+
+        /**
+         * Espera máxima por hueco en la cola con la política {@link OverflowPolicy#BLOCK}.
+         */
+        private Duration blockTimeout = Duration.ofMillis(50);
+    }
+
+    /**
+     * Propiedades del modo de stock fragmentado para productos con mucha concurrencia.
+     */
+    @Getter
+    @Setter
+    public static class Sharding {
+
+        /**
+         * Número de subcontadores si no se indica otro al activar el modo.
+         */
+        private int defaultShards = 8;
+
+        /**
+         * Número máximo de subcontadores por producto.
+         */
+        private int maxShards = 64;
+
+        /**
+         * Intervalo entre ejecuciones del reequilibrado de subcontadores.
+         */
+        private Duration rebalanceInterval = Duration.ofSeconds(5);
+    }
+
+    /**
+     * Propiedades de las reservas de stock y de su temporizador de vencimiento.
+     */
+    @Getter
+    @Setter
+    public static class Reservations {
+
+        /**
+         * Duración de una reserva si no se indica otra.
+         */
+        private Duration defaultTtl = Duration.ofMinutes(15);
+
+        /**
+         * Duración máxima que se puede pedir para una reserva.
+         */
+        private Duration maxTtl = Duration.ofHours(24);
+
+        /**
+         * Resolución del temporizador de vencimiento.
+         */
+        private Duration tick = Duration.ofMillis(100);
+
+        /**
+         * Número de casillas de cada rueda del temporizador.
+         */
+        private int wheelSize = 64;
+    }
+
+    /**
+     * Propiedades de la ingesta en flujo: los movimientos recibidos se aplican en bloques, cada uno en su
+     * propia transacción, y no se lee más del cuerpo de la petición hasta que el bloque se confirma.
+     */
+    @Getter
+    @Setter
+    public static class Ingestion {
+
+        /**
+         * Número máximo de movimientos por bloque. Si el cliente deja de enviar, se aplica el bloque incompleto.
+         */
+        private int chunkSize = 100;
+    }
+
+    /**
+     * Propiedades de las importaciones de ficheros: el fichero se guarda en disco y se procesa en segundo
+     * plano en bloques, guardando el progreso en la misma transacción que cada bloque.
+     */
+    @Getter
+    @Setter
+    public static class Imports {
+
+        /**
+         * Directorio donde se guardan los ficheros subidos y sus informes de errores hasta que se borran.
+         */
+        private Path directory = Path.of("data", "imports");
+
+        /**
+         * Número de líneas del fichero por transacción.
+         */
+        private int chunkSize = 500;
+
+        /**
+         * Número de importaciones que se procesan a la vez.
+         */
+        private int workers = 2;
+
+        /**
+         * Nombre de este nodo. Al arrancar, cada nodo solo reanuda las importaciones que registró él; por defecto,
+         * el nombre de la máquina.
+         */
+        private String node;
+    }
+
+    /**
+     * Propiedades de las particiones de {@code movement_logs}: una partición por mes según {@code timestamp},
+     * creadas por adelantado y retiradas enteras al superar la retención, sin {@code DELETE} masivos.
+     */
+    @Getter
+    @Setter
+    public static class MovementLogs {
+
+        /**
+         * Número de meses futuros, además del actual, que deben tener ya su partición.
+         */
+        private int premakeMonths = 3;
+
+        /**
+         * Meses completos que se conservan en la tabla; las particiones más antiguas se retiran. 0 desactiva la retención.
+         */
+        private int retentionMonths = 0;
+
+        /**
+         * Qué hacer con las particiones que superan la retención.
+         */
+        private RetentionAction retentionAction = RetentionAction.DETACH;
+
+        /**
+         * Esquema al que se mueven las particiones desvinculadas para archivarlas.
+         */
+        private String archiveSchema = "movement_logs_archive";
+
+        /**
+         * Intervalo entre revisiones de las particiones.
+         */
+        private Duration maintenanceInterval = Duration.ofHours(1);
+    }
+
+    /**
+     * Propiedades de las fotos periódicas del stock de cada producto.
+     */
+    @Getter
+    @Setter
+    public static class Snapshots {
+
+        /**
+         * Expresión cron con la que se toman las fotos; {@code -} las desactiva.
+         */
+        private String cron = "0 0 0 * * *";
+
+        /**
+         * Margen hacia atrás con el que se fecha cada foto, para que las transacciones en curso ya estén confirmadas.
+         */
+        private Duration lag = Duration.ofMinutes(1);
+
+        /**
+         * Antigüedad a partir de la cual se borran las fotos. Cero las conserva todas.
+         */
+        private Duration retention = Duration.ZERO;
+
+        /**
+         * Número de IDs de producto de cada bloque al tomar fotos o calcular el catálogo completo.
+         */
+        private int chunkSize = 1000;
+
+        /**
+         * Bloques del catálogo que se calculan en paralelo en una consulta a una fecha.
+         */
+        private int parallelism = 4;
+    }
+
+    /**
+     * Propiedades de los acumulados diarios de movimientos.
+     */
+    @Getter
+    @Setter
+    public static class Rollups {
+
+        /**
+         * Recalcula los acumulados de todo el historial al instalar el disparador por primera vez.
+         */
+        private boolean backfillOnStartup = true;
+    }
+
+    /**
+     * Propiedades del flujo de eventos (SSE) de cambios de stock.
+     */
+    @Getter
+    @Setter
+    public static class ChangeStream {
+
+        /**
+         * Número máximo de suscriptores conectados a la vez.
+         */
+        private int maxSubscribers = 1000;
+
+        /**
+         * Productos distintos con cambios pendientes de enviar que admite cada suscriptor; al superarlo se le desconecta.
+         */
+        private int bufferSize = 1000;
+
+        /**
+         * Hilos que envían los eventos a los suscriptores.
+         */
+        private int dispatcherThreads = 2;
+
+        /**
+         * Intervalo entre comentarios de latido para mantener viva la conexión.
+         */
+        private Duration heartbeat = Duration.ofSeconds(15);
+
+        /**
+         * Tiempo máximo de una conexión; el cliente debe reconectarse al terminar.
+         */
+        private Duration timeout = Duration.ofMinutes(30);
+    }
+
+    /**
+     * Propiedades del índice en memoria de productos con stock bajo.
+     */
+    @Getter
+    @Setter
+    public static class LowStock {
+
+        /**
+         * Intervalo entre reconstrucciones completas del índice desde la base de datos, para recoger los cambios
+         * hechos por otros nodos o fuera de la aplicación.
+         */
+        private Duration resyncInterval = Duration.ofMinutes(5);
+    }
+
+    /**
+     * Propiedades del cálculo nocturno de propuestas de pedido.
+     */
+    @Getter
+    @Setter
+    public static class Reorder {
+
+        /**
+         * Expresión cron con la que se calculan las propuestas; {@code -} desactiva el cálculo programado.
+         */
+        private String cron = "0 30 2 * * *";
+
+        /**
+         * Días completos de ventas que se tienen en cuenta.
+         */
+        private int lookbackDays = 90;
+
+        /**
+         * Días de la media móvil.
+         */
+        private int movingAverageDays = 28;
+
+        /**
+         * Peso del último día en la media exponencial, entre 0 y 1.
+         */
+        private double smoothing = 0.2;
+
+        /**
+         * Plazo de entrega del proveedor en días.
+         */
+        private int leadTimeDays = 7;
+
+        /**
+         * Días de demanda que debe cubrir cada pedido además del punto de pedido.
+         */
+        private int reviewDays = 14;
+
+        /**
+         * Factor del stock de seguridad sobre la desviación de la demanda; 1,65 cubre el 95 % de los casos.
+         */
+        private double safetyFactor = 1.65;
+
+        /**
+         * Número de IDs de producto de cada bloque; los rangos mayores se dividen por la mitad.
+         */
+        private int chunkSize = 2000;
+
+        /**
+         * Bloques que se calculan en paralelo.
+         */
+        private int parallelism = 4;
+    }
+
+    /**
+     * Acciones de retención de las particiones antiguas de {@code movement_logs}.
+     */
+    public enum RetentionAction {
+
+        /**
+         * Desvincula la partición y la mueve al esquema de archivo, donde puede exportarse y borrarse.
+         */
+        DETACH,
+
+        /**
+         * Borra la partición y sus datos.
+         */
+        DROP
+    }
+
+    /**
+     * Políticas de desbordamiento de la cola de auditoría.
+     */
+    public enum OverflowPolicy {
+
+        /**
+         * Descarta el registro nuevo.
+         */
+        DROP_NEWEST,
+
+        /**
+         * Descarta el registro más antiguo de la cola para hacer hueco al nuevo.
+         */
+        DROP_OLDEST,
+
+        /**
+         * Espera hasta {@code block-timeout} a que haya hueco y, si no lo hay, descarta el registro nuevo.
+         */
+        BLOCK
+    }
+}
@@ -0,0 +1,82 @@
+package org.atabero.inventory.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.stereotype.Component;
+
+import java.util.stream.Collectors;
+
+/**
+ * Detecta los hilos virtuales que quedan anclados a su hilo portador.
+ * <p>
+ * Un hilo virtual que se bloquea dentro de un bloque {@code synchronized} o de una llamada nativa no libera su
+ * portador, y con pocos portadores unas pocas esperas largas (por ejemplo, en el driver JDBC o en el pool de
+ * conexiones) bloquean a todas las peticiones. El monitor escucha el evento JFR {@code jdk.VirtualThreadPinned}
+ * dentro de la propia aplicación, lo cuenta en las métricas y registra la pila donde se produjo. Solo se activa
+ * cuando la aplicación se ejecuta con hilos virtuales.
+ * </p>
+ */
+@Slf4j
+@Component
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadPinningMonitor {
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+
+    private final VirtualThreadProperties properties;
+    private final RecordingStream stream;
+    private final Counter pinned;
+    private final Timer pinnedDuration;
+
+    public VirtualThreadPinningMonitor(VirtualThreadProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.pinned = Counter.builder("inventory.threads.virtual.pinned")
+                .description("Veces que un hilo virtual quedó anclado a su portador por encima del umbral")
+                .register(meterRegistry);
+        this.pinnedDuration = Timer.builder("inventory.threads.virtual.pinned.duration")
+                .description("Tiempo que los hilos virtuales permanecieron anclados a su portador")
+                .register(meterRegistry);
+        this.stream = new RecordingStream();
+        this.stream.enable(PINNED_EVENT).withThreshold(properties.getPinnedThreshold()).withStackTrace();
+        this.stream.onEvent(PINNED_EVENT, this::onPinned);
+    }
+
+    @PostConstruct
+    public void start() {
+        stream.startAsync();
+    }
+
+    private void onPinned(RecordedEvent event) {
+        pinned.increment();
+        pinnedDuration.record(event.getDuration());
+        log.warn("Hilo virtual anclado a su portador durante {} ms en {}",
+                event.getDuration().toMillis(), describe(event.getStackTrace()));
+    }
+
+    private String describe(RecordedStackTrace stackTrace) {
+        if (stackTrace == null) {
+            return "(pila no disponible)";
+        }
+        return stackTrace.getFrames().stream()
+                .filter(RecordedFrame::isJavaFrame)
+                .limit(Math.max(1, properties.getStackDepth()))
+                .map(frame -> frame.getMethod().getType().getName() + "." + frame.getMethod().getName()
+                        + ":" + frame.getLineNumber())
+                .collect(Collectors.joining(" <- "));
+    }
+
+    @PreDestroy
+    public void stop() {
+        stream.close();
+    }
+}
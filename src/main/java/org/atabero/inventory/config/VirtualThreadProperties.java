@@ -0,0 +1,27 @@
+package org.atabero.inventory.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Propiedades de configuración del diagnóstico de hilos virtuales.
+ * Se leen del prefijo {@code inventory.virtual-threads} del fichero de configuración.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "inventory.virtual-threads")
+public class VirtualThreadProperties {
+
+    /**
+     * Tiempo mínimo que un hilo virtual debe permanecer anclado a su portador para registrarlo.
+     */
+    private Duration pinnedThreshold = Duration.ofMillis(20);
+
+    /**
+     * Número de marcos de la pila que se registran por cada anclaje.
+     */
+    private int stackDepth = 8;
+}
@@ -5,12 +5,14 @@ import lombok.RequiredArgsConstructor;
 import org.atabero.inventory.dto.category.CategoryResponseDTO;
 import org.atabero.inventory.dto.category.CreateCategoryDTO;
 import org.atabero.inventory.dto.category.UpdateCategoryDTO;
+import org.atabero.inventory.dto.page.PageQueryDTO;
+import org.atabero.inventory.dto.page.PageResponseDTO;
+import org.atabero.inventory.model.enums.CategoryStatus;
 import org.atabero.inventory.service.CategoryService;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.net.URI;
-import java.util.List;
 
 /**
  * Controlador REST para gestionar las categorías del inventario.
@@ -24,14 +26,20 @@ public class CategoryController {
     private final CategoryService categoryService;
 
     /**
-     * Obtiene la lista completa de categorías.
+     * Obtiene una página de categorías, por cursor salvo que se indique el número de página.
      *
-     * @return ResponseEntity con la lista de CategoryResponseDTO o no content si está vacía.
+     * @param name   Filtro opcional por nombre parcial.
+     * @param status Filtro opcional por estado.
+     * @param page   Parámetros de paginación: page, size, sort (id o name) y cursor.
+     * @return ResponseEntity con la página de CategoryResponseDTO o no content si está vacía.
      */
     @GetMapping()
-    public ResponseEntity<List<CategoryResponseDTO>> getAll(){
-        List<CategoryResponseDTO> responseDTOS = categoryService.findAll();
-        if(responseDTOS.isEmpty()){
+    public ResponseEntity<PageResponseDTO<CategoryResponseDTO>> getAll(
+            @RequestParam(required = false) String name,
+            @RequestParam(required = false) CategoryStatus status,
+            PageQueryDTO page){
+        PageResponseDTO<CategoryResponseDTO> responseDTOS = categoryService.findAll(name, status, page);
+        if(responseDTOS.items().isEmpty()){
             return ResponseEntity.noContent().build();
         }
         return ResponseEntity.ok(responseDTOS);
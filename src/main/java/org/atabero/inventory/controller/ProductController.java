@@ -2,10 +2,18 @@ package org.atabero.inventory.controller;
 
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.atabero.inventory.dto.page.PageQueryDTO;
+import org.atabero.inventory.dto.page.PageResponseDTO;
 import org.atabero.inventory.dto.product.CreateProductDTO;
+import org.atabero.inventory.dto.product.LowStockProductResponseDTO;
 import org.atabero.inventory.dto.product.ProductResponseDTO;
 import org.atabero.inventory.dto.product.UpdateProductDTO;
+import org.atabero.inventory.dto.product.UpdateStockShardingDTO;
+import org.atabero.inventory.mapper.MapperProduct;
+import org.atabero.inventory.model.enums.ProductStatus;
+import org.atabero.inventory.service.LowStockService;
 import org.atabero.inventory.service.ProductService;
+import org.atabero.inventory.service.ShardedStockService;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -22,16 +30,38 @@ import java.util.List;
 public class ProductController {
 
     private final ProductService productService;
+    private final ShardedStockService shardedStockService;
+    private final LowStockService lowStockService;
 
     /**
-     * Obtiene la lista completa de productos.
+     * Obtiene una página de productos. Sin número de página se recorre por cursor: cada respuesta incluye el
+     * cursor de la siguiente en {@code nextCursor}.
      *
-     * @return ResponseEntity con la lista de ProductResponseDTO.
+     * @param name   Filtro opcional por nombre parcial.
+     * @param status Filtro opcional por estado.
+     * @param page   Parámetros de paginación: page, size, sort (id, name, code o createdDate) y cursor.
+     * @return ResponseEntity con la página de ProductResponseDTO.
      */
     @GetMapping
-    public ResponseEntity<List<ProductResponseDTO>> getAll() {
+    public ResponseEntity<PageResponseDTO<ProductResponseDTO>> getAll(
+            @RequestParam(required = false) String name,
+            @RequestParam(required = false) ProductStatus status,
+            PageQueryDTO page) {
         return ResponseEntity.ok(
-                productService.getAll()
+                productService.getAll(name, status, page)
+        );
+    }
+
+    /**
+     * Obtiene los productos cuyo stock total está por debajo de su punto de pedido.
+     *
+     * @param idCategory Filtro opcional por categoría.
+     * @return ResponseEntity con la lista de LowStockProductResponseDTO, ordenada por ID de producto.
+     */
+    @GetMapping("/low-stock")
+    public ResponseEntity<List<LowStockProductResponseDTO>> getLowStock(@RequestParam(required = false) Long idCategory) {
+        return ResponseEntity.ok(
+                lowStockService.findLowStock(idCategory)
         );
     }
 
@@ -87,4 +117,21 @@ public class ProductController {
                 productService.update(id, dto)
         );
     }
+
+    /**
+     * Activa o desactiva el stock fragmentado en subcontadores de un producto.
+     *
+     * @param id  Identificador del producto.
+     * @param dto DTO que indica si se activa el modo y con cuántos subcontadores.
+     * @return ResponseEntity con el ProductResponseDTO actualizado.
+     */
+    @PutMapping("/{id}/stock-sharding")
+    public ResponseEntity<ProductResponseDTO> updateStockSharding(@PathVariable Long id,
+                                                                  @RequestBody @Valid UpdateStockShardingDTO dto) {
+        return ResponseEntity.ok(MapperProduct.toResponse(
+                dto.getEnabled()
+                        ? shardedStockService.enable(id, dto.getShards())
+                        : shardedStockService.disable(id)
+        ));
+    }
 }
@@ -1,6 +1,8 @@
 package org.atabero.inventory.controller;
 
 import lombok.RequiredArgsConstructor;
+import org.atabero.inventory.dto.page.PageQueryDTO;
+import org.atabero.inventory.dto.page.PageResponseDTO;
 import org.atabero.inventory.dto.productstatuschangelog.CreateProductStatusChangeLogDTO;
 import org.atabero.inventory.dto.productstatuschangelog.ProductStatusChangeLogResponseDTO;
 import org.atabero.inventory.model.enums.OperationStatus;
@@ -14,7 +16,6 @@ import org.springframework.web.bind.annotation.*;
 
 import jakarta.validation.Valid;
 import java.time.LocalDateTime;
-import java.util.List;
 import java.util.UUID;
 
 /**
@@ -43,13 +44,18 @@ public class ProductStatusChangeLogController {
     }
 
     /**
-     * Obtiene todos los registros de cambios de estado.
+     * Obtiene una página de registros de cambios de estado.
+     * <p>
+     * Todos los listados se paginan por cursor salvo que se indique el número de página, y se ordenan por
+     * changedAt (por defecto) o por id.
+     * </p>
      *
-     * @return ResponseEntity con la lista de registros.
+     * @param page Parámetros de paginación: page, size, sort y cursor.
+     * @return ResponseEntity con la página de registros.
      */
     @GetMapping
-    public ResponseEntity<List<ProductStatusChangeLogResponseDTO>> getAll() {
-        return ResponseEntity.ok(service.findAll());
+    public ResponseEntity<PageResponseDTO<ProductStatusChangeLogResponseDTO>> getAll(PageQueryDTO page) {
+        return ResponseEntity.ok(service.findAll(page));
     }
 
     /**
@@ -67,47 +73,56 @@ public class ProductStatusChangeLogController {
      * Obtiene registros por ID de producto.
      *
      * @param productId ID del producto.
-     * @return ResponseEntity con la lista de registros asociados.
+     * @param page      Parámetros de paginación.
+     * @return ResponseEntity con la página de registros asociados.
      */
     @GetMapping("/product/{productId}")
-    public ResponseEntity<List<ProductStatusChangeLogResponseDTO>> getByProductId(@PathVariable Long productId) {
-        return ResponseEntity.ok(service.findByProductId(productId));
+    public ResponseEntity<PageResponseDTO<ProductStatusChangeLogResponseDTO>> getByProductId(
+            @PathVariable Long productId,
+            PageQueryDTO page) {
+        return ResponseEntity.ok(service.findByProductId(productId, page));
     }
 
     /**
      * Obtiene registros filtrando por estado anterior.
      *
      * @param status Estado anterior.
-     * @return ResponseEntity con la lista filtrada.
+     * @param page   Parámetros de paginación.
+     * @return ResponseEntity con la página filtrada.
      */
     @GetMapping("/previous-status/{status}")
-    public ResponseEntity<List<ProductStatusChangeLogResponseDTO>> getByPreviousStatus(
-            @PathVariable ProductStatus status) {
-        return ResponseEntity.ok(service.findByPreviousStatus(status));
+    public ResponseEntity<PageResponseDTO<ProductStatusChangeLogResponseDTO>> getByPreviousStatus(
+            @PathVariable ProductStatus status,
+            PageQueryDTO page) {
+        return ResponseEntity.ok(service.findByPreviousStatus(status, page));
     }
 
     /**
      * Obtiene registros filtrando por nuevo estado.
      *
      * @param status Nuevo estado.
-     * @return ResponseEntity con la lista filtrada.
+     * @param page   Parámetros de paginación.
+     * @return ResponseEntity con la página filtrada.
      */
     @GetMapping("/new-status/{status}")
-    public ResponseEntity<List<ProductStatusChangeLogResponseDTO>> getByNewStatus(
-            @PathVariable ProductStatus status) {
-        return ResponseEntity.ok(service.findByNewStatus(status));
+    public ResponseEntity<PageResponseDTO<ProductStatusChangeLogResponseDTO>> getByNewStatus(
+            @PathVariable ProductStatus status,
+            PageQueryDTO page) {
+        return ResponseEntity.ok(service.findByNewStatus(status, page));
     }
 
     /**
      * Obtiene registros filtrando por estado de operación.
      *
      * @param status Estado de la operación.
-     * @return ResponseEntity con la lista filtrada.
+     * @param page   Parámetros de paginación.
+     * @return ResponseEntity con la página filtrada.
      */
     @GetMapping("/operation-status/{status}")
-    public ResponseEntity<List<ProductStatusChangeLogResponseDTO>> getByOperationStatus(
-            @PathVariable OperationStatus status) {
-        return ResponseEntity.ok(service.findByOperationStatus(status));
+    public ResponseEntity<PageResponseDTO<ProductStatusChangeLogResponseDTO>> getByOperationStatus(
+            @PathVariable OperationStatus status,
+            PageQueryDTO page) {
+        return ResponseEntity.ok(service.findByOperationStatus(status, page));
     }
 
     /**
@@ -115,13 +130,15 @@ public class ProductStatusChangeLogController {
      *
      * @param start Fecha y hora de inicio del rango.
      * @param end   Fecha y hora de fin del rango.
-     * @return ResponseEntity con la lista filtrada.
+     * @param page  Parámetros de paginación.
+     * @return ResponseEntity con la página filtrada.
      */
     @GetMapping("/date-range")
-    public ResponseEntity<List<ProductStatusChangeLogResponseDTO>> getByDateRange(
+    public ResponseEntity<PageResponseDTO<ProductStatusChangeLogResponseDTO>> getByDateRange(
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime start,
-            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime end) {
-        return ResponseEntity.ok(service.findByChangedAtBetween(start, end));
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime end,
+            PageQueryDTO page) {
+        return ResponseEntity.ok(service.findByChangedAtBetween(start, end, page));
     }
 
     /**
@@ -129,13 +146,15 @@ public class ProductStatusChangeLogController {
      *
      * @param productId       ID del producto.
      * @param operationStatus Estado de la operación.
-     * @return ResponseEntity con la lista filtrada.
+     * @param page            Parámetros de paginación.
+     * @return ResponseEntity con la página filtrada.
      */
     @GetMapping("/product/{productId}/operation-status/{operationStatus}")
-    public ResponseEntity<List<ProductStatusChangeLogResponseDTO>> getByProductIdAndOperationStatus(
+    public ResponseEntity<PageResponseDTO<ProductStatusChangeLogResponseDTO>> getByProductIdAndOperationStatus(
             @PathVariable Long productId,
-            @PathVariable OperationStatus operationStatus) {
-        return ResponseEntity.ok(service.findByProductIdAndOperationStatus(productId, operationStatus));
+            @PathVariable OperationStatus operationStatus,
+            PageQueryDTO page) {
+        return ResponseEntity.ok(service.findByProductIdAndOperationStatus(productId, operationStatus, page));
     }
 
     /**
@@ -143,13 +162,15 @@ public class ProductStatusChangeLogController {
      *
      * @param previousStatus Estado anterior.
      * @param newStatus      Nuevo estado.
-     * @return ResponseEntity con la lista filtrada.
+     * @param page           Parámetros de paginación.
+     * @return ResponseEntity con la página filtrada.
      */
     @GetMapping("/status-change")
-    public ResponseEntity<List<ProductStatusChangeLogResponseDTO>> getByPreviousAndNewStatus(
+    public ResponseEntity<PageResponseDTO<ProductStatusChangeLogResponseDTO>> getByPreviousAndNewStatus(
             @RequestParam ProductStatus previousStatus,
-            @RequestParam ProductStatus newStatus) {
-        return ResponseEntity.ok(service.findByPreviousStatusAndNewStatus(previousStatus, newStatus));
+            @RequestParam ProductStatus newStatus,
+            PageQueryDTO page) {
+        return ResponseEntity.ok(service.findByPreviousStatusAndNewStatus(previousStatus, newStatus, page));
     }
 
     /**
@@ -0,0 +1,87 @@
+package org.atabero.inventory.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.atabero.inventory.dto.report.CategoryMovementReportDTO;
+import org.atabero.inventory.dto.report.ReorderRunResponseDTO;
+import org.atabero.inventory.dto.report.RollupBackfillResponseDTO;
+import org.atabero.inventory.dto.report.SupplierReorderResponseDTO;
+import org.atabero.inventory.model.enums.MovementType;
+import org.atabero.inventory.model.enums.ReportPeriod;
+import org.atabero.inventory.service.MovementRollupService;
+import org.atabero.inventory.service.ReorderSuggestionService;
+import org.atabero.inventory.service.ReportService;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Controlador REST para los informes de movimientos de stock.
+ * Los informes se calculan sobre los acumulados diarios, no sobre el registro completo de movimientos.
+ */
+@RestController
+@RequestMapping("/api/v1/reports")
+@RequiredArgsConstructor
+public class ReportController {
+
+    private final ReportService reportService;
+    private final MovementRollupService movementRollupService;
+    private final ReorderSuggestionService reorderSuggestionService;
+
+    /**
+     * Obtiene los movimientos exitosos agrupados por categoría y periodo.
+     *
+     * @param from          Primer día del informe (incluido).
+     * @param to            Último día del informe (excluido).
+     * @param movementTypes Tipos de movimiento a incluir; por defecto, ventas.
+     * @param period        Periodo de agrupación; por defecto, mensual.
+     * @return ResponseEntity con una fila por categoría y periodo.
+     */
+    @GetMapping("/movements/by-category")
+    public ResponseEntity<List<CategoryMovementReportDTO>> getMovementsByCategory(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(name = "movementType", defaultValue = "SALE") Set<MovementType> movementTypes,
+            @RequestParam(defaultValue = "MONTH") ReportPeriod period) {
+        return ResponseEntity.ok(reportService.getMovementsByCategory(from, to, movementTypes, period));
+    }
+
+    /**
+     * Recalcula los acumulados diarios desde el registro de movimientos.
+     *
+     * @param from Primer día a recalcular (incluido); por defecto, el del movimiento más antiguo.
+     * @param to   Último día a recalcular (excluido); por defecto, el siguiente al del movimiento más reciente.
+     * @return ResponseEntity con los días recalculados y las filas escritas.
+     */
+    @PostMapping("/rollups/backfill")
+    public ResponseEntity<RollupBackfillResponseDTO> backfill(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return ResponseEntity.ok(movementRollupService.backfill(from, to));
+    }
+
+    /**
+     * Obtiene las propuestas de pedido del último cálculo completo, agrupadas por proveedor.
+     *
+     * @param idSupplier ID del proveedor; por defecto, todos.
+     * @return ResponseEntity con un elemento por proveedor y sus productos a pedir.
+     */
+    @GetMapping("/reorder-suggestions")
+    public ResponseEntity<List<SupplierReorderResponseDTO>> getReorderSuggestions(
+            @RequestParam(required = false) Long idSupplier) {
+        return ResponseEntity.ok(reorderSuggestionService.getLatest(idSupplier));
+    }
+
+    /**
+     * Recalcula las propuestas de pedido sin esperar al cálculo programado.
+     *
+     * @return ResponseEntity con el resultado del cálculo.
+     */
+    @PostMapping("/reorder-suggestions/run")
+    public ResponseEntity<ReorderRunResponseDTO> runReorderSuggestions() {
+        return ResponseEntity.ok(reorderSuggestionService.run());
+    }
+}
@@ -0,0 +1,69 @@
+package org.atabero.inventory.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.atabero.inventory.dto.stockimport.StockImportJobResponseDTO;
+import org.atabero.inventory.service.StockImportService;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.util.UUID;
+
+/**
+ * Controlador REST para importar ficheros de movimientos de stock.
+ * Los ficheros se procesan en segundo plano; el progreso y los errores se consultan por el ID de la importación.
+ */
+@RestController
+@RequestMapping("/api/v1/stock/imports")
+@RequiredArgsConstructor
+public class StockImportController {
+
+    private final StockImportService stockImportService;
+
+    /**
+     * Sube un fichero CSV o NDJSON de movimientos y programa su importación.
+     *
+     * @param file Fichero con un movimiento por línea.
+     * @return ResponseEntity con la importación creada y código HTTP 202 ACCEPTED.
+     */
+    @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<StockImportJobResponseDTO> upload(@RequestParam("file") MultipartFile file) {
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(stockImportService.start(file));
+    }
+
+    /**
+     * Obtiene el estado y el progreso de una importación.
+     *
+     * @param id Identificador de la importación.
+     * @return ResponseEntity con la importación.
+     */
+    @GetMapping("/{id}")
+    public ResponseEntity<StockImportJobResponseDTO> findById(@PathVariable UUID id) {
+        return ResponseEntity.ok(stockImportService.findById(id));
+    }
+
+    /**
+     * Reanuda una importación fallida desde el último bloque confirmado.
+     *
+     * @param id Identificador de la importación.
+     * @return ResponseEntity con la importación y código HTTP 202 ACCEPTED.
+     */
+    @PostMapping("/{id}/resume")
+    public ResponseEntity<StockImportJobResponseDTO> resume(@PathVariable UUID id) {
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(stockImportService.resume(id));
+    }
+
+    /**
+     * Descarga el informe de errores de una importación, con una línea NDJSON por cada línea rechazada.
+     *
+     * @param id Identificador de la importación.
+     * @return ResponseEntity con el informe de errores.
+     */
+    @GetMapping(value = "/{id}/errors", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<Resource> errors(@PathVariable UUID id) {
+        return ResponseEntity.ok(stockImportService.getErrorReport(id));
+    }
+}
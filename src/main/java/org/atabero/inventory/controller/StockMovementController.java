@@ -1,13 +1,31 @@
 package org.atabero.inventory.controller;
 
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.atabero.inventory.dto.page.PageQueryDTO;
+import org.atabero.inventory.dto.page.PageResponseDTO;
+import org.atabero.inventory.dto.stockmovement.BatchStockMovementRequestDTO;
+import org.atabero.inventory.dto.stockmovement.BatchStockMovementResponseDTO;
 import org.atabero.inventory.dto.stockmovement.CreateStockMovementDTO;
+import org.atabero.inventory.dto.stockmovement.StockMovementFilterDTO;
 import org.atabero.inventory.dto.stockmovement.StockMovementResponseDTO;
+import org.atabero.inventory.dto.stockmovement.StockRuleTableResponseDTO;
 import org.atabero.inventory.model.enums.MovementType;
+import org.atabero.inventory.model.enums.OperationStatus;
+import org.atabero.inventory.service.StockIngestionService;
 import org.atabero.inventory.service.StockMovementService;
+import org.atabero.inventory.service.StockStreamService;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
 
 /**
  * Controlador REST para la gestión de movimientos de stock.
@@ -18,115 +36,231 @@ import org.springframework.web.bind.annotation.*;
 @RequiredArgsConstructor
 public class StockMovementController {
 
+    private static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+
     private final StockMovementService stockMovementService;
+    private final StockIngestionService stockIngestionService;
+    private final StockStreamService stockStreamService;
+
+    /**
+     * Obtiene el historial de movimientos, del más reciente al más antiguo, paginado por cursor.
+     *
+     * @param idProduct       Filtro opcional por producto.
+     * @param movementType    Filtro opcional por tipo de movimiento.
+     * @param operationStatus Filtro opcional por estado de la operación.
+     * @param from            Fecha mínima opcional (incluida).
+     * @param to              Fecha máxima opcional (excluida).
+     * @param page            Parámetros de paginación: size y cursor ({@code nextCursor} de la página anterior, que
+     *                        se omite en la primera).
+     * @return ResponseEntity con los movimientos y el cursor de la página siguiente, nulo si no hay más.
+     */
+    @GetMapping("/movements")
+    public ResponseEntity<PageResponseDTO<StockMovementResponseDTO>> findMovements(
+            @RequestParam(required = false) Long idProduct,
+            @RequestParam(required = false) MovementType movementType,
+            @RequestParam(required = false) OperationStatus operationStatus,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            PageQueryDTO page) {
+        StockMovementFilterDTO filter = StockMovementFilterDTO.builder()
+                .idProduct(idProduct)
+                .movementType(movementType)
+                .operationStatus(operationStatus)
+                .from(from)
+                .to(to)
+                .build();
+        return ResponseEntity.ok(stockMovementService.findMovements(filter, page));
+    }
+
+    /**
+     * Obtiene la tabla de reglas de los movimientos de stock, para que los clientes puedan validar un movimiento
+     * antes de enviarlo. La tabla solo cambia con una nueva versión de la aplicación: se devuelve con su versión
+     * como ETag y puede guardarse en caché; con {@code If-None-Match} se responde 304 si no ha cambiado.
+     *
+     * @return ResponseEntity con la versión de la tabla y una regla por cada tipo de movimiento, estado del
+     * producto y estado del proveedor.
+     */
+    @GetMapping("/rules")
+    public ResponseEntity<StockRuleTableResponseDTO> getRules() {
+        StockRuleTableResponseDTO rules = stockMovementService.getRules();
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(Duration.ofHours(1)).cachePublic())
+                .eTag(rules.version())
+                .body(rules);
+    }
+
+    /**
+     * Abre un flujo de server-sent events con los cambios de stock confirmados. Cada evento {@code stock-change}
+     * contiene el producto, el stock anterior y el nuevo y el tipo de movimiento. Si el cliente se retrasa, solo
+     * recibe el último cambio de cada producto.
+     *
+     * @param idProduct  Filtro opcional por producto.
+     * @param idCategory Filtro opcional por categoría.
+     * @param idSupplier Filtro opcional por proveedor.
+     * @return emisor SSE de la suscripción.
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamChanges(@RequestParam(required = false) Long idProduct,
+                                    @RequestParam(required = false) Long idCategory,
+                                    @RequestParam(required = false) Long idSupplier) {
+        return stockStreamService.subscribe(idProduct, idCategory, idSupplier);
+    }
 
     /**
      * Registra una entrada de stock por compra.
      *
      * @param dto Datos para crear el movimiento de compra.
+     * @param idempotencyKey Clave opcional para que los reintentos devuelvan el resultado original.
      * @return ResponseEntity con el detalle del movimiento registrado.
      */
     @PostMapping("/purchase")
-    public ResponseEntity<StockMovementResponseDTO> purchase(@Valid @RequestBody CreateStockMovementDTO dto) {
-        return createResponseEntity(MovementType.PURCHASE, dto);
+    public ResponseEntity<StockMovementResponseDTO> purchase(@Valid @RequestBody CreateStockMovementDTO dto,
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey) {
+        return createResponseEntity(MovementType.PURCHASE, dto, idempotencyKey);
     }
 
     /**
      * Registra una devolución que retorna stock al inventario.
      *
      * @param dto Datos para crear el movimiento de devolución.
+     * @param idempotencyKey Clave opcional para que los reintentos devuelvan el resultado original.
      * @return ResponseEntity con el detalle del movimiento registrado.
      */
     @PostMapping("/return")
-    public ResponseEntity<StockMovementResponseDTO> returnToStock(@Valid @RequestBody CreateStockMovementDTO dto) {
-        return createResponseEntity(MovementType.RETURN, dto);
+    public ResponseEntity<StockMovementResponseDTO> returnToStock(@Valid @RequestBody CreateStockMovementDTO dto,
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey) {
+        return createResponseEntity(MovementType.RETURN, dto, idempotencyKey);
     }
 
     /**
      * Registra un ajuste positivo de stock.
      *
      * @param dto Datos para crear el movimiento de ajuste positivo.
+     * @param idempotencyKey Clave opcional para que los reintentos devuelvan el resultado original.
      * @return ResponseEntity con el detalle del movimiento registrado.
      */
     @PostMapping("/adjustment-positive")
-    public ResponseEntity<StockMovementResponseDTO> adjustmentPositive(@Valid @RequestBody CreateStockMovementDTO dto) {
-        return createResponseEntity(MovementType.ADJUSTMENT_POSITIVE, dto);
+    public ResponseEntity<StockMovementResponseDTO> adjustmentPositive(@Valid @RequestBody CreateStockMovementDTO dto,
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey) {
+        return createResponseEntity(MovementType.ADJUSTMENT_POSITIVE, dto, idempotencyKey);
     }
 
     /**
      * Registra una entrada manual de stock.
      *
      * @param dto Datos para crear el movimiento de entrada manual.
+     * @param idempotencyKey Clave opcional para que los reintentos devuelvan el resultado original.
      * @return ResponseEntity con el detalle del movimiento registrado.
      */
     @PostMapping("/manual-entry")
-    public ResponseEntity<StockMovementResponseDTO> manualEntry(@Valid @RequestBody CreateStockMovementDTO dto) {
-        return createResponseEntity(MovementType.MANUAL_ENTRY, dto);
+    public ResponseEntity<StockMovementResponseDTO> manualEntry(@Valid @RequestBody CreateStockMovementDTO dto,
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey) {
+        return createResponseEntity(MovementType.MANUAL_ENTRY, dto, idempotencyKey);
     }
 
     /**
      * Registra una salida de stock por venta.
      *
      * @param dto Datos para crear el movimiento de venta.
+     * @param idempotencyKey Clave opcional para que los reintentos devuelvan el resultado original.
      * @return ResponseEntity con el detalle del movimiento registrado.
      */
     @PostMapping("/sale")
-    public ResponseEntity<StockMovementResponseDTO> sale(@Valid @RequestBody CreateStockMovementDTO dto) {
-        return createResponseEntity(MovementType.SALE, dto);
+    public ResponseEntity<StockMovementResponseDTO> sale(@Valid @RequestBody CreateStockMovementDTO dto,
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey) {
+        return createResponseEntity(MovementType.SALE, dto, idempotencyKey);
     }
 
     /**
      * Registra una salida de stock por rotura.
      *
      * @param dto Datos para crear el movimiento de rotura.
+     * @param idempotencyKey Clave opcional para que los reintentos devuelvan el resultado original.
      * @return ResponseEntity con el detalle del movimiento registrado.
      */
     @PostMapping("/breakage")
-    public ResponseEntity<StockMovementResponseDTO> breakage(@Valid @RequestBody CreateStockMovementDTO dto) {
-        return createResponseEntity(MovementType.BREAKAGE, dto);
+    public ResponseEntity<StockMovementResponseDTO> breakage(@Valid @RequestBody CreateStockMovementDTO dto,
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey) {
+        return createResponseEntity(MovementType.BREAKAGE, dto, idempotencyKey);
     }
 
     /**
      * Registra una salida de stock por pérdida.
      *
      * @param dto Datos para crear el movimiento de pérdida.
+     * @param idempotencyKey Clave opcional para que los reintentos devuelvan el resultado original.
      * @return ResponseEntity con el detalle del movimiento registrado.
      */
     @PostMapping("/loss")
-    public ResponseEntity<StockMovementResponseDTO> loss(@Valid @RequestBody CreateStockMovementDTO dto) {
-        return createResponseEntity(MovementType.LOSS, dto);
+    public ResponseEntity<StockMovementResponseDTO> loss(@Valid @RequestBody CreateStockMovementDTO dto,
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey) {
+        return createResponseEntity(MovementType.LOSS, dto, idempotencyKey);
     }
 
     /**
      * Registra un ajuste negativo de stock.
      *
      * @param dto Datos para crear el movimiento de ajuste negativo.
+     * @param idempotencyKey Clave opcional para que los reintentos devuelvan el resultado original.
      * @return ResponseEntity con el detalle del movimiento registrado.
      */
     @PostMapping("/adjustment-negative")
-    public ResponseEntity<StockMovementResponseDTO> adjustmentNegative(@Valid @RequestBody CreateStockMovementDTO dto) {
-        return createResponseEntity(MovementType.ADJUSTMENT_NEGATIVE, dto);
+    public ResponseEntity<StockMovementResponseDTO> adjustmentNegative(@Valid @RequestBody CreateStockMovementDTO dto,
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey) {
+        return createResponseEntity(MovementType.ADJUSTMENT_NEGATIVE, dto, idempotencyKey);
     }
 
     /**
      * Registra una salida manual de stock.
      *
      * @param dto Datos para crear el movimiento de salida manual.
+     * @param idempotencyKey Clave opcional para que los reintentos devuelvan el resultado original.
      * @return ResponseEntity con el detalle del movimiento registrado.
      */
     @PostMapping("/manual-exit")
-    public ResponseEntity<StockMovementResponseDTO> manualExit(@Valid @RequestBody CreateStockMovementDTO dto) {
-        return createResponseEntity(MovementType.MANUAL_EXIT, dto);
+    public ResponseEntity<StockMovementResponseDTO> manualExit(@Valid @RequestBody CreateStockMovementDTO dto,
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey) {
+        return createResponseEntity(MovementType.MANUAL_EXIT, dto, idempotencyKey);
+    }
+
+    /**
+     * Registra un lote de movimientos de stock de distintos tipos en una sola petición.
+     *
+     * @param dto Lote de movimientos y modo de confirmación (todo o nada, o por movimiento).
+     * @param idempotencyKey Clave opcional para que los reintentos devuelvan el resultado original.
+     * @return ResponseEntity con el resultado de cada movimiento del lote.
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<BatchStockMovementResponseDTO> batch(@Valid @RequestBody BatchStockMovementRequestDTO dto,
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey) {
+        return ResponseEntity.ok(stockMovementService.createBatch(dto, idempotencyKey));
+    }
+
+    /**
+     * Ingiere un flujo NDJSON de movimientos de stock y devuelve el resultado de cada uno, también en NDJSON,
+     * a medida que se aplican. El flujo se procesa fuera del hilo de Tomcat que recibió la petición.
+     *
+     * @param request Petición cuyo cuerpo contiene un movimiento en JSON por línea.
+     * @return ResponseEntity con el flujo de resultados, uno por línea y en el orden de entrada.
+     */
+    @PostMapping(value = "/stream", consumes = MediaType.APPLICATION_NDJSON_VALUE,
+            produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> stream(HttpServletRequest request) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(output -> stockIngestionService.ingest(request.getInputStream(), output));
     }
 
     /**
      * Método auxiliar para crear la respuesta unificada para cada tipo de movimiento.
      *
-     * @param type Tipo de movimiento.
-     * @param dto  Datos del movimiento.
+     * @param type           Tipo de movimiento.
+     * @param dto            Datos del movimiento.
+     * @param idempotencyKey Clave de idempotencia opcional enviada por el cliente.
      * @return ResponseEntity con el detalle del movimiento registrado.
      */
-    private ResponseEntity<StockMovementResponseDTO> createResponseEntity(MovementType type, CreateStockMovementDTO dto) {
-        return ResponseEntity.ok(stockMovementService.create(type, dto));
+    private ResponseEntity<StockMovementResponseDTO> createResponseEntity(MovementType type, CreateStockMovementDTO dto,
+                                                                          String idempotencyKey) {
+        return ResponseEntity.ok(stockMovementService.create(type, dto, idempotencyKey));
     }
 }
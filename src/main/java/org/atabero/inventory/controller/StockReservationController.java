@@ -0,0 +1,68 @@
+package org.atabero.inventory.controller;
+
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.atabero.inventory.dto.stockreservation.CreateStockReservationDTO;
+import org.atabero.inventory.dto.stockreservation.StockReservationResponseDTO;
+import org.atabero.inventory.service.StockReservationService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.UUID;
+
+/**
+ * Controlador REST para gestionar reservas de stock.
+ * Permite retener stock para carritos y procesos de pago, y confirmarlo como venta o liberarlo.
+ */
+@RestController
+@RequestMapping("/api/v1/stock/reservations")
+@RequiredArgsConstructor
+public class StockReservationController {
+
+    private final StockReservationService stockReservationService;
+
+    /**
+     * Crea una reserva de stock que vence pasado su tiempo de vida si no se confirma.
+     *
+     * @param dto Datos de la reserva.
+     * @return ResponseEntity con la reserva creada.
+     */
+    @PostMapping
+    public ResponseEntity<StockReservationResponseDTO> reserve(@Valid @RequestBody CreateStockReservationDTO dto) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(stockReservationService.reserve(dto));
+    }
+
+    /**
+     * Obtiene una reserva por su ID.
+     *
+     * @param id Identificador de la reserva.
+     * @return ResponseEntity con la reserva.
+     */
+    @GetMapping("/{id}")
+    public ResponseEntity<StockReservationResponseDTO> findById(@PathVariable UUID id) {
+        return ResponseEntity.ok(stockReservationService.findById(id));
+    }
+
+    /**
+     * Confirma una reserva activa y registra la venta correspondiente.
+     *
+     * @param id Identificador de la reserva.
+     * @return ResponseEntity con la reserva confirmada y el movimiento de venta.
+     */
+    @PostMapping("/{id}/confirm")
+    public ResponseEntity<StockReservationResponseDTO> confirm(@PathVariable UUID id) {
+        return ResponseEntity.ok(stockReservationService.confirm(id));
+    }
+
+    /**
+     * Cancela una reserva activa y libera el stock retenido.
+     *
+     * @param id Identificador de la reserva.
+     * @return ResponseEntity con la reserva cancelada.
+     */
+    @PostMapping("/{id}/cancel")
+    public ResponseEntity<StockReservationResponseDTO> cancel(@PathVariable UUID id) {
+        return ResponseEntity.ok(stockReservationService.cancel(id));
+    }
+}
@@ -0,0 +1,60 @@
+package org.atabero.inventory.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.atabero.inventory.dto.stocksnapshot.StockAsOfResponseDTO;
+import org.atabero.inventory.dto.stocksnapshot.StockSnapshotRunResponseDTO;
+import org.atabero.inventory.service.StockSnapshotService;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Controlador REST para consultar el stock en una fecha pasada.
+ * Las consultas parten de la foto de stock más cercana y solo reproducen los movimientos posteriores.
+ */
+@RestController
+@RequestMapping("/api/v1/stock")
+@RequiredArgsConstructor
+public class StockSnapshotController {
+
+    private final StockSnapshotService stockSnapshotService;
+
+    /**
+     * Obtiene el stock de un producto en una fecha.
+     *
+     * @param idProduct Identificador del producto.
+     * @param at        Fecha de la consulta (ISO-8601, por ejemplo {@code 2025-06-30T23:59:59}).
+     * @return ResponseEntity con el stock del producto en esa fecha.
+     */
+    @GetMapping("/as-of/{idProduct}")
+    public ResponseEntity<StockAsOfResponseDTO> getStockAsOf(
+            @PathVariable Long idProduct,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime at) {
+        return ResponseEntity.ok(stockSnapshotService.getStockAsOf(idProduct, at));
+    }
+
+    /**
+     * Obtiene el stock de todo el catálogo en una fecha.
+     *
+     * @param at Fecha de la consulta (ISO-8601).
+     * @return ResponseEntity con el stock de cada producto en esa fecha.
+     */
+    @GetMapping("/as-of")
+    public ResponseEntity<List<StockAsOfResponseDTO>> getCatalogStockAsOf(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime at) {
+        return ResponseEntity.ok(stockSnapshotService.getCatalogStockAsOf(at));
+    }
+
+    /**
+     * Toma una foto del stock de todos los productos sin esperar a la programada.
+     *
+     * @return ResponseEntity con el instante de la foto y el número de productos incluidos.
+     */
+    @PostMapping("/snapshots")
+    public ResponseEntity<StockSnapshotRunResponseDTO> takeSnapshot() {
+        return ResponseEntity.ok(stockSnapshotService.takeSnapshot());
+    }
+}
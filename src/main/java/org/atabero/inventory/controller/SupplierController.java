@@ -2,16 +2,17 @@ package org.atabero.inventory.controller;
 
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.atabero.inventory.dto.page.PageQueryDTO;
+import org.atabero.inventory.dto.page.PageResponseDTO;
 import org.atabero.inventory.dto.supplier.CreateSupplierDTO;
 import org.atabero.inventory.dto.supplier.SupplierResponseDTO;
 import org.atabero.inventory.dto.supplier.UpdateSupplierDTO;
+import org.atabero.inventory.model.enums.SupplierStatus;
 import org.atabero.inventory.service.SupplierService;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
-
 /**
  * Controlador REST para la gestión de proveedores.
  * Permite operaciones CRUD para proveedores, así como activación y desactivación.
@@ -24,13 +25,19 @@ public class SupplierController {
     private final SupplierService supplierService;
 
     /**
-     * Obtiene la lista completa de proveedores.
+     * Obtiene una página de proveedores, por cursor salvo que se indique el número de página.
      *
-     * @return ResponseEntity con la lista de proveedores.
+     * @param name   Filtro opcional por nombre parcial.
+     * @param status Filtro opcional por estado.
+     * @param page   Parámetros de paginación: page, size, sort (id o name) y cursor.
+     * @return ResponseEntity con la página de proveedores.
      */
     @GetMapping()
-    public ResponseEntity<List<SupplierResponseDTO>> getAll() {
-        return ResponseEntity.ok(supplierService.findAll());
+    public ResponseEntity<PageResponseDTO<SupplierResponseDTO>> getAll(
+            @RequestParam(required = false) String name,
+            @RequestParam(required = false) SupplierStatus status,
+            PageQueryDTO page) {
+        return ResponseEntity.ok(supplierService.findAll(name, status, page));
     }
 
     /**
@@ -0,0 +1,14 @@
+package org.atabero.inventory.dto.outbox;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import org.atabero.inventory.model.enums.OutboxEventType;
+
+import java.time.LocalDateTime;
+
+public record OutboxMessageDTO(
+        Long id,
+        OutboxEventType type,
+        Long aggregateId,
+        LocalDateTime createdAt,
+        @JsonRawValue String payload
+) {}
@@ -0,0 +1,19 @@
+package org.atabero.inventory.dto.page;
+
+import lombok.*;
+
+@Builder
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class PageQueryDTO {
+
+    private Integer page;
+
+    private Integer size;
+
+    private String sort;
+
+    private String cursor;
+}
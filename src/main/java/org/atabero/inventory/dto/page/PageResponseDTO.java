@@ -0,0 +1,12 @@
+package org.atabero.inventory.dto.page;
+
+import java.util.List;
+
+public record PageResponseDTO<T>(
+        List<T> items,
+        int size,
+        Integer page,
+        Long totalElements,
+        Integer totalPages,
+        String nextCursor
+) {}
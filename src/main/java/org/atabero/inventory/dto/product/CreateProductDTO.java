@@ -36,6 +36,10 @@ public class CreateProductDTO {
     @Min(value = 0, message = "El stock no puede ser negativo")
     private Integer currentStock;
 
+    // Validación para el punto de pedido (opcional, cero para no vigilar el stock bajo)
+    @Min(value = 0, message = "El punto de pedido no puede ser negativo")
+    private Integer reorderPoint;
+
     // Validación para la categoría
     @NotNull(message = "La categoría no puede ser nula")
     private Long idCategory;
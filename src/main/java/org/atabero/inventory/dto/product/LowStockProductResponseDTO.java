@@ -0,0 +1,13 @@
+package org.atabero.inventory.dto.product;
+
+import java.time.LocalDateTime;
+
+public record LowStockProductResponseDTO(
+        Long id,
+        String name,
+        Long idCategory,
+        Integer stock,
+        Integer reorderPoint,
+        Integer shortage,
+        LocalDateTime since
+) {}
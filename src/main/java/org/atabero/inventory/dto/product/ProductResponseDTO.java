@@ -14,6 +14,8 @@ public record ProductResponseDTO(
         String description,
         BigDecimal price,
         Integer currentStock,
+        Integer availableStock,
+        Integer reorderPoint,
         ProductStatus status,
         String nameCategory,
         String NameSupplier,
@@ -1,6 +1,7 @@
 package org.atabero.inventory.dto.product;
 
 import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.Size;
 import lombok.*;
 
@@ -27,6 +28,9 @@ public class UpdateProductDTO {
     @DecimalMin(value = "0.01", message = "El precio debe ser mayor que cero")
     private BigDecimal price;
 
+    @Min(value = 0, message = "El punto de pedido no puede ser negativo")
+    private Integer reorderPoint;
+
     private Long idCategory;
 
     private Long supplier;
@@ -0,0 +1,21 @@
+package org.atabero.inventory.dto.product;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.*;
+
+@Setter
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class UpdateStockShardingDTO {
+
+    @NotNull(message = "Hay que indicar si se activa o desactiva el stock fragmentado")
+    private Boolean enabled;
+
+    // número de subcontadores; si no se indica se usa el valor configurado por defecto
+
+    @Min(value = 1, message = "Debe haber al menos un subcontador")
+    private Integer shards;
+}
@@ -3,7 +3,6 @@ package org.atabero.inventory.dto.productstatuschangelog;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
-import lombok.NoArgsConstructor;
 import lombok.Setter;
 import org.atabero.inventory.model.enums.OperationStatus;
 import org.atabero.inventory.model.enums.ProductStatus;
@@ -13,7 +12,6 @@ import java.util.UUID;
 
 @Getter
 @Setter
-@NoArgsConstructor
 @AllArgsConstructor
 @Builder
 public class ProductStatusChangeLogResponseDTO {
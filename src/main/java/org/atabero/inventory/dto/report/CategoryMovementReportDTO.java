@@ -0,0 +1,11 @@
+package org.atabero.inventory.dto.report;
+
+import java.time.LocalDate;
+
+public record CategoryMovementReportDTO(
+        Long idCategory,
+        String categoryName,
+        LocalDate periodStart,
+        long movements,
+        long quantity
+) {}
@@ -0,0 +1,14 @@
+package org.atabero.inventory.dto.report;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+public record ReorderRunResponseDTO(
+        LocalDateTime generatedAt,
+        LocalDate from,
+        LocalDate to,
+        int chunks,
+        long products,
+        long suggestions,
+        long durationMillis
+) {}
@@ -0,0 +1,13 @@
+package org.atabero.inventory.dto.report;
+
+public record ReorderSuggestionResponseDTO(
+        Long idProduct,
+        String code,
+        String name,
+        double movingAverage,
+        double exponentialAverage,
+        double demandDeviation,
+        int availableStock,
+        int suggestedReorderPoint,
+        int suggestedQuantity
+) {}
@@ -0,0 +1,10 @@
+package org.atabero.inventory.dto.report;
+
+import java.time.LocalDate;
+
+public record RollupBackfillResponseDTO(
+        LocalDate from,
+        LocalDate to,
+        int days,
+        long rows
+) {}
@@ -0,0 +1,12 @@
+package org.atabero.inventory.dto.report;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public record SupplierReorderResponseDTO(
+        Long idSupplier,
+        String supplierName,
+        LocalDateTime generatedAt,
+        long totalQuantity,
+        List<ReorderSuggestionResponseDTO> products
+) {}
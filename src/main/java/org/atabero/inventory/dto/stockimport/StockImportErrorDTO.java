@@ -0,0 +1,10 @@
+package org.atabero.inventory.dto.stockimport;
+
+import org.atabero.inventory.model.enums.MovementType;
+
+public record StockImportErrorDTO(
+        long line,
+        Long idProduct,
+        MovementType movementType,
+        String message
+) {}
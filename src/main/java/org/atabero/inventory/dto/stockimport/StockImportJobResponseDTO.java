@@ -0,0 +1,24 @@
+package org.atabero.inventory.dto.stockimport;
+
+import org.atabero.inventory.model.enums.ImportFormat;
+import org.atabero.inventory.model.enums.ImportJobStatus;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public record StockImportJobResponseDTO(
+        UUID id,
+        String fileName,
+        ImportFormat format,
+        ImportJobStatus status,
+        long sizeBytes,
+        long processedBytes,
+        double progress,
+        long processedLines,
+        long succeeded,
+        long failed,
+        String message,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt,
+        LocalDateTime finishedAt
+) {}
@@ -0,0 +1,13 @@
+package org.atabero.inventory.dto.stockmovement;
+
+import org.atabero.inventory.model.enums.MovementType;
+import org.atabero.inventory.model.enums.OperationStatus;
+
+public record BatchStockMovementItemResultDTO(
+        int index,
+        Long idProduct,
+        MovementType movementType,
+        OperationStatus operationStatus,
+        String message,
+        StockMovementResponseDTO movement
+) {}
@@ -0,0 +1,26 @@
+package org.atabero.inventory.dto.stockmovement;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.*;
+import org.atabero.inventory.model.enums.BatchCommitMode;
+
+import java.util.List;
+
+@Builder
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchStockMovementRequestDTO {
+
+    @NotNull(message = "El modo de confirmación no puede estar vacío")
+    @Builder.Default
+    private BatchCommitMode mode = BatchCommitMode.ALL_OR_NOTHING;
+
+    @NotEmpty(message = "El lote debe contener al menos un movimiento")
+    @Size(max = 1000, message = "El lote no puede contener más de 1000 movimientos")
+    private List<@Valid @NotNull BatchStockMovementItemDTO> items;
+}
@@ -0,0 +1,14 @@
+package org.atabero.inventory.dto.stockmovement;
+
+import org.atabero.inventory.model.enums.BatchCommitMode;
+
+import java.util.List;
+
+public record BatchStockMovementResponseDTO(
+        BatchCommitMode mode,
+        boolean applied,
+        int total,
+        int succeeded,
+        int failed,
+        List<BatchStockMovementItemResultDTO> results
+) {}
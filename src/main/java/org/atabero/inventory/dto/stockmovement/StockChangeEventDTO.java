@@ -0,0 +1,13 @@
+package org.atabero.inventory.dto.stockmovement;
+
+import org.atabero.inventory.model.enums.MovementType;
+
+import java.time.LocalDateTime;
+
+public record StockChangeEventDTO(
+        Long productId,
+        Integer previousQuantity,
+        Integer newQuantity,
+        MovementType movementType,
+        LocalDateTime timestamp
+) {}
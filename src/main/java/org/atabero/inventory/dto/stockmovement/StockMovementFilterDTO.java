@@ -0,0 +1,25 @@
+package org.atabero.inventory.dto.stockmovement;
+
+import lombok.*;
+import org.atabero.inventory.model.enums.MovementType;
+import org.atabero.inventory.model.enums.OperationStatus;
+
+import java.time.LocalDateTime;
+
+@Builder
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockMovementFilterDTO {
+
+    private Long idProduct;
+
+    private MovementType movementType;
+
+    private OperationStatus operationStatus;
+
+    private LocalDateTime from;
+
+    private LocalDateTime to;
+}
@@ -0,0 +1,16 @@
+package org.atabero.inventory.dto.stockmovement;
+
+import org.atabero.inventory.model.enums.MovementType;
+import org.atabero.inventory.model.enums.ProductStatus;
+import org.atabero.inventory.model.enums.StockRuleOutcome;
+import org.atabero.inventory.model.enums.SupplierStatus;
+
+public record StockRuleResponseDTO(
+        MovementType movementType,
+        boolean entry,
+        ProductStatus productStatus,
+        SupplierStatus supplierStatus,
+        StockRuleOutcome outcome,
+        boolean allowed,
+        String message
+) {}
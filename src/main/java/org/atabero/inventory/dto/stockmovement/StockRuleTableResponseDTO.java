@@ -0,0 +1,8 @@
+package org.atabero.inventory.dto.stockmovement;
+
+import java.util.List;
+
+public record StockRuleTableResponseDTO(
+        String version,
+        List<StockRuleResponseDTO> rules
+) {}
@@ -0,0 +1,27 @@
+package org.atabero.inventory.dto.stockreservation;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.*;
+
+@Builder
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class CreateStockReservationDTO {
+
+    @NotNull(message = "El id del producto no puede estar vacío")
+    private Long idProduct;
+
+    @NotNull(message = "La cantidad no puede estar vacía")
+    @Min(value = 1, message = "La cantidad debe ser mayor que cero")
+    private Integer quantity;
+
+    // duración de la reserva en segundos; si no se indica se usa la configurada por defecto
+
+    @Min(value = 1, message = "La duración de la reserva debe ser mayor que cero")
+    private Long ttlSeconds;
+
+    private String notes;
+}
@@ -0,0 +1,20 @@
+package org.atabero.inventory.dto.stockreservation;
+
+import org.atabero.inventory.dto.stockmovement.StockMovementResponseDTO;
+import org.atabero.inventory.model.enums.ReservationStatus;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public record StockReservationResponseDTO(
+        UUID id,
+        Long idProduct,
+        Integer quantity,
+        ReservationStatus status,
+        String notes,
+        LocalDateTime expiresAt,
+        LocalDateTime createdAt,
+        LocalDateTime resolvedAt,
+        UUID movementId,
+        StockMovementResponseDTO movement
+) {}
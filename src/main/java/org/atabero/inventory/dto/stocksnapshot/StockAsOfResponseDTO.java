@@ -0,0 +1,13 @@
+package org.atabero.inventory.dto.stocksnapshot;
+
+import org.atabero.inventory.model.enums.StockAsOfSource;
+
+import java.time.LocalDateTime;
+
+public record StockAsOfResponseDTO(
+        Long idProduct,
+        LocalDateTime at,
+        Integer stock,
+        StockAsOfSource source,
+        LocalDateTime anchorAt
+) {}
@@ -0,0 +1,9 @@
+package org.atabero.inventory.dto.stocksnapshot;
+
+import java.time.LocalDateTime;
+
+public record StockSnapshotRunResponseDTO(
+        LocalDateTime snapshotAt,
+        int products,
+        int purged
+) {}
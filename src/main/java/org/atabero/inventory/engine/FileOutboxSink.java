@@ -0,0 +1,54 @@
+package org.atabero.inventory.engine;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.atabero.inventory.config.OutboxProperties;
+import org.atabero.inventory.dto.outbox.OutboxMessageDTO;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Destino que añade cada evento como una línea JSON a un fichero local y lo sincroniza con el disco antes de
+ * dar el lote por entregado. Pensado para desarrollo y pruebas.
+ */
+@Component
+@ConditionalOnProperty(prefix = "inventory.outbox", name = "sink", havingValue = "file", matchIfMissing = true)
+public class FileOutboxSink implements OutboxSink {
+
+    private final ObjectMapper objectMapper;
+    private final Path file;
+
+    public FileOutboxSink(ObjectMapper objectMapper, OutboxProperties properties) throws IOException {
+        this.objectMapper = objectMapper;
+        this.file = properties.getFile();
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+    }
+
+    @Override
+    public synchronized void publish(List<OutboxMessageDTO> messages) throws IOException {
+        ByteArrayOutputStream lines = new ByteArrayOutputStream();
+        for (OutboxMessageDTO message : messages) {
+            lines.write(objectMapper.writeValueAsBytes(message));
+            lines.write('\n');
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND)) {
+            ByteBuffer buffer = ByteBuffer.wrap(lines.toByteArray());
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(false);
+        }
+    }
+}
@@ -0,0 +1,309 @@
+package org.atabero.inventory.engine;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceException;
+import lombok.extern.slf4j.Slf4j;
+import org.atabero.inventory.config.StockProperties;
+import org.atabero.inventory.exception.stockmovemen.StockEngineSaturatedException;
+import org.hibernate.Session;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Connection;
+import java.sql.Savepoint;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Confirmación agrupada de movimientos de stock concurrentes.
+ * <p>
+ * Las tareas se reparten entre varios carriles según el producto. Cada carril recoge las tareas que llegan
+ * durante {@code window} desde la primera, hasta {@code max-batch-size}, y las ejecuta en una única
+ * transacción, de modo que todo el grupo paga un solo commit. Cada tarea se ejecuta en su propio punto de
+ * guardado: si falla, se deshacen solo sus cambios y el resto del grupo sigue adelante. Si falla la propia
+ * transacción (por ejemplo, un conflicto al confirmar), cada tarea se vuelve a ejecutar en su propia
+ * transacción para que un fallo no arrastre al resto.
+ * </p>
+ * <p>
+ * Los eventos que publica una tarea deshecha en su punto de guardado no llegan a los oyentes que esperan al
+ * commit, aunque el grupo se confirme.
+ * </p>
+ * <p>
+ * Los carriles no pasan por {@link StripedStockExecutor}: ordenan entre sí los movimientos de un producto, pero no
+ * respecto a los cambios de estado o las reservas de ese producto, que siguen en su franja. Entre ambos caminos la
+ * consistencia la da el bloqueo de la fila del producto, no el orden de llegada.
+ * </p>
+ */
+@Slf4j
+@Component
+public class GroupCommitExecutor {
+
+    private final StockProperties.GroupCommit groupCommit;
+    private final EntityManager entityManager;
+    private final TransactionTemplate batchTransaction;
+    private final TransactionTemplate singleTransaction;
+    private final List<Lane> lanes = new ArrayList<>();
+    private volatile boolean running = true;
+
+    private final DistributionSummary batchSize;
+    private final Timer commitLatency;
+    private final Counter fallbacks;
+
+    public GroupCommitExecutor(StockProperties stockProperties, EntityManager entityManager,
+                               PlatformTransactionManager transactionManager, MeterRegistry meterRegistry) {
+        this.groupCommit = stockProperties.getGroupCommit();
+        this.entityManager = entityManager;
+        this.batchTransaction = new TransactionTemplate(transactionManager);
+        this.singleTransaction = new TransactionTemplate(transactionManager);
+
+        this.batchSize = DistributionSummary.builder("inventory.stock.groupcommit.batch.size")
+                .description("Movimientos confirmados en cada transacción agrupada")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        this.commitLatency = Timer.builder("inventory.stock.groupcommit.commit")
+                .description("Duración de la transacción de un grupo de movimientos")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        this.fallbacks = Counter.builder("inventory.stock.groupcommit.fallbacks")
+                .description("Grupos que se reintentaron movimiento a movimiento tras fallar la transacción")
+                .register(meterRegistry);
+
+        if (groupCommit.isEnabled()) {
+            for (int i = 0; i < Math.max(1, groupCommit.getLanes()); i++) {
+                Lane lane = new Lane(new ArrayBlockingQueue<>(Math.max(1, groupCommit.getQueueCapacity())));
+                Thread thread = new Thread(() -> runLane(lane), "stock-group-commit-" + i);
+                thread.setDaemon(true);
+                lane.thread = thread;
+                lanes.add(lane);
+                thread.start();
+            }
+        }
+    }
+
+    /**
+     * Indica si la confirmación agrupada está activa.
+     *
+     * @return true si los movimientos se agrupan.
+     */
+    public boolean isEnabled() {
+        return !lanes.isEmpty();
+    }
+
+    /**
+     * Ejecuta la tarea dentro de la transacción de un grupo y espera su resultado. Si ya hay una transacción
+     * activa en el hilo actual, la tarea se ejecuta directamente en ella.
+     *
+     * @param productId ID del producto que determina el carril.
+     * @param task      tarea a ejecutar; no debe abrir su propia transacción.
+     * @return el resultado de la tarea.
+     * @throws StockEngineSaturatedException si la cola del carril está llena.
+     */
+    public <T> T execute(Long productId, Supplier<T> task) {
+        if (!isEnabled() || TransactionSynchronizationManager.isActualTransactionActive()) {
+            return singleTransaction.execute(status -> task.get());
+        }
+
+        PendingTask<T> pending = new PendingTask<>(task);
+        Lane lane = lanes.get(laneOf(productId));
+        if (!lane.queue.offer(pending)) {
+            throw new StockEngineSaturatedException(
+                    "El motor de stock está saturado para el producto con ID " + productId + ", reintente más tarde");
+        }
+        return await(pending.result);
+    }
+
+    private void runLane(Lane lane) {
+        List<PendingTask<?>> batch = new ArrayList<>(groupCommit.getMaxBatchSize());
+        long windowNanos = groupCommit.getWindow().toNanos();
+        while (running || !lane.queue.isEmpty()) {
+            try {
+                PendingTask<?> first = lane.queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + windowNanos;
+                while (batch.size() < groupCommit.getMaxBatchSize()) {
+                    lane.queue.drainTo(batch, groupCommit.getMaxBatchSize() - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= groupCommit.getMaxBatchSize() || remaining <= 0) {
+                        break;
+                    }
+                    PendingTask<?> next = lane.queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                running = false;
+            }
+            if (!batch.isEmpty()) {
+                commit(batch);
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * Ejecuta el grupo en una transacción y, solo cuando esta se confirma, entrega el resultado a cada llamante.
+     */
+    private void commit(List<PendingTask<?>> batch) {
+        batchSize.record(batch.size());
+        long start = System.nanoTime();
+        try {
+            batchTransaction.executeWithoutResult(status -> {
+                for (PendingTask<?> pending : batch) {
+                    runInSavepoint(pending);
+                }
+            });
+        } catch (RuntimeException e) {
+            fallbacks.increment();
+            log.warn("Falló la transacción de un grupo de {} movimientos de stock; se aplican uno a uno", batch.size(), e);
+            for (PendingTask<?> pending : batch) {
+                runAlone(pending);
+            }
+            return;
+        } finally {
+            commitLatency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+        for (PendingTask<?> pending : batch) {
+            pending.complete();
+        }
+    }
+
+    private void runInSavepoint(PendingTask<?> pending) {
+        // JpaTransactionManager no admite transacciones anidadas con Hibernate: el punto de guardado se gestiona con JDBC.
+        Session session = entityManager.unwrap(Session.class);
+        Savepoint savepoint = session.doReturningWork(Connection::setSavepoint);
+        List<TransactionSynchronization> registered = TransactionSynchronizationManager.getSynchronizations();
+        try {
+            pending.run();
+            entityManager.flush();
+        } catch (DataAccessException | PersistenceException e) {
+            // El contexto de persistencia puede haber quedado inconsistente: se aborta el grupo completo.
+            throw e;
+        } catch (RuntimeException e) {
+            // Se deshacen solo los cambios de la tarea y se descartan las entidades en memoria.
+            session.doWork(connection -> connection.rollback(savepoint));
+            entityManager.clear();
+            discardSynchronizationsSince(registered);
+            pending.fail(e);
+            return;
+        }
+        session.doWork(connection -> connection.releaseSavepoint(savepoint));
+    }
+
+    /**
+     * Descarta las sincronizaciones que registró una tarea deshecha, como los oyentes {@code AFTER_COMMIT} de
+     * los eventos que publicó: el grupo sí se confirma, pero los cambios de esa tarea no.
+     */
+    private static void discardSynchronizationsSince(List<TransactionSynchronization> registered) {
+        if (TransactionSynchronizationManager.getSynchronizations().size() == registered.size()) {
+            return;
+        }
+        TransactionSynchronizationManager.clearSynchronization();
+        TransactionSynchronizationManager.initSynchronization();
+        registered.forEach(TransactionSynchronizationManager::registerSynchronization);
+    }
+
+    private void runAlone(PendingTask<?> pending) {
+        try {
+            singleTransaction.executeWithoutResult(status -> pending.run());
+            pending.complete();
+        } catch (RuntimeException e) {
+            pending.fail(e);
+            pending.complete();
+        }
+    }
+
+    private int laneOf(Long productId) {
+        long hash = (productId != null ? productId : 0L) * 0x9E3779B97F4A7C15L;
+        return (int) ((hash >>> 32) % lanes.size());
+    }
+
+    private static <T> T await(CompletableFuture<T> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrumpido mientras se esperaba la confirmación del grupo", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        for (Lane lane : lanes) {
+            lane.thread.join(TimeUnit.SECONDS.toMillis(30));
+        }
+    }
+
+    private static final class Lane {
+
+        private final BlockingQueue<PendingTask<?>> queue;
+        private Thread thread;
+
+        private Lane(BlockingQueue<PendingTask<?>> queue) {
+            this.queue = queue;
+        }
+    }
+
+    /**
+     * Tarea pendiente de un llamante. El resultado o el error se guardan al ejecutarla y se entregan
+     * al llamante al terminar la transacción.
+     */
+    private static final class PendingTask<T> {
+
+        private final Supplier<T> task;
+        private final CompletableFuture<T> result = new CompletableFuture<>();
+        private T value;
+        private RuntimeException error;
+
+        private PendingTask(Supplier<T> task) {
+            this.task = task;
+        }
+
+        private void run() {
+            error = null;
+            value = task.get();
+        }
+
+        private void fail(RuntimeException e) {
+            error = e;
+        }
+
+        private void complete() {
+            if (error != null) {
+                result.completeExceptionally(error);
+            } else {
+                result.complete(value);
+            }
+        }
+    }
+}
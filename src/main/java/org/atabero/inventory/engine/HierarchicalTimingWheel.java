@@ -0,0 +1,305 @@
+package org.atabero.inventory.engine;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * Temporizador de ruedas jerárquicas para programar millones de vencimientos con coste constante.
+ * <p>
+ * La primera rueda tiene {@code wheelSize} casillas de {@code tick} cada una. Los vencimientos que no caben
+ * en ella se guardan en una rueda superior cuyas casillas abarcan una vuelta completa de la inferior, y así
+ * sucesivamente. Solo las casillas con elementos entran en una {@link DelayQueue}, así que el hilo del
+ * temporizador duerme hasta el siguiente vencimiento en lugar de recorrer casillas vacías. Cuando vence una
+ * casilla de una rueda superior, sus elementos se redistribuyen en las ruedas inferiores.
+ * </p>
+ *
+ * @param <T> tipo de los elementos programados.
+ */
+public class HierarchicalTimingWheel<T> implements AutoCloseable {
+
+    private final Consumer<T> onExpire;
+    private final DelayQueue<Bucket<T>> queue = new DelayQueue<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final AtomicInteger size = new AtomicInteger();
+    private final Wheel<T> root;
+    private final Thread ticker;
+    private volatile boolean running = true;
+
+    /**
+     * Crea el temporizador y arranca su hilo.
+     *
+     * @param name      nombre del hilo del temporizador.
+     * @param tick      duración de una casilla de la primera rueda.
+     * @param wheelSize número de casillas de cada rueda.
+     * @param onExpire  acción a ejecutar, en el hilo del temporizador, con cada elemento vencido.
+     */
+    public HierarchicalTimingWheel(String name, Duration tick, int wheelSize, Consumer<T> onExpire) {
+        this.onExpire = onExpire;
+        this.root = new Wheel<>(Math.max(1, tick.toNanos()), Math.max(2, wheelSize), System.nanoTime(), queue);
+        this.ticker = new Thread(this::run, name);
+        this.ticker.setDaemon(true);
+        this.ticker.start();
+    }
+
+    /**
+     * Programa un elemento para que venza tras el retraso indicado.
+     *
+     * @param item  elemento a programar.
+     * @param delay tiempo hasta el vencimiento; el elemento vence como mucho un tick después.
+     * @return un manejador para cancelar el vencimiento.
+     */
+    public Timeout schedule(T item, Duration delay) {
+        // Las casillas vencen al inicio de su intervalo: se redondea hacia arriba para no vencer nunca antes de tiempo.
+        long deadline = System.nanoTime() + Math.max(0, delay.toNanos()) + root.tickNanos - 1;
+        Entry<T> entry = new Entry<>(item, deadline, size);
+        size.incrementAndGet();
+        lock.lock();
+        try {
+            if (!root.add(entry)) {
+                // Ya vencido: se entrega en la siguiente vuelta del hilo sin esperar a una casilla.
+                root.addToCurrentBucket(entry);
+            }
+        } finally {
+            lock.unlock();
+        }
+        return entry;
+    }
+
+    /**
+     * Devuelve el número de elementos programados y no cancelados ni vencidos.
+     *
+     * @return elementos pendientes.
+     */
+    public int size() {
+        return size.get();
+    }
+
+    private void run() {
+        List<Entry<T>> expired = new ArrayList<>();
+        while (running) {
+            Bucket<T> bucket;
+            try {
+                bucket = queue.poll(200, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (bucket == null) {
+                continue;
+            }
+            lock.lock();
+            try {
+                while (bucket != null) {
+                    root.advanceClock(bucket.getExpiration());
+                    for (Entry<T> entry : bucket.drain()) {
+                        if (!entry.isCancelled() && !root.add(entry)) {
+                            expired.add(entry);
+                        }
+                    }
+                    bucket = queue.poll();
+                }
+            } finally {
+                lock.unlock();
+            }
+            for (Entry<T> entry : expired) {
+                if (entry.markFired()) {
+                    try {
+                        onExpire.accept(entry.item);
+                    } catch (RuntimeException e) {
+                        // Un fallo al procesar un vencimiento no debe detener el temporizador.
+                        Thread current = Thread.currentThread();
+                        current.getUncaughtExceptionHandler().uncaughtException(current, e);
+                    }
+                }
+            }
+            expired.clear();
+        }
+    }
+
+    /**
+     * Detiene el temporizador y espera a que termine el hilo de vencimientos. Los elementos pendientes no vencen.
+     * Si se interrumpe la espera, conserva el estado de interrupción del hilo que cierra.
+     */
+    @Override
+    public void close() {
+        running = false;
+        try {
+            ticker.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Manejador de un vencimiento programado.
+     */
+    public interface Timeout {
+
+        /**
+         * Cancela el vencimiento si aún no se ha producido.
+         *
+         * @return true si se canceló, false si ya había vencido o estaba cancelado.
+         */
+        boolean cancel();
+    }
+
+    private static final class Entry<T> implements Timeout {
+
+        private static final int PENDING = 0;
+        private static final int CANCELLED = 1;
+        private static final int FIRED = 2;
+
+        private final T item;
+        private final long deadline;
+        private final AtomicInteger state = new AtomicInteger(PENDING);
+        private final AtomicInteger size;
+
+        private Entry(T item, long deadline, AtomicInteger size) {
+            this.item = item;
+            this.deadline = deadline;
+            this.size = size;
+        }
+
+        @Override
+        public boolean cancel() {
+            if (state.compareAndSet(PENDING, CANCELLED)) {
+                size.decrementAndGet();
+                return true;
+            }
+            return false;
+        }
+
+        private boolean isCancelled() {
+            return state.get() == CANCELLED;
+        }
+
+        private boolean markFired() {
+            if (state.compareAndSet(PENDING, FIRED)) {
+                size.decrementAndGet();
+                return true;
+            }
+            return false;
+        }
+    }
+
+    private static final class Bucket<T> implements Delayed {
+
+        private static final long UNSET = Long.MIN_VALUE;
+
+        private final List<Entry<T>> entries = new ArrayList<>();
+        private long expiration = UNSET;
+
+        private void add(Entry<T> entry) {
+            entries.add(entry);
+        }
+
+        /**
+         * Fija el vencimiento de la casilla.
+         *
+         * @return true si cambió, es decir, si la casilla debe volver a la cola de retardo.
+         */
+        private boolean setExpiration(long expiration) {
+            boolean changed = this.expiration != expiration;
+            this.expiration = expiration;
+            return changed;
+        }
+
+        private long getExpiration() {
+            return expiration;
+        }
+
+        private List<Entry<T>> drain() {
+            List<Entry<T>> drained = new ArrayList<>(entries);
+            entries.clear();
+            expiration = UNSET;
+            return drained;
+        }
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(expiration - System.nanoTime(), TimeUnit.NANOSECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            return Long.compare(expiration, ((Bucket<?>) other).expiration);
+        }
+    }
+
+    private static final class Wheel<T> {
+
+        private final long tickNanos;
+        private final int wheelSize;
+        private final long intervalNanos;
+        private final List<Bucket<T>> buckets;
+        private final DelayQueue<Bucket<T>> queue;
+        private long currentTime;
+        private Wheel<T> overflow;
+
+        private Wheel(long tickNanos, int wheelSize, long startNanos, DelayQueue<Bucket<T>> queue) {
+            this.tickNanos = tickNanos;
+            this.wheelSize = wheelSize;
+            this.intervalNanos = tickNanos * wheelSize;
+            this.queue = queue;
+            this.currentTime = startNanos - Math.floorMod(startNanos, tickNanos);
+            this.buckets = new ArrayList<>(wheelSize);
+            for (int i = 0; i < wheelSize; i++) {
+                buckets.add(new Bucket<>());
+            }
+        }
+
+        /**
+         * Coloca el elemento en la casilla que le corresponde en esta rueda o en una superior.
+         *
+         * @return false si el elemento ya ha vencido.
+         */
+        private boolean add(Entry<T> entry) {
+            long deadline = entry.deadline;
+            if (deadline - currentTime < tickNanos) {
+                return false;
+            }
+            if (deadline - currentTime < intervalNanos) {
+                long virtualId = Math.floorDiv(deadline, tickNanos);
+                Bucket<T> bucket = buckets.get((int) Math.floorMod(virtualId, (long) wheelSize));
+                bucket.add(entry);
+                // Una casilla solo se reutiliza después de vaciarse, así que nunca está dos veces en la cola.
+                if (bucket.setExpiration(virtualId * tickNanos)) {
+                    queue.offer(bucket);
+                }
+                return true;
+            }
+            return overflow().add(entry);
+        }
+
+        private void addToCurrentBucket(Entry<T> entry) {
+            Bucket<T> bucket = buckets.get((int) Math.floorMod(Math.floorDiv(currentTime, tickNanos), (long) wheelSize));
+            bucket.add(entry);
+            if (bucket.getExpiration() == Bucket.UNSET && bucket.setExpiration(currentTime)) {
+                queue.offer(bucket);
+            }
+        }
+
+        private void advanceClock(long time) {
+            if (time - currentTime >= tickNanos) {
+                currentTime = time - Math.floorMod(time, tickNanos);
+                if (overflow != null) {
+                    overflow.advanceClock(currentTime);
+                }
+            }
+        }
+
+        private Wheel<T> overflow() {
+            if (overflow == null) {
+                overflow = new Wheel<>(intervalNanos, wheelSize, currentTime, queue);
+            }
+            return overflow;
+        }
+    }
+}
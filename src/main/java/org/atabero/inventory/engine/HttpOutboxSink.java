@@ -0,0 +1,55 @@
+package org.atabero.inventory.engine;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.atabero.inventory.config.OutboxProperties;
+import org.atabero.inventory.dto.outbox.OutboxMessageDTO;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Destino que envía cada lote como un array JSON en un POST. Cualquier respuesta distinta de 2xx se considera un
+ * fallo y el lote se reintenta en la siguiente pasada.
+ */
+@Component
+@ConditionalOnProperty(prefix = "inventory.outbox", name = "sink", havingValue = "http")
+public class HttpOutboxSink implements OutboxSink {
+
+    private final ObjectMapper objectMapper;
+    private final URI url;
+    private final Duration timeout;
+    private final HttpClient client;
+
+    public HttpOutboxSink(ObjectMapper objectMapper, OutboxProperties properties) {
+        this.objectMapper = objectMapper;
+        this.url = properties.getUrl();
+        this.timeout = properties.getHttpTimeout();
+        this.client = HttpClient.newBuilder().connectTimeout(timeout).build();
+    }
+
+    @Override
+    public void publish(List<OutboxMessageDTO> messages) throws IOException {
+        HttpRequest request = HttpRequest.newBuilder(url)
+                .timeout(timeout)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(messages)))
+                .build();
+        HttpResponse<Void> response;
+        try {
+            response = client.send(request, HttpResponse.BodyHandlers.discarding());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrumpido mientras se enviaban los eventos a " + url, e);
+        }
+        if (response.statusCode() / 100 != 2) {
+            throw new IOException("El destino " + url + " respondió " + response.statusCode());
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package org.atabero.inventory.engine;
+
+import java.time.LocalDateTime;
+
+/**
+ * Cruce del punto de pedido de un producto: su stock ha bajado del punto de pedido o lo ha vuelto a alcanzar.
+ * Se publica después de confirmarse el cambio que provoca el cruce.
+ *
+ * @param productId    ID del producto.
+ * @param categoryId   ID de la categoría del producto.
+ * @param stock        stock total tras el cambio.
+ * @param reorderPoint punto de pedido del producto.
+ * @param low          true si el producto pasa a tener stock bajo; false si deja de tenerlo.
+ * @param timestamp    fecha y hora del cruce.
+ */
+public record LowStockChangedEvent(
+        Long productId,
+        Long categoryId,
+        int stock,
+        int reorderPoint,
+        boolean low,
+        LocalDateTime timestamp
+) {
+}
@@ -0,0 +1,126 @@
+package org.atabero.inventory.engine;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.atabero.inventory.config.StockProperties;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Ejecuta una operación transaccional y la reintenta si falla por un conflicto de versión optimista.
+ * <p>
+ * Entre intentos se espera un tiempo exponencial con variación aleatoria. Además, los reintentos se limitan
+ * con un presupuesto global: cada operación aporta una fracción de reintento y cada reintento consume uno,
+ * de modo que una contención sostenida no multiplica la carga sobre la base de datos.
+ * </p>
+ */
+@Component
+public class OptimisticRetryExecutor {
+
+    private static final long TOKEN_SCALE = 1000;
+
+    private final StockProperties.Retry retry;
+    private final AtomicLong budget;
+    private final long budgetDeposit;
+    private final long budgetCapacity;
+
+    private final Counter conflicts;
+    private final Counter retries;
+    private final Counter exhaustedByAttempts;
+    private final Counter exhaustedByBudget;
+
+    public OptimisticRetryExecutor(StockProperties stockProperties, MeterRegistry meterRegistry) {
+        this.retry = stockProperties.getRetry();
+        this.budgetCapacity = retry.getBudgetMaxTokens() * TOKEN_SCALE;
+        this.budgetDeposit = Math.round(retry.getBudgetRatio() * TOKEN_SCALE);
+        this.budget = new AtomicLong(budgetCapacity);
+
+        this.conflicts = Counter.builder("inventory.stock.optimistic.conflicts")
+                .description("Conflictos de versión detectados al actualizar stock")
+                .register(meterRegistry);
+        this.retries = Counter.builder("inventory.stock.optimistic.retries")
+                .description("Reintentos realizados tras un conflicto de versión")
+                .register(meterRegistry);
+        this.exhaustedByAttempts = Counter.builder("inventory.stock.optimistic.exhausted")
+                .description("Operaciones que fallaron tras agotar los reintentos")
+                .tag("reason", "attempts")
+                .register(meterRegistry);
+        this.exhaustedByBudget = Counter.builder("inventory.stock.optimistic.exhausted")
+                .description("Operaciones que fallaron tras agotar los reintentos")
+                .tag("reason", "budget")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Ejecuta la operación, reintentándola ante {@link OptimisticLockingFailureException}.
+     * Cada intento debe abrir su propia transacción. Si ya hay una transacción activa en el hilo, la operación se
+     * ejecuta una sola vez: el conflicto deja esa transacción marcada para deshacerse y reintentar dentro de ella
+     * no serviría, así que el reintento corresponde a quien la abrió.
+     *
+     * @param operation operación a ejecutar.
+     * @return el resultado de la operación.
+     * @throws OptimisticLockingFailureException si se agotan los intentos o el presupuesto de reintentos.
+     */
+    public <T> T execute(Supplier<T> operation) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return operation.get();
+        }
+        deposit();
+        long backoffNanos = retry.getInitialBackoff().toNanos();
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return operation.get();
+            } catch (OptimisticLockingFailureException e) {
+                conflicts.increment();
+                if (attempt >= retry.getMaxAttempts()) {
+                    exhaustedByAttempts.increment();
+                    throw e;
+                }
+                if (!withdraw()) {
+                    exhaustedByBudget.increment();
+                    throw e;
+                }
+                retries.increment();
+                sleep(backoffNanos);
+                backoffNanos = Math.min(
+                        (long) (backoffNanos * retry.getMultiplier()),
+                        retry.getMaxBackoff().toNanos()
+                );
+            }
+        }
+    }
+
+    private void deposit() {
+        budget.updateAndGet(tokens -> Math.min(budgetCapacity, tokens + budgetDeposit));
+    }
+
+    private boolean withdraw() {
+        long current;
+        do {
+            current = budget.get();
+            if (current < TOKEN_SCALE) {
+                return false;
+            }
+        } while (!budget.compareAndSet(current, current - TOKEN_SCALE));
+        return true;
+    }
+
+    private static void sleep(long backoffNanos) {
+        if (backoffNanos <= 0) {
+            return;
+        }
+        long jittered = backoffNanos / 2 + ThreadLocalRandom.current().nextLong(backoffNanos / 2 + 1);
+        try {
+            TimeUnit.NANOSECONDS.sleep(jittered);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrumpido mientras se esperaba para reintentar", e);
+        }
+    }
+}
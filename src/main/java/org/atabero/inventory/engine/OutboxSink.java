@@ -0,0 +1,24 @@
+package org.atabero.inventory.engine;
+
+import org.atabero.inventory.dto.outbox.OutboxMessageDTO;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Destino al que el repetidor de la bandeja de salida entrega los eventos.
+ * <p>
+ * La entrega es "al menos una vez": si el destino acepta el lote pero la transacción que lo marca como publicado
+ * falla, el lote se vuelve a entregar. Los consumidores deben descartar los eventos repetidos por su {@code id}.
+ * </p>
+ */
+public interface OutboxSink {
+
+    /**
+     * Entrega un lote de eventos en orden. Solo debe volver sin error cuando el lote esté guardado en el destino.
+     *
+     * @param messages eventos ordenados por ID.
+     * @throws IOException si el destino no acepta el lote.
+     */
+    void publish(List<OutboxMessageDTO> messages) throws IOException;
+}
@@ -0,0 +1,23 @@
+package org.atabero.inventory.engine;
+
+import org.atabero.inventory.model.enums.ProductStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * Cambio de estado de un producto. Se publica dentro de la transacción que aplica el cambio.
+ *
+ * @param productId      ID del producto.
+ * @param previousStatus estado anterior.
+ * @param newStatus      estado nuevo.
+ * @param reason         motivo del cambio.
+ * @param changedAt      fecha y hora del cambio.
+ */
+public record ProductStatusChangedEvent(
+        Long productId,
+        ProductStatus previousStatus,
+        ProductStatus newStatus,
+        String reason,
+        LocalDateTime changedAt
+) {
+}
@@ -0,0 +1,19 @@
+package org.atabero.inventory.engine;
+
+/**
+ * Alta o modificación de un producto desde el catálogo. Se publica dentro de la transacción que la guarda.
+ *
+ * @param productId    ID del producto.
+ * @param name         nombre del producto.
+ * @param categoryId   ID de la categoría del producto.
+ * @param stock        stock total del producto.
+ * @param reorderPoint punto de pedido del producto.
+ */
+public record ProductUpdatedEvent(
+        Long productId,
+        String name,
+        Long categoryId,
+        int stock,
+        int reorderPoint
+) {
+}
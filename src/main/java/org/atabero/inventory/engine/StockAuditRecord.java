@@ -0,0 +1,28 @@
+package org.atabero.inventory.engine;
+
+import org.atabero.inventory.model.enums.MovementType;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Movimiento de stock fallido pendiente de registrar en {@code movement_logs}.
+ *
+ * @param id             identificador del registro.
+ * @param productId      ID del producto, o {@code null} si el producto no existe.
+ * @param quantityChange cantidad solicitada en el movimiento.
+ * @param movementType   tipo de movimiento.
+ * @param notes          notas del movimiento.
+ * @param message        motivo del error.
+ * @param timestamp      fecha y hora en la que se rechazó el movimiento.
+ */
+public record StockAuditRecord(
+        UUID id,
+        Long productId,
+        Integer quantityChange,
+        MovementType movementType,
+        String notes,
+        String message,
+        LocalDateTime timestamp
+) {
+}
@@ -0,0 +1,28 @@
+package org.atabero.inventory.engine;
+
+import org.atabero.inventory.model.enums.MovementType;
+
+import java.time.LocalDateTime;
+
+/**
+ * Cambio de stock producido por un movimiento exitoso. Se publica dentro de la transacción del movimiento y
+ * los oyentes lo reciben solo si esta se confirma.
+ *
+ * @param productId        ID del producto.
+ * @param categoryId       ID de la categoría del producto.
+ * @param supplierId       ID del proveedor del producto.
+ * @param previousQuantity stock antes del movimiento.
+ * @param newQuantity      stock después del movimiento.
+ * @param movementType     tipo de movimiento.
+ * @param timestamp        fecha y hora del movimiento.
+ */
+public record StockChangedEvent(
+        Long productId,
+        Long categoryId,
+        Long supplierId,
+        Integer previousQuantity,
+        Integer newQuantity,
+        MovementType movementType,
+        LocalDateTime timestamp
+) {
+}
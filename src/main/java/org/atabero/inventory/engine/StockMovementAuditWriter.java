@@ -0,0 +1,185 @@
+package org.atabero.inventory.engine;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.atabero.inventory.config.StockProperties;
+import org.atabero.inventory.model.enums.OperationStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Registra de forma asíncrona los movimientos de stock fallidos.
+ * <p>
+ * Los registros se encolan en memoria y un hilo dedicado los escribe en lotes JDBC, cada lote en su
+ * propia transacción, cuando se alcanza {@code batch-size} o pasa {@code flush-interval} desde el
+ * primer registro pendiente. Así el registro del error no se pierde cuando la transacción del
+ * movimiento se revierte, y la petición fallida no espera a la inserción.
+ * </p>
+ */
+@Slf4j
+@Component
+public class StockMovementAuditWriter {
+
+    private static final String INSERT_SQL = """
+            INSERT INTO movement_logs (id, product_id, quantity_change, movement_type, notes,
+                                       operation_status, operation_message, timestamp)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    private final StockProperties.Audit audit;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final BlockingQueue<StockAuditRecord> queue;
+    private final Thread writer;
+    private volatile boolean running = true;
+
+    private final Timer flushLatency;
+    private final Counter written;
+    private final Counter dropped;
+    private final Counter failed;
+
+    public StockMovementAuditWriter(StockProperties stockProperties, JdbcTemplate jdbcTemplate,
+                                    PlatformTransactionManager transactionManager, MeterRegistry meterRegistry) {
+        this.audit = stockProperties.getAudit();
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, audit.getQueueCapacity()));
+
+        Gauge.builder("inventory.stock.audit.queue.depth", queue, BlockingQueue::size)
+                .description("Registros de auditoría pendientes de escribir")
+                .register(meterRegistry);
+        this.flushLatency = Timer.builder("inventory.stock.audit.flush")
+                .description("Duración de la escritura de un lote de auditoría")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        this.written = Counter.builder("inventory.stock.audit.written")
+                .description("Registros de auditoría escritos")
+                .register(meterRegistry);
+        this.dropped = Counter.builder("inventory.stock.audit.dropped")
+                .description("Registros de auditoría descartados por cola llena")
+                .tag("policy", audit.getOverflowPolicy().name())
+                .register(meterRegistry);
+        this.failed = Counter.builder("inventory.stock.audit.failed")
+                .description("Registros de auditoría que no se pudieron escribir")
+                .register(meterRegistry);
+
+        this.writer = new Thread(this::run, "stock-audit-writer");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    /**
+     * Encola un movimiento fallido para registrarlo. Si la cola está llena se aplica la política
+     * de desbordamiento configurada; el registro nunca se escribe en el hilo que lo genera, que
+     * puede tener abierta la transacción del movimiento y necesitaría una segunda conexión.
+     *
+     * @param record registro a escribir.
+     */
+    public void submit(StockAuditRecord record) {
+        if (queue.offer(record)) {
+            return;
+        }
+        switch (audit.getOverflowPolicy()) {
+            case DROP_NEWEST -> dropped.increment();
+            case DROP_OLDEST -> {
+                while (!queue.offer(record)) {
+                    if (queue.poll() != null) {
+                        dropped.increment();
+                    }
+                }
+            }
+            case BLOCK -> {
+                try {
+                    if (!queue.offer(record, audit.getBlockTimeout().toNanos(), TimeUnit.NANOSECONDS)) {
+                        dropped.increment();
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    dropped.increment();
+                }
+            }
+        }
+    }
+
+    private void run() {
+        List<StockAuditRecord> batch = new ArrayList<>(audit.getBatchSize());
+        long intervalNanos = audit.getFlushInterval().toNanos();
+        while (running || !queue.isEmpty()) {
+            try {
+                StockAuditRecord first = queue.poll(intervalNanos, TimeUnit.NANOSECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + intervalNanos;
+                while (batch.size() < audit.getBatchSize()) {
+                    queue.drainTo(batch, audit.getBatchSize() - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= audit.getBatchSize() || remaining <= 0 || !running) {
+                        break;
+                    }
+                    StockAuditRecord next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                running = false;
+            }
+            if (!batch.isEmpty()) {
+                flush(batch);
+                batch.clear();
+            }
+        }
+    }
+
+    private void flush(List<StockAuditRecord> batch) {
+        long start = System.nanoTime();
+        try {
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(
+                    INSERT_SQL, batch, batch.size(), (ps, record) -> {
+                        ps.setObject(1, record.id());
+                        ps.setObject(2, record.productId(), Types.BIGINT);
+                        ps.setObject(3, record.quantityChange(), Types.INTEGER);
+                        ps.setString(4, record.movementType().name());
+                        ps.setString(5, record.notes());
+                        ps.setString(6, OperationStatus.ERROR.name());
+                        ps.setString(7, record.message());
+                        ps.setTimestamp(8, Timestamp.valueOf(record.timestamp()));
+                    }));
+            written.increment(batch.size());
+        } catch (RuntimeException e) {
+            failed.increment(batch.size());
+            log.error("No se pudo escribir un lote de {} registros de auditoría de stock", batch.size(), e);
+        } finally {
+            flushLatency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Detiene el hilo escritor tras escribir los registros pendientes.
+     */
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        writer.join(TimeUnit.SECONDS.toMillis(30));
+    }
+}
@@ -0,0 +1,128 @@
+package org.atabero.inventory.engine;
+
+import org.atabero.inventory.model.enums.MovementType;
+import org.atabero.inventory.model.enums.ProductStatus;
+import org.atabero.inventory.model.enums.StockRuleOutcome;
+import org.atabero.inventory.model.enums.SupplierStatus;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Tabla de decisión de los movimientos de stock.
+ * <p>
+ * Se calcula una sola vez al arrancar para cada combinación de tipo de movimiento, estado del producto y estado
+ * del proveedor, a partir de {@link MovementType#isEntry()}, {@link ProductStatus#allowsStockEntry()} y
+ * {@link ProductStatus#allowsStockExit()}. Consultarla es un acceso a un array: no crea objetos ni excepciones.
+ * </p>
+ * Reglas:
+ * <ul>
+ *     <li>Las entradas exigen un proveedor activo y un producto que admita reposición.</li>
+ *     <li>Las salidas solo dependen de que el estado del producto admita salidas; un proveedor inactivo no impide
+ *     vender el stock que ya hay.</li>
+ * </ul>
+ */
+@Component
+public class StockMovementRules {
+
+    private static final int productStatuses = ProductStatus.values().length;
+    private static final int supplierStatuses = SupplierStatus.values().length;
+
+    private final StockRuleOutcome[] outcomes;
+    private final Map<MovementType, List<String>> allowedCombinations = new EnumMap<>(MovementType.class);
+    private final String version;
+
+    public StockMovementRules() {
+        this.outcomes = new StockRuleOutcome[MovementType.values().length * productStatuses * supplierStatuses];
+        MessageDigest digest = sha256();
+        for (MovementType type : MovementType.values()) {
+            List<String> allowed = new ArrayList<>();
+            for (ProductStatus productStatus : ProductStatus.values()) {
+                for (SupplierStatus supplierStatus : SupplierStatus.values()) {
+                    StockRuleOutcome outcome = decide(type, productStatus, supplierStatus);
+                    outcomes[indexOf(type, productStatus, supplierStatus)] = outcome;
+                    digest.update((type.name() + "|" + productStatus.name() + "|" + supplierStatus.name() + "|"
+                            + outcome.name() + "\n").getBytes(StandardCharsets.UTF_8));
+                    if (outcome.isAllowed()) {
+                        allowed.add(combination(productStatus.name(), supplierStatus.name()));
+                    }
+                }
+            }
+            allowedCombinations.put(type, List.copyOf(allowed));
+        }
+        this.version = HexFormat.of().formatHex(digest.digest());
+    }
+
+    /**
+     * Evalúa si se permite el movimiento.
+     *
+     * @param type           tipo de movimiento.
+     * @param productStatus  estado del producto.
+     * @param supplierStatus estado del proveedor del producto.
+     * @return el resultado de la regla.
+     */
+    public StockRuleOutcome evaluate(MovementType type, ProductStatus productStatus, SupplierStatus supplierStatus) {
+        return outcomes[indexOf(type, productStatus, supplierStatus)];
+    }
+
+    /**
+     * Combinaciones de estado de producto y de proveedor que permiten el tipo de movimiento, con el formato
+     * {@code ESTADO_PRODUCTO:ESTADO_PROVEEDOR}, para filtrar en SQL con la misma tabla.
+     *
+     * @param type tipo de movimiento.
+     * @return las combinaciones permitidas; nunca vacía.
+     */
+    public List<String> allowedCombinations(MovementType type) {
+        return allowedCombinations.get(type);
+    }
+
+    /**
+     * Versión de la tabla: cambia si cambia cualquier regla o el conjunto de estados y tipos de movimiento.
+     * Es un SHA-256 de los nombres de cada celda, así que coincide entre reinicios y entre nodos.
+     *
+     * @return la versión, apta como ETag.
+     */
+    public String getVersion() {
+        return version;
+    }
+
+    /**
+     * Formato de una combinación de estados tal como la devuelve {@link #allowedCombinations(MovementType)}.
+     *
+     * @param productStatus  nombre del estado del producto.
+     * @param supplierStatus nombre del estado del proveedor.
+     * @return la combinación.
+     */
+    public static String combination(String productStatus, String supplierStatus) {
+        return productStatus + ":" + supplierStatus;
+    }
+
+    private static StockRuleOutcome decide(MovementType type, ProductStatus productStatus, SupplierStatus supplierStatus) {
+        if (type.isEntry()) {
+            if (supplierStatus == SupplierStatus.INACTIVE) {
+                return StockRuleOutcome.SUPPLIER_INACTIVE;
+            }
+            return productStatus.allowsStockEntry() ? StockRuleOutcome.ALLOWED : StockRuleOutcome.ENTRY_NOT_ALLOWED;
+        }
+        return productStatus.allowsStockExit() ? StockRuleOutcome.ALLOWED : StockRuleOutcome.EXIT_NOT_ALLOWED;
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("No se pudo calcular la versión de las reglas de stock", e);
+        }
+    }
+
+    private static int indexOf(MovementType type, ProductStatus productStatus, SupplierStatus supplierStatus) {
+        return (type.ordinal() * productStatuses + productStatus.ordinal()) * supplierStatuses + supplierStatus.ordinal();
+    }
+}
@@ -0,0 +1,150 @@
+package org.atabero.inventory.engine;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.atabero.inventory.config.StockProperties;
+import org.atabero.inventory.exception.stockmovemen.StockEngineSaturatedException;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Motor de escritura por franjas para las mutaciones de stock.
+ * <p>
+ * Cada producto se asigna a una franja según el hash de su ID y cada franja es un único hilo
+ * que ejecuta sus tareas en orden de llegada. Así, los movimientos y cambios de estado de un mismo
+ * producto nunca compiten por el bloqueo de su fila dentro de este nodo. Si el motor está desactivado,
+ * las tareas se ejecutan directamente en el hilo que las invoca.
+ * </p>
+ */
+@Component
+public class StripedStockExecutor {
+
+    private static final ThreadLocal<Boolean> insideStripe = ThreadLocal.withInitial(() -> false);
+
+    private final ThreadPoolExecutor[] stripes;
+    private final Timer[] latencies;
+
+    public StripedStockExecutor(StockProperties stockProperties, MeterRegistry meterRegistry) {
+        StockProperties.Engine engine = stockProperties.getEngine();
+        if (!engine.isEnabled()) {
+            this.stripes = new ThreadPoolExecutor[0];
+            this.latencies = new Timer[0];
+            return;
+        }
+
+        int count = Math.max(1, engine.getStripes());
+        this.stripes = new ThreadPoolExecutor[count];
+        this.latencies = new Timer[count];
+        for (int i = 0; i < count; i++) {
+            String name = "stock-stripe-" + i;
+            ThreadPoolExecutor stripe = new ThreadPoolExecutor(
+                    1, 1, 0L, TimeUnit.MILLISECONDS,
+                    new LinkedBlockingQueue<>(engine.getQueueCapacity()),
+                    runnable -> {
+                        Thread thread = new Thread(() -> {
+                            insideStripe.set(true);
+                            runnable.run();
+                        }, name);
+                        thread.setDaemon(true);
+                        return thread;
+                    },
+                    new ThreadPoolExecutor.AbortPolicy()
+            );
+            stripes[i] = stripe;
+            String stripeTag = String.valueOf(i);
+            Gauge.builder("inventory.stock.engine.queue.depth", stripe, s -> s.getQueue().size())
+                    .description("Mutaciones de stock en espera en la franja")
+                    .tag("stripe", stripeTag)
+                    .register(meterRegistry);
+            latencies[i] = Timer.builder("inventory.stock.engine.latency")
+                    .description("Tiempo desde que se encola una mutación hasta que termina")
+                    .tag("stripe", stripeTag)
+                    .publishPercentiles(0.5, 0.99)
+                    .register(meterRegistry);
+        }
+    }
+
+    /**
+     * Ejecuta la tarea en la franja asignada al producto y espera su resultado.
+     *
+     * @param productId ID del producto que determina la franja.
+     * @param task      tarea a ejecutar (normalmente una transacción completa).
+     * @return el resultado de la tarea.
+     * @throws StockEngineSaturatedException si la cola de la franja está llena.
+     */
+    public <T> T execute(Long productId, Supplier<T> task) {
+        if (stripes.length == 0 || productId == null || insideStripe.get()) {
+            return task.get();
+        }
+
+        int index = stripeOf(productId);
+        Timer latency = latencies[index];
+        long enqueuedAt = System.nanoTime();
+        Future<T> future;
+        try {
+            future = stripes[index].submit(() -> {
+                try {
+                    return task.get();
+                } finally {
+                    latency.record(System.nanoTime() - enqueuedAt, TimeUnit.NANOSECONDS);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            throw new StockEngineSaturatedException(
+                    "El motor de stock está saturado para el producto con ID " + productId + ", reintente más tarde");
+        }
+        return await(future);
+    }
+
+    /**
+     * Indica si el motor de franjas está activo.
+     *
+     * @return true si las mutaciones se enrutan a franjas.
+     */
+    public boolean isEnabled() {
+        return stripes.length > 0;
+    }
+
+    private int stripeOf(Long productId) {
+        long hash = productId * 0x9E3779B97F4A7C15L;
+        return (int) ((hash >>> 32) % stripes.length);
+    }
+
+    private static <T> T await(Future<T> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(false);
+            throw new IllegalStateException("Interrumpido mientras se esperaba la mutación de stock", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        for (ThreadPoolExecutor stripe : stripes) {
+            stripe.shutdown();
+        }
+        for (ThreadPoolExecutor stripe : stripes) {
+            stripe.awaitTermination(30, TimeUnit.SECONDS);
+        }
+    }
+}
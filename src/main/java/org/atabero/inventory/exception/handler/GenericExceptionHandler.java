@@ -3,6 +3,7 @@ package org.atabero.inventory.exception.handler;
 import jakarta.servlet.http.HttpServletRequest;
 import org.atabero.inventory.exception.ApiError;
 import org.atabero.inventory.util.ApiErrorUtil;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -14,6 +15,7 @@ import java.util.List;
 /**
  * Manejador global de excepciones genéricas y de validación de argumentos.
  * Proporciona respuestas HTTP adecuadas para errores comunes en la API.
+ * Los manejadores específicos de cada dominio tienen prioridad sobre este.
  */
 @ControllerAdvice
 public class GenericExceptionHandler {
@@ -37,6 +39,24 @@ public class GenericExceptionHandler {
                 .body(ApiErrorUtil.createValidationError(request, errors));
     }
 
+    /**
+     * Maneja los conflictos de concurrencia optimista, cuando el recurso fue modificado
+     * por otra operación mientras se procesaba la petición.
+     *
+     * @param ex      La excepción OptimisticLockingFailureException capturada.
+     * @param request Información de la petición HTTP que causó la excepción.
+     * @return ResponseEntity con mensaje de error y código 409.
+     */
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ApiError> handleOptimisticLocking(OptimisticLockingFailureException ex, HttpServletRequest request) {
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+                .body(ApiErrorUtil.createError(
+                        HttpStatus.CONFLICT,
+                        "Conflicto de concurrencia",
+                        "El recurso fue modificado por otra operación, vuelva a intentarlo",
+                        request));
+    }
+
     /**
      * Maneja cualquier excepción no controlada o inesperada en la aplicación.
      * Devuelve un error genérico de servidor con código HTTP 500 INTERNAL SERVER ERROR.
@@ -0,0 +1,57 @@
+package org.atabero.inventory.exception.handler;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.atabero.inventory.exception.ApiError;
+import org.atabero.inventory.exception.idempotency.IdempotencyKeyMismatchException;
+import org.atabero.inventory.exception.idempotency.InvalidIdempotencyKeyException;
+import org.atabero.inventory.util.ApiErrorUtil;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+
+/**
+ * Manejador global de excepciones para errores relacionados con las claves de idempotencia.
+ */
+@ControllerAdvice
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class IdempotencyExceptionHandler {
+
+    /**
+     * Maneja la excepción cuando la clave de idempotencia no tiene un formato válido.
+     *
+     * @param ex      La excepción InvalidIdempotencyKeyException capturada.
+     * @param request Información de la petición HTTP que causó la excepción.
+     * @return ResponseEntity con un mensaje de error y código HTTP 400 BAD REQUEST.
+     */
+    @ExceptionHandler(InvalidIdempotencyKeyException.class)
+    public ResponseEntity<ApiError> handleInvalidIdempotencyKey(InvalidIdempotencyKeyException ex, HttpServletRequest request) {
+        ApiError apiError = ApiErrorUtil.createError(
+                HttpStatus.BAD_REQUEST,
+                "Clave de idempotencia no válida",
+                ex.getMessage(),
+                request
+        );
+        return ResponseEntity.status(apiError.getStatus()).body(apiError);
+    }
+
+    /**
+     * Maneja la excepción cuando la clave de idempotencia ya se usó con una petición distinta.
+     *
+     * @param ex      La excepción IdempotencyKeyMismatchException capturada.
+     * @param request Información de la petición HTTP que causó la excepción.
+     * @return ResponseEntity con un mensaje de error y código HTTP 422 UNPROCESSABLE ENTITY.
+     */
+    @ExceptionHandler(IdempotencyKeyMismatchException.class)
+    public ResponseEntity<ApiError> handleIdempotencyKeyMismatch(IdempotencyKeyMismatchException ex, HttpServletRequest request) {
+        ApiError apiError = ApiErrorUtil.createError(
+                HttpStatus.UNPROCESSABLE_ENTITY,
+                "Clave de idempotencia reutilizada",
+                ex.getMessage(),
+                request
+        );
+        return ResponseEntity.status(apiError.getStatus()).body(apiError);
+    }
+}
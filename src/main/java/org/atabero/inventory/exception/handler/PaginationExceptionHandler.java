@@ -0,0 +1,38 @@
+package org.atabero.inventory.exception.handler;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.atabero.inventory.exception.ApiError;
+import org.atabero.inventory.exception.pagination.InvalidPageRequestException;
+import org.atabero.inventory.util.ApiErrorUtil;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+
+/**
+ * Manejador global de excepciones para errores en los parámetros de paginación de los listados.
+ */
+@ControllerAdvice
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class PaginationExceptionHandler {
+
+    /**
+     * Maneja la excepción cuando la página, su tamaño, el orden o el cursor no son válidos.
+     *
+     * @param ex      La excepción InvalidPageRequestException capturada.
+     * @param request Información de la petición HTTP que causó la excepción.
+     * @return ResponseEntity con un mensaje de error y código HTTP 400 BAD REQUEST.
+     */
+    @ExceptionHandler(InvalidPageRequestException.class)
+    public ResponseEntity<ApiError> handleInvalidPageRequest(InvalidPageRequestException ex, HttpServletRequest request) {
+        ApiError apiError = ApiErrorUtil.createError(
+                HttpStatus.BAD_REQUEST,
+                "Paginación no válida",
+                ex.getMessage(),
+                request
+        );
+        return ResponseEntity.status(apiError.getStatus()).body(apiError);
+    }
+}
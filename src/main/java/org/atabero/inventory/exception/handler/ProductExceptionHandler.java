@@ -3,9 +3,12 @@ package org.atabero.inventory.exception.handler;
 import jakarta.servlet.http.HttpServletRequest;
 import org.atabero.inventory.exception.ApiError;
 import org.atabero.inventory.exception.product.CannotInactivateProductWithStockException;
+import org.atabero.inventory.exception.product.CannotShardProductWithReservationsException;
 import org.atabero.inventory.exception.product.ProductAlreadyDeactivatedException;
 import org.atabero.inventory.exception.product.ProductNotFoundException;
 import org.atabero.inventory.util.ApiErrorUtil;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
@@ -16,6 +19,7 @@ import org.springframework.web.bind.annotation.ExceptionHandler;
  * Proporciona respuestas HTTP con mensajes claros para errores comunes relacionados con productos.
  */
 @ControllerAdvice
+@Order(Ordered.HIGHEST_PRECEDENCE)
 public class ProductExceptionHandler {
 
     /**
@@ -56,4 +60,18 @@ public class ProductExceptionHandler {
         return ResponseEntity.status(HttpStatus.CONFLICT)
                 .body(ApiErrorUtil.createError(HttpStatus.CONFLICT, "Stock aún disponible", ex.getMessage(), request));
     }
+
+    /**
+     * Maneja el caso cuando se intenta fragmentar el stock de un producto con reservas activas.
+     *
+     * @param ex      La excepción CannotShardProductWithReservationsException capturada.
+     * @param request Información de la petición HTTP que causó la excepción.
+     * @return ResponseEntity con un mensaje de error y código HTTP 409 CONFLICT.
+     */
+    @ExceptionHandler(CannotShardProductWithReservationsException.class)
+    public ResponseEntity<ApiError> handleShardingWithReservations(CannotShardProductWithReservationsException ex,
+                                                                   HttpServletRequest request) {
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+                .body(ApiErrorUtil.createError(HttpStatus.CONFLICT, "Producto con reservas activas", ex.getMessage(), request));
+    }
 }
@@ -4,6 +4,8 @@ import jakarta.servlet.http.HttpServletRequest;
 import org.atabero.inventory.exception.ApiError;
 import org.atabero.inventory.exception.productstatuschangelog.ProductStatusChangeLogNotFoundException;
 import org.atabero.inventory.util.ApiErrorUtil;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
@@ -13,6 +15,7 @@ import org.springframework.web.bind.annotation.ExceptionHandler;
  * Manejador global de excepciones para errores relacionados con logs de cambios de estado de producto.
  */
 @ControllerAdvice
+@Order(Ordered.HIGHEST_PRECEDENCE)
 public class ProductStatusChangeLogHandler {
 
     /**
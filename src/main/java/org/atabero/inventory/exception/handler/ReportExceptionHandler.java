@@ -0,0 +1,57 @@
+package org.atabero.inventory.exception.handler;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.atabero.inventory.exception.ApiError;
+import org.atabero.inventory.exception.report.InvalidReportRangeException;
+import org.atabero.inventory.exception.report.ReorderRunInProgressException;
+import org.atabero.inventory.util.ApiErrorUtil;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+
+/**
+ * Manejador global de excepciones para errores relacionados con los informes.
+ */
+@ControllerAdvice
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class ReportExceptionHandler {
+
+    /**
+     * Maneja la excepción cuando el intervalo de fechas del informe no es válido.
+     *
+     * @param ex      La excepción InvalidReportRangeException capturada.
+     * @param request Información de la petición HTTP que causó la excepción.
+     * @return ResponseEntity con un mensaje de error y código HTTP 400 BAD REQUEST.
+     */
+    @ExceptionHandler(InvalidReportRangeException.class)
+    public ResponseEntity<ApiError> handleInvalidReportRange(InvalidReportRangeException ex, HttpServletRequest request) {
+        ApiError apiError = ApiErrorUtil.createError(
+                HttpStatus.BAD_REQUEST,
+                "Intervalo de fechas no válido",
+                ex.getMessage(),
+                request
+        );
+        return ResponseEntity.status(apiError.getStatus()).body(apiError);
+    }
+
+    /**
+     * Maneja la excepción cuando ya hay un cálculo de propuestas de pedido en curso.
+     *
+     * @param ex      La excepción ReorderRunInProgressException capturada.
+     * @param request Información de la petición HTTP que causó la excepción.
+     * @return ResponseEntity con un mensaje de error y código HTTP 409 CONFLICT.
+     */
+    @ExceptionHandler(ReorderRunInProgressException.class)
+    public ResponseEntity<ApiError> handleReorderRunInProgress(ReorderRunInProgressException ex, HttpServletRequest request) {
+        ApiError apiError = ApiErrorUtil.createError(
+                HttpStatus.CONFLICT,
+                "Cálculo en curso",
+                ex.getMessage(),
+                request
+        );
+        return ResponseEntity.status(apiError.getStatus()).body(apiError);
+    }
+}
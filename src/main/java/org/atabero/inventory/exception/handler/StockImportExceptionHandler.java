@@ -0,0 +1,76 @@
+package org.atabero.inventory.exception.handler;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.atabero.inventory.exception.ApiError;
+import org.atabero.inventory.exception.stockimport.InvalidStockImportException;
+import org.atabero.inventory.exception.stockimport.StockImportNotFoundException;
+import org.atabero.inventory.exception.stockimport.StockImportNotResumableException;
+import org.atabero.inventory.util.ApiErrorUtil;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+
+/**
+ * Manejador global de excepciones para errores relacionados con importaciones de movimientos de stock.
+ */
+@ControllerAdvice
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class StockImportExceptionHandler {
+
+    /**
+     * Maneja la excepción cuando no se encuentra la importación.
+     *
+     * @param ex      La excepción StockImportNotFoundException capturada.
+     * @param request Información de la petición HTTP que causó la excepción.
+     * @return ResponseEntity con un mensaje de error y código HTTP 404 NOT FOUND.
+     */
+    @ExceptionHandler(StockImportNotFoundException.class)
+    public ResponseEntity<ApiError> handleImportNotFound(StockImportNotFoundException ex, HttpServletRequest request) {
+        ApiError apiError = ApiErrorUtil.createError(
+                HttpStatus.NOT_FOUND,
+                "Importación no encontrada",
+                ex.getMessage(),
+                request
+        );
+        return ResponseEntity.status(apiError.getStatus()).body(apiError);
+    }
+
+    /**
+     * Maneja la excepción cuando el fichero subido está vacío o tiene un formato no admitido.
+     *
+     * @param ex      La excepción InvalidStockImportException capturada.
+     * @param request Información de la petición HTTP que causó la excepción.
+     * @return ResponseEntity con un mensaje de error y código HTTP 400 BAD REQUEST.
+     */
+    @ExceptionHandler(InvalidStockImportException.class)
+    public ResponseEntity<ApiError> handleInvalidImport(InvalidStockImportException ex, HttpServletRequest request) {
+        ApiError apiError = ApiErrorUtil.createError(
+                HttpStatus.BAD_REQUEST,
+                "Fichero de importación no válido",
+                ex.getMessage(),
+                request
+        );
+        return ResponseEntity.status(apiError.getStatus()).body(apiError);
+    }
+
+    /**
+     * Maneja la excepción cuando se intenta reanudar una importación que no ha fallado.
+     *
+     * @param ex      La excepción StockImportNotResumableException capturada.
+     * @param request Información de la petición HTTP que causó la excepción.
+     * @return ResponseEntity con un mensaje de error y código HTTP 409 CONFLICT.
+     */
+    @ExceptionHandler(StockImportNotResumableException.class)
+    public ResponseEntity<ApiError> handleImportNotResumable(StockImportNotResumableException ex, HttpServletRequest request) {
+        ApiError apiError = ApiErrorUtil.createError(
+                HttpStatus.CONFLICT,
+                "La importación no se puede reanudar",
+                ex.getMessage(),
+                request
+        );
+        return ResponseEntity.status(apiError.getStatus()).body(apiError);
+    }
+}
@@ -3,8 +3,14 @@ package org.atabero.inventory.exception.handler;
 import jakarta.servlet.http.HttpServletRequest;
 import org.atabero.inventory.exception.ApiError;
 import org.atabero.inventory.exception.stockmovemen.InsufficientStockException;
+import org.atabero.inventory.exception.stockmovemen.InvalidStockMovementQueryException;
+import org.atabero.inventory.exception.stockmovemen.StockEngineSaturatedException;
+import org.atabero.inventory.exception.stockmovemen.StockExitNotAllowedException;
 import org.atabero.inventory.exception.stockmovemen.StockReplenishmentNotAllowedException;
+import org.atabero.inventory.exception.stockmovemen.StockStreamLimitExceededException;
 import org.atabero.inventory.util.ApiErrorUtil;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
@@ -14,6 +20,7 @@ import org.springframework.web.bind.annotation.ExceptionHandler;
  * Manejador global de excepciones para errores relacionados con movimientos de stock.
  */
 @ControllerAdvice
+@Order(Ordered.HIGHEST_PRECEDENCE)
 public class StockMovementExceptionHandler {
 
     /**
@@ -51,4 +58,76 @@ public class StockMovementExceptionHandler {
         );
         return ResponseEntity.status(apiError.getStatus()).body(apiError);
     }
+
+    /**
+     * Maneja la excepción cuando el estado del producto no admite salidas de stock.
+     *
+     * @param ex      La excepción StockExitNotAllowedException capturada.
+     * @param request Información de la petición HTTP que causó la excepción.
+     * @return ResponseEntity con un mensaje de error y código HTTP 400 BAD REQUEST.
+     */
+    @ExceptionHandler(StockExitNotAllowedException.class)
+    public ResponseEntity<ApiError> handleStockExitNotAllowed(StockExitNotAllowedException ex, HttpServletRequest request) {
+        ApiError apiError = ApiErrorUtil.createError(
+                HttpStatus.BAD_REQUEST,
+                "No se permite retirar stock",
+                ex.getMessage(),
+                request
+        );
+        return ResponseEntity.status(apiError.getStatus()).body(apiError);
+    }
+
+    /**
+     * Maneja la excepción cuando la franja del motor de stock asignada al producto está saturada.
+     *
+     * @param ex      La excepción StockEngineSaturatedException capturada.
+     * @param request Información de la petición HTTP que causó la excepción.
+     * @return ResponseEntity con un mensaje de error y código HTTP 503 SERVICE UNAVAILABLE.
+     */
+    @ExceptionHandler(StockEngineSaturatedException.class)
+    public ResponseEntity<ApiError> handleStockEngineSaturated(StockEngineSaturatedException ex, HttpServletRequest request) {
+        ApiError apiError = ApiErrorUtil.createError(
+                HttpStatus.SERVICE_UNAVAILABLE,
+                "Motor de stock saturado",
+                ex.getMessage(),
+                request
+        );
+        return ResponseEntity.status(apiError.getStatus()).body(apiError);
+    }
+
+    /**
+     * Maneja la excepción cuando los filtros o el cursor de la consulta de movimientos no son válidos.
+     *
+     * @param ex      La excepción InvalidStockMovementQueryException capturada.
+     * @param request Información de la petición HTTP que causó la excepción.
+     * @return ResponseEntity con un mensaje de error y código HTTP 400 BAD REQUEST.
+     */
+    @ExceptionHandler(InvalidStockMovementQueryException.class)
+    public ResponseEntity<ApiError> handleInvalidStockMovementQuery(InvalidStockMovementQueryException ex, HttpServletRequest request) {
+        ApiError apiError = ApiErrorUtil.createError(
+                HttpStatus.BAD_REQUEST,
+                "Consulta de movimientos no válida",
+                ex.getMessage(),
+                request
+        );
+        return ResponseEntity.status(apiError.getStatus()).body(apiError);
+    }
+
+    /**
+     * Maneja la excepción cuando se alcanza el máximo de suscriptores del flujo de cambios de stock.
+     *
+     * @param ex      La excepción StockStreamLimitExceededException capturada.
+     * @param request Información de la petición HTTP que causó la excepción.
+     * @return ResponseEntity con un mensaje de error y código HTTP 503 SERVICE UNAVAILABLE.
+     */
+    @ExceptionHandler(StockStreamLimitExceededException.class)
+    public ResponseEntity<ApiError> handleStockStreamLimitExceeded(StockStreamLimitExceededException ex, HttpServletRequest request) {
+        ApiError apiError = ApiErrorUtil.createError(
+                HttpStatus.SERVICE_UNAVAILABLE,
+                "Demasiados suscriptores",
+                ex.getMessage(),
+                request
+        );
+        return ResponseEntity.status(apiError.getStatus()).body(apiError);
+    }
 }
@@ -0,0 +1,76 @@
+package org.atabero.inventory.exception.handler;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.atabero.inventory.exception.ApiError;
+import org.atabero.inventory.exception.stockreservation.StockReservationNotActiveException;
+import org.atabero.inventory.exception.stockreservation.StockReservationNotAllowedException;
+import org.atabero.inventory.exception.stockreservation.StockReservationNotFoundException;
+import org.atabero.inventory.util.ApiErrorUtil;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+
+/**
+ * Manejador global de excepciones para errores relacionados con reservas de stock.
+ */
+@ControllerAdvice
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class StockReservationExceptionHandler {
+
+    /**
+     * Maneja la excepción cuando no se encuentra la reserva.
+     *
+     * @param ex      La excepción StockReservationNotFoundException capturada.
+     * @param request Información de la petición HTTP que causó la excepción.
+     * @return ResponseEntity con un mensaje de error y código HTTP 404 NOT FOUND.
+     */
+    @ExceptionHandler(StockReservationNotFoundException.class)
+    public ResponseEntity<ApiError> handleReservationNotFound(StockReservationNotFoundException ex, HttpServletRequest request) {
+        ApiError apiError = ApiErrorUtil.createError(
+                HttpStatus.NOT_FOUND,
+                "Reserva no encontrada",
+                ex.getMessage(),
+                request
+        );
+        return ResponseEntity.status(apiError.getStatus()).body(apiError);
+    }
+
+    /**
+     * Maneja la excepción cuando la reserva ya fue confirmada, cancelada o venció.
+     *
+     * @param ex      La excepción StockReservationNotActiveException capturada.
+     * @param request Información de la petición HTTP que causó la excepción.
+     * @return ResponseEntity con un mensaje de error y código HTTP 409 CONFLICT.
+     */
+    @ExceptionHandler(StockReservationNotActiveException.class)
+    public ResponseEntity<ApiError> handleReservationNotActive(StockReservationNotActiveException ex, HttpServletRequest request) {
+        ApiError apiError = ApiErrorUtil.createError(
+                HttpStatus.CONFLICT,
+                "La reserva no está activa",
+                ex.getMessage(),
+                request
+        );
+        return ResponseEntity.status(apiError.getStatus()).body(apiError);
+    }
+
+    /**
+     * Maneja la excepción cuando el producto no admite reservas.
+     *
+     * @param ex      La excepción StockReservationNotAllowedException capturada.
+     * @param request Información de la petición HTTP que causó la excepción.
+     * @return ResponseEntity con un mensaje de error y código HTTP 409 CONFLICT.
+     */
+    @ExceptionHandler(StockReservationNotAllowedException.class)
+    public ResponseEntity<ApiError> handleReservationNotAllowed(StockReservationNotAllowedException ex, HttpServletRequest request) {
+        ApiError apiError = ApiErrorUtil.createError(
+                HttpStatus.CONFLICT,
+                "El producto no admite reservas",
+                ex.getMessage(),
+                request
+        );
+        return ResponseEntity.status(apiError.getStatus()).body(apiError);
+    }
+}
@@ -7,6 +7,8 @@ import org.atabero.inventory.exception.supplier.SupplierAlreadyActivatedExceptio
 import org.atabero.inventory.exception.supplier.SupplierAlreadyDeactivatedException;
 import org.atabero.inventory.exception.supplier.SupplierNotFoundException;
 import org.atabero.inventory.util.ApiErrorUtil;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
@@ -16,6 +18,7 @@ import org.springframework.web.bind.annotation.ExceptionHandler;
  * Manejador global de excepciones relacionadas con proveedores.
  */
 @ControllerAdvice
+@Order(Ordered.HIGHEST_PRECEDENCE)
 public class SupplierExceptionHandler {
 
     /**
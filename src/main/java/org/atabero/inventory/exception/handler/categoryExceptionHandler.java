@@ -6,6 +6,8 @@ import org.atabero.inventory.exception.category.CategoryAlreadyActivatedExceptio
 import org.atabero.inventory.exception.category.CategoryAlreadyDeactivatedException;
 import org.atabero.inventory.exception.category.CategoryNotFoundException;
 import org.atabero.inventory.util.ApiErrorUtil;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
@@ -16,6 +18,7 @@ import org.springframework.web.bind.annotation.ExceptionHandler;
  * devolviendo respuestas HTTP adecuadas según el tipo de error.
  */
 @ControllerAdvice
+@Order(Ordered.HIGHEST_PRECEDENCE)
 public class categoryExceptionHandler {
 
     /**
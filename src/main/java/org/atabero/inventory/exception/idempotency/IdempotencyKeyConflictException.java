@@ -0,0 +1,7 @@
+package org.atabero.inventory.exception.idempotency;
+
+public class IdempotencyKeyConflictException extends RuntimeException {
+    public IdempotencyKeyConflictException(String message) {
+        super(message);
+    }
+}
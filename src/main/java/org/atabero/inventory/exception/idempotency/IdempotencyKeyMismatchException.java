@@ -0,0 +1,7 @@
+package org.atabero.inventory.exception.idempotency;
+
+public class IdempotencyKeyMismatchException extends RuntimeException {
+    public IdempotencyKeyMismatchException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package org.atabero.inventory.exception.idempotency;
+
+public class InvalidIdempotencyKeyException extends RuntimeException {
+    public InvalidIdempotencyKeyException(String message) {
+        super(message);
+    }
+}
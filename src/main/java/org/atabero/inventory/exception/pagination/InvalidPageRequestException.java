@@ -0,0 +1,7 @@
+package org.atabero.inventory.exception.pagination;
+
+public class InvalidPageRequestException extends RuntimeException {
+    public InvalidPageRequestException(String message) {
+        super(message);
+    }
+}
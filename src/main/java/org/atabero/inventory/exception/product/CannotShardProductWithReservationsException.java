@@ -0,0 +1,8 @@
+package org.atabero.inventory.exception.product;
+
+public class CannotShardProductWithReservationsException extends RuntimeException {
+
+    public CannotShardProductWithReservationsException(String message) {
+        super(message);
+    }
+}
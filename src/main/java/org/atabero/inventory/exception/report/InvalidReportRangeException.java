@@ -0,0 +1,7 @@
+package org.atabero.inventory.exception.report;
+
+public class InvalidReportRangeException extends RuntimeException {
+    public InvalidReportRangeException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package org.atabero.inventory.exception.report;
+
+public class ReorderRunInProgressException extends RuntimeException {
+    public ReorderRunInProgressException(String message) {
+        super(message);
+    }
+}
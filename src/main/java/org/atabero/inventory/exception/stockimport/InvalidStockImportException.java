@@ -0,0 +1,7 @@
+package org.atabero.inventory.exception.stockimport;
+
+public class InvalidStockImportException extends RuntimeException {
+    public InvalidStockImportException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,9 @@
+package org.atabero.inventory.exception.stockimport;
+
+import java.util.UUID;
+
+public class StockImportNotFoundException extends RuntimeException {
+    public StockImportNotFoundException(UUID id) {
+        super("No se encontró la importación con ID: " + id);
+    }
+}
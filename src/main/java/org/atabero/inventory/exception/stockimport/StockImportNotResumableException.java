@@ -0,0 +1,7 @@
+package org.atabero.inventory.exception.stockimport;
+
+public class StockImportNotResumableException extends RuntimeException {
+    public StockImportNotResumableException(String message) {
+        super(message);
+    }
+}
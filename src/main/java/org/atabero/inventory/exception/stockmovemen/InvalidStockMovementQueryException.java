@@ -0,0 +1,7 @@
+package org.atabero.inventory.exception.stockmovemen;
+
+public class InvalidStockMovementQueryException extends RuntimeException {
+    public InvalidStockMovementQueryException(String message) {
+        super(message);
+    }
+}
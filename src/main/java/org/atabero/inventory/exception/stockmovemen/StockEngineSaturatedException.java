@@ -0,0 +1,7 @@
+package org.atabero.inventory.exception.stockmovemen;
+
+public class StockEngineSaturatedException extends RuntimeException {
+    public StockEngineSaturatedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package org.atabero.inventory.exception.stockmovemen;
+
+public class StockExitNotAllowedException extends RuntimeException {
+    public StockExitNotAllowedException(String message) {
+        super(message);
+    }
+}
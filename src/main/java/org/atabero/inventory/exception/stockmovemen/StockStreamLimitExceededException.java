@@ -0,0 +1,7 @@
+package org.atabero.inventory.exception.stockmovemen;
+
+public class StockStreamLimitExceededException extends RuntimeException {
+    public StockStreamLimitExceededException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package org.atabero.inventory.exception.stockreservation;
+
+public class StockReservationNotActiveException extends RuntimeException {
+    public StockReservationNotActiveException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package org.atabero.inventory.exception.stockreservation;
+
+public class StockReservationNotAllowedException extends RuntimeException {
+    public StockReservationNotAllowedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,9 @@
+package org.atabero.inventory.exception.stockreservation;
+
+import java.util.UUID;
+
+public class StockReservationNotFoundException extends RuntimeException {
+    public StockReservationNotFoundException(UUID id) {
+        super("No se encontró la reserva con ID: " + id);
+    }
+}
@@ -0,0 +1,28 @@
+package org.atabero.inventory.mapper;
+
+import org.atabero.inventory.dto.outbox.OutboxMessageDTO;
+import org.atabero.inventory.model.OutboxEvent;
+
+/**
+ * Clase utilitaria para mapear la entidad OutboxEvent
+ * al mensaje que se entrega a los sistemas externos.
+ */
+public class MapperOutboxEvent {
+
+    // Constructor privado para evitar instanciación
+    private MapperOutboxEvent() {
+    }
+
+    /**
+     * Convierte una entidad OutboxEvent en el mensaje publicado, con el contenido JSON sin volver a serializar.
+     *
+     * @param event La entidad OutboxEvent a convertir.
+     * @return mensaje que representa el evento.
+     */
+    public static OutboxMessageDTO toMessage(OutboxEvent event) {
+        return new OutboxMessageDTO(
+                event.getId(), event.getEventType(), event.getAggregateId(),
+                event.getCreatedAt(), event.getPayload()
+        );
+    }
+}
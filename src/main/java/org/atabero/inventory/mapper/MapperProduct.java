@@ -7,6 +7,7 @@ import org.atabero.inventory.model.Category;
 import org.atabero.inventory.model.Product;
 import org.atabero.inventory.model.Supplier;
 import org.atabero.inventory.model.enums.ProductStatus;
+import org.atabero.inventory.repository.ProductListing;
 
 import java.util.Objects;
 
@@ -33,6 +34,7 @@ public class MapperProduct {
                 .description(dto.getDescription())
                 .price(dto.getPrice())
                 .currentStock(dto.getCurrentStock())
+                .reorderPoint(dto.getReorderPoint() != null ? dto.getReorderPoint() : 0)
                 .category(category)
                 .supplier(supplier)
                 .status(ProductStatus.ACTIVE)
@@ -52,7 +54,9 @@ public class MapperProduct {
                 product.getCode(),
                 product.getDescription(),
                 product.getPrice(),
-                product.getCurrentStock(),
+                product.getTotalStock(),
+                product.getAvailableStock(),
+                product.getReorderPoint(),
                 product.getStatus(),
                 product.getCategory().getName(),
                 product.getSupplier().getName(),
@@ -61,6 +65,31 @@ public class MapperProduct {
         );
     }
 
+    /**
+     * Convierte una fila del listado de productos en un DTO de respuesta.
+     *
+     * @param listing Fila del listado a convertir.
+     * @return DTO que representa el producto.
+     */
+    public static ProductResponseDTO toResponse(ProductListing listing) {
+        int totalStock = listing.getCurrentStock() + listing.getShardedStock();
+        return new ProductResponseDTO(
+                listing.getId(),
+                listing.getName(),
+                listing.getCode(),
+                listing.getDescription(),
+                listing.getPrice(),
+                totalStock,
+                totalStock - listing.getReservedStock(),
+                listing.getReorderPoint(),
+                listing.getStatus(),
+                listing.getCategoryName(),
+                listing.getSupplierName(),
+                listing.getCreatedDate(),
+                listing.getLastModifiedDate()
+        );
+    }
+
     /**
      * Actualiza una entidad Product con los datos recibidos en un DTO de actualización.
      * Solo actualiza los campos que sean distintos y no nulos.
@@ -86,6 +115,10 @@ public class MapperProduct {
             product.setPrice(dto.getPrice());
         }
 
+        if (dto.getReorderPoint() != null && dto.getReorderPoint() != product.getReorderPoint()) {
+            product.setReorderPoint(dto.getReorderPoint());
+        }
+
         if (category != null && !Objects.equals(category, product.getCategory())) {
             product.setCategory(category);
         }
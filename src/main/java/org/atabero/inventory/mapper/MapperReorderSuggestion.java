@@ -0,0 +1,70 @@
+package org.atabero.inventory.mapper;
+
+import org.atabero.inventory.dto.report.ReorderSuggestionResponseDTO;
+import org.atabero.inventory.dto.report.SupplierReorderResponseDTO;
+import org.atabero.inventory.repository.ReorderSuggestionView;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Clase utilitaria para mapear las propuestas de pedido
+ * a sus correspondientes DTOs de respuesta.
+ */
+public class MapperReorderSuggestion {
+
+    // Constructor privado para evitar instanciación
+    private MapperReorderSuggestion() {
+    }
+
+    /**
+     * Convierte una propuesta de pedido en un DTO de respuesta.
+     *
+     * @param view La proyección a convertir.
+     * @return DTO que representa la propuesta.
+     */
+    public static ReorderSuggestionResponseDTO toResponse(ReorderSuggestionView view) {
+        return new ReorderSuggestionResponseDTO(
+                view.getProductId(),
+                view.getProductCode(),
+                view.getProductName(),
+                view.getMovingAverage(),
+                view.getExponentialAverage(),
+                view.getDemandDeviation(),
+                view.getAvailableStock(),
+                view.getSuggestedReorderPoint(),
+                view.getSuggestedQuantity()
+        );
+    }
+
+    /**
+     * Agrupa las propuestas por proveedor.
+     *
+     * @param views Propuestas ordenadas por proveedor.
+     * @return un DTO por proveedor con sus propuestas, en el mismo orden.
+     */
+    public static List<SupplierReorderResponseDTO> toSupplierResponses(List<ReorderSuggestionView> views) {
+        List<SupplierReorderResponseDTO> result = new ArrayList<>();
+        int start = 0;
+        while (start < views.size()) {
+            ReorderSuggestionView first = views.get(start);
+            int end = start;
+            long totalQuantity = 0;
+            List<ReorderSuggestionResponseDTO> products = new ArrayList<>();
+            while (end < views.size() && views.get(end).getSupplierId().equals(first.getSupplierId())) {
+                totalQuantity += views.get(end).getSuggestedQuantity();
+                products.add(toResponse(views.get(end)));
+                end++;
+            }
+            result.add(new SupplierReorderResponseDTO(
+                    first.getSupplierId(),
+                    first.getSupplierName(),
+                    first.getGeneratedAt(),
+                    totalQuantity,
+                    products
+            ));
+            start = end;
+        }
+        return result;
+    }
+}
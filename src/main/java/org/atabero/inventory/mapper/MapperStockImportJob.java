@@ -0,0 +1,33 @@
+package org.atabero.inventory.mapper;
+
+import org.atabero.inventory.dto.stockimport.StockImportJobResponseDTO;
+import org.atabero.inventory.model.StockImportJob;
+
+/**
+ * Clase utilitaria para mapear la entidad StockImportJob
+ * a su correspondiente DTO de respuesta.
+ */
+public class MapperStockImportJob {
+
+    // Constructor privado para evitar instanciación
+    private MapperStockImportJob() {
+    }
+
+    /**
+     * Convierte una entidad StockImportJob en un DTO de respuesta, calculando el porcentaje procesado.
+     *
+     * @param job La entidad StockImportJob a convertir.
+     * @return DTO que representa la importación.
+     */
+    public static StockImportJobResponseDTO toResponse(StockImportJob job) {
+        double progress = job.getSizeBytes() > 0
+                ? Math.round(job.getCommittedOffset() * 10000.0 / job.getSizeBytes()) / 100.0
+                : 100.0;
+        return new StockImportJobResponseDTO(
+                job.getId(), job.getFileName(), job.getFormat(), job.getStatus(),
+                job.getSizeBytes(), job.getCommittedOffset(), progress, job.getProcessedLines(),
+                job.getSucceeded(), job.getFailed(), job.getMessage(),
+                job.getCreatedAt(), job.getUpdatedAt(), job.getFinishedAt()
+        );
+    }
+}
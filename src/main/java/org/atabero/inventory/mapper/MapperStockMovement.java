@@ -1,7 +1,13 @@
 package org.atabero.inventory.mapper;
 
 import org.atabero.inventory.dto.stockmovement.StockMovementResponseDTO;
+import org.atabero.inventory.dto.stockmovement.StockRuleResponseDTO;
+import org.atabero.inventory.model.Product;
 import org.atabero.inventory.model.StockMovement;
+import org.atabero.inventory.model.enums.MovementType;
+import org.atabero.inventory.model.enums.ProductStatus;
+import org.atabero.inventory.model.enums.StockRuleOutcome;
+import org.atabero.inventory.model.enums.SupplierStatus;
 
 /**
  * Clase utilitaria para mapear la entidad StockMovement
@@ -26,9 +32,46 @@ public class MapperStockMovement {
     public static StockMovementResponseDTO toResponse(StockMovement movement, Integer previousQuantity, Integer newQuantity) {
         return new StockMovementResponseDTO(
                 movement.getId(), movement.getProduct().getId(), movement.getProduct().getName(),
-                previousQuantity, newQuantity,
-                movement.getQuantityChange(), movement.getMovementType(), movement.getOperationStatus(),
+                movement.getQuantityChange(), previousQuantity, newQuantity,
+                movement.getMovementType(), movement.getOperationStatus(),
                 movement.getTimestamp(), movement.getNotes()
         );
     }
+
+    /**
+     * Convierte una entidad StockMovement registrada en un DTO de respuesta, con las cantidades
+     * anterior y nueva guardadas en el propio movimiento. Los movimientos fallidos pueden no tener
+     * producto asociado, en cuyo caso el ID y el nombre del producto se devuelven nulos.
+     *
+     * @param movement La entidad StockMovement a convertir.
+     * @return DTO que representa el movimiento de stock.
+     */
+    public static StockMovementResponseDTO toResponse(StockMovement movement) {
+        Product product = movement.getProduct();
+        return new StockMovementResponseDTO(
+                movement.getId(),
+                product != null ? product.getId() : null,
+                product != null ? product.getName() : null,
+                movement.getQuantityChange(), movement.getPreviousQuantity(), movement.getNewQuantity(),
+                movement.getMovementType(), movement.getOperationStatus(),
+                movement.getTimestamp(), movement.getNotes()
+        );
+    }
+
+    /**
+     * Convierte una celda de la tabla de reglas de movimientos en un DTO de respuesta.
+     *
+     * @param type           Tipo de movimiento.
+     * @param productStatus  Estado del producto.
+     * @param supplierStatus Estado del proveedor.
+     * @param outcome        Resultado de la regla para esa combinación.
+     * @return DTO que representa la regla.
+     */
+    public static StockRuleResponseDTO toRuleResponse(MovementType type, ProductStatus productStatus,
+                                                      SupplierStatus supplierStatus, StockRuleOutcome outcome) {
+        return new StockRuleResponseDTO(
+                type, type.isEntry(), productStatus, supplierStatus,
+                outcome, outcome.isAllowed(), outcome.getMessage()
+        );
+    }
 }
@@ -0,0 +1,43 @@
+package org.atabero.inventory.mapper;
+
+import org.atabero.inventory.dto.stockmovement.StockMovementResponseDTO;
+import org.atabero.inventory.dto.stockreservation.StockReservationResponseDTO;
+import org.atabero.inventory.model.StockReservation;
+
+/**
+ * Clase utilitaria para mapear la entidad StockReservation
+ * a su correspondiente DTO de respuesta.
+ */
+public class MapperStockReservation {
+
+    // Constructor privado para evitar instanciación
+    private MapperStockReservation() {
+    }
+
+    /**
+     * Convierte una entidad StockReservation en un DTO de respuesta.
+     *
+     * @param reservation La entidad StockReservation a convertir.
+     * @return DTO que representa la reserva.
+     */
+    public static StockReservationResponseDTO toResponse(StockReservation reservation) {
+        return toResponse(reservation, null);
+    }
+
+    /**
+     * Convierte una entidad StockReservation en un DTO de respuesta, incluyendo la venta
+     * generada al confirmarla.
+     *
+     * @param reservation La entidad StockReservation a convertir.
+     * @param movement    Movimiento de venta de la confirmación, o null.
+     * @return DTO que representa la reserva.
+     */
+    public static StockReservationResponseDTO toResponse(StockReservation reservation, StockMovementResponseDTO movement) {
+        return new StockReservationResponseDTO(
+                reservation.getId(), reservation.getProductId(), reservation.getQuantity(),
+                reservation.getStatus(), reservation.getNotes(), reservation.getExpiresAt(),
+                reservation.getCreatedAt(), reservation.getResolvedAt(), reservation.getMovementId(),
+                movement
+        );
+    }
+}
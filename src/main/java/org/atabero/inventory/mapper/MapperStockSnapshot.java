@@ -0,0 +1,35 @@
+package org.atabero.inventory.mapper;
+
+import org.atabero.inventory.dto.stocksnapshot.StockAsOfResponseDTO;
+import org.atabero.inventory.model.enums.StockAsOfSource;
+import org.atabero.inventory.repository.StockAsOf;
+
+import java.time.LocalDateTime;
+
+/**
+ * Clase utilitaria para mapear el stock de un producto a una fecha
+ * a su correspondiente DTO de respuesta.
+ */
+public class MapperStockSnapshot {
+
+    // Constructor privado para evitar instanciación
+    private MapperStockSnapshot() {
+    }
+
+    /**
+     * Convierte la proyección del stock a una fecha en un DTO de respuesta.
+     *
+     * @param stockAsOf La proyección a convertir.
+     * @param at        Fecha consultada.
+     * @return DTO que representa el stock del producto en esa fecha.
+     */
+    public static StockAsOfResponseDTO toResponse(StockAsOf stockAsOf, LocalDateTime at) {
+        return new StockAsOfResponseDTO(
+                stockAsOf.getProductId(),
+                at,
+                stockAsOf.getStock(),
+                StockAsOfSource.valueOf(stockAsOf.getSource()),
+                stockAsOf.getAnchorAt()
+        );
+    }
+}
@@ -2,6 +2,7 @@ package org.atabero.inventory.model;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
 import org.atabero.inventory.model.enums.CategoryStatus;
 
 import java.io.Serial;
@@ -58,6 +59,14 @@ public class Category implements Serializable {
     @Column(name = "status", nullable = false)
     private CategoryStatus status = CategoryStatus.ACTIVE;
 
+    /**
+     * Versión de la fila para el control de concurrencia optimista.
+     */
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
+
     /**
      * Fecha de creación de la categoría. Se asigna automáticamente al persistir.
      */
@@ -0,0 +1,54 @@
+package org.atabero.inventory.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * Entidad que representa una clave de idempotencia ya utilizada.
+ *
+ * Guarda la respuesta de la primera petición que usó la clave para poder devolverla
+ * en los reintentos sin volver a aplicar la operación.
+ */
+@Entity
+@Table(name = "idempotency_keys", indexes = @Index(name = "idx_idempotency_keys_created_at", columnList = "created_at"))
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class IdempotencyKey implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Clave enviada por el cliente en la cabecera {@code Idempotency-Key}.
+     */
+    @Id
+    @Column(name = "idempotency_key", length = 128)
+    private String key;
+
+    /**
+     * Huella SHA-256 en hexadecimal de la petición original, para detectar claves reutilizadas con otra
+     * petición.
+     */
+    @Column(length = 64)
+    private String requestDigest;
+
+    /**
+     * Respuesta de la petición original serializada en JSON; vacía mientras la clave está reservada y la
+     * operación no ha terminado.
+     */
+    @Column(nullable = false, columnDefinition = "text")
+    private String response;
+
+    /**
+     * Fecha y hora en la que se registró la clave.
+     */
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+}
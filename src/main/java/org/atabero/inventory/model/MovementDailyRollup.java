@@ -0,0 +1,69 @@
+package org.atabero.inventory.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.atabero.inventory.model.enums.MovementType;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.time.LocalDate;
+
+/**
+ * Entidad que representa el acumulado diario de los movimientos exitosos de un producto de un tipo determinado.
+ *
+ * Las filas se mantienen desde la base de datos: un disparador de {@code movement_logs} suma cada movimiento
+ * exitoso en la misma transacción que lo inserta. Los informes leen de aquí en lugar de agregar el registro completo.
+ */
+@Entity
+@Table(name = "movement_daily_rollups",
+        uniqueConstraints = @UniqueConstraint(name = "uk_movement_daily_rollups_product_day_type",
+                columnNames = {"product_id", "day", "movement_type"}),
+        indexes = @Index(name = "idx_movement_daily_rollups_day_type", columnList = "day, movement_type"))
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class MovementDailyRollup implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Identificador único del acumulado.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * ID del producto.
+     */
+    @Column(name = "product_id", nullable = false)
+    private Long productId;
+
+    /**
+     * Día de los movimientos acumulados.
+     */
+    @Column(nullable = false)
+    private LocalDate day;
+
+    /**
+     * Tipo de los movimientos acumulados.
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(name = "movement_type", nullable = false)
+    private MovementType movementType;
+
+    /**
+     * Número de movimientos exitosos.
+     */
+    @Column(nullable = false)
+    private Long movements;
+
+    /**
+     * Suma de las cantidades de esos movimientos.
+     */
+    @Column(nullable = false)
+    private Long quantity;
+}
@@ -0,0 +1,69 @@
+package org.atabero.inventory.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.atabero.inventory.model.enums.OutboxEventType;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * Entidad que representa un evento pendiente de publicar a los sistemas externos.
+ *
+ * Se inserta en la misma transacción que el cambio que describe, así que solo existe si el cambio se confirmó.
+ * El repetidor la publica después y la marca como publicada.
+ */
+@Entity
+@Table(name = "outbox_events", indexes = {
+        @Index(name = "idx_outbox_events_published_id", columnList = "published_at, id"),
+        @Index(name = "idx_outbox_events_aggregate_id", columnList = "aggregate_id, id")
+})
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class OutboxEvent implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Identificador del evento; determina el orden de publicación.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * Tipo de evento.
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(name = "event_type", nullable = false)
+    private OutboxEventType eventType;
+
+    /**
+     * ID del producto al que se refiere el evento. Los eventos de un mismo producto se publican en orden.
+     */
+    @Column(name = "aggregate_id", nullable = false)
+    private Long aggregateId;
+
+    /**
+     * Contenido del evento en JSON.
+     */
+    @Column(nullable = false, columnDefinition = "text")
+    private String payload;
+
+    /**
+     * Fecha y hora en la que se registró el evento.
+     */
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    /**
+     * Fecha y hora en la que se publicó, o nula si sigue pendiente.
+     */
+    @Column(name = "published_at")
+    private LocalDateTime publishedAt;
+}
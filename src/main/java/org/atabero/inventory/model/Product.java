@@ -2,6 +2,8 @@ package org.atabero.inventory.model;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.Formula;
 import org.atabero.inventory.model.enums.ProductStatus;
 
 import java.io.Serial;
@@ -22,13 +24,24 @@ import java.util.List;
 @Getter
 @AllArgsConstructor
 @NoArgsConstructor
-@Table(name = "products")
+@Table(name = "products", indexes = {
+        @Index(name = "idx_products_name_id", columnList = "name, id_product"),
+        @Index(name = "idx_products_created_date_id", columnList = "created_date, id_product"),
+        @Index(name = "idx_products_status_id", columnList = "status, id_product")
+})
+@NamedEntityGraph(name = Product.WITH_CATEGORY_AND_SUPPLIER,
+        attributeNodes = {@NamedAttributeNode("category"), @NamedAttributeNode("supplier")})
 @Builder
 public class Product implements Serializable {
 
     @Serial
     private static final long serialVersionUID = 1;
 
+    /**
+     * Plan de carga que trae la categoría y el proveedor junto con el producto.
+     */
+    public static final String WITH_CATEGORY_AND_SUPPLIER = "Product.withCategoryAndSupplier";
+
     /**
      * Identificador único del producto.
      */
@@ -66,6 +79,36 @@ public class Product implements Serializable {
     @Column(nullable = false)
     private Integer currentStock;
 
+    /**
+     * Cantidad retenida por reservas activas, que no está disponible para otras salidas.
+     */
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private int reservedStock;
+
+    /**
+     * Punto de pedido: el producto tiene stock bajo mientras su stock total sea menor que este valor.
+     * Con cero no se vigila.
+     */
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private int reorderPoint;
+
+    /**
+     * Indica si el stock del producto está repartido en subcontadores ({@link ProductStockShard}).
+     * Mientras está activo, {@code currentStock} se mantiene a cero.
+     */
+    @ColumnDefault("false")
+    @Column(nullable = false)
+    private boolean stockSharded;
+
+    /**
+     * Suma del stock de los subcontadores, calculada al cargar el producto (cero si no está fragmentado).
+     */
+    @Formula("(case when stock_sharded then (select coalesce(sum(s.stock), 0) from product_stock_shards s"
+            + " where s.product_id = id_product) else 0 end)")
+    private Integer shardedStock;
+
     /**
      * Estado actual del producto (ACTIVO o INACTIVO).
      */
@@ -93,6 +136,14 @@ public class Product implements Serializable {
     @OneToMany(mappedBy = "product", fetch = FetchType.LAZY)
     private List<StockMovement> stockMovements = new ArrayList<>();
 
+    /**
+     * Versión de la fila para el control de concurrencia optimista.
+     */
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
+
     /**
      * Fecha de creación del producto. Se asigna automáticamente.
      */
@@ -105,6 +156,24 @@ public class Product implements Serializable {
     @Column(name = "last_modified_date")
     private LocalDateTime lastModifiedDate;
 
+    /**
+     * Devuelve el stock total del producto, sumando los subcontadores si está fragmentado.
+     *
+     * @return stock total.
+     */
+    public int getTotalStock() {
+        return currentStock + (shardedStock != null ? shardedStock : 0);
+    }
+
+    /**
+     * Devuelve el stock disponible para nuevas salidas: el total menos lo retenido por reservas activas.
+     *
+     * @return stock disponible.
+     */
+    public int getAvailableStock() {
+        return getTotalStock() - reservedStock;
+    }
+
     /**
      * Asigna las fechas de creación y modificación antes de persistir la entidad.
      */
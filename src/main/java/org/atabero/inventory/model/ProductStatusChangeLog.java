@@ -4,6 +4,7 @@ import jakarta.persistence.*;
 import lombok.*;
 import org.atabero.inventory.model.enums.OperationStatus;
 import org.atabero.inventory.model.enums.ProductStatus;
+import org.atabero.inventory.model.id.UuidV7;
 
 import java.io.Serial;
 import java.io.Serializable;
@@ -17,7 +18,10 @@ import java.util.UUID;
  * incluyendo información como la razón, el estado de la operación y la fecha del cambio.
  */
 @Entity
-@Table(name = "product_status_change_logs")
+@Table(name = "product_status_change_logs", indexes = {
+        @Index(name = "idx_status_change_logs_changed_at_id", columnList = "changed_at, id"),
+        @Index(name = "idx_status_change_logs_product_changed_at_id", columnList = "product_id, changed_at, id")
+})
 @Getter
 @Setter
 @AllArgsConstructor
@@ -32,7 +36,7 @@ public class ProductStatusChangeLog implements Serializable {
      * Identificador único del log de cambio.
      */
     @Id
-    @GeneratedValue
+    @UuidV7
     private UUID id;
 
     /**
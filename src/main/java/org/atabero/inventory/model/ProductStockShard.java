@@ -0,0 +1,52 @@
+package org.atabero.inventory.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serial;
+import java.io.Serializable;
+
+/**
+ * Entidad que representa un subcontador del stock de un producto en modo fragmentado.
+ *
+ * El stock de un producto fragmentado es la suma de sus subcontadores más {@code current_stock},
+ * que se mantiene a cero mientras el modo está activo.
+ */
+@Entity
+@Table(name = "product_stock_shards",
+        uniqueConstraints = @UniqueConstraint(name = "uk_product_stock_shards_product_shard", columnNames = {"product_id", "shard"}))
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class ProductStockShard implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Identificador único del subcontador.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * ID del producto al que pertenece el subcontador.
+     */
+    @Column(name = "product_id", nullable = false)
+    private Long productId;
+
+    /**
+     * Número de subcontador dentro del producto, empezando en 0.
+     */
+    @Column(nullable = false)
+    private Integer shard;
+
+    /**
+     * Stock asignado al subcontador.
+     */
+    @Column(nullable = false)
+    private Integer stock;
+}
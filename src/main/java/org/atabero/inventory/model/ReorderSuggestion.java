@@ -0,0 +1,99 @@
+package org.atabero.inventory.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * Entidad que representa una propuesta de pedido de un producto a su proveedor.
+ *
+ * Las propuestas se calculan cada noche a partir de la demanda de los últimos días: todas las filas de una misma
+ * ejecución comparten {@code generatedAt} y sustituyen a las de la ejecución anterior al terminar, cuando se marcan
+ * como completas.
+ */
+@Entity
+@Table(name = "reorder_suggestions",
+        indexes = {
+                @Index(name = "idx_reorder_suggestions_generated_supplier", columnList = "generated_at, supplier_id"),
+                @Index(name = "idx_reorder_suggestions_product", columnList = "product_id")
+        })
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class ReorderSuggestion implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Identificador único de la propuesta.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * ID del producto.
+     */
+    @Column(name = "product_id", nullable = false)
+    private Long productId;
+
+    /**
+     * ID del proveedor al que se pide.
+     */
+    @Column(name = "supplier_id", nullable = false)
+    private Long supplierId;
+
+    /**
+     * Instante de la ejecución que generó la propuesta.
+     */
+    @Column(name = "generated_at", nullable = false)
+    private LocalDateTime generatedAt;
+
+    /**
+     * Si la ejecución terminó; las propuestas de una ejecución en curso o interrumpida no se muestran.
+     */
+    @Column(name = "completed", nullable = false, columnDefinition = "boolean default false")
+    private Boolean completed;
+
+    /**
+     * Media móvil de las ventas diarias de la ventana configurada.
+     */
+    @Column(name = "moving_average", nullable = false)
+    private Double movingAverage;
+
+    /**
+     * Media exponencial de las ventas diarias, que pesa más los días recientes.
+     */
+    @Column(name = "exponential_average", nullable = false)
+    private Double exponentialAverage;
+
+    /**
+     * Desviación típica exponencial de las ventas diarias.
+     */
+    @Column(name = "demand_deviation", nullable = false)
+    private Double demandDeviation;
+
+    /**
+     * Stock disponible (total menos reservado) al calcular la propuesta.
+     */
+    @Column(name = "available_stock", nullable = false)
+    private Integer availableStock;
+
+    /**
+     * Punto de pedido recomendado: demanda esperada durante el plazo de entrega más el stock de seguridad.
+     */
+    @Column(name = "suggested_reorder_point", nullable = false)
+    private Integer suggestedReorderPoint;
+
+    /**
+     * Cantidad que se propone pedir.
+     */
+    @Column(name = "suggested_quantity", nullable = false)
+    private Integer suggestedQuantity;
+}
@@ -0,0 +1,121 @@
+package org.atabero.inventory.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.atabero.inventory.model.enums.ImportFormat;
+import org.atabero.inventory.model.enums.ImportJobStatus;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Entidad que representa la importación de un fichero de movimientos de stock.
+ *
+ * El progreso se guarda en la misma transacción que cada bloque de movimientos, de modo que
+ * {@code committedOffset} y {@code errorReportBytes} siempre señalan el final del último bloque confirmado.
+ */
+@Entity
+@Table(name = "stock_import_jobs", indexes = @Index(name = "idx_stock_import_jobs_status", columnList = "status"))
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class StockImportJob implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Identificador único de la importación.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    /**
+     * Nombre original del fichero subido.
+     */
+    @Column(nullable = false)
+    private String fileName;
+
+    /**
+     * Formato del fichero.
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private ImportFormat format;
+
+    /**
+     * Estado de la importación.
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private ImportJobStatus status;
+
+    /**
+     * Tamaño del fichero en bytes.
+     */
+    @Column(nullable = false)
+    private long sizeBytes;
+
+    /**
+     * Posición en bytes del fichero hasta la que se confirmaron los movimientos.
+     */
+    @Column(nullable = false)
+    private long committedOffset;
+
+    /**
+     * Líneas del fichero procesadas hasta {@code committedOffset}, incluida la cabecera.
+     */
+    @Column(nullable = false)
+    private long processedLines;
+
+    /**
+     * Movimientos aplicados.
+     */
+    @Column(nullable = false)
+    private long succeeded;
+
+    /**
+     * Líneas rechazadas y anotadas en el informe de errores.
+     */
+    @Column(nullable = false)
+    private long failed;
+
+    /**
+     * Tamaño en bytes del informe de errores hasta el último bloque confirmado.
+     */
+    @Column(nullable = false)
+    private long errorReportBytes;
+
+    /**
+     * Motivo por el que se detuvo la importación, si falló.
+     */
+    @Column(length = 1000)
+    private String message;
+
+    /**
+     * Nodo que procesa la importación y que la reanuda al arrancar, porque el fichero se guarda en su disco.
+     */
+    private String node;
+
+    /**
+     * Fecha y hora en la que se subió el fichero.
+     */
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    /**
+     * Fecha y hora del último bloque confirmado o cambio de estado.
+     */
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+
+    /**
+     * Fecha y hora en la que terminó o falló la importación.
+     */
+    private LocalDateTime finishedAt;
+}
@@ -4,6 +4,7 @@ import jakarta.persistence.*;
 import lombok.*;
 import org.atabero.inventory.model.enums.OperationStatus;
 import org.atabero.inventory.model.enums.MovementType;
+import org.atabero.inventory.model.id.UuidV7;
 
 import java.io.Serial;
 import java.io.Serializable;
@@ -17,7 +18,12 @@ import java.util.UUID;
  * compras, ventas, ajustes, pérdidas, devoluciones, entre otros.
  */
 @Entity
-@Table(name = "movement_logs")
+@Table(name = "movement_logs", indexes = {
+        @Index(name = "idx_movement_logs_timestamp_id", columnList = "timestamp, id"),
+        @Index(name = "idx_movement_logs_product_timestamp_id", columnList = "product_id, timestamp, id"),
+        @Index(name = "idx_movement_logs_type_timestamp_id", columnList = "movement_type, timestamp, id"),
+        @Index(name = "idx_movement_logs_status_timestamp_id", columnList = "operation_status, timestamp, id")
+})
 @Getter
 @Setter
 @AllArgsConstructor
@@ -32,7 +38,7 @@ public class StockMovement implements Serializable {
      * Identificador único del movimiento.
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @UuidV7
     private UUID id;
 
     /**
@@ -50,12 +56,13 @@ public class StockMovement implements Serializable {
     private Integer quantityChange;
 
     /**
-     * Cantidad anterior del producto antes del movimiento.
+     * Cantidad anterior del producto antes del movimiento. En los productos con el stock fragmentado es aproximada
+     * si hubo movimientos concurrentes.
      */
     private Integer previousQuantity;
 
     /**
-     * Cantidad nueva del producto después del movimiento.
+     * Cantidad nueva del producto después del movimiento, aproximada en las mismas condiciones.
      */
     private Integer newQuantity;
 
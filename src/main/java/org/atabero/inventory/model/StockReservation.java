@@ -0,0 +1,82 @@
+package org.atabero.inventory.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.atabero.inventory.model.enums.ReservationStatus;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Entidad que representa una reserva de stock de un producto.
+ *
+ * Mientras está activa, la cantidad reservada se descuenta del stock disponible del producto
+ * sin registrar ningún movimiento. Al confirmarse se convierte en una venta.
+ */
+@Entity
+@Table(name = "stock_reservations", indexes = @Index(name = "idx_stock_reservations_status", columnList = "status"))
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class StockReservation implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Identificador único de la reserva.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    /**
+     * ID del producto reservado.
+     */
+    @Column(nullable = false)
+    private Long productId;
+
+    /**
+     * Cantidad reservada.
+     */
+    @Column(nullable = false)
+    private Integer quantity;
+
+    /**
+     * Estado de la reserva.
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private ReservationStatus status;
+
+    /**
+     * Notas adicionales de la reserva (opcional).
+     */
+    private String notes;
+
+    /**
+     * Fecha y hora en la que vence la reserva si no se confirma.
+     */
+    @Column(nullable = false)
+    private LocalDateTime expiresAt;
+
+    /**
+     * Fecha y hora en la que se creó la reserva.
+     */
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    /**
+     * Fecha y hora en la que la reserva se confirmó, canceló o venció.
+     */
+    private LocalDateTime resolvedAt;
+
+    /**
+     * ID del movimiento de venta generado al confirmar la reserva.
+     */
+    private UUID movementId;
+}
@@ -0,0 +1,53 @@
+package org.atabero.inventory.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * Entidad que representa el stock total de un producto en un instante determinado.
+ *
+ * Las fotos se calculan a partir del registro de movimientos y sirven de punto de partida para las consultas
+ * de stock a una fecha: basta con reproducir los movimientos posteriores a la foto más cercana.
+ */
+@Entity
+@Table(name = "stock_snapshots",
+        uniqueConstraints = @UniqueConstraint(name = "uk_stock_snapshots_product_at", columnNames = {"product_id", "snapshot_at"}))
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class StockSnapshot implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Identificador único de la foto.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * ID del producto.
+     */
+    @Column(name = "product_id", nullable = false)
+    private Long productId;
+
+    /**
+     * Instante al que corresponde el stock.
+     */
+    @Column(name = "snapshot_at", nullable = false)
+    private LocalDateTime snapshotAt;
+
+    /**
+     * Stock total del producto en ese instante.
+     */
+    @Column(nullable = false)
+    private Integer stock;
+}
@@ -2,6 +2,7 @@ package org.atabero.inventory.model;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
 import org.atabero.inventory.model.enums.SupplierStatus;
 
 import java.io.Serial;
@@ -59,6 +60,14 @@ public class Supplier implements Serializable {
     @Column(name = "status", nullable = false)
     private SupplierStatus status = SupplierStatus.ACTIVE;
 
+    /**
+     * Versión de la fila para el control de concurrencia optimista.
+     */
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
+
     /**
      * Fecha en la que se creó el registro.
      */
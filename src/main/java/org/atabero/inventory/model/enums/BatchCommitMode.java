@@ -0,0 +1,26 @@
+package org.atabero.inventory.model.enums;
+
+import lombok.Getter;
+
+/**
+ * Enum que representa la forma de confirmar un lote de movimientos de stock.
+ */
+@Getter
+public enum BatchCommitMode {
+
+    /**
+     * El lote se confirma solo si todos los movimientos son válidos; si alguno falla no se aplica ninguno.
+     */
+    ALL_OR_NOTHING("Todo o nada"),
+
+    /**
+     * Cada movimiento se evalúa por separado: se aplican los válidos y se informan los rechazados.
+     */
+    PER_ITEM("Por movimiento");
+
+    private final String label;
+
+    BatchCommitMode(String label) {
+        this.label = label;
+    }
+}
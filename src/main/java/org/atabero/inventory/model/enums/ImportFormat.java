@@ -0,0 +1,18 @@
+package org.atabero.inventory.model.enums;
+
+/**
+ * Enum que representa el formato de un fichero de importación de movimientos de stock.
+ */
+public enum ImportFormat {
+
+    /**
+     * Un movimiento en JSON por línea, con los campos de {@code BatchStockMovementItemDTO}.
+     */
+    NDJSON,
+
+    /**
+     * Valores separados por comas con una cabecera que nombra las columnas
+     * {@code movementType}, {@code idProduct}, {@code amount} y, opcionalmente, {@code notes}.
+     */
+    CSV
+}
@@ -0,0 +1,27 @@
+package org.atabero.inventory.model.enums;
+
+/**
+ * Enum que representa el estado de una importación de movimientos de stock.
+ */
+public enum ImportJobStatus {
+
+    /**
+     * El fichero se recibió y la importación espera a un procesador.
+     */
+    PENDING,
+
+    /**
+     * La importación se está procesando.
+     */
+    RUNNING,
+
+    /**
+     * Se procesaron todas las líneas del fichero.
+     */
+    COMPLETED,
+
+    /**
+     * La importación se detuvo por un error; puede reanudarse desde el último bloque confirmado.
+     */
+    FAILED
+}
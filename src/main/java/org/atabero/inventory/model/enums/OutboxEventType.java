@@ -0,0 +1,17 @@
+package org.atabero.inventory.model.enums;
+
+/**
+ * Enum que representa el tipo de un evento de la bandeja de salida.
+ */
+public enum OutboxEventType {
+
+    /**
+     * Cambio de stock de un producto por un movimiento exitoso.
+     */
+    STOCK_CHANGED,
+
+    /**
+     * Cambio de estado de un producto.
+     */
+    PRODUCT_STATUS_CHANGED
+}
@@ -0,0 +1,22 @@
+package org.atabero.inventory.model.enums;
+
+/**
+ * Periodo en el que se agrupan los resultados de un informe.
+ */
+public enum ReportPeriod {
+
+    /**
+     * Un resultado por día.
+     */
+    DAY,
+
+    /**
+     * Un resultado por semana, empezando en lunes.
+     */
+    WEEK,
+
+    /**
+     * Un resultado por mes.
+     */
+    MONTH
+}
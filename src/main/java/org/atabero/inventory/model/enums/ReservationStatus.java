@@ -0,0 +1,27 @@
+package org.atabero.inventory.model.enums;
+
+/**
+ * Enum que representa el estado de una reserva de stock.
+ */
+public enum ReservationStatus {
+
+    /**
+     * La reserva retiene stock y aún puede confirmarse o cancelarse.
+     */
+    ACTIVE,
+
+    /**
+     * La reserva se confirmó y se convirtió en una venta.
+     */
+    CONFIRMED,
+
+    /**
+     * La reserva se canceló y liberó el stock retenido.
+     */
+    CANCELLED,
+
+    /**
+     * La reserva venció sin confirmarse y liberó el stock retenido.
+     */
+    EXPIRED
+}
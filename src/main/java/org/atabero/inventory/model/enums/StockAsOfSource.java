@@ -0,0 +1,22 @@
+package org.atabero.inventory.model.enums;
+
+/**
+ * Punto de partida desde el que se calcula el stock de un producto a una fecha.
+ */
+public enum StockAsOfSource {
+
+    /**
+     * Foto de stock anterior a la fecha, más los movimientos registrados entre ambas.
+     */
+    SNAPSHOT,
+
+    /**
+     * Stock actual, menos los movimientos registrados después de la fecha.
+     */
+    CURRENT,
+
+    /**
+     * El producto todavía no existía en esa fecha: su stock es cero.
+     */
+    BEFORE_CREATION
+}
@@ -0,0 +1,46 @@
+package org.atabero.inventory.model.enums;
+
+import lombok.Getter;
+
+/**
+ * Resultado de evaluar las reglas de un movimiento de stock según el tipo de movimiento, el estado del producto y
+ * el estado de su proveedor.
+ */
+@Getter
+public enum StockRuleOutcome {
+
+    /**
+     * El movimiento está permitido.
+     */
+    ALLOWED("Movimiento permitido"),
+
+    /**
+     * Entrada rechazada porque el proveedor del producto está inactivo.
+     */
+    SUPPLIER_INACTIVE("El proveedor está inactivo y no se puede registrar una entrada de stock para este producto."),
+
+    /**
+     * Entrada rechazada porque el estado del producto no admite reposición.
+     */
+    ENTRY_NOT_ALLOWED("No se puede reponer stock para este producto."),
+
+    /**
+     * Salida rechazada porque el estado del producto no admite salidas de stock.
+     */
+    EXIT_NOT_ALLOWED("No se puede retirar stock de este producto.");
+
+    private final String message;
+
+    StockRuleOutcome(String message) {
+        this.message = message;
+    }
+
+    /**
+     * Indica si el movimiento está permitido.
+     *
+     * @return true si el resultado es {@link #ALLOWED}.
+     */
+    public boolean isAllowed() {
+        return this == ALLOWED;
+    }
+}
@@ -0,0 +1,21 @@
+package org.atabero.inventory.model.id;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Genera el identificador de la entidad como un UUID versión 7 (RFC 9562), ordenado por el instante de creación.
+ * <p>
+ * Se usa en las tablas de registro con muchas inserciones: las claves nuevas caen siempre al final del índice
+ * en lugar de repartirse al azar por todo el árbol.
+ * </p>
+ */
+@IdGeneratorType(UuidV7Generator.class)
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD, ElementType.METHOD})
+public @interface UuidV7 {
+}
@@ -0,0 +1,59 @@
+package org.atabero.inventory.model.id;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.BeforeExecutionGenerator;
+import org.hibernate.generator.EventType;
+import org.hibernate.generator.EventTypeSets;
+
+import java.util.EnumSet;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Generador de UUID versión 7 (RFC 9562).
+ * <p>
+ * Los 48 bits más altos son los milisegundos desde la época Unix y los 12 bits de {@code rand_a} son un contador
+ * dentro del mismo milisegundo, de modo que los identificadores generados en este proceso son estrictamente
+ * crecientes aunque se pidan miles por milisegundo. Si el contador se agota, se toma prestado el milisegundo
+ * siguiente. Los 62 bits de {@code rand_b} son aleatorios y evitan colisiones entre nodos.
+ * </p>
+ * <p>
+ * PostgreSQL compara los {@code uuid} byte a byte, así que el orden de las claves coincide con el de creación.
+ * </p>
+ */
+public class UuidV7Generator implements BeforeExecutionGenerator {
+
+    private static final long VERSION = 0x7000L;
+    private static final long VARIANT = 0x8000000000000000L;
+
+    /**
+     * Último valor emitido: milisegundos desplazados 12 bits más el contador dentro del milisegundo.
+     */
+    private static final AtomicLong lastTimestampAndCounter = new AtomicLong();
+
+    /**
+     * Genera un nuevo UUID versión 7.
+     *
+     * @return el identificador generado.
+     */
+    public static UUID next() {
+        long now = System.currentTimeMillis() << 12;
+        long state = lastTimestampAndCounter.updateAndGet(last -> Math.max(now, last + 1));
+
+        long mostSignificant = (state >>> 12) << 16 | VERSION | (state & 0xFFFL);
+        long leastSignificant = VARIANT | (ThreadLocalRandom.current().nextLong() >>> 2);
+        return new UUID(mostSignificant, leastSignificant);
+    }
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object owner, Object currentValue,
+                           EventType eventType) {
+        return next();
+    }
+
+    @Override
+    public EnumSet<EventType> getEventTypes() {
+        return EventTypeSets.INSERT_ONLY;
+    }
+}
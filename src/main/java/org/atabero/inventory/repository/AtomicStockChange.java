@@ -0,0 +1,32 @@
+package org.atabero.inventory.repository;
+
+/**
+ * Proyección con el resultado de aplicar un movimiento de stock en una única sentencia SQL.
+ */
+public interface AtomicStockChange {
+
+    /**
+     * @return nombre del producto afectado.
+     */
+    String getProductName();
+
+    /**
+     * @return cantidad de stock antes del movimiento.
+     */
+    Integer getPreviousQuantity();
+
+    /**
+     * @return cantidad de stock después del movimiento.
+     */
+    Integer getNewQuantity();
+
+    /**
+     * @return ID de la categoría del producto.
+     */
+    Long getCategoryId();
+
+    /**
+     * @return ID del proveedor del producto.
+     */
+    Long getSupplierId();
+}
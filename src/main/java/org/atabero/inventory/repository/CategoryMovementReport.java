@@ -0,0 +1,34 @@
+package org.atabero.inventory.repository;
+
+import java.time.LocalDate;
+
+/**
+ * Proyección con los movimientos acumulados de una categoría en un periodo.
+ */
+public interface CategoryMovementReport {
+
+    /**
+     * @return ID de la categoría.
+     */
+    Long getCategoryId();
+
+    /**
+     * @return nombre de la categoría.
+     */
+    String getCategoryName();
+
+    /**
+     * @return primer día del periodo.
+     */
+    LocalDate getPeriodStart();
+
+    /**
+     * @return número de movimientos.
+     */
+    Long getMovements();
+
+    /**
+     * @return suma de las cantidades movidas.
+     */
+    Long getQuantity();
+}
@@ -1,10 +1,17 @@
 package org.atabero.inventory.repository;
 
+import org.atabero.inventory.dto.category.CategoryResponseDTO;
 import org.atabero.inventory.model.Category;
 import org.atabero.inventory.model.enums.CategoryStatus;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 import java.util.Optional;
@@ -54,7 +61,7 @@ public interface CategoryRepository extends JpaRepository<Category, Long> {
      * @param pageable objeto para la paginación.
      * @return página de categorías.
      */
-    Page<Category> findByNameContainingIgnoreCase(String name, Pageable pageable);
+    Page<CategoryResponseDTO> findByNameContainingIgnoreCase(String name, Pageable pageable);
 
     /**
      * Devuelve una página de categorías según su estado.
@@ -63,7 +70,7 @@ public interface CategoryRepository extends JpaRepository<Category, Long> {
      * @param pageable objeto para la paginación.
      * @return página de categorías con el estado especificado.
      */
-    Page<Category> findByStatus(CategoryStatus status, Pageable pageable);
+    Page<CategoryResponseDTO> findByStatus(CategoryStatus status, Pageable pageable);
 
     /**
      * Devuelve una página de categorías que coincidan parcialmente con el nombre y tengan un estado específico.
@@ -73,5 +80,79 @@ public interface CategoryRepository extends JpaRepository<Category, Long> {
      * @param pageable objeto para la paginación.
      * @return página de categorías.
      */
-    Page<Category> findByNameContainingIgnoreCaseAndStatus(String name, CategoryStatus status, Pageable pageable);
+    Page<CategoryResponseDTO> findByNameContainingIgnoreCaseAndStatus(String name, CategoryStatus status,
+                                                                      Pageable pageable);
+
+    /**
+     * Devuelve una página de categorías, con las columnas del DTO de respuesta.
+     *
+     * @param pageable objeto de paginación.
+     * @return página de categorías.
+     */
+    Page<CategoryResponseDTO> findAllBy(Pageable pageable);
+
+    /**
+     * Devuelve las categorías que siguen a la posición indicada en el orden dado.
+     *
+     * @param position posición desde la que continuar.
+     * @param limit    número máximo de categorías.
+     * @param sort     orden del recorrido.
+     * @return ventana de categorías.
+     */
+    Window<CategoryResponseDTO> findAllBy(ScrollPosition position, Limit limit, Sort sort);
+
+    /**
+     * Devuelve las categorías cuyo nombre contenga el texto indicado que siguen a la posición dada.
+     *
+     * @param name     parte del nombre a buscar.
+     * @param position posición desde la que continuar.
+     * @param limit    número máximo de categorías.
+     * @param sort     orden del recorrido.
+     * @return ventana de categorías.
+     */
+    Window<CategoryResponseDTO> findByNameContainingIgnoreCase(String name, ScrollPosition position, Limit limit,
+                                                               Sort sort);
+
+    /**
+     * Devuelve las categorías con el estado indicado que siguen a la posición dada.
+     *
+     * @param status   estado de la categoría.
+     * @param position posición desde la que continuar.
+     * @param limit    número máximo de categorías.
+     * @param sort     orden del recorrido.
+     * @return ventana de categorías.
+     */
+    Window<CategoryResponseDTO> findByStatus(CategoryStatus status, ScrollPosition position, Limit limit, Sort sort);
+
+    /**
+     * Devuelve las categorías por nombre parcial y estado que siguen a la posición dada.
+     *
+     * @param name     parte del nombre a buscar.
+     * @param status   estado de la categoría.
+     * @param position posición desde la que continuar.
+     * @param limit    número máximo de categorías.
+     * @param sort     orden del recorrido.
+     * @return ventana de categorías.
+     */
+    Window<CategoryResponseDTO> findByNameContainingIgnoreCaseAndStatus(String name, CategoryStatus status,
+                                                                        ScrollPosition position, Limit limit,
+                                                                        Sort sort);
+
+    /**
+     * Selección común de las consultas que devuelven el DTO de respuesta, sin cargar entidades.
+     */
+    String SELECT_RESPONSE = """
+            select new org.atabero.inventory.dto.category.CategoryResponseDTO(
+                   c.id, c.name, c.description, c.status, c.createdDate, c.lastModifiedDate)
+              from Category c
+            """;
+
+    /**
+     * Busca un registro por su ID, con las columnas del DTO de respuesta.
+     *
+     * @param id ID del registro.
+     * @return un {@link Optional} con el DTO si existe.
+     */
+    @Query(SELECT_RESPONSE + "where c.id = :id")
+    Optional<CategoryResponseDTO> findResponseById(@Param("id") Long id);
 }
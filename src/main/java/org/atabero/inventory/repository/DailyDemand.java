@@ -0,0 +1,24 @@
+package org.atabero.inventory.repository;
+
+import java.time.LocalDate;
+
+/**
+ * Proyección con las unidades vendidas de un producto en un día.
+ */
+public interface DailyDemand {
+
+    /**
+     * @return ID del producto.
+     */
+    Long getProductId();
+
+    /**
+     * @return día de las ventas.
+     */
+    LocalDate getDay();
+
+    /**
+     * @return unidades vendidas ese día.
+     */
+    Long getQuantity();
+}
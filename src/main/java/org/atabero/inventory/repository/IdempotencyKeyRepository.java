@@ -0,0 +1,64 @@
+package org.atabero.inventory.repository;
+
+import org.atabero.inventory.model.IdempotencyKey;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+
+/**
+ * Repositorio para gestionar las claves de idempotencia.
+ *
+ * Extiende {@link JpaRepository} para proporcionar operaciones CRUD básicas.
+ */
+public interface IdempotencyKeyRepository extends JpaRepository<IdempotencyKey, String> {
+
+    /**
+     * Reserva la clave, sin respuesta, si no existe o si la existente caducó. Si otra transacción la está
+     * usando, espera a que termine.
+     *
+     * @param key           clave de idempotencia.
+     * @param requestDigest huella de la petición.
+     * @param createdAt     fecha y hora del registro.
+     * @param expiredBefore fecha antes de la cual una clave existente se considera caducada.
+     * @return 1 si se reservó la clave, 0 si ya existía una vigente.
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO idempotency_keys (idempotency_key, request_digest, response, created_at)
+            VALUES (:key, :requestDigest, '', :createdAt)
+            ON CONFLICT (idempotency_key) DO UPDATE
+               SET request_digest = EXCLUDED.request_digest,
+                   response = EXCLUDED.response,
+                   created_at = EXCLUDED.created_at
+             WHERE idempotency_keys.created_at < :expiredBefore
+            """, nativeQuery = true)
+    int claim(@Param("key") String key,
+              @Param("requestDigest") String requestDigest,
+              @Param("createdAt") LocalDateTime createdAt,
+              @Param("expiredBefore") LocalDateTime expiredBefore);
+
+    /**
+     * Guarda la respuesta de una clave reservada.
+     *
+     * @param key      clave de idempotencia.
+     * @param response respuesta serializada.
+     * @return número de filas actualizadas.
+     */
+    @Modifying
+    @Query(value = "UPDATE idempotency_keys SET response = :response WHERE idempotency_key = :key",
+            nativeQuery = true)
+    int complete(@Param("key") String key, @Param("response") String response);
+
+    /**
+     * Elimina las claves registradas antes de la fecha indicada.
+     *
+     * @param threshold fecha límite.
+     * @return número de claves eliminadas.
+     */
+    @Modifying
+    @Query("delete from IdempotencyKey k where k.createdAt < :threshold")
+    int deleteCreatedBefore(@Param("threshold") LocalDateTime threshold);
+}
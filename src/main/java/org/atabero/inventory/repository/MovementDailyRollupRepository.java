@@ -0,0 +1,100 @@
+package org.atabero.inventory.repository;
+
+import org.atabero.inventory.model.MovementDailyRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repositorio para acceder a los acumulados diarios de movimientos.
+ */
+public interface MovementDailyRollupRepository extends JpaRepository<MovementDailyRollup, Long> {
+
+    /**
+     * Borra los acumulados de un día.
+     *
+     * @param day día a borrar.
+     * @return número de filas borradas.
+     */
+    @Modifying
+    @Query("delete from MovementDailyRollup r where r.day = :day")
+    int deleteByDay(@Param("day") LocalDate day);
+
+    /**
+     * Calcula desde {@code movement_logs} los acumulados de los movimientos exitosos del intervalo indicado.
+     *
+     * @param from inicio del intervalo (incluido).
+     * @param to   fin del intervalo (excluido).
+     * @return número de filas insertadas.
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO movement_daily_rollups (product_id, day, movement_type, movements, quantity)
+            SELECT m.product_id, CAST(m.timestamp AS date), m.movement_type, COUNT(*), SUM(m.quantity_change)
+              FROM movement_logs m
+             WHERE m.timestamp >= :from AND m.timestamp < :to
+               AND m.operation_status = 'SUCCESS' AND m.product_id IS NOT NULL
+             GROUP BY 1, 2, 3
+             ORDER BY 1, 2, 3
+            ON CONFLICT (product_id, day, movement_type) DO UPDATE
+               SET movements = movement_daily_rollups.movements + EXCLUDED.movements,
+                   quantity = movement_daily_rollups.quantity + EXCLUDED.quantity
+            """, nativeQuery = true)
+    int insertFromMovements(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    /**
+     * Agrupa los acumulados por categoría del producto y periodo.
+     *
+     * @param from          primer día (incluido).
+     * @param to            último día (excluido).
+     * @param movementTypes tipos de movimiento a incluir.
+     * @param period        unidad de {@code date_trunc} del periodo ({@code day}, {@code week} o {@code month}).
+     * @return una fila por categoría y periodo, ordenadas por periodo y categoría.
+     */
+    @Query(value = """
+            SELECT c.id_category AS categoryId, c.name AS categoryName,
+                   CAST(date_trunc(:period, r.day) AS date) AS periodStart,
+                   SUM(r.movements) AS movements, SUM(r.quantity) AS quantity
+              FROM movement_daily_rollups r
+              JOIN products p ON p.id_product = r.product_id
+              JOIN categories c ON c.id_category = p.category_id
+             WHERE r.day >= :from AND r.day < :to
+               AND r.movement_type IN (:movementTypes)
+             GROUP BY c.id_category, c.name, periodStart
+             ORDER BY periodStart, c.id_category
+            """, nativeQuery = true)
+    List<CategoryMovementReport> findCategoryReport(@Param("from") LocalDate from,
+                                                    @Param("to") LocalDate to,
+                                                    @Param("movementTypes") Collection<String> movementTypes,
+                                                    @Param("period") String period);
+
+    /**
+     * Devuelve las unidades de un tipo de movimiento por producto y día para un rango de IDs de producto.
+     *
+     * @param fromId       primer ID del rango (incluido).
+     * @param toId         último ID del rango (excluido).
+     * @param movementType tipo de movimiento.
+     * @param from         primer día (incluido).
+     * @param to           último día (excluido).
+     * @return una fila por producto y día con movimientos, ordenadas por producto y día.
+     */
+    @Query(value = """
+            SELECT r.product_id AS productId, r.day AS day, r.quantity AS quantity
+              FROM movement_daily_rollups r
+             WHERE r.product_id >= :fromId AND r.product_id < :toId
+               AND r.day >= :from AND r.day < :to
+               AND r.movement_type = :movementType
+             ORDER BY r.product_id, r.day
+            """, nativeQuery = true)
+    List<DailyDemand> findDailyQuantities(@Param("fromId") long fromId,
+                                          @Param("toId") long toId,
+                                          @Param("movementType") String movementType,
+                                          @Param("from") LocalDate from,
+                                          @Param("to") LocalDate to);
+}
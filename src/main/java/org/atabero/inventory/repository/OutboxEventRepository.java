@@ -0,0 +1,84 @@
+package org.atabero.inventory.repository;
+
+import org.atabero.inventory.model.OutboxEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repositorio para acceder a la bandeja de salida de eventos.
+ */
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    /**
+     * Reserva los eventos pendientes más antiguos, bloqueándolos hasta el final de la transacción. Los eventos que
+     * ya tiene reservados otro nodo se saltan en lugar de esperar, de modo que varios nodos se reparten el trabajo.
+     *
+     * @param limit número máximo de eventos.
+     * @return eventos reservados, ordenados por ID.
+     */
+    @Query(value = """
+            SELECT * FROM outbox_events
+             WHERE published_at IS NULL
+             ORDER BY id
+             LIMIT :limit
+               FOR UPDATE SKIP LOCKED
+            """, nativeQuery = true)
+    List<OutboxEvent> claimPending(@Param("limit") int limit);
+
+    /**
+     * Devuelve, para cada producto indicado, el ID del primer evento pendiente anterior a {@code beforeId} que no
+     * está entre los reservados, es decir, que sigue en manos de otro nodo.
+     *
+     * @param aggregateIds IDs de los productos de los eventos reservados.
+     * @param claimedIds   IDs de los eventos reservados.
+     * @param beforeId     mayor ID reservado.
+     * @return filas {@code [aggregateId, firstId]}.
+     */
+    @Query(value = """
+            SELECT o.aggregate_id, MIN(o.id)
+              FROM outbox_events o
+             WHERE o.published_at IS NULL
+               AND o.aggregate_id IN (:aggregateIds)
+               AND o.id < :beforeId
+               AND o.id NOT IN (:claimedIds)
+             GROUP BY o.aggregate_id
+            """, nativeQuery = true)
+    List<Object[]> findFirstPendingHeldElsewhere(@Param("aggregateIds") Collection<Long> aggregateIds,
+                                                 @Param("claimedIds") Collection<Long> claimedIds,
+                                                 @Param("beforeId") long beforeId);
+
+    /**
+     * Marca los eventos como publicados.
+     *
+     * @param ids         IDs de los eventos.
+     * @param publishedAt fecha y hora de publicación.
+     * @return número de eventos marcados.
+     */
+    @Modifying
+    @Query("update OutboxEvent e set e.publishedAt = :publishedAt where e.id in :ids")
+    int markPublished(@Param("ids") Collection<Long> ids, @Param("publishedAt") LocalDateTime publishedAt);
+
+    /**
+     * Devuelve la fecha del evento pendiente más antiguo.
+     *
+     * @return la fecha, o nula si no hay eventos pendientes.
+     */
+    @Query("select min(e.createdAt) from OutboxEvent e where e.publishedAt is null")
+    LocalDateTime findOldestPendingCreatedAt();
+
+    /**
+     * Borra los eventos publicados antes de la fecha indicada.
+     *
+     * @param before fecha límite (excluida).
+     * @return número de eventos borrados.
+     */
+    @Modifying
+    @Query("delete from OutboxEvent e where e.publishedAt < :before")
+    int deletePublishedBefore(@Param("before") LocalDateTime before);
+}
@@ -0,0 +1,83 @@
+package org.atabero.inventory.repository;
+
+import org.atabero.inventory.model.enums.ProductStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Proyección con las columnas que muestra el listado de productos, con los nombres de categoría y proveedor por
+ * join, para no cargar entidades al recorrerlo.
+ */
+public interface ProductListing {
+
+    /**
+     * @return ID del producto.
+     */
+    Long getId();
+
+    /**
+     * @return nombre del producto.
+     */
+    String getName();
+
+    /**
+     * @return código del producto.
+     */
+    String getCode();
+
+    /**
+     * @return descripción del producto.
+     */
+    String getDescription();
+
+    /**
+     * @return precio del producto.
+     */
+    BigDecimal getPrice();
+
+    /**
+     * @return stock de la fila del producto, sin los subcontadores.
+     */
+    Integer getCurrentStock();
+
+    /**
+     * @return stock repartido en subcontadores, o cero si no está fragmentado.
+     */
+    Integer getShardedStock();
+
+    /**
+     * @return stock retenido por reservas activas.
+     */
+    Integer getReservedStock();
+
+    /**
+     * @return punto de pedido del producto.
+     */
+    Integer getReorderPoint();
+
+    /**
+     * @return estado del producto.
+     */
+    ProductStatus getStatus();
+
+    /**
+     * @return nombre de la categoría.
+     */
+    String getCategoryName();
+
+    /**
+     * @return nombre del proveedor.
+     */
+    String getSupplierName();
+
+    /**
+     * @return fecha de creación.
+     */
+    LocalDateTime getCreatedDate();
+
+    /**
+     * @return fecha de la última modificación.
+     */
+    LocalDateTime getLastModifiedDate();
+}
@@ -1,28 +1,59 @@
 package org.atabero.inventory.repository;
 
+import jakarta.persistence.LockModeType;
+import org.atabero.inventory.dto.product.ProductResponseDTO;
 import org.atabero.inventory.model.Category;
 import org.atabero.inventory.model.Product;
 import org.atabero.inventory.model.Supplier;
 import org.atabero.inventory.model.enums.ProductStatus;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 /**
  * Repositorio para acceder y manipular datos de la entidad {@link Product}.
+ * <p>
+ * Las consultas que devuelven productos para mostrarlos cargan también su categoría y su proveedor en la misma
+ * sentencia ({@link Product#WITH_CATEGORY_AND_SUPPLIER}), porque la respuesta incluye sus nombres. Los listados
+ * paginados devuelven en su lugar la proyección {@link ProductListing}, que solo lee las columnas que se muestran.
+ * </p>
  */
 public interface ProductRepository extends JpaRepository<Product, Long> {
 
+    /**
+     * Selección común de las consultas que devuelven el DTO de respuesta: solo las columnas que muestra, con los
+     * nombres de categoría y proveedor por join y sin cargar entidades en el contexto de persistencia.
+     */
+    String SELECT_RESPONSE = """
+            select new org.atabero.inventory.dto.product.ProductResponseDTO(
+                   p.id, p.name, p.code, p.description, p.price,
+                   p.currentStock + p.shardedStock, p.currentStock + p.shardedStock - p.reservedStock,
+                   p.reorderPoint, p.status, c.name, s.name, p.createdDate, p.lastModifiedDate)
+              from Product p
+              join p.category c
+              join p.supplier s
+            """;
+
     /**
      * Busca un producto por su código exacto.
      *
      * @param code código único del producto.
      * @return un {@link Optional} que contiene el producto si existe.
      */
+    @EntityGraph(Product.WITH_CATEGORY_AND_SUPPLIER)
     Optional<Product> findByCode(String code);
 
     /**
@@ -31,6 +62,7 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
      * @param name parte del nombre a buscar.
      * @return lista de productos que coinciden parcialmente con el nombre.
      */
+    @EntityGraph(Product.WITH_CATEGORY_AND_SUPPLIER)
     List<Product> findByNameContainingIgnoreCase(String name);
 
     /**
@@ -40,6 +72,7 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
      * @param maxPrice precio máximo.
      * @return lista de productos en ese rango de precio.
      */
+    @EntityGraph(Product.WITH_CATEGORY_AND_SUPPLIER)
     List<Product> findByPriceBetween(BigDecimal minPrice, BigDecimal maxPrice);
 
     /**
@@ -48,6 +81,7 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
      * @param stock cantidad de stock a comparar.
      * @return lista de productos con stock inferior al valor indicado.
      */
+    @EntityGraph(Product.WITH_CATEGORY_AND_SUPPLIER)
     List<Product> findByCurrentStockLessThan(Integer stock);
 
     /**
@@ -56,6 +90,7 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
      * @param status estado del producto ({@link ProductStatus}).
      * @return lista de productos con el estado especificado.
      */
+    @EntityGraph(Product.WITH_CATEGORY_AND_SUPPLIER)
     List<Product> findByStatus(ProductStatus status);
 
     /**
@@ -64,6 +99,7 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
      * @param category categoría del producto.
      * @return lista de productos dentro de esa categoría.
      */
+    @EntityGraph(Product.WITH_CATEGORY_AND_SUPPLIER)
     List<Product> findByCategory(Category category);
 
     /**
@@ -72,6 +108,7 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
      * @param supplier proveedor del producto.
      * @return lista de productos del proveedor.
      */
+    @EntityGraph(Product.WITH_CATEGORY_AND_SUPPLIER)
     List<Product> findBySupplier(Supplier supplier);
 
     /**
@@ -81,6 +118,7 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
      * @param stock    valor máximo de stock.
      * @return lista de productos que cumplen ambas condiciones.
      */
+    @EntityGraph(Product.WITH_CATEGORY_AND_SUPPLIER)
     List<Product> findByCategoryAndCurrentStockLessThan(Category category, Integer stock);
 
     /**
@@ -90,6 +128,7 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
      * @param status estado del producto.
      * @return lista de productos que coincidan con ambos criterios.
      */
+    @EntityGraph(Product.WITH_CATEGORY_AND_SUPPLIER)
     List<Product> findByNameContainingIgnoreCaseAndStatus(String name, ProductStatus status);
 
     /**
@@ -97,9 +136,9 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
      *
      * @param name     parte del nombre a buscar.
      * @param pageable objeto de paginación.
-     * @return página de productos.
+     * @return página de productos con las columnas del listado.
      */
-    Page<Product> findByNameContainingIgnoreCase(String name, Pageable pageable);
+    Page<ProductListing> findByNameContainingIgnoreCase(String name, Pageable pageable);
 
     /**
      * Devuelve una página de productos de una categoría específica.
@@ -108,6 +147,7 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
      * @param pageable objeto de paginación.
      * @return página de productos.
      */
+    @EntityGraph(Product.WITH_CATEGORY_AND_SUPPLIER)
     Page<Product> findByCategory(Category category, Pageable pageable);
 
     /**
@@ -115,9 +155,9 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
      *
      * @param status   estado del producto.
      * @param pageable objeto de paginación.
-     * @return página de productos.
+     * @return página de productos con las columnas del listado.
      */
-    Page<Product> findByStatus(ProductStatus status, Pageable pageable);
+    Page<ProductListing> findByStatus(ProductStatus status, Pageable pageable);
 
     /**
      * Devuelve una página de productos por nombre parcial y estado.
@@ -125,7 +165,155 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
      * @param name     parte del nombre a buscar.
      * @param status   estado del producto.
      * @param pageable objeto de paginación.
-     * @return página de productos.
+     * @return página de productos con las columnas del listado.
+     */
+    Page<ProductListing> findByNameContainingIgnoreCaseAndStatus(String name, ProductStatus status, Pageable pageable);
+
+    /**
+     * Devuelve una página de productos.
+     *
+     * @param pageable objeto de paginación.
+     * @return página de productos con las columnas del listado.
+     */
+    Page<ProductListing> findAllBy(Pageable pageable);
+
+    /**
+     * Devuelve los productos que siguen a la posición indicada en el orden dado.
+     *
+     * @param position posición desde la que continuar.
+     * @param limit    número máximo de productos.
+     * @param sort     orden del recorrido.
+     * @return ventana de productos con las columnas del listado.
+     */
+    Window<ProductListing> findAllBy(ScrollPosition position, Limit limit, Sort sort);
+
+    /**
+     * Devuelve los productos cuyo nombre contenga el texto indicado que siguen a la posición dada.
+     *
+     * @param name     parte del nombre a buscar.
+     * @param position posición desde la que continuar.
+     * @param limit    número máximo de productos.
+     * @param sort     orden del recorrido.
+     * @return ventana de productos con las columnas del listado.
+     */
+    Window<ProductListing> findByNameContainingIgnoreCase(String name, ScrollPosition position, Limit limit,
+                                                          Sort sort);
+
+    /**
+     * Devuelve los productos con el estado indicado que siguen a la posición dada.
+     *
+     * @param status   estado del producto.
+     * @param position posición desde la que continuar.
+     * @param limit    número máximo de productos.
+     * @param sort     orden del recorrido.
+     * @return ventana de productos con las columnas del listado.
+     */
+    Window<ProductListing> findByStatus(ProductStatus status, ScrollPosition position, Limit limit, Sort sort);
+
+    /**
+     * Devuelve los productos por nombre parcial y estado que siguen a la posición dada.
+     *
+     * @param name     parte del nombre a buscar.
+     * @param status   estado del producto.
+     * @param position posición desde la que continuar.
+     * @param limit    número máximo de productos.
+     * @param sort     orden del recorrido.
+     * @return ventana de productos con las columnas del listado.
+     */
+    Window<ProductListing> findByNameContainingIgnoreCaseAndStatus(String name, ProductStatus status,
+                                                                   ScrollPosition position, Limit limit, Sort sort);
+
+    /**
+     * Busca un producto por su ID, con las columnas del DTO de respuesta.
+     *
+     * @param id ID del producto.
+     * @return un {@link Optional} con el DTO si existe.
+     */
+    @Query(SELECT_RESPONSE + "where p.id = :id")
+    Optional<ProductResponseDTO> findResponseById(@Param("id") Long id);
+
+    /**
+     * Busca un producto por su ID.
+     *
+     * @param id ID del producto.
+     * @return un {@link Optional} con el producto, su categoría y su proveedor si existe.
+     */
+    @EntityGraph(Product.WITH_CATEGORY_AND_SUPPLIER)
+    @Query("select p from Product p where p.id = :id")
+    Optional<Product> findWithCategoryAndSupplierById(@Param("id") Long id);
+
+    /**
+     * Carga y bloquea para escritura los productos indicados.
+     * Los productos se bloquean ordenados por ID para evitar interbloqueos entre lotes concurrentes. La consulta no
+     * incluye la categoría ni el proveedor: con un join, el bloqueo se extendería también a sus filas.
+     *
+     * @param ids IDs de los productos.
+     * @return lista de productos encontrados, ordenada por ID.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select p from Product p where p.id in :ids order by p.id")
+    List<Product> findAllByIdInForUpdate(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Busca los productos indicados, junto con su categoría y su proveedor, en una única consulta.
+     *
+     * @param ids IDs de los productos.
+     * @return lista de productos encontrados.
+     */
+    @EntityGraph(Product.WITH_CATEGORY_AND_SUPPLIER)
+    List<Product> findAllByIdIn(Collection<Long> ids);
+
+    /**
+     * Devuelve los IDs de los productos con el stock fragmentado en subcontadores.
+     *
+     * @return lista de IDs.
+     */
+    @Query("select p.id from Product p where p.stockSharded = true")
+    List<Long> findIdsByStockShardedTrue();
+
+    /**
+     * Devuelve el menor y el mayor ID de producto, para repartir el catálogo en rangos.
+     *
+     * @return lista con una única fila {@code [min, max]}; ambos nulos si no hay productos.
+     */
+    @Query("select min(p.id), max(p.id) from Product p")
+    List<Object[]> findIdRange();
+
+    /**
+     * Devuelve el punto de pedido y el stock total de los productos que lo tienen configurado.
+     *
+     * @return una fila por producto con punto de pedido mayor que cero.
+     */
+    @Query(value = """
+            SELECT p.id_product AS productId,
+                   p.name AS name,
+                   p.category_id AS categoryId,
+                   p.current_stock + CASE WHEN p.stock_sharded
+                       THEN COALESCE((SELECT SUM(s.stock) FROM product_stock_shards s
+                                       WHERE s.product_id = p.id_product), 0)
+                       ELSE 0 END AS stock,
+                   p.reorder_point AS reorderPoint
+              FROM products p
+             WHERE p.reorder_point > 0
+            """, nativeQuery = true)
+    List<ReorderThreshold> findReorderThresholds();
+
+    /**
+     * Devuelve el proveedor y el stock de los productos indicados.
+     *
+     * @param ids IDs de los productos.
+     * @return una fila por producto encontrado.
      */
-    Page<Product> findByNameContainingIgnoreCaseAndStatus(String name, ProductStatus status, Pageable pageable);
+    @Query(value = """
+            SELECT p.id_product AS productId,
+                   p.supplier_id AS supplierId,
+                   p.current_stock + CASE WHEN p.stock_sharded
+                       THEN COALESCE((SELECT SUM(s.stock) FROM product_stock_shards s
+                                       WHERE s.product_id = p.id_product), 0)
+                       ELSE 0 END AS stock,
+                   p.reserved_stock AS reservedStock
+              FROM products p
+             WHERE p.id_product IN (:ids)
+            """, nativeQuery = true)
+    List<ReorderStock> findReorderStock(@Param("ids") Collection<Long> ids);
 }
@@ -1,77 +1,230 @@
 package org.atabero.inventory.repository;
 
+import org.atabero.inventory.dto.productstatuschangelog.ProductStatusChangeLogResponseDTO;
 import org.atabero.inventory.model.ProductStatusChangeLog;
 import org.atabero.inventory.model.enums.ProductStatus;
 import org.atabero.inventory.model.enums.OperationStatus;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDateTime;
-import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 /**
  * Repositorio para acceder a los registros de cambio de estado de productos.
+ * <p>
+ * Los listados se leen por páginas: con {@link Pageable} cuando se pide un número de página y con
+ * {@link ScrollPosition} cuando se recorren por cursor desde la última fila de la página anterior.
+ * </p>
  */
 public interface ProductStatusChangeLogRepository extends JpaRepository<ProductStatusChangeLog, UUID> {
 
     /**
-     * Busca los logs asociados a un producto por su ID.
+     * Selección común de las consultas que devuelven el DTO de respuesta.
+     */
+    String SELECT_RESPONSE = """
+            select new org.atabero.inventory.dto.productstatuschangelog.ProductStatusChangeLogResponseDTO(
+                   l.id, l.productId, l.previousStatus, l.newStatus, l.reason,
+                   l.operationStatus, l.operationMessage, l.changedAt)
+              from ProductStatusChangeLog l
+            """;
+
+    /**
+     * Busca un log por su ID.
+     *
+     * @param id ID del log.
+     * @return un {@link Optional} con el log si existe.
+     */
+    @Query(SELECT_RESPONSE + "where l.id = :id")
+    Optional<ProductStatusChangeLogResponseDTO> findResponseById(@Param("id") UUID id);
+
+    /**
+     * Devuelve una página de logs, con las columnas del DTO de respuesta.
+     *
+     * @param pageable objeto de paginación.
+     * @return página de logs.
+     */
+    Page<ProductStatusChangeLogResponseDTO> findAllBy(Pageable pageable);
+
+    /**
+     * Devuelve los logs que siguen a la posición dada.
+     *
+     * @param position posición desde la que continuar.
+     * @param limit    número máximo de logs.
+     * @param sort     orden del recorrido.
+     * @return ventana de logs.
+     */
+    Window<ProductStatusChangeLogResponseDTO> findAllBy(ScrollPosition position, Limit limit, Sort sort);
+
+    /**
+     * Devuelve una página de logs asociados a un producto.
+     *
+     * @param productId ID del producto.
+     * @param pageable  objeto de paginación.
+     * @return página de logs.
+     */
+    Page<ProductStatusChangeLogResponseDTO> findByProductId(Long productId, Pageable pageable);
+
+    /**
+     * Devuelve los logs asociados a un producto que siguen a la posición dada.
      *
      * @param productId ID del producto.
-     * @return lista de logs correspondientes al producto.
+     * @param position  posición desde la que continuar.
+     * @param limit     número máximo de logs.
+     * @param sort      orden del recorrido.
+     * @return ventana de logs.
      */
-    List<ProductStatusChangeLog> findByProductId(Long productId);
+    Window<ProductStatusChangeLogResponseDTO> findByProductId(Long productId, ScrollPosition position, Limit limit,
+                                                              Sort sort);
 
     /**
-     * Busca los logs donde el estado previo del producto coincide con el especificado.
+     * Devuelve una página de logs con el estado previo indicado.
      *
      * @param previousStatus estado anterior del producto.
-     * @return lista de logs con ese estado previo.
+     * @param pageable       objeto de paginación.
+     * @return página de logs.
      */
-    List<ProductStatusChangeLog> findByPreviousStatus(ProductStatus previousStatus);
+    Page<ProductStatusChangeLogResponseDTO> findByPreviousStatus(ProductStatus previousStatus, Pageable pageable);
 
     /**
-     * Busca los logs donde el nuevo estado del producto coincide con el especificado.
+     * Devuelve los logs con el estado previo indicado que siguen a la posición dada.
+     *
+     * @param previousStatus estado anterior del producto.
+     * @param position       posición desde la que continuar.
+     * @param limit          número máximo de logs.
+     * @param sort           orden del recorrido.
+     * @return ventana de logs.
+     */
+    Window<ProductStatusChangeLogResponseDTO> findByPreviousStatus(ProductStatus previousStatus,
+                                                                   ScrollPosition position, Limit limit, Sort sort);
+
+    /**
+     * Devuelve una página de logs con el nuevo estado indicado.
      *
      * @param newStatus nuevo estado del producto.
-     * @return lista de logs con ese nuevo estado.
+     * @param pageable  objeto de paginación.
+     * @return página de logs.
      */
-    List<ProductStatusChangeLog> findByNewStatus(ProductStatus newStatus);
+    Page<ProductStatusChangeLogResponseDTO> findByNewStatus(ProductStatus newStatus, Pageable pageable);
 
     /**
-     * Busca los logs según el estado de la operación (ej. SUCCESS o ERROR).
+     * Devuelve los logs con el nuevo estado indicado que siguen a la posición dada.
+     *
+     * @param newStatus nuevo estado del producto.
+     * @param position  posición desde la que continuar.
+     * @param limit     número máximo de logs.
+     * @param sort      orden del recorrido.
+     * @return ventana de logs.
+     */
+    Window<ProductStatusChangeLogResponseDTO> findByNewStatus(ProductStatus newStatus, ScrollPosition position,
+                                                              Limit limit, Sort sort);
+
+    /**
+     * Devuelve una página de logs con el estado de operación indicado.
      *
      * @param operationStatus estado de la operación.
-     * @return lista de logs con ese estado de operación.
+     * @param pageable        objeto de paginación.
+     * @return página de logs.
+     */
+    Page<ProductStatusChangeLogResponseDTO> findByOperationStatus(OperationStatus operationStatus, Pageable pageable);
+
+    /**
+     * Devuelve los logs con el estado de operación indicado que siguen a la posición dada.
+     *
+     * @param operationStatus estado de la operación.
+     * @param position        posición desde la que continuar.
+     * @param limit           número máximo de logs.
+     * @param sort            orden del recorrido.
+     * @return ventana de logs.
+     */
+    Window<ProductStatusChangeLogResponseDTO> findByOperationStatus(OperationStatus operationStatus,
+                                                                    ScrollPosition position, Limit limit, Sort sort);
+
+    /**
+     * Devuelve una página de logs cuyo cambio ocurrió dentro de un rango de fechas.
+     *
+     * @param start    fecha/hora de inicio del rango.
+     * @param end      fecha/hora de fin del rango.
+     * @param pageable objeto de paginación.
+     * @return página de logs.
      */
-    List<ProductStatusChangeLog> findByOperationStatus(OperationStatus operationStatus);
+    Page<ProductStatusChangeLogResponseDTO> findByChangedAtBetween(LocalDateTime start, LocalDateTime end,
+                                                                   Pageable pageable);
 
     /**
-     * Busca los logs cuyo cambio de estado ocurrió dentro de un rango de fechas.
+     * Devuelve los logs cuyo cambio ocurrió dentro de un rango de fechas que siguen a la posición dada.
      *
-     * @param start fecha/hora de inicio del rango.
-     * @param end   fecha/hora de fin del rango.
-     * @return lista de logs dentro del rango temporal.
+     * @param start    fecha/hora de inicio del rango.
+     * @param end      fecha/hora de fin del rango.
+     * @param position posición desde la que continuar.
+     * @param limit    número máximo de logs.
+     * @param sort     orden del recorrido.
+     * @return ventana de logs.
      */
-    List<ProductStatusChangeLog> findByChangedAtBetween(LocalDateTime start, LocalDateTime end);
+    Window<ProductStatusChangeLogResponseDTO> findByChangedAtBetween(LocalDateTime start, LocalDateTime end,
+                                                                     ScrollPosition position, Limit limit, Sort sort);
 
     /**
-     * Busca logs de un producto específico y con un determinado estado de operación.
+     * Devuelve una página de logs de un producto con el estado de operación indicado.
      *
-     * @param productId        ID del producto.
-     * @param operationStatus  estado de la operación.
-     * @return lista de logs que cumplen ambos criterios.
+     * @param productId       ID del producto.
+     * @param operationStatus estado de la operación.
+     * @param pageable        objeto de paginación.
+     * @return página de logs.
+     */
+    Page<ProductStatusChangeLogResponseDTO> findByProductIdAndOperationStatus(Long productId,
+                                                                              OperationStatus operationStatus,
+                                                                              Pageable pageable);
+
+    /**
+     * Devuelve los logs de un producto con el estado de operación indicado que siguen a la posición dada.
+     *
+     * @param productId       ID del producto.
+     * @param operationStatus estado de la operación.
+     * @param position        posición desde la que continuar.
+     * @param limit           número máximo de logs.
+     * @param sort            orden del recorrido.
+     * @return ventana de logs.
+     */
+    Window<ProductStatusChangeLogResponseDTO> findByProductIdAndOperationStatus(Long productId,
+                                                                                OperationStatus operationStatus,
+                                                                                ScrollPosition position, Limit limit,
+                                                                                Sort sort);
+
+    /**
+     * Devuelve una página de logs donde el estado cambió de uno a otro específico.
+     *
+     * @param previousStatus estado previo del producto.
+     * @param newStatus      nuevo estado del producto.
+     * @param pageable       objeto de paginación.
+     * @return página de logs.
      */
-    List<ProductStatusChangeLog> findByProductIdAndOperationStatus(Long productId, OperationStatus operationStatus);
+    Page<ProductStatusChangeLogResponseDTO> findByPreviousStatusAndNewStatus(ProductStatus previousStatus,
+                                                                             ProductStatus newStatus,
+                                                                             Pageable pageable);
 
     /**
-     * Busca los logs donde el estado del producto cambió de uno a otro específico.
+     * Devuelve los logs donde el estado cambió de uno a otro específico que siguen a la posición dada.
      *
      * @param previousStatus estado previo del producto.
      * @param newStatus      nuevo estado del producto.
-     * @return lista de logs que coincidan con ambos estados.
+     * @param position       posición desde la que continuar.
+     * @param limit          número máximo de logs.
+     * @param sort           orden del recorrido.
+     * @return ventana de logs.
      */
-    List<ProductStatusChangeLog> findByPreviousStatusAndNewStatus(ProductStatus previousStatus, ProductStatus newStatus);
+    Window<ProductStatusChangeLogResponseDTO> findByPreviousStatusAndNewStatus(ProductStatus previousStatus,
+                                                                               ProductStatus newStatus,
+                                                                               ScrollPosition position, Limit limit,
+                                                                               Sort sort);
 
     /**
      * Cuenta cuántos logs existen con un estado de operación determinado.
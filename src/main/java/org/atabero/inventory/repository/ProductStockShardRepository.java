@@ -0,0 +1,100 @@
+package org.atabero.inventory.repository;
+
+import jakarta.persistence.LockModeType;
+import org.atabero.inventory.model.ProductStockShard;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+/**
+ * Repositorio para gestionar los subcontadores de stock de los productos fragmentados.
+ *
+ * Extiende {@link JpaRepository} para proporcionar operaciones CRUD básicas.
+ */
+public interface ProductStockShardRepository extends JpaRepository<ProductStockShard, Long> {
+
+    /**
+     * Resta la cantidad de un subcontador cualquiera que tenga stock suficiente y no esté bloqueado
+     * por otra transacción.
+     *
+     * @param productId ID del producto.
+     * @param amount    cantidad a restar.
+     * @return 1 si se actualizó un subcontador, 0 si ninguno libre tenía stock suficiente.
+     */
+    @Modifying
+    @Query(value = """
+            UPDATE product_stock_shards
+               SET stock = stock - :amount
+             WHERE id = (SELECT s.id FROM product_stock_shards s
+                          WHERE s.product_id = :productId AND s.stock >= :amount
+                          ORDER BY random()
+                          LIMIT 1
+                          FOR UPDATE SKIP LOCKED)
+            """, nativeQuery = true)
+    int decrementAnyShard(@Param("productId") Long productId, @Param("amount") int amount);
+
+    /**
+     * Suma la cantidad a un subcontador cualquiera que no esté bloqueado por otra transacción.
+     *
+     * @param productId ID del producto.
+     * @param amount    cantidad a sumar.
+     * @return 1 si se actualizó un subcontador, 0 si todos estaban bloqueados.
+     */
+    @Modifying
+    @Query(value = """
+            UPDATE product_stock_shards
+               SET stock = stock + :amount
+             WHERE id = (SELECT s.id FROM product_stock_shards s
+                          WHERE s.product_id = :productId
+                          ORDER BY random()
+                          LIMIT 1
+                          FOR UPDATE SKIP LOCKED)
+            """, nativeQuery = true)
+    int incrementAnyShard(@Param("productId") Long productId, @Param("amount") int amount);
+
+    /**
+     * Carga y bloquea todos los subcontadores del producto, ordenados para evitar interbloqueos.
+     *
+     * @param productId ID del producto.
+     * @return subcontadores del producto.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select s from ProductStockShard s where s.productId = :productId order by s.shard")
+    List<ProductStockShard> findAllByProductIdForUpdate(@Param("productId") Long productId);
+
+    /**
+     * Carga y bloquea los subcontadores del producto que no estén bloqueados por otra transacción.
+     *
+     * @param productId ID del producto.
+     * @return subcontadores libres del producto.
+     */
+    @Query(value = """
+            SELECT * FROM product_stock_shards
+             WHERE product_id = :productId
+             ORDER BY shard
+             FOR UPDATE SKIP LOCKED
+            """, nativeQuery = true)
+    List<ProductStockShard> findUnlockedByProductId(@Param("productId") Long productId);
+
+    /**
+     * Suma el stock de todos los subcontadores del producto.
+     *
+     * @param productId ID del producto.
+     * @return stock total de los subcontadores.
+     */
+    @Query("select coalesce(sum(s.stock), 0) from ProductStockShard s where s.productId = :productId")
+    int sumStockByProductId(@Param("productId") Long productId);
+
+    /**
+     * Elimina los subcontadores del producto.
+     *
+     * @param productId ID del producto.
+     */
+    @Modifying
+    @Query("delete from ProductStockShard s where s.productId = :productId")
+    void deleteByProductId(@Param("productId") Long productId);
+}
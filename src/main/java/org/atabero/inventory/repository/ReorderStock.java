@@ -0,0 +1,27 @@
+package org.atabero.inventory.repository;
+
+/**
+ * Proyección con el proveedor y el stock de un producto, para calcular su propuesta de pedido.
+ */
+public interface ReorderStock {
+
+    /**
+     * @return ID del producto.
+     */
+    Long getProductId();
+
+    /**
+     * @return ID del proveedor del producto.
+     */
+    Long getSupplierId();
+
+    /**
+     * @return stock total, sumando los subcontadores si está fragmentado.
+     */
+    Integer getStock();
+
+    /**
+     * @return stock retenido por reservas activas.
+     */
+    Integer getReservedStock();
+}
@@ -0,0 +1,81 @@
+package org.atabero.inventory.repository;
+
+import org.atabero.inventory.model.ReorderSuggestion;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Repositorio para acceder a las propuestas de pedido.
+ * <p>
+ * Mientras se calcula una ejecución conviven sus filas con las de la anterior; las consultas leen solo las de la
+ * ejecución marcada como completa, así que durante la primera ejecución no devuelven nada.
+ * </p>
+ */
+public interface ReorderSuggestionRepository extends JpaRepository<ReorderSuggestion, Long> {
+
+    /**
+     * Devuelve las propuestas de la última ejecución completa, opcionalmente de un solo proveedor.
+     *
+     * @param supplierId ID del proveedor, o {@code null} para todos.
+     * @return propuestas ordenadas por proveedor y por cantidad propuesta, de mayor a menor.
+     */
+    @Query(value = """
+            SELECT r.supplier_id AS supplierId, s.name AS supplierName,
+                   r.product_id AS productId, p.code AS productCode, p.name AS productName,
+                   r.moving_average AS movingAverage, r.exponential_average AS exponentialAverage,
+                   r.demand_deviation AS demandDeviation, r.available_stock AS availableStock,
+                   r.suggested_reorder_point AS suggestedReorderPoint, r.suggested_quantity AS suggestedQuantity,
+                   r.generated_at AS generatedAt
+              FROM reorder_suggestions r
+              JOIN suppliers s ON s.id_supplier = r.supplier_id
+              JOIN products p ON p.id_product = r.product_id
+             WHERE r.generated_at = (SELECT MIN(generated_at) FROM reorder_suggestions WHERE completed)
+               AND (CAST(:supplierId AS bigint) IS NULL OR r.supplier_id = :supplierId)
+             ORDER BY r.supplier_id, r.suggested_quantity DESC, r.product_id
+            """, nativeQuery = true)
+    List<ReorderSuggestionView> findLatest(@Param("supplierId") Long supplierId);
+
+    /**
+     * Borra las propuestas de ejecuciones anteriores a la indicada.
+     *
+     * @param generatedAt instante de la ejecución que se conserva.
+     * @return número de filas borradas.
+     */
+    @Modifying
+    @Query("delete from ReorderSuggestion r where r.generatedAt < :generatedAt")
+    int deleteByGeneratedAtBefore(@Param("generatedAt") LocalDateTime generatedAt);
+
+    /**
+     * Borra las propuestas de ejecuciones que no llegaron a completarse.
+     *
+     * @return número de filas borradas.
+     */
+    @Modifying
+    @Query("delete from ReorderSuggestion r where r.completed = false")
+    int deleteByCompletedFalse();
+
+    /**
+     * Marca como completas las propuestas de una ejecución, que pasan a ser las visibles.
+     *
+     * @param generatedAt instante de la ejecución.
+     * @return número de filas marcadas.
+     */
+    @Modifying
+    @Query("update ReorderSuggestion r set r.completed = true where r.generatedAt = :generatedAt")
+    int markCompleted(@Param("generatedAt") LocalDateTime generatedAt);
+
+    /**
+     * Borra las propuestas de una ejecución.
+     *
+     * @param generatedAt instante de la ejecución.
+     * @return número de filas borradas.
+     */
+    @Modifying
+    @Query("delete from ReorderSuggestion r where r.generatedAt = :generatedAt")
+    int deleteByGeneratedAt(@Param("generatedAt") LocalDateTime generatedAt);
+}
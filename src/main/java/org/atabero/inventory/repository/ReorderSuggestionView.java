@@ -0,0 +1,69 @@
+package org.atabero.inventory.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * Proyección de una propuesta de pedido con los nombres del producto y del proveedor.
+ */
+public interface ReorderSuggestionView {
+
+    /**
+     * @return ID del proveedor.
+     */
+    Long getSupplierId();
+
+    /**
+     * @return nombre del proveedor.
+     */
+    String getSupplierName();
+
+    /**
+     * @return ID del producto.
+     */
+    Long getProductId();
+
+    /**
+     * @return código del producto.
+     */
+    String getProductCode();
+
+    /**
+     * @return nombre del producto.
+     */
+    String getProductName();
+
+    /**
+     * @return media móvil de las ventas diarias.
+     */
+    Double getMovingAverage();
+
+    /**
+     * @return media exponencial de las ventas diarias.
+     */
+    Double getExponentialAverage();
+
+    /**
+     * @return desviación típica exponencial de las ventas diarias.
+     */
+    Double getDemandDeviation();
+
+    /**
+     * @return stock disponible al calcular la propuesta.
+     */
+    Integer getAvailableStock();
+
+    /**
+     * @return punto de pedido recomendado.
+     */
+    Integer getSuggestedReorderPoint();
+
+    /**
+     * @return cantidad propuesta.
+     */
+    Integer getSuggestedQuantity();
+
+    /**
+     * @return instante de la ejecución que generó la propuesta.
+     */
+    LocalDateTime getGeneratedAt();
+}
@@ -0,0 +1,32 @@
+package org.atabero.inventory.repository;
+
+/**
+ * Proyección con el punto de pedido de un producto y su stock total.
+ */
+public interface ReorderThreshold {
+
+    /**
+     * @return ID del producto.
+     */
+    Long getProductId();
+
+    /**
+     * @return nombre del producto.
+     */
+    String getName();
+
+    /**
+     * @return ID de la categoría del producto.
+     */
+    Long getCategoryId();
+
+    /**
+     * @return stock total, sumando los subcontadores si está fragmentado.
+     */
+    Integer getStock();
+
+    /**
+     * @return punto de pedido del producto.
+     */
+    Integer getReorderPoint();
+}
@@ -0,0 +1,14 @@
+package org.atabero.inventory.repository;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Proyección con el vencimiento de una reserva activa.
+ */
+public interface ReservationExpiration {
+
+    UUID getId();
+
+    LocalDateTime getExpiresAt();
+}
@@ -0,0 +1,29 @@
+package org.atabero.inventory.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * Proyección con el stock de un producto a una fecha y el punto de partida usado para calcularlo.
+ */
+public interface StockAsOf {
+
+    /**
+     * @return ID del producto.
+     */
+    Long getProductId();
+
+    /**
+     * @return stock total del producto a la fecha consultada.
+     */
+    Integer getStock();
+
+    /**
+     * @return nombre del punto de partida ({@code SNAPSHOT}, {@code CURRENT} o {@code BEFORE_CREATION}).
+     */
+    String getSource();
+
+    /**
+     * @return instante de la foto usada, o nulo si no se partió de una foto.
+     */
+    LocalDateTime getAnchorAt();
+}
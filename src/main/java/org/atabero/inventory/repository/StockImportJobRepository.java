@@ -0,0 +1,41 @@
+package org.atabero.inventory.repository;
+
+import org.atabero.inventory.model.StockImportJob;
+import org.atabero.inventory.model.enums.ImportJobStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Repositorio para gestionar las importaciones de movimientos de stock.
+ *
+ * Extiende {@link JpaRepository} para proporcionar operaciones CRUD básicas.
+ */
+public interface StockImportJobRepository extends JpaRepository<StockImportJob, UUID> {
+
+    /**
+     * Devuelve las importaciones de un nodo que están en alguno de los estados indicados.
+     *
+     * @param statuses estados buscados.
+     * @param node     nodo que las procesa.
+     * @return lista de importaciones.
+     */
+    List<StockImportJob> findByStatusInAndNode(Collection<ImportJobStatus> statuses, String node);
+
+    /**
+     * Asigna al nodo indicado las importaciones sin nodo que están en alguno de los estados dados. Si varios nodos
+     * arrancan a la vez, cada importación queda asignada solo al primero que la actualiza.
+     *
+     * @param statuses estados buscados.
+     * @param node     nodo que se queda con ellas.
+     * @return número de importaciones asignadas.
+     */
+    @Modifying
+    @Query("update StockImportJob j set j.node = :node where j.node is null and j.status in :statuses")
+    int claimUnowned(@Param("statuses") Collection<ImportJobStatus> statuses, @Param("node") String node);
+}
@@ -2,13 +2,97 @@ package org.atabero.inventory.repository;
 
 import org.atabero.inventory.model.StockMovement;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 /**
  * Repositorio para gestionar los movimientos de stock.
  *
- * Extiende {@link JpaRepository} para proporcionar operaciones CRUD básicas.
+ * Extiende {@link JpaRepository} para proporcionar operaciones CRUD básicas y
+ * {@link StockMovementRepositoryCustom} para el listado paginado por clave.
  */
-public interface StockMovementRepository extends JpaRepository<StockMovement, UUID> {
+public interface StockMovementRepository extends JpaRepository<StockMovement, UUID>, StockMovementRepositoryCustom {
+
+    /**
+     * Aplica un movimiento de stock exitoso en una única sentencia SQL.
+     * <p>
+     * La actualización de {@code current_stock} solo se realiza si la combinación de estado del producto y de su
+     * proveedor está entre las permitidas, no tiene el stock fragmentado y, en las salidas, el stock
+     * resultante sigue cubriendo lo retenido por reservas. En ese caso se inserta el movimiento en
+     * {@code movement_logs} dentro de la misma sentencia.
+     * </p>
+     *
+     * @param id               identificador del movimiento a insertar.
+     * @param productId        ID del producto.
+     * @param delta            variación con signo a aplicar sobre el stock.
+     * @param amount           cantidad del movimiento (siempre positiva).
+     * @param movementType     tipo de movimiento.
+     * @param allowedStates    combinaciones {@code ESTADO_PRODUCTO:ESTADO_PROVEEDOR} que permiten el movimiento.
+     * @param notes            notas del movimiento.
+     * @param message          mensaje de la operación.
+     * @param timestamp        fecha y hora del movimiento.
+     * @return las cantidades anterior y nueva, o vacío si alguna condición no se cumple.
+     */
+    @Query(value = """
+            WITH updated AS (
+                UPDATE products p
+                   SET current_stock = p.current_stock + :delta,
+                       last_modified_date = :timestamp,
+                       version = p.version + 1
+                 WHERE p.id_product = :productId
+                   AND NOT p.stock_sharded
+                   AND (:delta >= 0 OR p.current_stock + :delta >= p.reserved_stock)
+                   AND EXISTS (SELECT 1 FROM suppliers s
+                                WHERE s.id_supplier = p.supplier_id
+                                  AND p.status || ':' || s.status IN (:allowedStates))
+                RETURNING p.id_product, p.name, p.category_id, p.supplier_id,
+                          p.current_stock - :delta AS previous_quantity,
+                          p.current_stock AS new_quantity
+            ), inserted AS (
+                INSERT INTO movement_logs (id, product_id, quantity_change, previous_quantity, new_quantity,
+                                           movement_type, notes, operation_status, operation_message, timestamp)
+                SELECT CAST(:id AS uuid), u.id_product, :amount, u.previous_quantity, u.new_quantity,
+                       :movementType, CAST(:notes AS varchar), 'SUCCESS', :message, :timestamp
+                  FROM updated u
+                RETURNING id
+            )
+            SELECT u.name AS productName,
+                   u.previous_quantity AS previousQuantity,
+                   u.new_quantity AS newQuantity,
+                   u.category_id AS categoryId,
+                   u.supplier_id AS supplierId
+              FROM updated u, inserted i
+            """, nativeQuery = true)
+    Optional<AtomicStockChange> applyStockChange(@Param("id") UUID id,
+                                                 @Param("productId") Long productId,
+                                                 @Param("delta") int delta,
+                                                 @Param("amount") int amount,
+                                                 @Param("movementType") String movementType,
+                                                 @Param("allowedStates") Collection<String> allowedStates,
+                                                 @Param("notes") String notes,
+                                                 @Param("message") String message,
+                                                 @Param("timestamp") LocalDateTime timestamp);
+
+    /**
+     * Devuelve la fecha del movimiento más antiguo y la del más reciente.
+     *
+     * @return lista con una única fila {@code [min, max]}; ambas nulas si no hay movimientos.
+     */
+    @Query("select min(m.timestamp), max(m.timestamp) from StockMovement m")
+    List<Object[]> findTimestampRange();
+
+    /**
+     * Indica si hay algún movimiento en el intervalo indicado.
+     *
+     * @param from inicio del intervalo (incluido).
+     * @param to   fin del intervalo (excluido).
+     * @return true si existe al menos un movimiento.
+     */
+    boolean existsByTimestampGreaterThanEqualAndTimestampLessThan(LocalDateTime from, LocalDateTime to);
 }
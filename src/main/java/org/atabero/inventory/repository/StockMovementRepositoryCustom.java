@@ -0,0 +1,34 @@
+package org.atabero.inventory.repository;
+
+import org.atabero.inventory.model.StockMovement;
+import org.atabero.inventory.model.enums.MovementType;
+import org.atabero.inventory.model.enums.OperationStatus;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Consultas de movimientos de stock que se construyen según los filtros recibidos.
+ */
+public interface StockMovementRepositoryCustom {
+
+    /**
+     * Devuelve una página de movimientos ordenados del más reciente al más antiguo por {@code (timestamp, id)},
+     * usando paginación por clave: la página continúa justo después del último movimiento de la anterior, en lugar
+     * de saltarse filas con {@code OFFSET}. Los filtros nulos no se aplican.
+     *
+     * @param productId       ID del producto, o nulo.
+     * @param movementType    tipo de movimiento, o nulo.
+     * @param operationStatus estado de la operación, o nulo.
+     * @param from            fecha mínima (incluida), o nula.
+     * @param to              fecha máxima (excluida), o nula.
+     * @param afterTimestamp  fecha del último movimiento de la página anterior, o nula en la primera página.
+     * @param afterId         ID del último movimiento de la página anterior, o nulo en la primera página.
+     * @param limit           número máximo de movimientos.
+     * @return movimientos de la página con su producto cargado.
+     */
+    List<StockMovement> findPage(Long productId, MovementType movementType, OperationStatus operationStatus,
+                                 LocalDateTime from, LocalDateTime to,
+                                 LocalDateTime afterTimestamp, UUID afterId, int limit);
+}
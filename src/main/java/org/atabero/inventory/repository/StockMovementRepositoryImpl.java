@@ -0,0 +1,72 @@
+package org.atabero.inventory.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import org.atabero.inventory.model.StockMovement;
+import org.atabero.inventory.model.enums.MovementType;
+import org.atabero.inventory.model.enums.OperationStatus;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Implementación de {@link StockMovementRepositoryCustom}.
+ * <p>
+ * Solo se añaden a la consulta las condiciones de los filtros presentes, para que PostgreSQL elija el índice
+ * compuesto {@code (filtro, timestamp, id)} adecuado. La posición se compara como fila
+ * {@code (timestamp, id) < (:t, :id)}, que cada índice resuelve con un salto; la condición redundante
+ * {@code timestamp <= :t} permite además descartar las particiones posteriores. Como {@code movement_logs} está
+ * particionada por meses, cada partición restante se lee por su índice y PostgreSQL las mezcla en orden hasta
+ * completar la página, sin ordenar ni recorrer filas de más.
+ * </p>
+ */
+public class StockMovementRepositoryImpl implements StockMovementRepositoryCustom {
+
+    private final EntityManager entityManager;
+
+    public StockMovementRepositoryImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public List<StockMovement> findPage(Long productId, MovementType movementType, OperationStatus operationStatus,
+                                        LocalDateTime from, LocalDateTime to,
+                                        LocalDateTime afterTimestamp, UUID afterId, int limit) {
+        StringBuilder hql = new StringBuilder("select m from StockMovement m left join fetch m.product where 1 = 1");
+        Map<String, Object> parameters = new LinkedHashMap<>();
+
+        if (productId != null) {
+            hql.append(" and m.product.id = :productId");
+            parameters.put("productId", productId);
+        }
+        if (movementType != null) {
+            hql.append(" and m.movementType = :movementType");
+            parameters.put("movementType", movementType);
+        }
+        if (operationStatus != null) {
+            hql.append(" and m.operationStatus = :operationStatus");
+            parameters.put("operationStatus", operationStatus);
+        }
+        if (from != null) {
+            hql.append(" and m.timestamp >= :from");
+            parameters.put("from", from);
+        }
+        if (to != null) {
+            hql.append(" and m.timestamp < :to");
+            parameters.put("to", to);
+        }
+        if (afterTimestamp != null && afterId != null) {
+            hql.append(" and m.timestamp <= :afterTimestamp and (m.timestamp, m.id) < (:afterTimestamp, :afterId)");
+            parameters.put("afterTimestamp", afterTimestamp);
+            parameters.put("afterId", afterId);
+        }
+        hql.append(" order by m.timestamp desc, m.id desc");
+
+        TypedQuery<StockMovement> query = entityManager.createQuery(hql.toString(), StockMovement.class);
+        parameters.forEach(query::setParameter);
+        return query.setMaxResults(limit).getResultList();
+    }
+}
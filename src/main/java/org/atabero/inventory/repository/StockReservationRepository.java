@@ -0,0 +1,39 @@
+package org.atabero.inventory.repository;
+
+import jakarta.persistence.LockModeType;
+import org.atabero.inventory.model.StockReservation;
+import org.atabero.inventory.model.enums.ReservationStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Repositorio para gestionar las reservas de stock.
+ *
+ * Extiende {@link JpaRepository} para proporcionar operaciones CRUD básicas.
+ */
+public interface StockReservationRepository extends JpaRepository<StockReservation, UUID> {
+
+    /**
+     * Carga y bloquea para escritura una reserva.
+     *
+     * @param id ID de la reserva.
+     * @return la reserva, si existe.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select r from StockReservation r where r.id = :id")
+    Optional<StockReservation> findByIdForUpdate(@Param("id") UUID id);
+
+    /**
+     * Devuelve el vencimiento de las reservas en el estado indicado.
+     *
+     * @param status estado de las reservas.
+     * @return lista de vencimientos.
+     */
+    List<ReservationExpiration> findByStatus(ReservationStatus status);
+}
@@ -0,0 +1,128 @@
+package org.atabero.inventory.repository;
+
+import org.atabero.inventory.model.StockSnapshot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repositorio para acceder a las fotos de stock.
+ * <p>
+ * Solo cuentan los movimientos con estado {@code SUCCESS}; la cantidad de cada movimiento se guarda en positivo,
+ * así que el signo se deduce de si su tipo es una entrada ({@code entryTypes}) o una salida.
+ * </p>
+ */
+public interface StockSnapshotRepository extends JpaRepository<StockSnapshot, Long> {
+
+    /**
+     * Guarda una foto del stock de los productos del rango de IDs indicado, calculada como el stock actual
+     * menos los movimientos registrados después del instante de la foto. Se omiten los productos creados
+     * después de ese instante y los que ya tienen foto en él.
+     *
+     * @param fromId     primer ID del rango (incluido).
+     * @param toId       último ID del rango (excluido).
+     * @param at         instante de la foto.
+     * @param entryTypes tipos de movimiento que suman stock.
+     * @return número de fotos guardadas.
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO stock_snapshots (product_id, snapshot_at, stock)
+            SELECT p.id_product, :at,
+                   p.current_stock
+                   + COALESCE((SELECT SUM(sh.stock) FROM product_stock_shards sh
+                                WHERE p.stock_sharded AND sh.product_id = p.id_product), 0)
+                   - COALESCE((SELECT SUM(CASE WHEN m.movement_type IN (:entryTypes)
+                                               THEN m.quantity_change ELSE -m.quantity_change END)
+                                 FROM movement_logs m
+                                WHERE m.product_id = p.id_product
+                                  AND m.operation_status = 'SUCCESS'
+                                  AND m.timestamp > :at), 0)
+              FROM products p
+             WHERE p.id_product >= :fromId AND p.id_product < :toId
+               AND p.created_date <= :at
+            ON CONFLICT (product_id, snapshot_at) DO NOTHING
+            """, nativeQuery = true)
+    int insertSnapshots(@Param("fromId") long fromId,
+                        @Param("toId") long toId,
+                        @Param("at") LocalDateTime at,
+                        @Param("entryTypes") Collection<String> entryTypes);
+
+    /**
+     * Calcula el stock de los productos del rango de IDs indicado en una fecha pasada.
+     * <p>
+     * Para cada producto se parte de la foto más reciente anterior a la fecha y se suman los movimientos
+     * posteriores a ella. Si no hay foto, o el stock actual está más cerca de la fecha que la foto, se parte del
+     * stock actual y se restan los movimientos posteriores a la fecha. Así nunca se recorren más movimientos
+     * de los necesarios.
+     * </p>
+     *
+     * @param fromId     primer ID del rango (incluido).
+     * @param toId       último ID del rango (excluido).
+     * @param at         fecha de la consulta.
+     * @param now        instante actual, para elegir el punto de partida más cercano.
+     * @param entryTypes tipos de movimiento que suman stock.
+     * @return stock de cada producto, ordenado por ID.
+     */
+    @Query(value = """
+            WITH anchored AS (
+                SELECT p.id_product, p.created_date, s.snapshot_at, s.stock AS snapshot_stock,
+                       p.current_stock
+                       + COALESCE((SELECT SUM(sh.stock) FROM product_stock_shards sh
+                                    WHERE p.stock_sharded AND sh.product_id = p.id_product), 0) AS current_total,
+                       s.snapshot_at IS NOT NULL
+                       AND CAST(:at AS timestamp) - s.snapshot_at <= CAST(:now AS timestamp) - CAST(:at AS timestamp)
+                           AS from_snapshot
+                  FROM products p
+                  LEFT JOIN LATERAL (SELECT ss.snapshot_at, ss.stock
+                                       FROM stock_snapshots ss
+                                      WHERE ss.product_id = p.id_product AND ss.snapshot_at <= :at
+                                      ORDER BY ss.snapshot_at DESC
+                                      LIMIT 1) s ON true
+                 WHERE p.id_product >= :fromId AND p.id_product < :toId
+            )
+            SELECT a.id_product AS productId,
+                   CASE WHEN a.created_date > :at THEN 'BEFORE_CREATION'
+                        WHEN a.from_snapshot THEN 'SNAPSHOT'
+                        ELSE 'CURRENT' END AS source,
+                   CASE WHEN a.created_date <= :at AND a.from_snapshot THEN a.snapshot_at END AS anchorAt,
+                   CASE WHEN a.created_date > :at THEN 0
+                        WHEN a.from_snapshot THEN a.snapshot_stock
+                             + COALESCE((SELECT SUM(CASE WHEN m.movement_type IN (:entryTypes)
+                                                         THEN m.quantity_change ELSE -m.quantity_change END)
+                                           FROM movement_logs m
+                                          WHERE m.product_id = a.id_product
+                                            AND m.operation_status = 'SUCCESS'
+                                            AND m.timestamp > a.snapshot_at AND m.timestamp <= :at), 0)
+                        ELSE a.current_total
+                             - COALESCE((SELECT SUM(CASE WHEN m.movement_type IN (:entryTypes)
+                                                         THEN m.quantity_change ELSE -m.quantity_change END)
+                                           FROM movement_logs m
+                                          WHERE m.product_id = a.id_product
+                                            AND m.operation_status = 'SUCCESS'
+                                            AND m.timestamp > :at), 0)
+                   END AS stock
+              FROM anchored a
+             ORDER BY a.id_product
+            """, nativeQuery = true)
+    List<StockAsOf> findStockAsOf(@Param("fromId") long fromId,
+                                  @Param("toId") long toId,
+                                  @Param("at") LocalDateTime at,
+                                  @Param("now") LocalDateTime now,
+                                  @Param("entryTypes") Collection<String> entryTypes);
+
+    /**
+     * Borra las fotos anteriores al instante indicado.
+     *
+     * @param before instante límite (excluido).
+     * @return número de fotos borradas.
+     */
+    @Modifying
+    @Query("delete from StockSnapshot s where s.snapshotAt < :before")
+    int deleteBySnapshotAtBefore(@Param("before") LocalDateTime before);
+}
@@ -1,10 +1,17 @@
 package org.atabero.inventory.repository;
 
+import org.atabero.inventory.dto.supplier.SupplierResponseDTO;
 import org.atabero.inventory.model.Supplier;
 import org.atabero.inventory.model.enums.SupplierStatus;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 import java.util.Optional;
@@ -55,7 +62,7 @@ public interface SupplierRepository extends JpaRepository<Supplier, Long> {
      * @param pageable objeto para paginación.
      * @return página de proveedores.
      */
-    Page<Supplier> findByNameContainingIgnoreCase(String name, Pageable pageable);
+    Page<SupplierResponseDTO> findByNameContainingIgnoreCase(String name, Pageable pageable);
 
     /**
      * Devuelve una página de proveedores con el estado especificado.
@@ -64,7 +71,7 @@ public interface SupplierRepository extends JpaRepository<Supplier, Long> {
      * @param pageable objeto para paginación.
      * @return página de proveedores.
      */
-    Page<Supplier> findByStatus(SupplierStatus status, Pageable pageable);
+    Page<SupplierResponseDTO> findByStatus(SupplierStatus status, Pageable pageable);
 
     /**
      * Devuelve una página de proveedores cuyo nombre contenga el texto indicado y tengan un estado específico.
@@ -74,5 +81,79 @@ public interface SupplierRepository extends JpaRepository<Supplier, Long> {
      * @param pageable objeto para paginación.
      * @return página de proveedores que coincidan con los filtros.
      */
-    Page<Supplier> findByNameContainingIgnoreCaseAndStatus(String name, SupplierStatus status, Pageable pageable);
+    Page<SupplierResponseDTO> findByNameContainingIgnoreCaseAndStatus(String name, SupplierStatus status,
+                                                                      Pageable pageable);
+
+    /**
+     * Devuelve una página de proveedores, con las columnas del DTO de respuesta.
+     *
+     * @param pageable objeto de paginación.
+     * @return página de proveedores.
+     */
+    Page<SupplierResponseDTO> findAllBy(Pageable pageable);
+
+    /**
+     * Devuelve los proveedores que siguen a la posición indicada en el orden dado.
+     *
+     * @param position posición desde la que continuar.
+     * @param limit    número máximo de proveedores.
+     * @param sort     orden del recorrido.
+     * @return ventana de proveedores.
+     */
+    Window<SupplierResponseDTO> findAllBy(ScrollPosition position, Limit limit, Sort sort);
+
+    /**
+     * Devuelve los proveedores cuyo nombre contenga el texto indicado que siguen a la posición dada.
+     *
+     * @param name     parte del nombre a buscar.
+     * @param position posición desde la que continuar.
+     * @param limit    número máximo de proveedores.
+     * @param sort     orden del recorrido.
+     * @return ventana de proveedores.
+     */
+    Window<SupplierResponseDTO> findByNameContainingIgnoreCase(String name, ScrollPosition position, Limit limit,
+                                                               Sort sort);
+
+    /**
+     * Devuelve los proveedores con el estado indicado que siguen a la posición dada.
+     *
+     * @param status   estado del proveedor.
+     * @param position posición desde la que continuar.
+     * @param limit    número máximo de proveedores.
+     * @param sort     orden del recorrido.
+     * @return ventana de proveedores.
+     */
+    Window<SupplierResponseDTO> findByStatus(SupplierStatus status, ScrollPosition position, Limit limit, Sort sort);
+
+    /**
+     * Devuelve los proveedores por nombre parcial y estado que siguen a la posición dada.
+     *
+     * @param name     parte del nombre a buscar.
+     * @param status   estado del proveedor.
+     * @param position posición desde la que continuar.
+     * @param limit    número máximo de proveedores.
+     * @param sort     orden del recorrido.
+     * @return ventana de proveedores.
+     */
+    Window<SupplierResponseDTO> findByNameContainingIgnoreCaseAndStatus(String name, SupplierStatus status,
+                                                                        ScrollPosition position, Limit limit,
+                                                                        Sort sort);
+
+    /**
+     * Selección común de las consultas que devuelven el DTO de respuesta, sin cargar entidades.
+     */
+    String SELECT_RESPONSE = """
+            select new org.atabero.inventory.dto.supplier.SupplierResponseDTO(
+                   s.id, s.name, s.contactInfo, s.status, s.createdDate, s.lastModifiedDate)
+              from Supplier s
+            """;
+
+    /**
+     * Busca un registro por su ID, con las columnas del DTO de respuesta.
+     *
+     * @param id ID del registro.
+     * @return un {@link Optional} con el DTO si existe.
+     */
+    @Query(SELECT_RESPONSE + "where s.id = :id")
+    Optional<SupplierResponseDTO> findResponseById(@Param("id") Long id);
 }
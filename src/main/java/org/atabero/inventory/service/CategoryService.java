@@ -3,9 +3,10 @@ package org.atabero.inventory.service;
 import org.atabero.inventory.dto.category.CategoryResponseDTO;
 import org.atabero.inventory.dto.category.CreateCategoryDTO;
 import org.atabero.inventory.dto.category.UpdateCategoryDTO;
+import org.atabero.inventory.dto.page.PageQueryDTO;
+import org.atabero.inventory.dto.page.PageResponseDTO;
 import org.atabero.inventory.model.Category;
-
-import java.util.List;
+import org.atabero.inventory.model.enums.CategoryStatus;
 
 /**
  * Servicio para manejar las operaciones relacionadas con las categorías.
@@ -13,11 +14,14 @@ import java.util.List;
 public interface CategoryService {
 
     /**
-     * Obtiene la lista completa de categorías.
+     * Obtiene una página de categorías, opcionalmente filtradas por nombre parcial y estado.
      *
-     * @return lista de objetos {@link CategoryResponseDTO} con la información de todas las categorías activas.
+     * @param name   parte del nombre a buscar, o {@code null} para no filtrar.
+     * @param status estado de la categoría, o {@code null} para no filtrar.
+     * @param page   parámetros de paginación; se puede ordenar por id o name.
+     * @return página de objetos {@link CategoryResponseDTO}.
      */
-    List<CategoryResponseDTO> findAll();
+    PageResponseDTO<CategoryResponseDTO> findAll(String name, CategoryStatus status, PageQueryDTO page);
 
     /**
      * Busca una categoría por su identificador.
@@ -0,0 +1,56 @@
+package org.atabero.inventory.service;
+
+import java.util.function.Function;
+
+/**
+ * Servicio para ejecutar operaciones de forma idempotente a partir de la cabecera {@code Idempotency-Key}.
+ */
+public interface IdempotencyService {
+
+    /**
+     * Ejecuta la operación una sola vez por clave. Si la clave ya se usó con la misma petición, devuelve
+     * la respuesta guardada sin volver a ejecutarla.
+     * <p>
+     * La operación recibe un {@link Registration} que debe usar dentro de su propia transacción: reservar la
+     * clave al principio, antes de tocar ningún dato, y guardar la respuesta al final, de modo que la clave y la
+     * respuesta se confirman o se revierten a la vez. Las respuestas que no pasan por
+     * {@link Registration#complete(Object)} (por ejemplo, errores) no se guardan y la transacción debe revertirse.
+     * </p>
+     *
+     * @param key          clave de idempotencia, o {@code null} para ejecutar sin idempotencia.
+     * @param request      petición, cuya huella SHA-256 se guarda para detectar claves reutilizadas con otra.
+     * @param responseType tipo de la respuesta.
+     * @param operation    operación a ejecutar.
+     * @return la respuesta de la operación o la guardada para la clave.
+     */
+    <T> T execute(String key, Object request, Class<T> responseType, Function<Registration<T>, T> operation);
+
+    /**
+     * Elimina las claves caducadas.
+     *
+     * @return número de claves eliminadas.
+     */
+    int purgeExpired();
+
+    /**
+     * Registro de la clave de idempotencia dentro de la transacción de la operación.
+     */
+    interface Registration<T> {
+
+        /**
+         * Reserva la clave. Si otra transacción la está usando, espera a que termine.
+         *
+         * @throws org.atabero.inventory.exception.idempotency.IdempotencyKeyConflictException si la clave ya
+         *         tiene una respuesta vigente; la transacción debe revertirse para devolver esa respuesta.
+         */
+        void claim();
+
+        /**
+         * Guarda la respuesta junto a la clave reservada.
+         *
+         * @param response respuesta de la operación.
+         * @return la misma respuesta.
+         */
+        T complete(T response);
+    }
+}
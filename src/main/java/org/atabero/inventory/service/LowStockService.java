@@ -0,0 +1,29 @@
+package org.atabero.inventory.service;
+
+import org.atabero.inventory.dto.product.LowStockProductResponseDTO;
+
+import java.util.List;
+
+/**
+ * Servicio que mantiene el conjunto de productos con stock bajo, es decir, con el stock total por debajo de su
+ * punto de pedido.
+ */
+public interface LowStockService {
+
+    /**
+     * Obtiene los productos con stock bajo, ordenados por ID. Se sirve desde el índice en memoria, así que el
+     * coste depende solo del número de productos devueltos.
+     *
+     * @param idCategory ID de categoría para filtrar, o {@code null} para todas.
+     * @return lista de objetos {@link LowStockProductResponseDTO} con el stock y el punto de pedido de cada producto.
+     */
+    List<LowStockProductResponseDTO> findLowStock(Long idCategory);
+
+    /**
+     * Reconstruye el índice a partir de los puntos de pedido y el stock guardados en la base de datos. Los cruces
+     * que se detecten al hacerlo se publican como en cualquier otro cambio.
+     *
+     * @return número de productos con stock bajo tras la reconstrucción.
+     */
+    int resync();
+}
@@ -0,0 +1,25 @@
+package org.atabero.inventory.service;
+
+import java.util.List;
+
+/**
+ * Servicio para gestionar las particiones mensuales de la tabla {@code movement_logs}.
+ */
+public interface MovementLogPartitionService {
+
+    /**
+     * Convierte {@code movement_logs} en una tabla particionada por {@code timestamp} si aún no lo es y crea
+     * las particiones del mes actual y de los meses configurados por adelantado que falten.
+     *
+     * @return nombres de las particiones creadas.
+     */
+    List<String> ensurePartitions();
+
+    /**
+     * Retira de {@code movement_logs} las particiones cuyo mes entero queda fuera de la retención configurada,
+     * desvinculándolas o borrándolas según la acción configurada.
+     *
+     * @return nombres de las particiones retiradas.
+     */
+    List<String> applyRetention();
+}
@@ -0,0 +1,23 @@
+package org.atabero.inventory.service;
+
+import org.atabero.inventory.dto.report.RollupBackfillResponseDTO;
+import org.atabero.inventory.exception.report.InvalidReportRangeException;
+
+import java.time.LocalDate;
+
+/**
+ * Servicio para mantener los acumulados diarios de movimientos de stock.
+ */
+public interface MovementRollupService {
+
+    /**
+     * Vuelve a calcular desde {@code movement_logs} los acumulados de los días indicados que aún tienen movimientos.
+     * Los días sin movimientos, por ejemplo porque su partición se retiró, conservan sus acumulados.
+     *
+     * @param from primer día (incluido), o {@code null} para empezar en el movimiento más antiguo.
+     * @param to   último día (excluido), o {@code null} para terminar en el movimiento más reciente.
+     * @return el intervalo procesado, los días recalculados y las filas escritas.
+     * @throws InvalidReportRangeException si se indican ambos días y {@code from} no es anterior a {@code to}.
+     */
+    RollupBackfillResponseDTO backfill(LocalDate from, LocalDate to);
+}
@@ -0,0 +1,32 @@
+package org.atabero.inventory.service;
+
+import org.atabero.inventory.model.enums.OutboxEventType;
+
+/**
+ * Servicio de la bandeja de salida: registra eventos en la transacción del cambio y los publica después.
+ */
+public interface OutboxService {
+
+    /**
+     * Registra un evento en la transacción actual. Debe llamarse dentro de la transacción que aplica el cambio.
+     *
+     * @param type        tipo de evento.
+     * @param aggregateId ID del producto al que se refiere.
+     * @param payload     contenido del evento, que se serializa a JSON.
+     */
+    void record(OutboxEventType type, Long aggregateId, Object payload);
+
+    /**
+     * Publica los eventos pendientes por lotes hasta vaciar la bandeja o encontrar un error.
+     *
+     * @return número de eventos publicados.
+     */
+    int relay();
+
+    /**
+     * Borra los eventos publicados que superan la retención configurada.
+     *
+     * @return número de eventos borrados.
+     */
+    int purge();
+}
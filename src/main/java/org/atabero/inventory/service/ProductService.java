@@ -1,10 +1,14 @@
 package org.atabero.inventory.service;
 
+import org.atabero.inventory.dto.page.PageQueryDTO;
+import org.atabero.inventory.dto.page.PageResponseDTO;
 import org.atabero.inventory.dto.product.CreateProductDTO;
 import org.atabero.inventory.dto.product.ProductResponseDTO;
 import org.atabero.inventory.dto.product.UpdateProductDTO;
 import org.atabero.inventory.model.Product;
+import org.atabero.inventory.model.enums.ProductStatus;
 
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -13,11 +17,14 @@ import java.util.List;
 public interface ProductService {
 
     /**
-     * Obtiene la lista de todos los productos.
+     * Obtiene una página de productos, opcionalmente filtrados por nombre parcial y estado.
      *
-     * @return lista de objetos {@link ProductResponseDTO} con la información de los productos.
+     * @param name   parte del nombre a buscar, o {@code null} para no filtrar.
+     * @param status estado del producto, o {@code null} para no filtrar.
+     * @param page   parámetros de paginación; se puede ordenar por id, name, code o createdDate.
+     * @return página de objetos {@link ProductResponseDTO}.
      */
-    List<ProductResponseDTO> getAll();
+    PageResponseDTO<ProductResponseDTO> getAll(String name, ProductStatus status, PageQueryDTO page);
 
     /**
      * Obtiene un producto por su identificador.
@@ -63,6 +70,14 @@ public interface ProductService {
      */
     Product getByIdFull(Long id);
 
+    /**
+     * Obtiene y bloquea para escritura las entidades completas de varios productos, con su categoría y su proveedor.
+     *
+     * @param ids identificadores de los productos.
+     * @return lista de entidades {@link Product} encontradas; los IDs inexistentes se omiten.
+     */
+    List<Product> getAllByIdForUpdate(Collection<Long> ids);
+
     /**
      * Modifica el estado (activo/inactivo) de un producto.
      *
@@ -1,12 +1,13 @@
 package org.atabero.inventory.service;
 
+import org.atabero.inventory.dto.page.PageQueryDTO;
+import org.atabero.inventory.dto.page.PageResponseDTO;
 import org.atabero.inventory.dto.productstatuschangelog.CreateProductStatusChangeLogDTO;
 import org.atabero.inventory.dto.productstatuschangelog.ProductStatusChangeLogResponseDTO;
 import org.atabero.inventory.model.enums.OperationStatus;
 import org.atabero.inventory.model.enums.ProductStatus;
 
 import java.time.LocalDateTime;
-import java.util.List;
 import java.util.UUID;
 
 /**
@@ -23,11 +24,15 @@ public interface ProductStatusChangeLogService {
     ProductStatusChangeLogResponseDTO save(CreateProductStatusChangeLogDTO dto);
 
     /**
-     * Obtiene todos los registros de cambios de estado.
+     * Obtiene una página de registros de cambios de estado.
+     * <p>
+     * Todos los listados de este servicio se ordenan por changedAt (por defecto) o por id.
+     * </p>
      *
-     * @return lista de objetos {@link ProductStatusChangeLogResponseDTO} con todos los registros.
+     * @param page parámetros de paginación.
+     * @return página de objetos {@link ProductStatusChangeLogResponseDTO}.
      */
-    List<ProductStatusChangeLogResponseDTO> findAll();
+    PageResponseDTO<ProductStatusChangeLogResponseDTO> findAll(PageQueryDTO page);
 
     /**
      * Busca un registro de cambio por su identificador único.
@@ -42,60 +47,72 @@ public interface ProductStatusChangeLogService {
      * Busca los registros de cambio asociados a un producto específico.
      *
      * @param productId identificador del producto.
-     * @return lista de objetos {@link ProductStatusChangeLogResponseDTO} para el producto.
+     * @param page      parámetros de paginación.
+     * @return página de registros para el producto.
      */
-    List<ProductStatusChangeLogResponseDTO> findByProductId(Long productId);
+    PageResponseDTO<ProductStatusChangeLogResponseDTO> findByProductId(Long productId, PageQueryDTO page);
 
     /**
      * Busca los registros de cambio por estado previo del producto.
      *
      * @param previousStatus estado anterior del producto.
-     * @return lista de registros que coinciden con el estado previo.
+     * @param page           parámetros de paginación.
+     * @return página de registros que coinciden con el estado previo.
      */
-    List<ProductStatusChangeLogResponseDTO> findByPreviousStatus(ProductStatus previousStatus);
+    PageResponseDTO<ProductStatusChangeLogResponseDTO> findByPreviousStatus(ProductStatus previousStatus,
+                                                                            PageQueryDTO page);
 
     /**
      * Busca los registros de cambio por nuevo estado del producto.
      *
      * @param newStatus nuevo estado del producto.
-     * @return lista de registros que coinciden con el nuevo estado.
+     * @param page      parámetros de paginación.
+     * @return página de registros que coinciden con el nuevo estado.
      */
-    List<ProductStatusChangeLogResponseDTO> findByNewStatus(ProductStatus newStatus);
+    PageResponseDTO<ProductStatusChangeLogResponseDTO> findByNewStatus(ProductStatus newStatus, PageQueryDTO page);
 
     /**
      * Busca los registros de cambio por estado de operación (éxito o error).
      *
      * @param operationStatus estado de la operación ({@link OperationStatus}).
-     * @return lista de registros con el estado de operación indicado.
+     * @param page            parámetros de paginación.
+     * @return página de registros con el estado de operación indicado.
      */
-    List<ProductStatusChangeLogResponseDTO> findByOperationStatus(OperationStatus operationStatus);
+    PageResponseDTO<ProductStatusChangeLogResponseDTO> findByOperationStatus(OperationStatus operationStatus,
+                                                                             PageQueryDTO page);
 
     /**
      * Busca los registros de cambio ocurridos dentro de un rango de fechas.
      *
      * @param start fecha y hora inicial del rango.
      * @param end   fecha y hora final del rango.
-     * @return lista de registros dentro del rango especificado.
+     * @param page  parámetros de paginación.
+     * @return página de registros dentro del rango especificado.
      */
-    List<ProductStatusChangeLogResponseDTO> findByChangedAtBetween(LocalDateTime start, LocalDateTime end);
+    PageResponseDTO<ProductStatusChangeLogResponseDTO> findByChangedAtBetween(LocalDateTime start, LocalDateTime end,
+                                                                              PageQueryDTO page);
 
     /**
      * Busca los registros de cambio por producto y estado de operación.
      *
      * @param productId       identificador del producto.
      * @param operationStatus estado de la operación.
-     * @return lista de registros que coinciden con ambos parámetros.
+     * @param page            parámetros de paginación.
+     * @return página de registros que coinciden con ambos parámetros.
      */
-    List<ProductStatusChangeLogResponseDTO> findByProductIdAndOperationStatus(Long productId, OperationStatus operationStatus);
+    PageResponseDTO<ProductStatusChangeLogResponseDTO> findByProductIdAndOperationStatus(
+            Long productId, OperationStatus operationStatus, PageQueryDTO page);
 
     /**
      * Busca los registros de cambio donde el producto cambió de un estado específico a otro.
      *
      * @param previousStatus estado previo del producto.
      * @param newStatus      nuevo estado del producto.
-     * @return lista de registros que coinciden con ambos estados.
+     * @param page           parámetros de paginación.
+     * @return página de registros que coinciden con ambos estados.
      */
-    List<ProductStatusChangeLogResponseDTO> findByPreviousStatusAndNewStatus(ProductStatus previousStatus, ProductStatus newStatus);
+    PageResponseDTO<ProductStatusChangeLogResponseDTO> findByPreviousStatusAndNewStatus(
+            ProductStatus previousStatus, ProductStatus newStatus, PageQueryDTO page);
 
     /**
      * Cuenta la cantidad de registros por estado de operación.
@@ -0,0 +1,29 @@
+package org.atabero.inventory.service;
+
+import org.atabero.inventory.dto.report.ReorderRunResponseDTO;
+import org.atabero.inventory.dto.report.SupplierReorderResponseDTO;
+
+import java.util.List;
+
+/**
+ * Servicio para calcular y consultar las propuestas de pedido a partir de la demanda de cada producto.
+ */
+public interface ReorderSuggestionService {
+
+    /**
+     * Calcula la demanda de todos los productos a partir de sus ventas recientes y sustituye las propuestas
+     * de pedido por las nuevas.
+     *
+     * @return instante de la ejecución, productos con ventas y propuestas generadas.
+     * @throws org.atabero.inventory.exception.report.ReorderRunInProgressException si ya hay un cálculo en curso.
+     */
+    ReorderRunResponseDTO run();
+
+    /**
+     * Devuelve las propuestas del último cálculo completo agrupadas por proveedor.
+     *
+     * @param idSupplier ID del proveedor, o {@code null} para todos.
+     * @return un elemento por proveedor con alguna propuesta.
+     */
+    List<SupplierReorderResponseDTO> getLatest(Long idSupplier);
+}
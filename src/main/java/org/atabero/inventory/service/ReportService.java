@@ -0,0 +1,28 @@
+package org.atabero.inventory.service;
+
+import org.atabero.inventory.dto.report.CategoryMovementReportDTO;
+import org.atabero.inventory.model.enums.MovementType;
+import org.atabero.inventory.model.enums.ReportPeriod;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Servicio para generar informes de movimientos a partir de los acumulados diarios.
+ */
+public interface ReportService {
+
+    /**
+     * Resume los movimientos exitosos de los tipos indicados por categoría y periodo.
+     *
+     * @param from          primer día (incluido).
+     * @param to            último día (excluido).
+     * @param movementTypes tipos de movimiento a incluir, por ejemplo {@code SALE} para ventas o
+     *                      {@code BREAKAGE} y {@code LOSS} para mermas.
+     * @param period        periodo en el que se agrupan los resultados.
+     * @return una fila por categoría y periodo.
+     */
+    List<CategoryMovementReportDTO> getMovementsByCategory(LocalDate from, LocalDate to,
+                                                           Set<MovementType> movementTypes, ReportPeriod period);
+}
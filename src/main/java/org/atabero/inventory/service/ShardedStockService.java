@@ -0,0 +1,49 @@
+package org.atabero.inventory.service;
+
+import org.atabero.inventory.exception.product.CannotShardProductWithReservationsException;
+import org.atabero.inventory.model.Product;
+import org.atabero.inventory.model.enums.MovementType;
+import org.atabero.inventory.util.StockInfo;
+
+import java.util.Optional;
+
+/**
+ * Servicio para gestionar el stock fragmentado en subcontadores de los productos con mucha concurrencia.
+ */
+public interface ShardedStockService {
+
+    /**
+     * Activa el modo fragmentado del producto, repartiendo su stock actual entre los subcontadores.
+     * Si ya estaba activo, vuelve a repartirlo con el nuevo número de subcontadores.
+     *
+     * @param productId ID del producto.
+     * @param shards    número de subcontadores, o {@code null} para usar el valor por defecto.
+     * @return el producto actualizado.
+     * @throws CannotShardProductWithReservationsException si el producto tiene stock reservado.
+     */
+    Product enable(Long productId, Integer shards);
+
+    /**
+     * Desactiva el modo fragmentado del producto, devolviendo a {@code currentStock} la suma de los subcontadores.
+     *
+     * @param productId ID del producto.
+     * @return el producto actualizado.
+     */
+    Product disable(Long productId);
+
+    /**
+     * Aplica un movimiento sobre los subcontadores de un producto fragmentado dentro de la transacción actual.
+     *
+     * @param product producto fragmentado.
+     * @param type    tipo de movimiento.
+     * @param amount  cantidad del movimiento.
+     * @return las cantidades total anterior y nueva, aproximadas si hay movimientos concurrentes sobre el producto,
+     * o vacío si no hay stock suficiente.
+     */
+    Optional<StockInfo> apply(Product product, MovementType type, int amount);
+
+    /**
+     * Reparte de forma equilibrada el stock entre los subcontadores libres de cada producto fragmentado.
+     */
+    void rebalance();
+}
@@ -0,0 +1,48 @@
+package org.atabero.inventory.service;
+
+import org.atabero.inventory.dto.stockimport.StockImportJobResponseDTO;
+import org.springframework.core.io.Resource;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.util.UUID;
+
+/**
+ * Servicio para importar ficheros de movimientos de stock.
+ */
+public interface StockImportService {
+
+    /**
+     * Guarda el fichero y programa su importación en segundo plano.
+     *
+     * El formato se deduce de la extensión: {@code .csv} para CSV y {@code .ndjson} o {@code .jsonl} para NDJSON.
+     *
+     * @param file fichero subido.
+     * @return la importación creada, pendiente de procesar.
+     */
+    StockImportJobResponseDTO start(MultipartFile file);
+
+    /**
+     * Devuelve el estado y el progreso de una importación.
+     *
+     * @param id ID de la importación.
+     * @return la importación.
+     */
+    StockImportJobResponseDTO findById(UUID id);
+
+    /**
+     * Reanuda una importación fallida desde el último bloque confirmado.
+     *
+     * @param id ID de la importación.
+     * @return la importación, pendiente de procesar.
+     */
+    StockImportJobResponseDTO resume(UUID id);
+
+    /**
+     * Devuelve el informe de errores de una importación: una línea NDJSON por cada línea rechazada del fichero.
+     * Mientras la importación está en curso puede incluir errores de un bloque aún sin confirmar.
+     *
+     * @param id ID de la importación.
+     * @return el informe de errores.
+     */
+    Resource getErrorReport(UUID id);
+}
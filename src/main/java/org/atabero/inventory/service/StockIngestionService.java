@@ -0,0 +1,24 @@
+package org.atabero.inventory.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * Servicio para ingerir flujos de movimientos de stock en formato NDJSON.
+ */
+public interface StockIngestionService {
+
+    /**
+     * Lee movimientos de stock, uno por línea, y escribe el resultado de cada uno en el mismo orden.
+     *
+     * Los movimientos se aplican en bloques con las mismas validaciones que un lote en modo
+     * {@code PER_ITEM}. No se lee la siguiente línea hasta que el bloque anterior se ha confirmado y sus
+     * resultados se han enviado, de modo que una base de datos lenta frena al cliente que envía.
+     *
+     * @param input  cuerpo de la petición con un {@code BatchStockMovementItemDTO} en JSON por línea.
+     * @param output salida donde se escribe un {@code BatchStockMovementItemResultDTO} en JSON por línea.
+     * @throws IOException si falla la lectura de la petición o la escritura de la respuesta.
+     */
+    void ingest(InputStream input, OutputStream output) throws IOException;
+}
@@ -1,7 +1,13 @@
 package org.atabero.inventory.service;
 
+import org.atabero.inventory.dto.page.PageQueryDTO;
+import org.atabero.inventory.dto.page.PageResponseDTO;
+import org.atabero.inventory.dto.stockmovement.BatchStockMovementRequestDTO;
+import org.atabero.inventory.dto.stockmovement.BatchStockMovementResponseDTO;
 import org.atabero.inventory.dto.stockmovement.CreateStockMovementDTO;
+import org.atabero.inventory.dto.stockmovement.StockMovementFilterDTO;
 import org.atabero.inventory.dto.stockmovement.StockMovementResponseDTO;
+import org.atabero.inventory.dto.stockmovement.StockRuleTableResponseDTO;
 import org.atabero.inventory.model.enums.MovementType;
 
 /**
@@ -12,9 +18,46 @@ public interface StockMovementService {
     /**
      * Crea un movimiento de stock según el tipo y los datos proporcionados.
      *
-     * @param movementType tipo de movimiento de stock (entrada, salida, ajuste, etc.).
-     * @param dto          datos necesarios para crear el movimiento de stock.
+     * Si se indica una clave de idempotencia ya utilizada con la misma petición, se devuelve el resultado
+     * original sin volver a modificar el producto.
+     *
+     * @param movementType   tipo de movimiento de stock (entrada, salida, ajuste, etc.).
+     * @param dto            datos necesarios para crear el movimiento de stock.
+     * @param idempotencyKey clave de idempotencia enviada por el cliente, o {@code null}.
      * @return un objeto {@link StockMovementResponseDTO} con la información del movimiento creado.
      */
-    StockMovementResponseDTO create(MovementType movementType, CreateStockMovementDTO dto);
+    StockMovementResponseDTO create(MovementType movementType, CreateStockMovementDTO dto, String idempotencyKey);
+
+    /**
+     * Aplica un lote de movimientos de stock en una única transacción.
+     * Los productos referenciados se cargan en una sola consulta y los movimientos se insertan por lotes JDBC.
+     *
+     * Solo se guarda para la clave de idempotencia el resultado de los lotes que llegan a aplicarse.
+     *
+     * @param dto            lote de movimientos y modo de confirmación.
+     * @param idempotencyKey clave de idempotencia enviada por el cliente, o {@code null}.
+     * @return un objeto {@link BatchStockMovementResponseDTO} con el resultado de cada movimiento.
+     */
+    BatchStockMovementResponseDTO createBatch(BatchStockMovementRequestDTO dto, String idempotencyKey);
+
+    /**
+     * Devuelve una página del historial de movimientos, del más reciente al más antiguo.
+     *
+     * La paginación es por clave: el cursor identifica el último movimiento devuelto y la página siguiente
+     * continúa a partir de él, de modo que cualquier página cuesta lo mismo que la primera.
+     *
+     * @param filter filtros opcionales por producto, tipo, estado y rango de fechas.
+     * @param page   tamaño de página y cursor devuelto por la página anterior; no admite número de página ni orden.
+     * @return un objeto {@link PageResponseDTO} con los movimientos y el cursor de la siguiente página.
+     * @throws org.atabero.inventory.exception.pagination.InvalidPageRequestException si la paginación no es válida.
+     */
+    PageResponseDTO<StockMovementResponseDTO> findMovements(StockMovementFilterDTO filter, PageQueryDTO page);
+
+    /**
+     * Devuelve la tabla de reglas de los movimientos de stock: para cada tipo de movimiento, estado del producto y
+     * estado del proveedor, si el movimiento se permite y, si no, por qué.
+     *
+     * @return un objeto {@link StockRuleTableResponseDTO} con la versión de la tabla y todas sus reglas.
+     */
+    StockRuleTableResponseDTO getRules();
 }
@@ -0,0 +1,46 @@
+package org.atabero.inventory.service;
+
+import org.atabero.inventory.dto.stockreservation.CreateStockReservationDTO;
+import org.atabero.inventory.dto.stockreservation.StockReservationResponseDTO;
+import org.atabero.inventory.exception.stockreservation.StockReservationNotAllowedException;
+
+import java.util.UUID;
+
+/**
+ * Servicio para gestionar las reservas de stock.
+ */
+public interface StockReservationService {
+
+    /**
+     * Reserva stock de un producto durante un tiempo limitado, sin registrar ningún movimiento.
+     *
+     * @param dto datos de la reserva.
+     * @return la reserva creada.
+     * @throws StockReservationNotAllowedException si el producto tiene el stock fragmentado.
+     */
+    StockReservationResponseDTO reserve(CreateStockReservationDTO dto);
+
+    /**
+     * Confirma una reserva activa, convirtiéndola en una venta.
+     *
+     * @param id ID de la reserva.
+     * @return la reserva confirmada junto con el movimiento de venta.
+     */
+    StockReservationResponseDTO confirm(UUID id);
+
+    /**
+     * Cancela una reserva activa y libera el stock retenido.
+     *
+     * @param id ID de la reserva.
+     * @return la reserva cancelada.
+     */
+    StockReservationResponseDTO cancel(UUID id);
+
+    /**
+     * Devuelve una reserva por su ID.
+     *
+     * @param id ID de la reserva.
+     * @return la reserva.
+     */
+    StockReservationResponseDTO findById(UUID id);
+}
@@ -0,0 +1,39 @@
+package org.atabero.inventory.service;
+
+import org.atabero.inventory.dto.stocksnapshot.StockAsOfResponseDTO;
+import org.atabero.inventory.dto.stocksnapshot.StockSnapshotRunResponseDTO;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Servicio para consultar el stock de los productos en una fecha pasada a partir de fotos periódicas.
+ */
+public interface StockSnapshotService {
+
+    /**
+     * Guarda una foto del stock de todos los productos, fechada con el margen configurado, y borra las fotos
+     * que superan la retención.
+     *
+     * @return instante de la foto, productos incluidos y fotos borradas.
+     */
+    StockSnapshotRunResponseDTO takeSnapshot();
+
+    /**
+     * Calcula el stock de un producto en una fecha.
+     *
+     * @param idProduct ID del producto.
+     * @param at        fecha de la consulta.
+     * @return el stock del producto en esa fecha y el punto de partida usado.
+     */
+    StockAsOfResponseDTO getStockAsOf(Long idProduct, LocalDateTime at);
+
+    /**
+     * Calcula el stock de todo el catálogo en una fecha, repartiendo los productos en bloques que se procesan
+     * en paralelo sobre la misma vista de la base de datos.
+     *
+     * @param at fecha de la consulta.
+     * @return el stock de cada producto en esa fecha, ordenado por ID.
+     */
+    List<StockAsOfResponseDTO> getCatalogStockAsOf(LocalDateTime at);
+}
@@ -0,0 +1,20 @@
+package org.atabero.inventory.service;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Servicio para difundir los cambios de stock confirmados a clientes suscritos mediante server-sent events.
+ */
+public interface StockStreamService {
+
+    /**
+     * Registra un suscriptor que recibirá los cambios de stock de los productos que cumplan los filtros.
+     * Si un cliente no consume los eventos a tiempo, solo se conserva el último cambio de cada producto.
+     *
+     * @param productId  filtro opcional por producto.
+     * @param categoryId filtro opcional por categoría.
+     * @param supplierId filtro opcional por proveedor.
+     * @return el emisor SSE del suscriptor.
+     */
+    SseEmitter subscribe(Long productId, Long categoryId, Long supplierId);
+}
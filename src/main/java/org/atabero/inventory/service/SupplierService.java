@@ -1,11 +1,12 @@
 package org.atabero.inventory.service;
 
+import org.atabero.inventory.dto.page.PageQueryDTO;
+import org.atabero.inventory.dto.page.PageResponseDTO;
 import org.atabero.inventory.dto.supplier.CreateSupplierDTO;
 import org.atabero.inventory.dto.supplier.SupplierResponseDTO;
 import org.atabero.inventory.dto.supplier.UpdateSupplierDTO;
 import org.atabero.inventory.model.Supplier;
-
-import java.util.List;
+import org.atabero.inventory.model.enums.SupplierStatus;
 
 /**
  * Servicio para gestionar proveedores.
@@ -13,11 +14,14 @@ import java.util.List;
 public interface SupplierService {
 
     /**
-     * Obtiene una lista con todos los proveedores activos.
+     * Obtiene una página de proveedores, opcionalmente filtrados por nombre parcial y estado.
      *
-     * @return lista de {@link SupplierResponseDTO} con los proveedores.
+     * @param name   parte del nombre a buscar, o {@code null} para no filtrar.
+     * @param status estado del proveedor, o {@code null} para no filtrar.
+     * @param page   parámetros de paginación; se puede ordenar por id o name.
+     * @return página de objetos {@link SupplierResponseDTO}.
      */
-    List<SupplierResponseDTO> findAll();
+    PageResponseDTO<SupplierResponseDTO> findAll(String name, SupplierStatus status, PageQueryDTO page);
 
     /**
      * Busca un proveedor por su identificador.
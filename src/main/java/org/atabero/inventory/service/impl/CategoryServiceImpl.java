@@ -5,6 +5,8 @@ import lombok.RequiredArgsConstructor;
 import org.atabero.inventory.dto.category.CategoryResponseDTO;
 import org.atabero.inventory.dto.category.CreateCategoryDTO;
 import org.atabero.inventory.dto.category.UpdateCategoryDTO;
+import org.atabero.inventory.dto.page.PageQueryDTO;
+import org.atabero.inventory.dto.page.PageResponseDTO;
 import org.atabero.inventory.exception.category.CategoryAlreadyActivatedException;
 import org.atabero.inventory.exception.category.CategoryAlreadyDeactivatedException;
 import org.atabero.inventory.exception.category.CategoryNotFoundException;
@@ -13,32 +15,68 @@ import org.atabero.inventory.model.Category;
 import org.atabero.inventory.model.enums.CategoryStatus;
 import org.atabero.inventory.repository.CategoryRepository;
 import org.atabero.inventory.service.CategoryService;
+import org.atabero.inventory.util.PageQueryResolver;
+import org.atabero.inventory.util.PageQueryResolver.PageQuery;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 
 @Service
 @RequiredArgsConstructor
 public class CategoryServiceImpl implements CategoryService {
 
+    /**
+     * Propiedades por las que se puede ordenar el listado; el nombre es único y tiene índice.
+     */
+    private static final Map<String, Function<String, ?>> sortKeys = Map.of(
+            "id", Long::valueOf,
+            "name", Function.identity());
+
     private final CategoryRepository categoryRepository;
+    private final PageQueryResolver pageQueryResolver;
 
 
     @Override
     @Transactional(readOnly = true)
-    public List<CategoryResponseDTO> findAll() {
-        return categoryRepository.findAll().stream()
-                .map(
-                        MapperCategory::toResponse
-                ).toList();
+    public PageResponseDTO<CategoryResponseDTO> findAll(String name, CategoryStatus status, PageQueryDTO page) {
+        PageQuery query = pageQueryResolver.resolve(page, sortKeys, "id,asc");
+        if (query.isKeyset()) {
+            Window<CategoryResponseDTO> window;
+            if (name != null && status != null) {
+                window = categoryRepository.findByNameContainingIgnoreCaseAndStatus(name, status,
+                        query.position(), query.limit(), query.sort());
+            } else if (name != null) {
+                window = categoryRepository.findByNameContainingIgnoreCase(name,
+                        query.position(), query.limit(), query.sort());
+            } else if (status != null) {
+                window = categoryRepository.findByStatus(status, query.position(), query.limit(), query.sort());
+            } else {
+                window = categoryRepository.findAllBy(query.position(), query.limit(), query.sort());
+            }
+            return pageQueryResolver.toResponse(window, Function.identity(), query);
+        }
+        Page<CategoryResponseDTO> result;
+        if (name != null && status != null) {
+            result = categoryRepository.findByNameContainingIgnoreCaseAndStatus(name, status, query.pageable());
+        } else if (name != null) {
+            result = categoryRepository.findByNameContainingIgnoreCase(name, query.pageable());
+        } else if (status != null) {
+            result = categoryRepository.findByStatus(status, query.pageable());
+        } else {
+            result = categoryRepository.findAllBy(query.pageable());
+        }
+        return pageQueryResolver.toResponse(result, Function.identity());
     }
 
     @Override
     @Transactional(readOnly = true)
     public CategoryResponseDTO findById(Long id) {
-        Category category = findByIdFull(id);
-        return MapperCategory.toResponse(category);
+        return categoryRepository.findResponseById(id)
+                .orElseThrow(() -> new CategoryNotFoundException(id));
     }
 
     @Override
@@ -0,0 +1,236 @@
+package org.atabero.inventory.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.atabero.inventory.config.IdempotencyProperties;
+import org.atabero.inventory.exception.idempotency.IdempotencyKeyConflictException;
+import org.atabero.inventory.exception.idempotency.IdempotencyKeyMismatchException;
+import org.atabero.inventory.exception.idempotency.InvalidIdempotencyKeyException;
+import org.atabero.inventory.model.IdempotencyKey;
+import org.atabero.inventory.repository.IdempotencyKeyRepository;
+import org.atabero.inventory.service.IdempotencyService;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * Implementación de {@link IdempotencyService}.
+ * <p>
+ * Las respuestas recientes se guardan en una caché LRU acotada en memoria. Si la clave no está en ella (por
+ * ejemplo, tras un reinicio o si la petición original llegó a otro nodo), lo primero que hace la transacción de la
+ * operación es reservar la clave con un {@code INSERT ... ON CONFLICT}, antes de tocar el producto. Si la clave
+ * ya existía, la transacción se revierte sin haber aplicado nada y se devuelve la respuesta guardada; si otra
+ * transacción la está usando, la reserva espera a que termine.
+ * </p>
+ * <p>
+ * La huella de la petición es el SHA-256 de su JSON con las propiedades ordenadas, de modo que no depende del
+ * orden de los campos ni colisiona con otra petición como una suma de 32 bits. Se serializa con un
+ * {@link JsonMapper} propio, independiente de la configuración del de la aplicación, para que la huella de una
+ * misma petición no cambie si esta se modifica.
+ * </p>
+ */
+@Service
+public class IdempotencyServiceImpl implements IdempotencyService {
+
+    private static final int MAX_KEY_LENGTH = 128;
+
+    private final IdempotencyKeyRepository repository;
+    private final IdempotencyProperties properties;
+    private final ObjectMapper objectMapper;
+    private final ObjectMapper canonicalMapper;
+
+    private final ReentrantLock cacheLock = new ReentrantLock();
+    private final Map<String, CachedResponse> cache;
+
+    public IdempotencyServiceImpl(IdempotencyKeyRepository repository, IdempotencyProperties properties,
+                                  ObjectMapper objectMapper) {
+        this.repository = repository;
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.canonicalMapper = JsonMapper.builder()
+                .findAndAddModules()
+                .enable(MapperFeature.SORT_PROPERTIES_ALPHABETICALLY)
+                .enable(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS)
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        int capacity = Math.max(1, properties.getCacheSize());
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedResponse> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    @Override
+    public <T> T execute(String key, Object request, Class<T> responseType, Function<Registration<T>, T> operation) {
+        if (key == null) {
+            return operation.apply(new Unregistered<>());
+        }
+        validateKey(key);
+        String requestDigest = digest(request);
+
+        Optional<T> cached = findCached(key, requestDigest, responseType);
+        if (cached.isPresent()) {
+            return cached.get();
+        }
+
+        try {
+            T response = operation.apply(new KeyRegistration<>(key, requestDigest));
+            remember(key, requestDigest, response, LocalDateTime.now());
+            return response;
+        } catch (IdempotencyKeyConflictException e) {
+            return findStored(key, requestDigest, responseType)
+                    .orElseGet(() -> execute(key, request, responseType, operation));
+        }
+    }
+
+    @Override
+    @Transactional
+    @Scheduled(fixedDelayString = "${inventory.idempotency.purge-interval}",
+            initialDelayString = "${inventory.idempotency.purge-interval}")
+    public int purgeExpired() {
+        return repository.deleteCreatedBefore(expiredBefore());
+    }
+
+    private void validateKey(String key) {
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new InvalidIdempotencyKeyException(
+                    "La cabecera Idempotency-Key debe tener entre 1 y " + MAX_KEY_LENGTH + " caracteres");
+        }
+    }
+
+    private <T> Optional<T> findCached(String key, String requestDigest, Class<T> responseType) {
+        CachedResponse cached;
+        cacheLock.lock();
+        try {
+            cached = cache.get(key);
+        } finally {
+            cacheLock.unlock();
+        }
+        if (cached == null || cached.createdAt().isBefore(expiredBefore())) {
+            return Optional.empty();
+        }
+        checkRequestDigest(key, requestDigest, cached.requestDigest());
+        return Optional.of(responseType.cast(cached.response()));
+    }
+
+    private <T> Optional<T> findStored(String key, String requestDigest, Class<T> responseType) {
+        Optional<IdempotencyKey> stored = repository.findById(key)
+                .filter(row -> !row.getCreatedAt().isBefore(expiredBefore()));
+        if (stored.isEmpty()) {
+            return Optional.empty();
+        }
+        IdempotencyKey row = stored.get();
+        checkRequestDigest(key, requestDigest, row.getRequestDigest());
+        T response = deserialize(row.getResponse(), responseType);
+        remember(key, requestDigest, response, row.getCreatedAt());
+        return Optional.of(response);
+    }
+
+
+    private void remember(String key, String requestDigest, Object response, LocalDateTime createdAt) {
+        cacheLock.lock();
+        try {
+            cache.put(key, new CachedResponse(requestDigest, response, createdAt));
+        } finally {
+            cacheLock.unlock();
+        }
+    }
+
+    private void checkRequestDigest(String key, String requestDigest, String storedDigest) {
+        if (!requestDigest.equals(storedDigest)) {
+            throw new IdempotencyKeyMismatchException(
+                    "La clave de idempotencia " + key + " ya se utilizó con una petición distinta");
+        }
+    }
+
+    private LocalDateTime expiredBefore() {
+        return LocalDateTime.now().minus(properties.getTtl());
+    }
+
+    private String digest(Object request) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256")
+                    .digest(canonicalMapper.writeValueAsString(request).getBytes(StandardCharsets.UTF_8)));
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("No se pudo calcular la huella de la petición idempotente", e);
+        }
+    }
+
+    private String serialize(Object response) {
+        try {
+            return objectMapper.writeValueAsString(response);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("No se pudo serializar la respuesta idempotente", e);
+        }
+    }
+
+    private <T> T deserialize(String json, Class<T> responseType) {
+        try {
+            return objectMapper.readValue(json, responseType);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("No se pudo leer la respuesta idempotente guardada", e);
+        }
+    }
+
+    private record CachedResponse(String requestDigest, Object response, LocalDateTime createdAt) {
+    }
+
+    /**
+     * Registro de una clave dentro de la transacción de la operación.
+     */
+    private class KeyRegistration<T> implements Registration<T> {
+
+        private final String key;
+        private final String requestDigest;
+
+        KeyRegistration(String key, String requestDigest) {
+            this.key = key;
+            this.requestDigest = requestDigest;
+        }
+
+        @Override
+        public void claim() {
+            if (repository.claim(key, requestDigest, LocalDateTime.now(), expiredBefore()) == 0) {
+                throw new IdempotencyKeyConflictException("La clave de idempotencia " + key + " ya fue utilizada");
+            }
+        }
+
+        @Override
+        public T complete(T response) {
+            repository.complete(key, serialize(response));
+            return response;
+        }
+    }
+
+    /**
+     * Registro vacío para las peticiones sin clave.
+     */
+    private static class Unregistered<T> implements Registration<T> {
+
+        @Override
+        public void claim() {
+            // Sin clave no hay nada que reservar.
+        }
+
+        @Override
+        public T complete(T response) {
+            return response;
+        }
+    }
+}
@@ -0,0 +1,241 @@
+package org.atabero.inventory.service.impl;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.atabero.inventory.dto.product.LowStockProductResponseDTO;
+import org.atabero.inventory.engine.LowStockChangedEvent;
+import org.atabero.inventory.engine.ProductUpdatedEvent;
+import org.atabero.inventory.engine.StockChangedEvent;
+import org.atabero.inventory.repository.ProductRepository;
+import org.atabero.inventory.repository.ReorderThreshold;
+import org.atabero.inventory.service.LowStockService;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * Implementación de {@link LowStockService}.
+ * <p>
+ * Se guardan en memoria los puntos de pedido de los productos que lo tienen configurado y, aparte, el índice de
+ * los que están por debajo. Cada movimiento confirmado consulta solo el punto de pedido de su producto y, si cruza
+ * el umbral, lo añade o lo quita del índice y publica un {@link LowStockChangedEvent}. Las operaciones sobre un
+ * producto se hacen dentro de {@link ConcurrentHashMap#compute}, así que se aplican de una en una por producto.
+ * </p>
+ * <p>
+ * El índice solo ve los cambios confirmados en este nodo: se reconstruye al arrancar y periódicamente desde la
+ * base de datos para recoger los del resto.
+ * </p>
+ */
+@Slf4j
+@Service
+public class LowStockServiceImpl implements LowStockService {
+
+    private final ProductRepository productRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final Map<Long, Threshold> thresholds = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListMap<Long, LowStockEntry> lowStock = new ConcurrentSkipListMap<>();
+    private final Map<Long, Set<Long>> lowStockByCategory = new ConcurrentHashMap<>();
+
+    private final Counter crossedBelow;
+    private final Counter recovered;
+
+    public LowStockServiceImpl(ProductRepository productRepository, ApplicationEventPublisher eventPublisher,
+                               MeterRegistry meterRegistry) {
+        this.productRepository = productRepository;
+        this.eventPublisher = eventPublisher;
+
+        Gauge.builder("inventory.stock.low.products", lowStock, Map::size)
+                .description("Productos con el stock por debajo de su punto de pedido")
+                .register(meterRegistry);
+        this.crossedBelow = Counter.builder("inventory.stock.low.crossings")
+                .description("Cruces del punto de pedido")
+                .tag("direction", "below")
+                .register(meterRegistry);
+        this.recovered = Counter.builder("inventory.stock.low.crossings")
+                .description("Cruces del punto de pedido")
+                .tag("direction", "recovered")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public List<LowStockProductResponseDTO> findLowStock(Long idCategory) {
+        if (idCategory == null) {
+            return lowStock.values().stream().map(LowStockEntry::toResponse).toList();
+        }
+        Set<Long> ids = lowStockByCategory.get(idCategory);
+        if (ids == null) {
+            return List.of();
+        }
+        List<LowStockProductResponseDTO> result = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            LowStockEntry entry = lowStock.get(id);
+            if (entry != null) {
+                result.add(entry.toResponse());
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Carga el índice al arrancar la aplicación.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        log.info("Índice de stock bajo cargado: {} productos por debajo de su punto de pedido", resync());
+    }
+
+    /**
+     * Reconstruye periódicamente el índice desde la base de datos.
+     */
+    @Scheduled(fixedDelayString = "${inventory.stock.low-stock.resync-interval}",
+            initialDelayString = "${inventory.stock.low-stock.resync-interval}")
+    public void scheduledResync() {
+        resync();
+    }
+
+    @Override
+    public int resync() {
+        LocalDateTime now = LocalDateTime.now();
+        Set<Long> tracked = new HashSet<>();
+        for (ReorderThreshold row : productRepository.findReorderThresholds()) {
+            tracked.add(row.getProductId());
+            track(row.getProductId(), new Threshold(row.getName(), row.getCategoryId(), row.getReorderPoint()),
+                    row.getStock(), now);
+        }
+        for (Long productId : thresholds.keySet()) {
+            if (!tracked.contains(productId)) {
+                untrack(productId, now);
+            }
+        }
+        return lowStock.size();
+    }
+
+    /**
+     * Comprueba el producto del movimiento contra su punto de pedido. Los productos sin punto de pedido solo
+     * cuestan una consulta al mapa.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onStockChanged(StockChangedEvent event) {
+        LowStockChangedEvent[] crossing = new LowStockChangedEvent[1];
+        thresholds.computeIfPresent(event.productId(), (productId, threshold) -> {
+            crossing[0] = apply(productId, threshold, event.newQuantity(), event.timestamp());
+            return threshold;
+        });
+        publish(crossing[0]);
+    }
+
+    /**
+     * Actualiza el punto de pedido, el nombre o la categoría del producto dado de alta o modificado.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onProductUpdated(ProductUpdatedEvent event) {
+        LocalDateTime now = LocalDateTime.now();
+        if (event.reorderPoint() > 0) {
+            track(event.productId(), new Threshold(event.name(), event.categoryId(), event.reorderPoint()),
+                    event.stock(), now);
+        } else {
+            untrack(event.productId(), now);
+        }
+    }
+
+    private void track(Long productId, Threshold threshold, int stock, LocalDateTime at) {
+        LowStockChangedEvent[] crossing = new LowStockChangedEvent[1];
+        thresholds.compute(productId, (id, previous) -> {
+            crossing[0] = apply(id, threshold, stock, at);
+            return threshold;
+        });
+        publish(crossing[0]);
+    }
+
+    private void untrack(Long productId, LocalDateTime at) {
+        LowStockChangedEvent[] crossing = new LowStockChangedEvent[1];
+        thresholds.computeIfPresent(productId, (id, previous) -> {
+            LowStockEntry entry = lowStock.remove(id);
+            if (entry != null) {
+                removeFromCategory(entry.categoryId(), id);
+                crossing[0] = new LowStockChangedEvent(id, entry.categoryId(), entry.stock(), 0, false, at);
+            }
+            return null;
+        });
+        publish(crossing[0]);
+    }
+
+    /**
+     * Actualiza el índice con el nuevo stock del producto. Se llama con el producto bloqueado en {@code thresholds}.
+     *
+     * @return el cruce del punto de pedido, o {@code null} si no lo hay.
+     */
+    private LowStockChangedEvent apply(Long productId, Threshold threshold, int stock, LocalDateTime at) {
+        LowStockEntry previous = lowStock.get(productId);
+        if (stock < threshold.reorderPoint()) {
+            LocalDateTime since = previous != null ? previous.since() : at;
+            lowStock.put(productId, new LowStockEntry(productId, threshold.name(), threshold.categoryId(), stock,
+                    threshold.reorderPoint(), since));
+            if (previous != null && !previous.categoryId().equals(threshold.categoryId())) {
+                removeFromCategory(previous.categoryId(), productId);
+            }
+            lowStockByCategory.computeIfAbsent(threshold.categoryId(), category -> new ConcurrentSkipListSet<>())
+                    .add(productId);
+            return previous == null
+                    ? new LowStockChangedEvent(productId, threshold.categoryId(), stock, threshold.reorderPoint(), true, at)
+                    : null;
+        }
+        if (previous != null) {
+            lowStock.remove(productId);
+            removeFromCategory(previous.categoryId(), productId);
+            return new LowStockChangedEvent(productId, threshold.categoryId(), stock, threshold.reorderPoint(), false, at);
+        }
+        return null;
+    }
+
+    private void removeFromCategory(Long categoryId, Long productId) {
+        lowStockByCategory.computeIfPresent(categoryId, (category, ids) -> {
+            ids.remove(productId);
+            return ids.isEmpty() ? null : ids;
+        });
+    }
+
+    private void publish(LowStockChangedEvent crossing) {
+        if (crossing == null) {
+            return;
+        }
+        if (crossing.low()) {
+            crossedBelow.increment();
+            log.info("El producto {} tiene stock bajo: {} por debajo del punto de pedido {}",
+                    crossing.productId(), crossing.stock(), crossing.reorderPoint());
+        } else {
+            recovered.increment();
+            log.info("El producto {} ya no tiene stock bajo: stock {}", crossing.productId(), crossing.stock());
+        }
+        eventPublisher.publishEvent(crossing);
+    }
+
+    private record Threshold(String name, Long categoryId, int reorderPoint) {
+    }
+
+    private record LowStockEntry(Long productId, String name, Long categoryId, int stock, int reorderPoint,
+                                 LocalDateTime since) {
+
+        private LowStockProductResponseDTO toResponse() {
+            return new LowStockProductResponseDTO(productId, name, categoryId, stock, reorderPoint,
+                    reorderPoint - stock, since);
+        }
+    }
+}
@@ -0,0 +1,239 @@
+package org.atabero.inventory.service.impl;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.atabero.inventory.config.StockProperties;
+import org.atabero.inventory.service.MovementLogPartitionService;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Implementación de {@link MovementLogPartitionService} para PostgreSQL.
+ * <p>
+ * Hibernate crea {@code movement_logs} como tabla normal. Al arrancar, esa tabla se renombra a
+ * {@code movement_logs_legacy} y se crea en su lugar una tabla particionada por rango de {@code timestamp} con la
+ * misma estructura y clave primaria {@code (id, timestamp)}. Si la tabla antigua tenía filas se vincula entera como
+ * partición desde {@code MINVALUE} hasta el primer mes sin datos, sin copiarlas; si estaba vacía se borra. A partir
+ * de ahí cada mes tiene su partición {@code movement_logs_yAAAAmMM}.
+ * </p>
+ * <p>
+ * Los índices de la tabla antigua se vuelven a crear, con sus nombres, sobre la tabla particionada, así que las
+ * particiones nuevas los heredan y Hibernate los encuentra con el nombre que espera. Los de la tabla antigua se
+ * renombran con el sufijo {@code _legacy} y, al vincularla, PostgreSQL los adopta como sus índices en la partición.
+ * </p>
+ * <p>
+ * Las consultas solo aprovechan la poda de particiones si filtran por {@code timestamp} directamente, sin
+ * envolverlo en funciones, preferiblemente con rangos semiabiertos {@code >= desde AND < hasta}.
+ * </p>
+ * Las operaciones se serializan entre instancias con un bloqueo consultivo de transacción.
+ */
+@Slf4j
+@Service
+public class MovementLogPartitionServiceImpl implements MovementLogPartitionService {
+
+    private static final String TABLE = "movement_logs";
+    private static final String LEGACY_TABLE = "movement_logs_legacy";
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("'_y'yyyy'm'MM");
+    private static final DateTimeFormatter BOUND_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    private static final Pattern BOUNDS = Pattern.compile("FROM \\((.+?)\\) TO \\((.+?)\\)");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final StockProperties.MovementLogs properties;
+
+    public MovementLogPartitionServiceImpl(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+                                           StockProperties stockProperties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.properties = stockProperties.getMovementLogs();
+    }
+
+    /**
+     * Prepara las particiones antes de que la aplicación acepte peticiones, una vez Hibernate ha creado el esquema.
+     */
+    @PostConstruct
+    public void initialize() {
+        List<String> created = ensurePartitions();
+        if (!created.isEmpty()) {
+            log.info("Particiones de {} creadas: {}", TABLE, created);
+        }
+        applyRetention();
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${inventory.stock.movement-logs.maintenance-interval}",
+            initialDelayString = "${inventory.stock.movement-logs.maintenance-interval}")
+    public List<String> ensurePartitions() {
+        return transactionTemplate.execute(status -> {
+            lock();
+            if (!isPartitioned()) {
+                convertToPartitioned();
+            }
+
+            List<Partition> partitions = findPartitions();
+            YearMonth current = YearMonth.now();
+            List<String> created = new ArrayList<>();
+            for (YearMonth month = current; !month.isAfter(current.plusMonths(properties.getPremakeMonths()));
+                 month = month.plusMonths(1)) {
+                LocalDateTime from = month.atDay(1).atStartOfDay();
+                LocalDateTime to = month.plusMonths(1).atDay(1).atStartOfDay();
+                if (partitions.stream().noneMatch(partition -> partition.overlaps(from, to))) {
+                    String name = TABLE + PARTITION_SUFFIX.format(month);
+                    jdbcTemplate.execute("CREATE TABLE " + name + " PARTITION OF " + TABLE
+                            + " FOR VALUES FROM ('" + BOUND_FORMAT.format(from) + "') TO ('" + BOUND_FORMAT.format(to) + "')");
+                    created.add(name);
+                }
+            }
+            return created;
+        });
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${inventory.stock.movement-logs.maintenance-interval}",
+            initialDelayString = "${inventory.stock.movement-logs.maintenance-interval}")
+    public List<String> applyRetention() {
+        if (properties.getRetentionMonths() <= 0) {
+            return List.of();
+        }
+        LocalDateTime cutoff = YearMonth.now().minusMonths(properties.getRetentionMonths()).atDay(1).atStartOfDay();
+        List<String> removed = transactionTemplate.execute(status -> {
+            lock();
+            if (!isPartitioned()) {
+                return List.of();
+            }
+            List<String> names = new ArrayList<>();
+            for (Partition partition : findPartitions()) {
+                if (partition.upper() == null || partition.upper().isAfter(cutoff)) {
+                    continue;
+                }
+                if (properties.getRetentionAction() == StockProperties.RetentionAction.DROP) {
+                    jdbcTemplate.execute("DROP TABLE " + partition.name());
+                } else {
+                    jdbcTemplate.execute("ALTER TABLE " + TABLE + " DETACH PARTITION " + partition.name());
+                    jdbcTemplate.execute("CREATE SCHEMA IF NOT EXISTS " + properties.getArchiveSchema());
+                    jdbcTemplate.execute("ALTER TABLE " + partition.name() + " SET SCHEMA " + properties.getArchiveSchema());
+                }
+                names.add(partition.name());
+            }
+            return names;
+        });
+        if (!removed.isEmpty()) {
+            log.info("Particiones de {} anteriores a {} retiradas ({}): {}",
+                    TABLE, cutoff.toLocalDate(), properties.getRetentionAction(), removed);
+        }
+        return removed;
+    }
+
+    private void lock() {
+        jdbcTemplate.queryForObject("SELECT pg_advisory_xact_lock(hashtext('" + TABLE + "'))", Object.class);
+    }
+
+    private boolean isPartitioned() {
+        String kind = jdbcTemplate.queryForObject(
+                "SELECT relkind::text FROM pg_class WHERE oid = to_regclass(?)", String.class, TABLE);
+        return "p".equals(kind);
+    }
+
+    /**
+     * Sustituye la tabla normal creada por Hibernate por una tabla particionada con la misma estructura.
+     */
+    private void convertToPartitioned() {
+        List<String> foreignKeys = jdbcTemplate.queryForList("""
+                SELECT conname || ' ' || pg_get_constraintdef(oid)
+                  FROM pg_constraint
+                 WHERE conrelid = to_regclass(?) AND contype = 'f'
+                """, String.class, TABLE);
+        List<String> primaryKey = jdbcTemplate.queryForList(
+                "SELECT conname FROM pg_constraint WHERE conrelid = to_regclass(?) AND contype = 'p'", String.class, TABLE);
+        // Índices que no respaldan una restricción, con su definición sobre la tabla aún con su nombre original.
+        List<String[]> indexes = jdbcTemplate.query("""
+                SELECT c.relname, pg_get_indexdef(i.indexrelid)
+                  FROM pg_index i
+                  JOIN pg_class c ON c.oid = i.indexrelid
+                 WHERE i.indrelid = to_regclass(?)
+                   AND NOT EXISTS (SELECT 1 FROM pg_constraint k WHERE k.conindid = i.indexrelid)
+                """, (rs, rowNum) -> new String[]{rs.getString(1), rs.getString(2)}, TABLE);
+        LocalDateTime newest = jdbcTemplate.queryForObject(
+                "SELECT max(\"timestamp\") FROM " + TABLE, LocalDateTime.class);
+
+        jdbcTemplate.execute("ALTER TABLE " + TABLE + " RENAME TO " + LEGACY_TABLE);
+        for (String[] index : indexes) {
+            jdbcTemplate.execute("ALTER INDEX " + index[0] + " RENAME TO " + index[0] + "_legacy");
+        }
+        for (String constraint : primaryKey) {
+            jdbcTemplate.execute("ALTER TABLE " + LEGACY_TABLE + " DROP CONSTRAINT " + constraint);
+        }
+        jdbcTemplate.execute("CREATE TABLE " + TABLE + " (LIKE " + LEGACY_TABLE + " INCLUDING DEFAULTS INCLUDING CONSTRAINTS)"
+                + " PARTITION BY RANGE (\"timestamp\")");
+        jdbcTemplate.execute("ALTER TABLE " + TABLE + " ADD CONSTRAINT " + TABLE + "_pkey PRIMARY KEY (id, \"timestamp\")");
+        // Antes de vincular la tabla antigua, para que adopte sus índices equivalentes en lugar de construirlos.
+        for (String[] index : indexes) {
+            jdbcTemplate.execute(index[1]);
+        }
+
+        if (newest != null) {
+            // La partición heredada llega hasta el primer mes sin datos; las mensuales empiezan ahí.
+            YearMonth firstFree = YearMonth.from(newest).plusMonths(1);
+            YearMonth nextMonth = YearMonth.now().plusMonths(1);
+            LocalDateTime upper = (firstFree.isAfter(nextMonth) ? firstFree : nextMonth).atDay(1).atStartOfDay();
+            jdbcTemplate.execute("ALTER TABLE " + TABLE + " ATTACH PARTITION " + LEGACY_TABLE
+                    + " FOR VALUES FROM (MINVALUE) TO ('" + BOUND_FORMAT.format(upper) + "')");
+        } else {
+            jdbcTemplate.execute("DROP TABLE " + LEGACY_TABLE);
+        }
+        // Si la partición heredada ya tiene una clave ajena equivalente, PostgreSQL la reutiliza.
+        for (String foreignKey : foreignKeys) {
+            jdbcTemplate.execute("ALTER TABLE " + TABLE + " ADD CONSTRAINT " + foreignKey);
+        }
+        log.info("{} convertida en tabla particionada por meses{}", TABLE,
+                newest != null ? "; los datos existentes quedan en la partición " + LEGACY_TABLE : "");
+    }
+
+    private List<Partition> findPartitions() {
+        return jdbcTemplate.query("""
+                SELECT c.relname, pg_get_expr(c.relpartbound, c.oid)
+                  FROM pg_inherits i
+                  JOIN pg_class c ON c.oid = i.inhrelid
+                 WHERE i.inhparent = to_regclass(?)
+                """, (rs, rowNum) -> Partition.of(rs.getString(1), rs.getString(2)), TABLE);
+    }
+
+    /**
+     * Partición con sus límites; {@code null} representa {@code MINVALUE} o {@code MAXVALUE}.
+     */
+    private record Partition(String name, LocalDateTime lower, LocalDateTime upper) {
+
+        private static Partition of(String name, String bound) {
+            Matcher matcher = BOUNDS.matcher(bound);
+            if (!matcher.find()) {
+                // Partición por defecto: no tiene límites propios.
+                return new Partition(name, null, null);
+            }
+            return new Partition(name, parse(matcher.group(1)), parse(matcher.group(2)));
+        }
+
+        private static LocalDateTime parse(String value) {
+            if (!value.startsWith("'")) {
+                return null;
+            }
+            return LocalDateTime.parse(value.substring(1, 20), BOUND_FORMAT);
+        }
+
+        private boolean overlaps(LocalDateTime from, LocalDateTime to) {
+            if (lower == null && upper == null) {
+                return false;
+            }
+            return (lower == null || lower.isBefore(to)) && (upper == null || upper.isAfter(from));
+        }
+    }
+}
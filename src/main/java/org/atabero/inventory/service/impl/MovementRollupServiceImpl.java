@@ -0,0 +1,157 @@
+package org.atabero.inventory.service.impl;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.atabero.inventory.config.StockProperties;
+import org.atabero.inventory.dto.report.RollupBackfillResponseDTO;
+import org.atabero.inventory.exception.report.InvalidReportRangeException;
+import org.atabero.inventory.repository.MovementDailyRollupRepository;
+import org.atabero.inventory.repository.StockMovementRepository;
+import org.atabero.inventory.service.MovementLogPartitionService;
+import org.atabero.inventory.service.MovementRollupService;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Implementación de {@link MovementRollupService} para PostgreSQL.
+ * <p>
+ * Los acumulados se mantienen con un disparador por sentencia sobre {@code movement_logs} que agrupa las filas
+ * insertadas por producto, día y tipo y las suma a {@code movement_daily_rollups} en la misma transacción. Así
+ * cubre todas las vías de escritura (entidad, sentencia atómica, lotes JDBC e importaciones) sin tocarlas, y un
+ * lote de cientos de movimientos cuesta una sola actualización por combinación. Las filas se actualizan en orden de
+ * clave para que dos lotes concurrentes no se bloqueen mutuamente.
+ * </p>
+ * <p>
+ * El recálculo de un día borra sus acumulados y los vuelve a sumar desde {@code movement_logs}. Los días cerrados ya no
+ * reciben movimientos y se recalculan sin bloqueos; para el día en curso se bloquean las inserciones solo durante su
+ * recálculo, de modo que no se pierden ni se duplican los movimientos que llegan mientras tanto.
+ * </p>
+ */
+@Slf4j
+@Service
+public class MovementRollupServiceImpl implements MovementRollupService {
+
+    private static final String TRIGGER = "movement_logs_daily_rollup";
+
+    /**
+     * Tiempo tras el final de un día durante el que aún pueden insertarse movimientos con su fecha, de transacciones
+     * que la tomaron antes de medianoche. Pasado este margen el día se considera cerrado.
+     */
+    private static final Duration CLOSED_DAY_GRACE = Duration.ofMinutes(5);
+
+    private static final String TRIGGER_FUNCTION = """
+            CREATE OR REPLACE FUNCTION movement_logs_daily_rollup() RETURNS trigger
+            LANGUAGE plpgsql AS $$
+            BEGIN
+                INSERT INTO movement_daily_rollups (product_id, day, movement_type, movements, quantity)
+                SELECT n.product_id, CAST(n.timestamp AS date), n.movement_type, COUNT(*), SUM(n.quantity_change)
+                  FROM new_movements n
+                 WHERE n.operation_status = 'SUCCESS' AND n.product_id IS NOT NULL
+                 GROUP BY 1, 2, 3
+                 ORDER BY 1, 2, 3
+                ON CONFLICT (product_id, day, movement_type) DO UPDATE
+                   SET movements = movement_daily_rollups.movements + EXCLUDED.movements,
+                       quantity = movement_daily_rollups.quantity + EXCLUDED.quantity;
+                RETURN NULL;
+            END
+            $$
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final MovementDailyRollupRepository repository;
+    private final StockMovementRepository stockMovementRepository;
+    private final StockProperties.Rollups properties;
+
+    /**
+     * El servicio de particiones se recibe para que {@code movement_logs} ya sea la tabla particionada definitiva
+     * cuando se instala el disparador.
+     */
+    public MovementRollupServiceImpl(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+                                     MovementDailyRollupRepository repository,
+                                     StockMovementRepository stockMovementRepository,
+                                     StockProperties stockProperties,
+                                     MovementLogPartitionService movementLogPartitionService) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.repository = repository;
+        this.stockMovementRepository = stockMovementRepository;
+        this.properties = stockProperties.getRollups();
+    }
+
+    /**
+     * Instala el disparador y, si no existía, recalcula en segundo plano los acumulados de todo el historial.
+     */
+    @PostConstruct
+    public void initialize() {
+        boolean installed = transactionTemplate.execute(status -> {
+            jdbcTemplate.queryForObject("SELECT pg_advisory_xact_lock(hashtext('" + TRIGGER + "'))", Object.class);
+            boolean existed = Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                    "SELECT EXISTS (SELECT 1 FROM pg_trigger WHERE tgname = ? AND NOT tgisinternal)", Boolean.class, TRIGGER));
+            jdbcTemplate.execute(TRIGGER_FUNCTION);
+            // CREATE OR REPLACE TRIGGER requiere PostgreSQL 14. Al ir en la misma transacción, ninguna inserción ve la
+            // tabla sin disparador entre el borrado y la creación.
+            jdbcTemplate.execute("DROP TRIGGER IF EXISTS " + TRIGGER + " ON movement_logs");
+            jdbcTemplate.execute("CREATE TRIGGER " + TRIGGER + " AFTER INSERT ON movement_logs"
+                    + " REFERENCING NEW TABLE AS new_movements FOR EACH STATEMENT EXECUTE FUNCTION movement_logs_daily_rollup()");
+            return !existed;
+        });
+
+        if (installed && properties.isBackfillOnStartup()) {
+            Thread thread = new Thread(() -> {
+                try {
+                    RollupBackfillResponseDTO result = backfill(null, null);
+                    log.info("Acumulados diarios calculados para {} días del historial ({} filas)", result.days(), result.rows());
+                } catch (RuntimeException e) {
+                    log.error("No se pudieron calcular los acumulados diarios del historial", e);
+                }
+            }, "movement-rollup-backfill");
+            thread.setDaemon(true);
+            thread.start();
+        }
+    }
+
+    @Override
+    public RollupBackfillResponseDTO backfill(LocalDate from, LocalDate to) {
+        if (from != null && to != null && !from.isBefore(to)) {
+            throw new InvalidReportRangeException("La fecha inicial debe ser anterior a la fecha final");
+        }
+        Object[] range = stockMovementRepository.findTimestampRange().get(0);
+        if (range[0] == null) {
+            return new RollupBackfillResponseDTO(from, to, 0, 0);
+        }
+        LocalDate first = from != null ? from : ((LocalDateTime) range[0]).toLocalDate();
+        LocalDate end = to != null ? to : ((LocalDateTime) range[1]).toLocalDate().plusDays(1);
+
+        LocalDateTime closedBefore = LocalDateTime.now().minus(CLOSED_DAY_GRACE);
+        int days = 0;
+        long rows = 0;
+        for (LocalDate day = first; day.isBefore(end); day = day.plusDays(1)) {
+            LocalDateTime dayStart = day.atStartOfDay();
+            LocalDateTime dayEnd = day.plusDays(1).atStartOfDay();
+            LocalDate current = day;
+            boolean open = dayEnd.isAfter(closedBefore);
+            Integer written = transactionTemplate.execute(status -> {
+                if (open) {
+                    // Bloquea las inserciones en movement_logs hasta el final del recálculo del día.
+                    jdbcTemplate.execute("LOCK TABLE movement_logs IN SHARE MODE");
+                }
+                if (!stockMovementRepository.existsByTimestampGreaterThanEqualAndTimestampLessThan(dayStart, dayEnd)) {
+                    return null;
+                }
+                repository.deleteByDay(current);
+                return repository.insertFromMovements(dayStart, dayEnd);
+            });
+            if (written != null) {
+                days++;
+                rows += written;
+            }
+        }
+        return new RollupBackfillResponseDTO(first, end, days, rows);
+    }
+}
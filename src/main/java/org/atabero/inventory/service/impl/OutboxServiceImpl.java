@@ -0,0 +1,259 @@
+package org.atabero.inventory.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.atabero.inventory.config.OutboxProperties;
+import org.atabero.inventory.engine.OutboxSink;
+import org.atabero.inventory.engine.ProductStatusChangedEvent;
+import org.atabero.inventory.engine.StockChangedEvent;
+import org.atabero.inventory.mapper.MapperOutboxEvent;
+import org.atabero.inventory.model.OutboxEvent;
+import org.atabero.inventory.model.enums.OutboxEventType;
+import org.atabero.inventory.repository.OutboxEventRepository;
+import org.atabero.inventory.service.OutboxService;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Implementación de {@link OutboxService}.
+ * <p>
+ * Los eventos de stock y de estado se registran al publicarse, en el mismo hilo y transacción que el cambio, así que
+ * se confirman o se deshacen con él. El repetidor reserva los eventos pendientes más antiguos con
+ * {@code FOR UPDATE SKIP LOCKED}, los entrega al destino y los marca como publicados en la misma transacción: si
+ * varios nodos ejecutan el repetidor, cada uno se lleva un lote distinto.
+ * </p>
+ * <p>
+ * Los eventos de un mismo producto se entregan en orden: si otro nodo tiene reservado un evento anterior del mismo
+ * producto, los eventos posteriores se dejan para la siguiente pasada.
+ * </p>
+ * <p>
+ * El repetidor tiene su propio hilo en lugar de compartir el planificador de Spring con las tareas largas, como las
+ * fotos de stock o el cálculo de propuestas, para que estas no retrasen la entrega de eventos.
+ * </p>
+ */
+@Slf4j
+@Service
+public class OutboxServiceImpl implements OutboxService {
+
+    private final OutboxEventRepository repository;
+    private final OutboxSink sink;
+    private final ObjectMapper objectMapper;
+    private final OutboxProperties properties;
+    private final TransactionTemplate transactionTemplate;
+    private final ScheduledExecutorService relayScheduler;
+
+    private final AtomicLong lagMillis = new AtomicLong();
+    private final DistributionSummary batchSize;
+    private final Timer batchLatency;
+    private final Timer deliveryLag;
+    private final Counter published;
+    private final Counter failures;
+
+    public OutboxServiceImpl(OutboxEventRepository repository, OutboxSink sink, ObjectMapper objectMapper,
+                             OutboxProperties properties, PlatformTransactionManager transactionManager,
+                             MeterRegistry meterRegistry) {
+        this.repository = repository;
+        this.sink = sink;
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.relayScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "outbox-relay");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        Gauge.builder("inventory.outbox.lag", lagMillis, lag -> lag.get() / 1000.0)
+                .description("Antigüedad en segundos del evento pendiente más antiguo")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        this.batchSize = DistributionSummary.builder("inventory.outbox.batch.size")
+                .description("Eventos entregados en cada lote")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        this.batchLatency = Timer.builder("inventory.outbox.batch")
+                .description("Duración de la entrega y confirmación de cada lote")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        this.deliveryLag = Timer.builder("inventory.outbox.delivery.lag")
+                .description("Tiempo entre el registro de cada evento y su entrega")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        this.published = Counter.builder("inventory.outbox.published")
+                .description("Eventos entregados al destino")
+                .register(meterRegistry);
+        this.failures = Counter.builder("inventory.outbox.failures")
+                .description("Lotes que el destino no aceptó")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Registra el cambio de stock en la transacción del movimiento.
+     */
+    @EventListener
+    public void onStockChanged(StockChangedEvent event) {
+        record(OutboxEventType.STOCK_CHANGED, event.productId(), event);
+    }
+
+    /**
+     * Registra el cambio de estado en la transacción que lo aplica.
+     */
+    @EventListener
+    public void onProductStatusChanged(ProductStatusChangedEvent event) {
+        record(OutboxEventType.PRODUCT_STATUS_CHANGED, event.productId(), event);
+    }
+
+    @Override
+    public void record(OutboxEventType type, Long aggregateId, Object payload) {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("Los eventos de la bandeja de salida deben registrarse dentro de la transacción del cambio");
+        }
+        repository.save(OutboxEvent.builder()
+                .eventType(type)
+                .aggregateId(aggregateId)
+                .payload(toJson(payload))
+                .createdAt(LocalDateTime.now())
+                .build());
+    }
+
+    /**
+     * Arranca el repetidor, que comprueba periódicamente si hay eventos pendientes.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void startRelay() {
+        if (!properties.isRelayEnabled()) {
+            return;
+        }
+        long interval = Math.max(1, properties.getPollInterval().toMillis());
+        relayScheduler.scheduleWithFixedDelay(this::relayPending, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stopRelay() {
+        relayScheduler.shutdownNow();
+    }
+
+    private void relayPending() {
+        // Una excepción que escape cancela las siguientes ejecuciones del repetidor.
+        try {
+            relay();
+        } catch (RuntimeException e) {
+            log.warn("Falló una pasada del repetidor de la bandeja de salida", e);
+        }
+    }
+
+    @Override
+    public int relay() {
+        int total = 0;
+        try {
+            int delivered;
+            do {
+                delivered = relayBatch();
+                total += delivered;
+            } while (delivered >= properties.getBatchSize());
+        } catch (RuntimeException e) {
+            failures.increment();
+            log.warn("No se pudo entregar un lote de la bandeja de salida; se reintentará", e);
+        } finally {
+            LocalDateTime oldest = repository.findOldestPendingCreatedAt();
+            lagMillis.set(oldest != null ? Math.max(0, Duration.between(oldest, LocalDateTime.now()).toMillis()) : 0);
+        }
+        return total;
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${inventory.outbox.purge-interval}",
+            initialDelayString = "${inventory.outbox.purge-interval}")
+    public int purge() {
+        LocalDateTime before = LocalDateTime.now().minus(properties.getRetention());
+        return transactionTemplate.execute(status -> repository.deletePublishedBefore(before));
+    }
+
+    private int relayBatch() {
+        return transactionTemplate.execute(status -> {
+            List<OutboxEvent> claimed = repository.claimPending(Math.max(1, properties.getBatchSize()));
+            if (claimed.isEmpty()) {
+                return 0;
+            }
+            List<OutboxEvent> deliverable = withoutEventsHeldElsewhere(claimed);
+            if (deliverable.isEmpty()) {
+                return 0;
+            }
+
+            long start = System.nanoTime();
+            try {
+                sink.publish(deliverable.stream().map(MapperOutboxEvent::toMessage).toList());
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            LocalDateTime now = LocalDateTime.now();
+            repository.markPublished(deliverable.stream().map(OutboxEvent::getId).toList(), now);
+
+            batchLatency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            batchSize.record(deliverable.size());
+            published.increment(deliverable.size());
+            for (OutboxEvent event : deliverable) {
+                deliveryLag.record(Duration.between(event.getCreatedAt(), now));
+            }
+            return deliverable.size();
+        });
+    }
+
+    /**
+     * Descarta los eventos de los productos que tienen un evento anterior pendiente reservado por otro nodo, para
+     * no adelantarlo.
+     */
+    private List<OutboxEvent> withoutEventsHeldElsewhere(List<OutboxEvent> claimed) {
+        Set<Long> aggregateIds = claimed.stream().map(OutboxEvent::getAggregateId).collect(Collectors.toSet());
+        List<Long> claimedIds = claimed.stream().map(OutboxEvent::getId).toList();
+        long maxId = claimedIds.get(claimedIds.size() - 1);
+
+        Map<Long, Long> heldFrom = new HashMap<>();
+        for (Object[] row : repository.findFirstPendingHeldElsewhere(aggregateIds, claimedIds, maxId)) {
+            heldFrom.put(((Number) row[0]).longValue(), ((Number) row[1]).longValue());
+        }
+        if (heldFrom.isEmpty()) {
+            return claimed;
+        }
+        return claimed.stream()
+                .filter(event -> {
+                    Long firstHeld = heldFrom.get(event.getAggregateId());
+                    return firstHeld == null || event.getId() < firstHeld;
+                })
+                .toList();
+    }
+
+    private String toJson(Object payload) {
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("No se pudo serializar el evento de la bandeja de salida", e);
+        }
+    }
+}
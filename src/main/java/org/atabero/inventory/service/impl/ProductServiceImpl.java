@@ -1,44 +1,94 @@
 package org.atabero.inventory.service.impl;
 
 import lombok.RequiredArgsConstructor;
+import org.atabero.inventory.dto.page.PageQueryDTO;
+import org.atabero.inventory.dto.page.PageResponseDTO;
 import org.atabero.inventory.dto.product.CreateProductDTO;
 import org.atabero.inventory.dto.product.ProductResponseDTO;
 import org.atabero.inventory.dto.product.UpdateProductDTO;
+import org.atabero.inventory.engine.ProductUpdatedEvent;
 import org.atabero.inventory.exception.product.ProductNotFoundException;
 import org.atabero.inventory.mapper.MapperProduct;
 import org.atabero.inventory.model.Category;
 import org.atabero.inventory.model.Product;
 import org.atabero.inventory.model.Supplier;
+import org.atabero.inventory.model.enums.ProductStatus;
+import org.atabero.inventory.repository.ProductListing;
 import org.atabero.inventory.repository.ProductRepository;
 import org.atabero.inventory.service.CategoryService;
 import org.atabero.inventory.service.ProductService;
 import org.atabero.inventory.service.SupplierService;
+import org.atabero.inventory.util.PageQueryResolver;
+import org.atabero.inventory.util.PageQueryResolver.PageQuery;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.function.Function;
 
 @Service
 @RequiredArgsConstructor
 public class ProductServiceImpl implements ProductService {
 
+    /**
+     * Propiedades por las que se puede ordenar el listado, todas con índice que acaba en el ID.
+     */
+    private static final Map<String, Function<String, ?>> sortKeys = Map.of(
+            "id", Long::valueOf,
+            "name", Function.identity(),
+            "code", Function.identity(),
+            "createdDate", LocalDateTime::parse);
+
     private final ProductRepository productRepository;
     private final CategoryService categoryService;
     private final SupplierService supplierService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final PageQueryResolver pageQueryResolver;
 
     @Override
     @Transactional(readOnly = true)
-    public List<ProductResponseDTO> getAll() {
-        return productRepository.findAll().stream()
-                .map(MapperProduct::toResponse)
-                .toList();
+    public PageResponseDTO<ProductResponseDTO> getAll(String name, ProductStatus status, PageQueryDTO page) {
+        PageQuery query = pageQueryResolver.resolve(page, sortKeys, "id,asc");
+        if (query.isKeyset()) {
+            Window<ProductListing> window;
+            if (name != null && status != null) {
+                window = productRepository.findByNameContainingIgnoreCaseAndStatus(name, status,
+                        query.position(), query.limit(), query.sort());
+            } else if (name != null) {
+                window = productRepository.findByNameContainingIgnoreCase(name,
+                        query.position(), query.limit(), query.sort());
+            } else if (status != null) {
+                window = productRepository.findByStatus(status, query.position(), query.limit(), query.sort());
+            } else {
+                window = productRepository.findAllBy(query.position(), query.limit(), query.sort());
+            }
+            return pageQueryResolver.toResponse(window, MapperProduct::toResponse, query);
+        }
+        Page<ProductListing> result;
+        if (name != null && status != null) {
+            result = productRepository.findByNameContainingIgnoreCaseAndStatus(name, status, query.pageable());
+        } else if (name != null) {
+            result = productRepository.findByNameContainingIgnoreCase(name, query.pageable());
+        } else if (status != null) {
+            result = productRepository.findByStatus(status, query.pageable());
+        } else {
+            result = productRepository.findAllBy(query.pageable());
+        }
+        return pageQueryResolver.toResponse(result, MapperProduct::toResponse);
     }
 
     @Override
     @Transactional(readOnly = true)
     public ProductResponseDTO getById(Long id) {
-        return MapperProduct.toResponse(getByIdFull(id));
+        return productRepository.findResponseById(id)
+                .orElseThrow(() -> new ProductNotFoundException(id));
     }
 
     @Override
@@ -48,6 +98,7 @@ public class ProductServiceImpl implements ProductService {
         Supplier supplier = supplierService.findByIdFull(dto.getSupplier());
         Product product = MapperProduct.toEntity(dto, category, supplier);
         saveProduct(product);
+        publishProductUpdated(product);
         return MapperProduct.toResponse(product);
     }
 
@@ -68,15 +119,25 @@ public class ProductServiceImpl implements ProductService {
 
         MapperProduct.update(dto, product, category, supplier);
         saveProduct(product);
+        publishProductUpdated(product);
         return MapperProduct.toResponse(product);
     }
 
     @Override
     public Product getByIdFull(Long id) {
-        return productRepository.findById(id)
+        return productRepository.findWithCategoryAndSupplierById(id)
                 .orElseThrow(() -> new ProductNotFoundException(id));
     }
 
+    @Override
+    @Transactional
+    public List<Product> getAllByIdForUpdate(Collection<Long> ids) {
+        List<Product> products = productRepository.findAllByIdInForUpdate(ids);
+        // Sin bloqueo: completa la categoría y el proveedor de las entidades ya cargadas en la sesión.
+        productRepository.findAllByIdIn(ids);
+        return products;
+    }
+
     @Override
     @Transactional
     public void modifyStatus(Product product) {
@@ -94,6 +155,11 @@ public class ProductServiceImpl implements ProductService {
         productRepository.save(product);
     }
 
+    private void publishProductUpdated(Product product) {
+        eventPublisher.publishEvent(new ProductUpdatedEvent(product.getId(), product.getName(),
+                product.getCategory().getId(), product.getTotalStock(), product.getReorderPoint()));
+    }
+
 
     private Category resolveCategory(Product product, Long newCategoryId) {
         if (newCategoryId != null && !Objects.equals(product.getCategory().getId(), newCategoryId)) {
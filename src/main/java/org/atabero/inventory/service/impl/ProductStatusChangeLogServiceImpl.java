@@ -1,8 +1,12 @@
 package org.atabero.inventory.service.impl;
 
 import lombok.RequiredArgsConstructor;
+import org.atabero.inventory.dto.page.PageQueryDTO;
+import org.atabero.inventory.dto.page.PageResponseDTO;
 import org.atabero.inventory.dto.productstatuschangelog.CreateProductStatusChangeLogDTO;
 import org.atabero.inventory.dto.productstatuschangelog.ProductStatusChangeLogResponseDTO;
+import org.atabero.inventory.engine.ProductStatusChangedEvent;
+import org.atabero.inventory.engine.StripedStockExecutor;
 import org.atabero.inventory.exception.product.ProductNotFoundException;
 import org.atabero.inventory.exception.productstatuschangelog.ProductStatusChangeLogNotFoundException;
 import org.atabero.inventory.mapper.MapperProductStatusChangeLog;
@@ -13,119 +17,198 @@ import org.atabero.inventory.model.enums.ProductStatus;
 import org.atabero.inventory.repository.ProductStatusChangeLogRepository;
 import org.atabero.inventory.service.ProductService;
 import org.atabero.inventory.service.ProductStatusChangeLogService;
+import org.atabero.inventory.util.PageQueryResolver;
+import org.atabero.inventory.util.PageQueryResolver.PageQuery;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
-import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.function.Function;
 
 
 @Service
 @RequiredArgsConstructor
 public class ProductStatusChangeLogServiceImpl implements ProductStatusChangeLogService {
 
+    /**
+     * Propiedades por las que se puede ordenar el listado; los IDs son UUIDv7, crecientes en el tiempo.
+     */
+    private static final Map<String, Function<String, ?>> sortKeys = Map.of(
+            "changedAt", LocalDateTime::parse,
+            "id", UUID::fromString);
+
     private final ProductStatusChangeLogRepository changeLogRepository;
     private final ProductService productService;
+    private final StripedStockExecutor stripedStockExecutor;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final PageQueryResolver pageQueryResolver;
 
     @Override
     public ProductStatusChangeLogResponseDTO save(CreateProductStatusChangeLogDTO dto) {
-        ProductStatusChangeLog changeLog = new ProductStatusChangeLog();
-        changeLog.setProductId(dto.getProductId());
-        changeLog.setNewStatus(dto.getNewProductStatus());
-        changeLog.setReason(dto.getReason());
-        changeLog.setChangedAt(LocalDateTime.now());
+        return stripedStockExecutor.execute(dto.getProductId(), () -> applyStatusChange(dto));
+    }
 
+    /**
+     * Aplica el cambio de estado, guarda su registro y deja el evento en la bandeja de salida en una sola transacción.
+     * Si el cambio falla, la transacción se deshace y el error se registra aparte.
+     */
+    private ProductStatusChangeLogResponseDTO applyStatusChange(CreateProductStatusChangeLogDTO dto) {
         try {
-            Product product = productService.getByIdFull(dto.getProductId());
+            return transactionTemplate.execute(status -> {
+                Product product = productService.getByIdFull(dto.getProductId());
+
+                ProductStatusChangeLog changeLog = newChangeLog(dto);
+                changeLog.setPreviousStatus(product.getStatus());
+                product.setStatus(dto.getNewProductStatus());
 
-            changeLog.setPreviousStatus(product.getStatus());
-            product.setStatus(dto.getNewProductStatus());
+                productService.modifyStatus(product);
 
-            productService.modifyStatus(product);
+                changeLog.setOperationStatus(OperationStatus.SUCCESS);
+                changeLog.setOperationMessage("Operación aprobada correctamente");
+                changeLogRepository.save(changeLog);
 
-            changeLog.setOperationStatus(OperationStatus.SUCCESS);
-            changeLog.setOperationMessage("Operación aprobada correctamente");
+                eventPublisher.publishEvent(new ProductStatusChangedEvent(changeLog.getProductId(),
+                        changeLog.getPreviousStatus(), changeLog.getNewStatus(), changeLog.getReason(),
+                        changeLog.getChangedAt()));
+                return MapperProductStatusChangeLog.toResponse(changeLog);
+            });
         } catch (ProductNotFoundException ex) {
-            changeLog.setPreviousStatus(null);
-            changeLog.setOperationStatus(OperationStatus.ERROR);
-            changeLog.setOperationMessage("Producto no encontrado: " + ex.getMessage());
+            return saveError(dto, "Producto no encontrado: " + ex.getMessage());
         } catch (Exception ex) {
-            changeLog.setPreviousStatus(null);
-            changeLog.setOperationStatus(OperationStatus.ERROR);
-            changeLog.setOperationMessage("Error inesperado: " + ex.getMessage());
+            return saveError(dto, "Error inesperado: " + ex.getMessage());
         }
+    }
+
+    private ProductStatusChangeLogResponseDTO saveError(CreateProductStatusChangeLogDTO dto, String message) {
+        ProductStatusChangeLog changeLog = newChangeLog(dto);
+        changeLog.setPreviousStatus(null);
+        changeLog.setOperationStatus(OperationStatus.ERROR);
+        changeLog.setOperationMessage(message);
 
         changeLogRepository.save(changeLog);
         return MapperProductStatusChangeLog.toResponse(changeLog);
     }
 
+    private ProductStatusChangeLog newChangeLog(CreateProductStatusChangeLogDTO dto) {
+        ProductStatusChangeLog changeLog = new ProductStatusChangeLog();
+        changeLog.setProductId(dto.getProductId());
+        changeLog.setNewStatus(dto.getNewProductStatus());
+        changeLog.setReason(dto.getReason());
+        changeLog.setChangedAt(LocalDateTime.now());
+        return changeLog;
+    }
+
 
     @Override
-    public List<ProductStatusChangeLogResponseDTO> findAll() {
-        return changeLogRepository.findAll().stream().map(
-                MapperProductStatusChangeLog::toResponse
-        ).toList();
+    @Transactional(readOnly = true)
+    public PageResponseDTO<ProductStatusChangeLogResponseDTO> findAll(PageQueryDTO page) {
+        return findPage(page,
+                query -> changeLogRepository.findAllBy(query.pageable()),
+                query -> changeLogRepository.findAllBy(query.position(), query.limit(), query.sort()));
     }
 
     @Override
+    @Transactional(readOnly = true)
     public ProductStatusChangeLogResponseDTO findById(UUID id) {
-        return MapperProductStatusChangeLog.toResponse(changeLogRepository.findById(id)
+        return changeLogRepository.findResponseById(id)
                 .orElseThrow(
                         () -> new ProductStatusChangeLogNotFoundException(id)
-                ));
+                );
     }
 
     @Override
-    public List<ProductStatusChangeLogResponseDTO> findByProductId(Long productId) {
-        return changeLogRepository.findByProductId(productId).stream().map(
-                MapperProductStatusChangeLog::toResponse
-        ).toList();
+    @Transactional(readOnly = true)
+    public PageResponseDTO<ProductStatusChangeLogResponseDTO> findByProductId(Long productId, PageQueryDTO page) {
+        return findPage(page,
+                query -> changeLogRepository.findByProductId(productId, query.pageable()),
+                query -> changeLogRepository.findByProductId(productId, query.position(), query.limit(), query.sort()));
     }
 
     @Override
-    public List<ProductStatusChangeLogResponseDTO> findByPreviousStatus(ProductStatus previousStatus) {
-        return changeLogRepository.findByPreviousStatus(previousStatus).stream().map(
-                MapperProductStatusChangeLog::toResponse
-        ).toList();
+    @Transactional(readOnly = true)
+    public PageResponseDTO<ProductStatusChangeLogResponseDTO> findByPreviousStatus(
+            ProductStatus previousStatus, PageQueryDTO page) {
+        return findPage(page,
+                query -> changeLogRepository.findByPreviousStatus(previousStatus, query.pageable()),
+                query -> changeLogRepository.findByPreviousStatus(previousStatus,
+                        query.position(), query.limit(), query.sort()));
     }
 
     @Override
-    public List<ProductStatusChangeLogResponseDTO> findByNewStatus(ProductStatus newStatus) {
-        return changeLogRepository.findByNewStatus(newStatus).stream().map(
-                MapperProductStatusChangeLog::toResponse
-        ).toList();
+    @Transactional(readOnly = true)
+    public PageResponseDTO<ProductStatusChangeLogResponseDTO> findByNewStatus(
+            ProductStatus newStatus, PageQueryDTO page) {
+        return findPage(page,
+                query -> changeLogRepository.findByNewStatus(newStatus, query.pageable()),
+                query -> changeLogRepository.findByNewStatus(newStatus, query.position(), query.limit(), query.sort()));
     }
 
     @Override
-    public List<ProductStatusChangeLogResponseDTO> findByOperationStatus(OperationStatus operationStatus) {
-        return changeLogRepository.findByOperationStatus(operationStatus).stream().map(
-                MapperProductStatusChangeLog::toResponse
-        ).toList();
+    @Transactional(readOnly = true)
+    public PageResponseDTO<ProductStatusChangeLogResponseDTO> findByOperationStatus(
+            OperationStatus operationStatus, PageQueryDTO page) {
+        return findPage(page,
+                query -> changeLogRepository.findByOperationStatus(operationStatus, query.pageable()),
+                query -> changeLogRepository.findByOperationStatus(operationStatus,
+                        query.position(), query.limit(), query.sort()));
     }
 
     @Override
-    public List<ProductStatusChangeLogResponseDTO> findByChangedAtBetween(LocalDateTime start, LocalDateTime end) {
-        return changeLogRepository.findByChangedAtBetween(start, end).stream().map(
-                MapperProductStatusChangeLog::toResponse
-        ).toList();
+    @Transactional(readOnly = true)
+    public PageResponseDTO<ProductStatusChangeLogResponseDTO> findByChangedAtBetween(
+            LocalDateTime start, LocalDateTime end, PageQueryDTO page) {
+        return findPage(page,
+                query -> changeLogRepository.findByChangedAtBetween(start, end, query.pageable()),
+                query -> changeLogRepository.findByChangedAtBetween(start, end,
+                        query.position(), query.limit(), query.sort()));
     }
 
     @Override
-    public List<ProductStatusChangeLogResponseDTO> findByProductIdAndOperationStatus(Long productId, OperationStatus operationStatus) {
-        return changeLogRepository.findByProductIdAndOperationStatus(productId, operationStatus).stream().map(
-                MapperProductStatusChangeLog::toResponse
-        ).toList();
+    @Transactional(readOnly = true)
+    public PageResponseDTO<ProductStatusChangeLogResponseDTO> findByProductIdAndOperationStatus(
+            Long productId, OperationStatus operationStatus, PageQueryDTO page) {
+        return findPage(page,
+                query -> changeLogRepository.findByProductIdAndOperationStatus(productId, operationStatus,
+                        query.pageable()),
+                query -> changeLogRepository.findByProductIdAndOperationStatus(productId, operationStatus,
+                        query.position(), query.limit(), query.sort()));
     }
 
     @Override
-    public List<ProductStatusChangeLogResponseDTO> findByPreviousStatusAndNewStatus(ProductStatus previousStatus, ProductStatus newStatus) {
-        return changeLogRepository.findByPreviousStatusAndNewStatus(previousStatus, newStatus).stream().map(
-                MapperProductStatusChangeLog::toResponse
-        ).toList();
+    @Transactional(readOnly = true)
+    public PageResponseDTO<ProductStatusChangeLogResponseDTO> findByPreviousStatusAndNewStatus(
+            ProductStatus previousStatus, ProductStatus newStatus, PageQueryDTO page) {
+        return findPage(page,
+                query -> changeLogRepository.findByPreviousStatusAndNewStatus(previousStatus, newStatus,
+                        query.pageable()),
+                query -> changeLogRepository.findByPreviousStatusAndNewStatus(previousStatus, newStatus,
+                        query.position(), query.limit(), query.sort()));
     }
 
     @Override
+    @Transactional(readOnly = true)
     public long countByOperationStatus(OperationStatus operationStatus) {
         return changeLogRepository.countByOperationStatus(operationStatus);
     }
+
+    /**
+     * Lanza la consulta por número de página o por cursor según los parámetros recibidos.
+     */
+    private PageResponseDTO<ProductStatusChangeLogResponseDTO> findPage(
+            PageQueryDTO page,
+            Function<PageQuery, Page<ProductStatusChangeLogResponseDTO>> byNumber,
+            Function<PageQuery, Window<ProductStatusChangeLogResponseDTO>> byCursor) {
+        PageQuery query = pageQueryResolver.resolve(page, sortKeys, "changedAt,asc");
+        if (query.isKeyset()) {
+            return pageQueryResolver.toResponse(byCursor.apply(query), Function.identity(), query);
+        }
+        return pageQueryResolver.toResponse(byNumber.apply(query), Function.identity());
+    }
 }
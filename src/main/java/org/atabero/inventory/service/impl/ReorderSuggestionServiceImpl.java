@@ -0,0 +1,367 @@
+package org.atabero.inventory.service.impl;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.atabero.inventory.config.StockProperties;
+import org.atabero.inventory.dto.report.ReorderRunResponseDTO;
+import org.atabero.inventory.dto.report.SupplierReorderResponseDTO;
+import org.atabero.inventory.exception.report.ReorderRunInProgressException;
+import org.atabero.inventory.mapper.MapperReorderSuggestion;
+import org.atabero.inventory.model.enums.MovementType;
+import org.atabero.inventory.repository.DailyDemand;
+import org.atabero.inventory.repository.MovementDailyRollupRepository;
+import org.atabero.inventory.repository.ProductRepository;
+import org.atabero.inventory.repository.ReorderStock;
+import org.atabero.inventory.repository.ReorderSuggestionRepository;
+import org.atabero.inventory.service.ReorderSuggestionService;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Implementación de {@link ReorderSuggestionService}.
+ * <p>
+ * La demanda se lee de los acumulados diarios de ventas, no del registro de movimientos: cada producto aporta
+ * como mucho una fila por día de la ventana. Los días sin ventas cuentan como cero. Con la serie diaria se calculan
+ * la media móvil, la media exponencial y su desviación; la media exponencial es la que estima la demanda futura.
+ * </p>
+ * <p>
+ * El rango de IDs de producto se divide por la mitad hasta llegar al tamaño de bloque configurado, y los bloques se
+ * reparten en un {@link ForkJoinPool} propio. Cada bloque lee, calcula e inserta sus propuestas en su propia
+ * transacción. Las filas de la ejecución llevan su instante y, al terminar, se marcan como completas en la misma
+ * transacción que borra las de la ejecución anterior; hasta entonces las consultas siguen viendo la anterior, o
+ * nada si es la primera.
+ * </p>
+ * <p>
+ * Cada ejecución toma un bloqueo consultivo de sesión de PostgreSQL durante todo el cálculo, así que solo un nodo
+ * calcula a la vez; el resto omite la ejecución programada.
+ * </p>
+ */
+@Slf4j
+@Service
+public class ReorderSuggestionServiceImpl implements ReorderSuggestionService {
+
+    private static final String LOCK = "reorder_suggestions";
+
+    private static final String INSERT_SQL = """
+            INSERT INTO reorder_suggestions (product_id, supplier_id, generated_at, moving_average,
+                                             exponential_average, demand_deviation, available_stock,
+                                             suggested_reorder_point, suggested_quantity, completed)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, false)
+            """;
+
+    private final ReorderSuggestionRepository repository;
+    private final MovementDailyRollupRepository rollupRepository;
+    private final ProductRepository productRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final StockProperties.Reorder properties;
+    private final TransactionTemplate transactionTemplate;
+    private final ForkJoinPool pool;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    private final AtomicLong idsTotal = new AtomicLong();
+    private final AtomicLong idsProcessed = new AtomicLong();
+    private final AtomicLong productsProcessed = new AtomicLong();
+    private final AtomicLong suggestionsWritten = new AtomicLong();
+    private final AtomicInteger chunksPending = new AtomicInteger();
+    private final Timer chunkLatency;
+    private final Timer runLatency;
+
+    public ReorderSuggestionServiceImpl(ReorderSuggestionRepository repository,
+                                        MovementDailyRollupRepository rollupRepository,
+                                        ProductRepository productRepository, JdbcTemplate jdbcTemplate,
+                                        StockProperties stockProperties,
+                                        PlatformTransactionManager transactionManager,
+                                        MeterRegistry meterRegistry) {
+        this.repository = repository;
+        this.rollupRepository = rollupRepository;
+        this.productRepository = productRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.properties = stockProperties.getReorder();
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.pool = new ForkJoinPool(Math.max(1, properties.getParallelism()), forkJoinPool -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(forkJoinPool);
+            thread.setName("reorder-" + thread.getPoolIndex());
+            thread.setDaemon(true);
+            return thread;
+        }, null, false);
+
+        Gauge.builder("inventory.reorder.progress", this, ReorderSuggestionServiceImpl::progress)
+                .description("Fracción del rango de IDs de producto ya procesada en el cálculo de propuestas")
+                .register(meterRegistry);
+        Gauge.builder("inventory.reorder.products", productsProcessed, AtomicLong::get)
+                .description("Productos con ventas procesados en el último cálculo de propuestas")
+                .register(meterRegistry);
+        Gauge.builder("inventory.reorder.suggestions", suggestionsWritten, AtomicLong::get)
+                .description("Propuestas de pedido escritas en el último cálculo")
+                .register(meterRegistry);
+        Gauge.builder("inventory.reorder.chunks.pending", chunksPending, AtomicInteger::get)
+                .description("Bloques de productos pendientes en el cálculo de propuestas en curso")
+                .register(meterRegistry);
+        this.chunkLatency = Timer.builder("inventory.reorder.chunk")
+                .description("Duración del cálculo de cada bloque de productos")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        this.runLatency = Timer.builder("inventory.reorder.run")
+                .description("Duración de cada cálculo completo de propuestas de pedido")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Lanza el cálculo programado; si ya hay uno en curso en este o en otro nodo, se omite.
+     */
+    @Scheduled(cron = "${inventory.stock.reorder.cron}")
+    public void scheduledRun() {
+        try {
+            run();
+        } catch (ReorderRunInProgressException e) {
+            log.info("Cálculo programado de propuestas de pedido omitido: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public ReorderRunResponseDTO run() {
+        if (!running.compareAndSet(false, true)) {
+            throw new ReorderRunInProgressException("Ya hay un cálculo de propuestas de pedido en curso");
+        }
+        try {
+            // El bloqueo es de sesión: se mantiene en esta conexión mientras los bloques usan las suyas.
+            return jdbcTemplate.execute((ConnectionCallback<ReorderRunResponseDTO>) connection -> {
+                if (!advisoryLock(connection, "pg_try_advisory_lock")) {
+                    throw new ReorderRunInProgressException("Ya hay un cálculo de propuestas de pedido en curso en otro nodo");
+                }
+                try {
+                    return calculate();
+                } finally {
+                    advisoryLock(connection, "pg_advisory_unlock");
+                }
+            });
+        } finally {
+            chunksPending.set(0);
+            running.set(false);
+        }
+    }
+
+    @Override
+    public List<SupplierReorderResponseDTO> getLatest(Long idSupplier) {
+        return MapperReorderSuggestion.toSupplierResponses(repository.findLatest(idSupplier));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+
+    private ReorderRunResponseDTO calculate() {
+        long start = System.nanoTime();
+        LocalDateTime generatedAt = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        LocalDate to = generatedAt.toLocalDate();
+        LocalDate from = to.minusDays(Math.max(1, properties.getLookbackDays()));
+        Window window = new Window(from, to, generatedAt);
+
+        // Restos de una ejecución interrumpida, nunca visibles.
+        transactionTemplate.executeWithoutResult(status -> repository.deleteByCompletedFalse());
+
+        idsProcessed.set(0);
+        productsProcessed.set(0);
+        suggestionsWritten.set(0);
+        Object[] bounds = productRepository.findIdRange().get(0);
+        if (bounds[0] == null) {
+            idsTotal.set(0);
+            return new ReorderRunResponseDTO(generatedAt, from, to, 0, 0, 0, 0);
+        }
+        long min = ((Number) bounds[0]).longValue();
+        long max = ((Number) bounds[1]).longValue();
+        long chunkSize = Math.max(1, properties.getChunkSize());
+        int chunks = (int) ((max - min) / chunkSize + 1);
+        idsTotal.set(max - min + 1);
+        chunksPending.set(chunks);
+
+        try {
+            pool.invoke(new ChunkTask(min, max + 1, chunkSize, window));
+        } catch (RuntimeException e) {
+            transactionTemplate.executeWithoutResult(status -> repository.deleteByGeneratedAt(generatedAt));
+            throw e;
+        }
+        int replaced = transactionTemplate.execute(status -> {
+            repository.markCompleted(generatedAt);
+            return repository.deleteByGeneratedAtBefore(generatedAt);
+        });
+
+        long elapsed = System.nanoTime() - start;
+        runLatency.record(elapsed, TimeUnit.NANOSECONDS);
+        log.info("Propuestas de pedido calculadas en {} ms: {} productos con ventas, {} propuestas, {} anteriores sustituidas",
+                TimeUnit.NANOSECONDS.toMillis(elapsed), productsProcessed.get(), suggestionsWritten.get(), replaced);
+        return new ReorderRunResponseDTO(generatedAt, from, to, chunks, productsProcessed.get(),
+                suggestionsWritten.get(), TimeUnit.NANOSECONDS.toMillis(elapsed));
+    }
+
+    /**
+     * Calcula e inserta las propuestas de los productos con IDs en {@code [fromId, toId)}.
+     */
+    private void calculateChunk(long fromId, long toId, Window window) {
+        long start = System.nanoTime();
+        int days = (int) ChronoUnit.DAYS.between(window.from(), window.to());
+        Integer written = transactionTemplate.execute(status -> {
+            Map<Long, double[]> series = new LinkedHashMap<>();
+            for (DailyDemand row : rollupRepository.findDailyQuantities(fromId, toId, MovementType.SALE.name(),
+                    window.from(), window.to())) {
+                series.computeIfAbsent(row.getProductId(), id -> new double[days])
+                        [(int) ChronoUnit.DAYS.between(window.from(), row.getDay())] = row.getQuantity();
+            }
+            if (series.isEmpty()) {
+                return 0;
+            }
+            productsProcessed.addAndGet(series.size());
+
+            Map<Long, ReorderStock> stock = productRepository.findReorderStock(series.keySet()).stream()
+                    .collect(Collectors.toMap(ReorderStock::getProductId, Function.identity()));
+            List<Object[]> rows = new ArrayList<>();
+            for (Map.Entry<Long, double[]> entry : series.entrySet()) {
+                ReorderStock product = stock.get(entry.getKey());
+                if (product != null) {
+                    Object[] row = suggest(product, entry.getValue(), window.generatedAt());
+                    if (row != null) {
+                        rows.add(row);
+                    }
+                }
+            }
+            if (!rows.isEmpty()) {
+                jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+            }
+            return rows.size();
+        });
+        suggestionsWritten.addAndGet(written != null ? written : 0);
+        idsProcessed.addAndGet(toId - fromId);
+        chunkLatency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Estima la demanda diaria del producto y devuelve la fila de su propuesta, o {@code null} si su stock
+     * disponible ya alcanza el punto de pedido recomendado.
+     * <p>
+     * El punto de pedido cubre la demanda esperada durante el plazo de entrega más un stock de seguridad
+     * proporcional a la desviación de la demanda; el pedido repone hasta ese punto más la demanda del periodo de
+     * revisión.
+     * </p>
+     */
+    private Object[] suggest(ReorderStock product, double[] sales, LocalDateTime generatedAt) {
+        double alpha = Math.min(1, Math.max(0, properties.getSmoothing()));
+        double average = sales[0];
+        double variance = 0;
+        for (int i = 1; i < sales.length; i++) {
+            double diff = sales[i] - average;
+            average += alpha * diff;
+            variance = (1 - alpha) * (variance + alpha * diff * diff);
+        }
+        int window = Math.min(sales.length, Math.max(1, properties.getMovingAverageDays()));
+        double movingSum = 0;
+        for (int i = sales.length - window; i < sales.length; i++) {
+            movingSum += sales[i];
+        }
+        double deviation = Math.sqrt(variance);
+
+        int leadTime = Math.max(0, properties.getLeadTimeDays());
+        int reorderPoint = (int) Math.ceil(average * leadTime
+                + properties.getSafetyFactor() * deviation * Math.sqrt(leadTime));
+        int available = product.getStock() - product.getReservedStock();
+        if (reorderPoint <= 0 || available >= reorderPoint) {
+            return null;
+        }
+        int orderUpTo = reorderPoint + (int) Math.ceil(average * Math.max(0, properties.getReviewDays()));
+        return new Object[]{
+                product.getProductId(),
+                product.getSupplierId(),
+                Timestamp.valueOf(generatedAt),
+                movingSum / window,
+                average,
+                deviation,
+                available,
+                reorderPoint,
+                orderUpTo - available
+        };
+    }
+
+    private static boolean advisoryLock(Connection connection, String function) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("SELECT " + function + "(hashtext(?))")) {
+            statement.setString(1, LOCK);
+            try (ResultSet result = statement.executeQuery()) {
+                return result.next() && result.getBoolean(1);
+            }
+        }
+    }
+
+    private double progress() {
+        long total = idsTotal.get();
+        return total == 0 ? 0 : (double) idsProcessed.get() / total;
+    }
+
+    /**
+     * Días de ventas que se leen, {@code [from, to)}, e instante de la ejecución.
+     */
+    private record Window(LocalDate from, LocalDate to, LocalDateTime generatedAt) {
+    }
+
+    /**
+     * Rango de IDs de producto {@code [fromId, toId)} que se divide por la mitad hasta el tamaño de bloque.
+     */
+    private final class ChunkTask extends RecursiveTask<Void> {
+
+        private final long fromId;
+        private final long toId;
+        private final long chunkSize;
+        private final Window window;
+
+        private ChunkTask(long fromId, long toId, long chunkSize, Window window) {
+            this.fromId = fromId;
+            this.toId = toId;
+            this.chunkSize = chunkSize;
+            this.window = window;
+        }
+
+        @Override
+        protected Void compute() {
+            if (toId - fromId <= chunkSize) {
+                calculateChunk(fromId, toId, window);
+                chunksPending.decrementAndGet();
+                return null;
+            }
+            // Corta en un múltiplo del tamaño de bloque para que los bloques coincidan con los contados al empezar.
+            long middle = fromId + ((toId - fromId) / chunkSize / 2) * chunkSize;
+            if (middle == fromId) {
+                middle += chunkSize;
+            }
+            invokeAll(new ChunkTask(fromId, middle, chunkSize, window),
+                    new ChunkTask(middle, toId, chunkSize, window));
+            return null;
+        }
+    }
+}
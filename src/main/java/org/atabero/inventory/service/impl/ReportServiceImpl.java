@@ -0,0 +1,39 @@
+package org.atabero.inventory.service.impl;
+
+import lombok.RequiredArgsConstructor;
+import org.atabero.inventory.dto.report.CategoryMovementReportDTO;
+import org.atabero.inventory.exception.report.InvalidReportRangeException;
+import org.atabero.inventory.model.enums.MovementType;
+import org.atabero.inventory.model.enums.ReportPeriod;
+import org.atabero.inventory.repository.MovementDailyRollupRepository;
+import org.atabero.inventory.service.ReportService;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Implementación de {@link ReportService}.
+ * Los informes leen únicamente {@code movement_daily_rollups}, que tiene como mucho una fila por producto, día y tipo.
+ */
+@Service
+@RequiredArgsConstructor
+public class ReportServiceImpl implements ReportService {
+
+    private final MovementDailyRollupRepository rollupRepository;
+
+    @Override
+    public List<CategoryMovementReportDTO> getMovementsByCategory(LocalDate from, LocalDate to,
+                                                                  Set<MovementType> movementTypes, ReportPeriod period) {
+        if (!from.isBefore(to)) {
+            throw new InvalidReportRangeException("La fecha inicial debe ser anterior a la fecha final");
+        }
+        List<String> types = movementTypes.stream().map(Enum::name).toList();
+        return rollupRepository.findCategoryReport(from, to, types, period.name().toLowerCase(Locale.ROOT)).stream()
+                .map(row -> new CategoryMovementReportDTO(row.getCategoryId(), row.getCategoryName(),
+                        row.getPeriodStart(), row.getMovements(), row.getQuantity()))
+                .toList();
+    }
+}
@@ -0,0 +1,199 @@
+package org.atabero.inventory.service.impl;
+
+import lombok.RequiredArgsConstructor;
+import org.atabero.inventory.config.StockProperties;
+import org.atabero.inventory.engine.StripedStockExecutor;
+import org.atabero.inventory.exception.product.CannotShardProductWithReservationsException;
+import org.atabero.inventory.exception.product.ProductNotFoundException;
+import org.atabero.inventory.model.Product;
+import org.atabero.inventory.model.ProductStockShard;
+import org.atabero.inventory.model.enums.MovementType;
+import org.atabero.inventory.repository.ProductRepository;
+import org.atabero.inventory.repository.ProductStockShardRepository;
+import org.atabero.inventory.service.ShardedStockService;
+import org.atabero.inventory.util.StockInfo;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Implementación de {@link ShardedStockService}.
+ * <p>
+ * Las entradas y salidas actualizan un único subcontador elegido al azar entre los que no están bloqueados
+ * ({@code FOR UPDATE SKIP LOCKED}), de modo que las ventas concurrentes de un mismo producto no esperan
+ * unas por otras. Solo si ningún subcontador libre tiene stock suficiente se bloquean todos para
+ * comprobar el total. El producto no se modifica en los movimientos, así que su fila tampoco se bloquea.
+ * </p>
+ * <p>
+ * Por eso los productos fragmentados no admiten reservas: el mínimo de {@code reservedStock} solo puede garantizarse
+ * comparándolo con el total, y eso obligaría a serializar las salidas. Solo se fragmenta un producto sin stock
+ * reservado, y las reservas rechazan los productos fragmentados.
+ * </p>
+ * <p>
+ * Por la misma razón, las cantidades anterior y nueva de cada movimiento son aproximadas: se calculan a partir del
+ * total que ve la transacción justo después de su actualización, que no incluye los movimientos concurrentes aún sin
+ * confirmar. El stock de cada subcontador sí es exacto.
+ * </p>
+ */
+@Service
+@RequiredArgsConstructor
+public class ShardedStockServiceImpl implements ShardedStockService {
+
+    private final ProductRepository productRepository;
+    private final ProductStockShardRepository shardRepository;
+    private final StockProperties stockProperties;
+    private final StripedStockExecutor stripedStockExecutor;
+    private final TransactionTemplate transactionTemplate;
+
+    @Override
+    public Product enable(Long productId, Integer shards) {
+        StockProperties.Sharding sharding = stockProperties.getSharding();
+        int count = Math.max(1, Math.min(shards != null ? shards : sharding.getDefaultShards(), sharding.getMaxShards()));
+        return stripedStockExecutor.execute(productId, () -> transactionTemplate.execute(status -> {
+            Product product = lockProduct(productId);
+            if (product.getReservedStock() > 0) {
+                throw new CannotShardProductWithReservationsException("No se puede fragmentar el stock del producto "
+                        + productId + " porque tiene " + product.getReservedStock() + " unidades reservadas");
+            }
+            int total = foldShards(product);
+
+            List<ProductStockShard> created = new ArrayList<>(count);
+            for (int shard = 0; shard < count; shard++) {
+                created.add(ProductStockShard.builder()
+                        .productId(productId)
+                        .shard(shard)
+                        .stock(total / count + (shard < total % count ? 1 : 0))
+                        .build());
+            }
+            shardRepository.saveAll(created);
+
+            product.setCurrentStock(0);
+            product.setShardedStock(total);
+            product.setStockSharded(true);
+            productRepository.save(product);
+            return product;
+        }));
+    }
+
+    @Override
+    public Product disable(Long productId) {
+        return stripedStockExecutor.execute(productId, () -> transactionTemplate.execute(status -> {
+            Product product = lockProduct(productId);
+            int total = foldShards(product);
+
+            product.setCurrentStock(total);
+            product.setShardedStock(0);
+            product.setStockSharded(false);
+            productRepository.save(product);
+            return product;
+        }));
+    }
+
+    @Override
+    public Optional<StockInfo> apply(Product product, MovementType type, int amount) {
+        Long productId = product.getId();
+        int updated = type.isEntry()
+                ? shardRepository.incrementAnyShard(productId, amount)
+                : shardRepository.decrementAnyShard(productId, amount);
+
+        if (updated == 0 && !applyAcrossShards(productId, type, amount)) {
+            return Optional.empty();
+        }
+
+        // Aproximado: el total no incluye los movimientos concurrentes sobre otros subcontadores aún sin confirmar.
+        int newQuantity = shardRepository.sumStockByProductId(productId);
+        int previousQuantity = type.isEntry() ? newQuantity - amount : newQuantity + amount;
+        return Optional.of(new StockInfo(previousQuantity, newQuantity));
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${inventory.stock.sharding.rebalance-interval}",
+            initialDelayString = "${inventory.stock.sharding.rebalance-interval}")
+    public void rebalance() {
+        for (Long productId : productRepository.findIdsByStockShardedTrue()) {
+            transactionTemplate.executeWithoutResult(status -> rebalance(productId));
+        }
+    }
+
+    /**
+     * Aplica el movimiento bloqueando todos los subcontadores: las entradas van al primero y las salidas
+     * se reparten entre varios si ninguno tiene stock suficiente por sí solo.
+     *
+     * @return false si el stock total no es suficiente.
+     */
+    private boolean applyAcrossShards(Long productId, MovementType type, int amount) {
+        List<ProductStockShard> shards = shardRepository.findAllByProductIdForUpdate(productId);
+        if (shards.isEmpty()) {
+            // El modo fragmentado se desactivó después de cargar el producto: se reintenta desde el principio.
+            throw new OptimisticLockingFailureException(
+                    "El producto con ID " + productId + " dejó de tener el stock fragmentado");
+        }
+        if (type.isEntry()) {
+            ProductStockShard first = shards.get(0);
+            first.setStock(first.getStock() + amount);
+            return true;
+        }
+
+        int total = shards.stream().mapToInt(ProductStockShard::getStock).sum();
+        if (total < amount) {
+            return false;
+        }
+        int remaining = amount;
+        for (ProductStockShard shard : shards) {
+            int taken = Math.min(shard.getStock(), remaining);
+            shard.setStock(shard.getStock() - taken);
+            remaining -= taken;
+            if (remaining == 0) {
+                break;
+            }
+        }
+        shardRepository.flush();
+        return true;
+    }
+
+    private void rebalance(Long productId) {
+        List<ProductStockShard> shards = shardRepository.findUnlockedByProductId(productId);
+        if (shards.size() < 2) {
+            return;
+        }
+        int min = shards.stream().mapToInt(ProductStockShard::getStock).min().orElse(0);
+        int max = shards.stream().mapToInt(ProductStockShard::getStock).max().orElse(0);
+        if (max - min <= 1) {
+            return;
+        }
+        int total = shards.stream().mapToInt(ProductStockShard::getStock).sum();
+        int count = shards.size();
+        for (int i = 0; i < count; i++) {
+            shards.get(i).setStock(total / count + (i < total % count ? 1 : 0));
+        }
+    }
+
+    private Product lockProduct(Long productId) {
+        List<Product> products = productRepository.findAllByIdInForUpdate(List.of(productId));
+        if (products.isEmpty()) {
+            throw new ProductNotFoundException(productId);
+        }
+        return products.get(0);
+    }
+
+    /**
+     * Suma el stock de los subcontadores del producto a {@code currentStock} y los elimina.
+     *
+     * @return el stock total del producto.
+     */
+    private int foldShards(Product product) {
+        int total = product.getCurrentStock();
+        if (product.isStockSharded()) {
+            total += shardRepository.findAllByProductIdForUpdate(product.getId()).stream()
+                    .mapToInt(ProductStockShard::getStock)
+                    .sum();
+            shardRepository.deleteByProductId(product.getId());
+        }
+        return total;
+    }
+}
@@ -0,0 +1,543 @@
+package org.atabero.inventory.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.atabero.inventory.config.StockProperties;
+import org.atabero.inventory.dto.stockimport.StockImportErrorDTO;
+import org.atabero.inventory.dto.stockimport.StockImportJobResponseDTO;
+import org.atabero.inventory.dto.stockmovement.BatchStockMovementItemDTO;
+import org.atabero.inventory.dto.stockmovement.BatchStockMovementItemResultDTO;
+import org.atabero.inventory.dto.stockmovement.BatchStockMovementRequestDTO;
+import org.atabero.inventory.dto.stockmovement.BatchStockMovementResponseDTO;
+import org.atabero.inventory.exception.stockimport.InvalidStockImportException;
+import org.atabero.inventory.exception.stockimport.StockImportNotFoundException;
+import org.atabero.inventory.exception.stockimport.StockImportNotResumableException;
+import org.atabero.inventory.mapper.MapperStockImportJob;
+import org.atabero.inventory.model.StockImportJob;
+import org.atabero.inventory.model.enums.BatchCommitMode;
+import org.atabero.inventory.model.enums.ImportFormat;
+import org.atabero.inventory.model.enums.ImportJobStatus;
+import org.atabero.inventory.model.enums.MovementType;
+import org.atabero.inventory.model.enums.OperationStatus;
+import org.atabero.inventory.repository.StockImportJobRepository;
+import org.atabero.inventory.service.StockImportService;
+import org.atabero.inventory.service.StockMovementService;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Implementación de {@link StockImportService}.
+ * <p>
+ * El fichero se lee línea a línea desde disco sin cargarlo en memoria. Cada bloque de {@code chunk-size} líneas
+ * se aplica con {@link StockMovementService#createBatch} en modo {@code PER_ITEM}, con las mismas validaciones que
+ * un lote, y en la misma transacción se guarda la posición del fichero alcanzada y el tamaño del informe de
+ * errores. Al reanudar, tras un reinicio o un fallo, se salta hasta esa posición y se recorta el informe, así que
+ * ningún movimiento se aplica dos veces ni se pierde.
+ * </p>
+ * <p>
+ * Cada importación queda asignada al nodo que la recibe, que es el que tiene el fichero, y al arrancar cada nodo
+ * reanuda solo las suyas; así dos nodos no procesan el mismo fichero a la vez.
+ * </p>
+ */
+@Slf4j
+@Service
+public class StockImportServiceImpl implements StockImportService {
+
+    private static final Set<ImportJobStatus> unfinishedStatuses = EnumSet.of(ImportJobStatus.PENDING, ImportJobStatus.RUNNING);
+
+    private static final List<String> requiredCsvColumns = List.of("movementtype", "idproduct", "amount");
+
+    private static final int MAX_MESSAGE_LENGTH = 1000;
+
+    private final StockImportJobRepository repository;
+    private final StockMovementService stockMovementService;
+    private final StockProperties.Imports properties;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+    private final ExecutorService workers;
+    private final String node;
+
+    public StockImportServiceImpl(StockImportJobRepository repository, StockMovementService stockMovementService,
+                                  StockProperties stockProperties, ObjectMapper objectMapper, Validator validator,
+                                  TransactionTemplate transactionTemplate) {
+        this.repository = repository;
+        this.stockMovementService = stockMovementService;
+        this.properties = stockProperties.getImports();
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.transactionTemplate = transactionTemplate;
+        this.node = properties.getNode() != null && !properties.getNode().isBlank()
+                ? properties.getNode() : localHostName();
+        AtomicInteger threads = new AtomicInteger();
+        this.workers = Executors.newFixedThreadPool(Math.max(1, properties.getWorkers()), task -> {
+            Thread thread = new Thread(task, "stock-import-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    public StockImportJobResponseDTO start(MultipartFile file) {
+        String fileName = file.getOriginalFilename() != null && !file.getOriginalFilename().isBlank()
+                ? file.getOriginalFilename() : "import";
+        ImportFormat format = resolveFormat(fileName);
+        if (file.isEmpty()) {
+            throw new InvalidStockImportException("El fichero " + fileName + " está vacío");
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        StockImportJob job = repository.save(StockImportJob.builder()
+                .fileName(fileName)
+                .format(format)
+                .status(ImportJobStatus.PENDING)
+                .node(node)
+                .sizeBytes(file.getSize())
+                .createdAt(now)
+                .updatedAt(now)
+                .build());
+        try {
+            Files.createDirectories(properties.getDirectory());
+            file.transferTo(sourceOf(job));
+        } catch (IOException e) {
+            repository.delete(job);
+            throw new UncheckedIOException("No se pudo guardar el fichero " + fileName, e);
+        }
+
+        submit(job.getId());
+        return MapperStockImportJob.toResponse(job);
+    }
+
+    @Override
+    public StockImportJobResponseDTO findById(UUID id) {
+        return MapperStockImportJob.toResponse(findJob(id));
+    }
+
+    @Override
+    public StockImportJobResponseDTO resume(UUID id) {
+        StockImportJob job = findJob(id);
+        if (job.getStatus() != ImportJobStatus.FAILED) {
+            throw new StockImportNotResumableException(
+                    "Solo se pueden reanudar importaciones fallidas; la importación " + id + " está en estado " + job.getStatus());
+        }
+        // La reanuda este nodo, que debe tener acceso al fichero.
+        job.setNode(node);
+        job.setStatus(ImportJobStatus.PENDING);
+        job.setMessage(null);
+        job.setFinishedAt(null);
+        job.setUpdatedAt(LocalDateTime.now());
+        job = repository.save(job);
+        submit(id);
+        return MapperStockImportJob.toResponse(job);
+    }
+
+    @Override
+    public Resource getErrorReport(UUID id) {
+        Path report = reportOf(findJob(id));
+        return Files.exists(report) ? new FileSystemResource(report) : new ByteArrayResource(new byte[0]);
+    }
+
+    /**
+     * Vuelve a encolar las importaciones de este nodo que quedaron pendientes o a medias al detenerse la aplicación.
+     * Las registradas antes de asignar nodos se las queda el primer nodo que arranca.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeUnfinished() {
+        transactionTemplate.executeWithoutResult(status -> repository.claimUnowned(unfinishedStatuses, node));
+        List<StockImportJob> jobs = repository.findByStatusInAndNode(unfinishedStatuses, node);
+        if (!jobs.isEmpty()) {
+            log.info("Se reanudan {} importaciones de stock sin terminar", jobs.size());
+        }
+        jobs.forEach(job -> submit(job.getId()));
+    }
+
+    /**
+     * Detiene los procesadores. Las importaciones en curso se quedan en {@code RUNNING} y se reanudan al arrancar.
+     */
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdownNow();
+    }
+
+    private static String localHostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            throw new IllegalStateException(
+                    "No se pudo obtener el nombre de la máquina; configure inventory.stock.imports.node", e);
+        }
+    }
+
+    private void submit(UUID id) {
+        workers.execute(() -> run(id));
+    }
+
+    private void run(UUID id) {
+        StockImportJob job = repository.findById(id).orElse(null);
+        if (job == null || !unfinishedStatuses.contains(job.getStatus())) {
+            return;
+        }
+        job.setStatus(ImportJobStatus.RUNNING);
+        job.setUpdatedAt(LocalDateTime.now());
+        job = repository.save(job);
+
+        try {
+            if (process(job)) {
+                LocalDateTime now = LocalDateTime.now();
+                job.setStatus(ImportJobStatus.COMPLETED);
+                job.setUpdatedAt(now);
+                job.setFinishedAt(now);
+                repository.save(job);
+                log.info("Importación {} terminada: {} movimientos aplicados, {} líneas rechazadas",
+                        id, job.getSucceeded(), job.getFailed());
+            }
+        } catch (IOException | RuntimeException e) {
+            log.error("La importación {} se detuvo tras la línea {}", id, job.getProcessedLines(), e);
+            // El objeto en memoria puede incluir un bloque no confirmado: se parte del estado guardado.
+            repository.findById(id).ifPresent(stored -> {
+                LocalDateTime now = LocalDateTime.now();
+                String message = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+                stored.setStatus(ImportJobStatus.FAILED);
+                stored.setMessage(message.length() > MAX_MESSAGE_LENGTH ? message.substring(0, MAX_MESSAGE_LENGTH) : message);
+                stored.setUpdatedAt(now);
+                stored.setFinishedAt(now);
+                repository.save(stored);
+            });
+        }
+    }
+
+    /**
+     * Procesa el fichero desde el último bloque confirmado.
+     *
+     * @return true si se llegó al final del fichero, false si se interrumpió.
+     */
+    private boolean process(StockImportJob job) throws IOException {
+        int chunkSize = Math.max(1, properties.getChunkSize());
+        try (LineReader reader = new LineReader(Files.newInputStream(sourceOf(job)));
+             FileChannel report = FileChannel.open(reportOf(job), StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            // Se descartan los errores escritos por un bloque que no llegó a confirmarse.
+            report.truncate(job.getErrorReportBytes());
+            report.position(job.getErrorReportBytes());
+
+            Map<String, Integer> columns = null;
+            if (job.getFormat() == ImportFormat.CSV) {
+                String header = reader.readLine();
+                if (header == null) {
+                    return true;
+                }
+                columns = parseCsvHeader(header);
+            }
+            long linesRead = reader.getLinesRead();
+            if (job.getCommittedOffset() > reader.getOffset()) {
+                reader.skip(job.getCommittedOffset() - reader.getOffset());
+                linesRead = job.getProcessedLines();
+            }
+
+            List<BatchStockMovementItemDTO> items = new ArrayList<>(chunkSize);
+            List<Long> itemLines = new ArrayList<>(chunkSize);
+            List<StockImportErrorDTO> errors = new ArrayList<>();
+            while (!Thread.currentThread().isInterrupted()) {
+                int read = 0;
+                String line;
+                while (read < chunkSize && (line = reader.readLine()) != null) {
+                    read++;
+                    linesRead++;
+                    if (line.isBlank()) {
+                        continue;
+                    }
+                    parseLine(line, linesRead, job.getFormat(), columns, items, itemLines, errors);
+                }
+                if (read == 0) {
+                    return true;
+                }
+                commitChunk(job, items, itemLines, errors, reader.getOffset(), linesRead, report);
+                items.clear();
+                itemLines.clear();
+                errors.clear();
+            }
+            return false;
+        }
+    }
+
+    private void parseLine(String line, long lineNumber, ImportFormat format, Map<String, Integer> columns,
+                           List<BatchStockMovementItemDTO> items, List<Long> itemLines, List<StockImportErrorDTO> errors) {
+        BatchStockMovementItemDTO item;
+        try {
+            item = format == ImportFormat.CSV
+                    ? parseCsvLine(line, columns)
+                    : objectMapper.readValue(line, BatchStockMovementItemDTO.class);
+        } catch (JsonProcessingException e) {
+            errors.add(new StockImportErrorDTO(lineNumber, null, null,
+                    "La línea no es un movimiento de stock válido: " + e.getOriginalMessage()));
+            return;
+        } catch (IllegalArgumentException e) {
+            errors.add(new StockImportErrorDTO(lineNumber, null, null, e.getMessage()));
+            return;
+        }
+
+        Set<ConstraintViolation<BatchStockMovementItemDTO>> violations = validator.validate(item);
+        if (!violations.isEmpty()) {
+            errors.add(new StockImportErrorDTO(lineNumber, item.getIdProduct(), item.getMovementType(),
+                    violations.stream().map(ConstraintViolation::getMessage).sorted().collect(Collectors.joining("; "))));
+            return;
+        }
+        items.add(item);
+        itemLines.add(lineNumber);
+    }
+
+    /**
+     * Aplica los movimientos del bloque y guarda el progreso y el informe de errores en la misma transacción.
+     */
+    private void commitChunk(StockImportJob job, List<BatchStockMovementItemDTO> items, List<Long> itemLines,
+                             List<StockImportErrorDTO> errors, long offset, long linesRead, FileChannel report) {
+        transactionTemplate.executeWithoutResult(status -> {
+            long succeeded = 0;
+            if (!items.isEmpty()) {
+                BatchStockMovementResponseDTO response = stockMovementService.createBatch(
+                        BatchStockMovementRequestDTO.builder().mode(BatchCommitMode.PER_ITEM).items(List.copyOf(items)).build(),
+                        null);
+                succeeded = response.succeeded();
+                for (BatchStockMovementItemResultDTO result : response.results()) {
+                    if (result.operationStatus() == OperationStatus.ERROR) {
+                        errors.add(new StockImportErrorDTO(itemLines.get(result.index()), result.idProduct(),
+                                result.movementType(), result.message()));
+                    }
+                }
+            }
+            errors.sort(Comparator.comparingLong(StockImportErrorDTO::line));
+
+            job.setCommittedOffset(offset);
+            job.setProcessedLines(linesRead);
+            job.setSucceeded(job.getSucceeded() + succeeded);
+            job.setFailed(job.getFailed() + errors.size());
+            job.setErrorReportBytes(writeErrors(errors, report));
+            job.setUpdatedAt(LocalDateTime.now());
+            repository.save(job);
+        });
+    }
+
+    private long writeErrors(List<StockImportErrorDTO> errors, FileChannel report) {
+        try {
+            if (!errors.isEmpty()) {
+                ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+                for (StockImportErrorDTO error : errors) {
+                    buffer.write(objectMapper.writeValueAsBytes(error));
+                    buffer.write('\n');
+                }
+                ByteBuffer bytes = ByteBuffer.wrap(buffer.toByteArray());
+                while (bytes.hasRemaining()) {
+                    report.write(bytes);
+                }
+            }
+            return report.position();
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo escribir el informe de errores", e);
+        }
+    }
+
+    private Map<String, Integer> parseCsvHeader(String header) {
+        List<String> names = splitCsv(header);
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < names.size(); i++) {
+            columns.put(names.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        if (!columns.keySet().containsAll(requiredCsvColumns)) {
+            throw new InvalidStockImportException(
+                    "La cabecera CSV debe incluir las columnas movementType, idProduct y amount");
+        }
+        return columns;
+    }
+
+    private BatchStockMovementItemDTO parseCsvLine(String line, Map<String, Integer> columns) {
+        List<String> values = splitCsv(line);
+        String movementType = column(values, columns, "movementtype");
+        String idProduct = column(values, columns, "idproduct");
+        String amount = column(values, columns, "amount");
+        try {
+            return BatchStockMovementItemDTO.builder()
+                    .movementType(movementType != null ? MovementType.valueOf(movementType.toUpperCase(Locale.ROOT)) : null)
+                    .idProduct(idProduct != null ? Long.valueOf(idProduct) : null)
+                    .amount(amount != null ? Integer.valueOf(amount) : null)
+                    .notes(column(values, columns, "notes"))
+                    .build();
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("La línea no es un movimiento de stock válido: movementType = "
+                    + movementType + ", idProduct = " + idProduct + ", amount = " + amount);
+        }
+    }
+
+    private static String column(List<String> values, Map<String, Integer> columns, String name) {
+        Integer index = columns.get(name);
+        if (index == null || index >= values.size()) {
+            return null;
+        }
+        String value = values.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    /**
+     * Separa una línea CSV en campos, admitiendo campos entre comillas dobles con comas y comillas escapadas.
+     */
+    private static List<String> splitCsv(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private static ImportFormat resolveFormat(String fileName) {
+        String name = fileName.toLowerCase(Locale.ROOT);
+        if (name.endsWith(".csv")) {
+            return ImportFormat.CSV;
+        }
+        if (name.endsWith(".ndjson") || name.endsWith(".jsonl")) {
+            return ImportFormat.NDJSON;
+        }
+        throw new InvalidStockImportException(
+                "Formato no admitido para " + fileName + ": use un fichero .csv, .ndjson o .jsonl");
+    }
+
+    private StockImportJob findJob(UUID id) {
+        return repository.findById(id).orElseThrow(() -> new StockImportNotFoundException(id));
+    }
+
+    private Path sourceOf(StockImportJob job) {
+        String extension = job.getFormat() == ImportFormat.CSV ? ".csv" : ".ndjson";
+        return properties.getDirectory().toAbsolutePath().resolve(job.getId() + extension);
+    }
+
+    private Path reportOf(StockImportJob job) {
+        return properties.getDirectory().toAbsolutePath().resolve(job.getId() + ".errors.ndjson");
+    }
+
+    /**
+     * Lector de líneas UTF-8 que lleva la cuenta de la posición en bytes, para poder reanudar en ella.
+     */
+    private static final class LineReader implements Closeable {
+
+        private final InputStream input;
+        private final byte[] buffer = new byte[64 * 1024];
+        private final ByteArrayOutputStream line = new ByteArrayOutputStream(256);
+        private int position;
+        private int limit;
+        private long offset;
+        private long linesRead;
+
+        private LineReader(InputStream input) {
+            this.input = input;
+        }
+
+        private String readLine() throws IOException {
+            line.reset();
+            boolean found = false;
+            while (!found) {
+                if (position == limit) {
+                    limit = input.read(buffer);
+                    position = 0;
+                    if (limit <= 0) {
+                        limit = 0;
+                        break;
+                    }
+                }
+                int start = position;
+                while (position < limit && buffer[position] != '\n') {
+                    position++;
+                }
+                line.write(buffer, start, position - start);
+                if (position < limit) {
+                    found = true;
+                    position++;
+                }
+            }
+            if (!found && line.size() == 0) {
+                return null;
+            }
+            String text = line.toString(StandardCharsets.UTF_8);
+            if (offset == 0 && text.startsWith("\uFEFF")) {
+                text = text.substring(1);
+            }
+            offset += line.size() + (found ? 1 : 0);
+            linesRead++;
+            return text.endsWith("\r") ? text.substring(0, text.length() - 1) : text;
+        }
+
+        private void skip(long bytes) throws IOException {
+            int buffered = (int) Math.min(bytes, limit - position);
+            position += buffered;
+            input.skipNBytes(bytes - buffered);
+            offset += bytes;
+        }
+
+        private long getOffset() {
+            return offset;
+        }
+
+        private long getLinesRead() {
+            return linesRead;
+        }
+
+        @Override
+        public void close() throws IOException {
+            input.close();
+        }
+    }
+}
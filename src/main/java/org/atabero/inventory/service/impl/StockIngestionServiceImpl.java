@@ -0,0 +1,112 @@
+package org.atabero.inventory.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import org.atabero.inventory.config.StockProperties;
+import org.atabero.inventory.dto.stockmovement.BatchStockMovementItemDTO;
+import org.atabero.inventory.dto.stockmovement.BatchStockMovementItemResultDTO;
+import org.atabero.inventory.dto.stockmovement.BatchStockMovementRequestDTO;
+import org.atabero.inventory.dto.stockmovement.BatchStockMovementResponseDTO;
+import org.atabero.inventory.model.enums.BatchCommitMode;
+import org.atabero.inventory.model.enums.OperationStatus;
+import org.atabero.inventory.service.StockIngestionService;
+import org.atabero.inventory.service.StockMovementService;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Implementación de {@link StockIngestionService}.
+ * <p>
+ * Cada bloque se aplica con {@link StockMovementService#createBatch} en modo {@code PER_ITEM}, así que el
+ * flujo comparte con los lotes la carga de productos, las validaciones y el registro de errores. Un bloque se
+ * cierra al llegar a {@code chunk-size} movimientos o cuando no quedan más datos disponibles sin bloquear.
+ * Las líneas que no se pueden leer o no superan la validación se informan como error sin detener el flujo.
+ * </p>
+ */
+@Service
+@RequiredArgsConstructor
+public class StockIngestionServiceImpl implements StockIngestionService {
+
+    private static final byte[] NEW_LINE = {'\n'};
+
+    private final StockMovementService stockMovementService;
+    private final StockProperties stockProperties;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+
+    @Override
+    public void ingest(InputStream input, OutputStream output) throws IOException {
+        int chunkSize = Math.max(1, stockProperties.getIngestion().getChunkSize());
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        List<BatchStockMovementItemDTO> chunk = new ArrayList<>(chunkSize);
+        int index = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (line.isBlank()) {
+                continue;
+            }
+            BatchStockMovementItemResultDTO rejected = null;
+            try {
+                BatchStockMovementItemDTO item = objectMapper.readValue(line, BatchStockMovementItemDTO.class);
+                Set<ConstraintViolation<BatchStockMovementItemDTO>> violations = validator.validate(item);
+                if (violations.isEmpty()) {
+                    chunk.add(item);
+                } else {
+                    rejected = new BatchStockMovementItemResultDTO(index, item.getIdProduct(), item.getMovementType(),
+                            OperationStatus.ERROR, violations.stream()
+                            .map(ConstraintViolation::getMessage)
+                            .sorted()
+                            .collect(Collectors.joining("; ")), null);
+                }
+            } catch (JsonProcessingException e) {
+                rejected = new BatchStockMovementItemResultDTO(index, null, null, OperationStatus.ERROR,
+                        "La línea no es un movimiento de stock válido: " + e.getOriginalMessage(), null);
+            }
+            index++;
+
+            if (rejected != null) {
+                // Los resultados se escriben en el orden de entrada: primero se aplica lo acumulado.
+                applyChunk(chunk, index - 1 - chunk.size(), output);
+                write(rejected, output);
+                output.flush();
+            } else if (chunk.size() >= chunkSize || !reader.ready()) {
+                applyChunk(chunk, index - chunk.size(), output);
+                output.flush();
+            }
+        }
+        applyChunk(chunk, index - chunk.size(), output);
+        output.flush();
+    }
+
+    private void applyChunk(List<BatchStockMovementItemDTO> chunk, int firstIndex, OutputStream output) throws IOException {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        BatchStockMovementResponseDTO response = stockMovementService.createBatch(
+                BatchStockMovementRequestDTO.builder().mode(BatchCommitMode.PER_ITEM).items(List.copyOf(chunk)).build(),
+                null);
+        for (BatchStockMovementItemResultDTO result : response.results()) {
+            write(new BatchStockMovementItemResultDTO(firstIndex + result.index(), result.idProduct(),
+                    result.movementType(), result.operationStatus(), result.message(), result.movement()), output);
+        }
+        chunk.clear();
+    }
+
+    private void write(BatchStockMovementItemResultDTO result, OutputStream output) throws IOException {
+        output.write(objectMapper.writeValueAsBytes(result));
+        output.write(NEW_LINE);
+    }
+}
@@ -1,27 +1,65 @@
 package org.atabero.inventory.service.impl;
 
 import lombok.RequiredArgsConstructor;
+import org.atabero.inventory.config.StockProperties;
+import org.atabero.inventory.dto.page.PageQueryDTO;
+import org.atabero.inventory.dto.page.PageResponseDTO;
+import org.atabero.inventory.dto.stockmovement.BatchStockMovementItemDTO;
+import org.atabero.inventory.dto.stockmovement.BatchStockMovementItemResultDTO;
+import org.atabero.inventory.dto.stockmovement.BatchStockMovementRequestDTO;
+import org.atabero.inventory.dto.stockmovement.BatchStockMovementResponseDTO;
 import org.atabero.inventory.dto.stockmovement.CreateStockMovementDTO;
+import org.atabero.inventory.dto.stockmovement.StockMovementFilterDTO;
 import org.atabero.inventory.dto.stockmovement.StockMovementResponseDTO;
+import org.atabero.inventory.dto.stockmovement.StockRuleResponseDTO;
+import org.atabero.inventory.dto.stockmovement.StockRuleTableResponseDTO;
+import org.atabero.inventory.engine.GroupCommitExecutor;
+import org.atabero.inventory.engine.OptimisticRetryExecutor;
+import org.atabero.inventory.engine.StockAuditRecord;
+import org.atabero.inventory.engine.StockChangedEvent;
+import org.atabero.inventory.engine.StockMovementAuditWriter;
+import org.atabero.inventory.engine.StockMovementRules;
+import org.atabero.inventory.engine.StripedStockExecutor;
+import org.atabero.inventory.exception.pagination.InvalidPageRequestException;
 import org.atabero.inventory.exception.product.ProductNotFoundException;
 import org.atabero.inventory.exception.stockmovemen.InsufficientStockException;
+import org.atabero.inventory.exception.stockmovemen.InvalidStockMovementQueryException;
+import org.atabero.inventory.exception.stockmovemen.StockExitNotAllowedException;
 import org.atabero.inventory.exception.stockmovemen.StockReplenishmentNotAllowedException;
 import org.atabero.inventory.exception.supplier.InactiveSupplierException;
 import org.atabero.inventory.mapper.MapperStockMovement;
 import org.atabero.inventory.model.Product;
 import org.atabero.inventory.model.StockMovement;
+import org.atabero.inventory.model.enums.BatchCommitMode;
 import org.atabero.inventory.model.enums.MovementType;
 import org.atabero.inventory.model.enums.OperationStatus;
+import org.atabero.inventory.model.enums.ProductStatus;
+import org.atabero.inventory.model.enums.StockRuleOutcome;
 import org.atabero.inventory.model.enums.SupplierStatus;
+import org.atabero.inventory.model.id.UuidV7Generator;
+import org.atabero.inventory.repository.AtomicStockChange;
 import org.atabero.inventory.repository.StockMovementRepository;
+import org.atabero.inventory.service.IdempotencyService;
 import org.atabero.inventory.service.ProductService;
+import org.atabero.inventory.service.ShardedStockService;
 import org.atabero.inventory.service.StockMovementService;
+import org.atabero.inventory.util.MovementCursor;
+import org.atabero.inventory.util.PageQueryResolver;
 import org.atabero.inventory.util.StockInfo;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.EnumMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -29,9 +67,21 @@ public class StockMovementServiceImpl implements StockMovementService {
 
     private final StockMovementRepository repository;
     private final ProductService productService;
+    private final StockProperties stockProperties;
+    private final StripedStockExecutor stripedStockExecutor;
+    private final GroupCommitExecutor groupCommitExecutor;
+    private final OptimisticRetryExecutor optimisticRetryExecutor;
+    private final StockMovementAuditWriter auditWriter;
+    private final IdempotencyService idempotencyService;
+    private final ShardedStockService shardedStockService;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final StockMovementRules stockMovementRules;
+    private final PageQueryResolver pageQueryResolver;
 
     private static final Map<MovementType, String> movementMessages = new EnumMap<>(MovementType.class);
 
+
     static {
         movementMessages.put(MovementType.PURCHASE, "Se procesó el stock de la compra");
         movementMessages.put(MovementType.RETURN, "Se procesó la devolución");
@@ -45,23 +95,216 @@ public class StockMovementServiceImpl implements StockMovementService {
     }
 
     @Override
-    @Transactional
-    public StockMovementResponseDTO create(MovementType movementType, CreateStockMovementDTO dto) {
-        Product product;
-        try {
-            product = productService.getByIdFull(dto.getIdProduct());
-        } catch (ProductNotFoundException e) {
-            StockMovement errorMovement = buildStockMovement(null, dto, movementType, OperationStatus.ERROR, e.getMessage(), null, null);
-            saveStockMovement(errorMovement);
-            throw new ProductNotFoundException("No se encontró el producto con ID " + dto.getIdProduct());
+    public StockMovementResponseDTO create(MovementType movementType, CreateStockMovementDTO dto, String idempotencyKey) {
+        return idempotencyService.execute(idempotencyKey, List.of(movementType, dto), StockMovementResponseDTO.class,
+                registration -> optimisticRetryExecutor.execute(() -> {
+                    if (groupCommitExecutor.isEnabled()) {
+                        // Cada carril serializa los movimientos de sus productos, pero fuera de su franja: los cambios
+                        // de estado y las reservas del mismo producto solo se ordenan con ellos por el bloqueo de fila.
+                        return groupCommitExecutor.execute(dto.getIdProduct(),
+                                () -> applyRegistered(registration, movementType, dto));
+                    }
+                    return stripedStockExecutor.execute(dto.getIdProduct(),
+                            () -> transactionTemplate.execute(status -> applyRegistered(registration, movementType, dto)));
+                }));
+    }
+
+    /**
+     * Reserva la clave de idempotencia antes de tocar el producto, aplica el movimiento y guarda la respuesta.
+     */
+    private StockMovementResponseDTO applyRegistered(
+            IdempotencyService.Registration<StockMovementResponseDTO> registration,
+            MovementType movementType, CreateStockMovementDTO dto) {
+        registration.claim();
+        return registration.complete(applyMovement(movementType, dto));
+    }
+
+    private StockMovementResponseDTO applyMovement(MovementType movementType, CreateStockMovementDTO dto) {
+        if (stockProperties.getApplyMode() == StockProperties.ApplyMode.ATOMIC) {
+            return applyAtomically(dto, movementType);
         }
 
+        Product product = loadProduct(dto, movementType);
         validateStockMovementPreconditions(product, dto, movementType);
 
         return processSuccessfulStockMovement(dto, product, movementType);
     }
 
+    @Override
+    public BatchStockMovementResponseDTO createBatch(BatchStockMovementRequestDTO dto, String idempotencyKey) {
+        return idempotencyService.execute(idempotencyKey, dto, BatchStockMovementResponseDTO.class,
+                registration -> transactionTemplate.execute(status -> {
+                    registration.claim();
+                    BatchStockMovementResponseDTO response = applyBatch(dto, status);
+                    return response.applied() ? registration.complete(response) : response;
+                }));
+    }
+
+    @Override
+    public PageResponseDTO<StockMovementResponseDTO> findMovements(StockMovementFilterDTO filter, PageQueryDTO page) {
+        int size = pageQueryResolver.resolveSize(page);
+        if (page.getPage() != null || page.getSort() != null) {
+            throw new InvalidPageRequestException(
+                    "El historial de movimientos solo se recorre por cursor, del más reciente al más antiguo");
+        }
+        if (filter.getFrom() != null && filter.getTo() != null && !filter.getFrom().isBefore(filter.getTo())) {
+            throw new InvalidStockMovementQueryException("La fecha inicial debe ser anterior a la fecha final");
+        }
+
+        MovementCursor after = page.getCursor() != null && !page.getCursor().isBlank()
+                ? MovementCursor.decode(page.getCursor()) : null;
+
+        // Se pide un movimiento de más para saber si hay página siguiente sin contar el total.
+        List<StockMovement> movements = repository.findPage(filter.getIdProduct(), filter.getMovementType(),
+                filter.getOperationStatus(), filter.getFrom(), filter.getTo(),
+                after != null ? after.timestamp() : null, after != null ? after.id() : null, size + 1);
+        boolean hasMore = movements.size() > size;
+        List<StockMovement> items = hasMore ? movements.subList(0, size) : movements;
+
+        String nextCursor = null;
+        if (hasMore) {
+            StockMovement last = items.get(items.size() - 1);
+            nextCursor = new MovementCursor(last.getTimestamp(), last.getId()).encode();
+        }
+        return new PageResponseDTO<>(items.stream().map(MapperStockMovement::toResponse).toList(), items.size(),
+                null, null, null, nextCursor);
+    }
+
+    @Override
+    public StockRuleTableResponseDTO getRules() {
+        List<StockRuleResponseDTO> rules = new ArrayList<>();
+        for (MovementType type : MovementType.values()) {
+            for (ProductStatus productStatus : ProductStatus.values()) {
+                for (SupplierStatus supplierStatus : SupplierStatus.values()) {
+                    rules.add(MapperStockMovement.toRuleResponse(type, productStatus, supplierStatus,
+                            stockMovementRules.evaluate(type, productStatus, supplierStatus)));
+                }
+            }
+        }
+        return new StockRuleTableResponseDTO(stockMovementRules.getVersion(), rules);
+    }
+
+    private BatchStockMovementResponseDTO applyBatch(BatchStockMovementRequestDTO dto, TransactionStatus status) {
+        List<BatchStockMovementItemDTO> items = dto.getItems();
+        Map<Long, Product> products = productService.getAllByIdForUpdate(
+                items.stream().map(BatchStockMovementItemDTO::getIdProduct).collect(Collectors.toSet())
+        ).stream().collect(Collectors.toMap(Product::getId, Function.identity()));
+
+        List<BatchStockMovementItemResultDTO> results = new ArrayList<>(items.size());
+        int failed = 0;
+        for (int index = 0; index < items.size(); index++) {
+            BatchStockMovementItemDTO item = items.get(index);
+            BatchStockMovementItemResultDTO result = processBatchItem(index, item, products.get(item.getIdProduct()));
+            if (result.operationStatus() == OperationStatus.ERROR) {
+                failed++;
+            }
+            results.add(result);
+        }
+
+        boolean applied = dto.getMode() == BatchCommitMode.PER_ITEM || failed == 0;
+        if (!applied) {
+            status.setRollbackOnly();
+            results = results.stream().map(result -> new BatchStockMovementItemResultDTO(
+                    result.index(), result.idProduct(), result.movementType(),
+                    result.operationStatus(), result.message(), null
+            )).toList();
+        }
+        return new BatchStockMovementResponseDTO(
+                dto.getMode(), applied, items.size(), items.size() - failed, failed, results
+        );
+    }
+
+    /**
+     * Procesa un movimiento del lote sobre el producto ya cargado, acumulando el stock en memoria
+     * para que varios movimientos del mismo producto se validen en orden.
+     */
+    private BatchStockMovementItemResultDTO processBatchItem(int index, BatchStockMovementItemDTO item, Product product) {
+        MovementType type = item.getMovementType();
+        CreateStockMovementDTO dto = CreateStockMovementDTO.builder()
+                .idProduct(item.getIdProduct())
+                .amount(item.getAmount())
+                .notes(item.getNotes())
+                .build();
+        try {
+            if (product == null) {
+                String message = "No se encontró el producto con ID " + item.getIdProduct();
+                recordError(null, dto, type, message);
+                throw new ProductNotFoundException(message);
+            }
+            StockRuleOutcome outcome = evaluateRules(product, type);
+            if (!outcome.isAllowed()) {
+                // Las reglas se evalúan sin lanzar excepciones: el error se registra y se informa en el resultado.
+                recordError(product, dto, type, outcome.getMessage());
+                return new BatchStockMovementItemResultDTO(
+                        index, item.getIdProduct(), type, OperationStatus.ERROR, outcome.getMessage(), null
+                );
+            }
+            validateStockSufficiency(product, dto, type);
+            StockMovementResponseDTO movement = processSuccessfulStockMovement(dto, product, type);
+            return new BatchStockMovementItemResultDTO(
+                    index, item.getIdProduct(), type, OperationStatus.SUCCESS,
+                    movementMessages.getOrDefault(type, "Movimiento de stock registrado"), movement
+            );
+        } catch (ProductNotFoundException | InactiveSupplierException | StockReplenishmentNotAllowedException
+                 | StockExitNotAllowedException | InsufficientStockException e) {
+            return new BatchStockMovementItemResultDTO(
+                    index, item.getIdProduct(), type, OperationStatus.ERROR, e.getMessage(), null
+            );
+        }
+    }
+
+    /**
+     * Aplica el movimiento con una única sentencia SQL que valida, modifica el stock e inserta el registro.
+     * Solo si la sentencia no afecta a ninguna fila se carga el producto para determinar la causa del rechazo.
+     */
+    private StockMovementResponseDTO applyAtomically(CreateStockMovementDTO dto, MovementType type) {
+        String message = movementMessages.getOrDefault(type, "Movimiento de stock registrado");
+        int amount = dto.getAmount();
+        UUID id = UuidV7Generator.next();
+        LocalDateTime timestamp = LocalDateTime.now();
+
+        Optional<AtomicStockChange> change = repository.applyStockChange(
+                id, dto.getIdProduct(), type.isEntry() ? amount : -amount, amount, type.name(),
+                stockMovementRules.allowedCombinations(type), dto.getNotes(), message, timestamp
+        );
+
+        if (change.isEmpty()) {
+            Product product = loadProduct(dto, type);
+            validateStockMovementPreconditions(product, dto, type);
+            // Las condiciones cambiaron entre la sentencia y la comprobación: se aplica por la vía de entidad.
+            return processSuccessfulStockMovement(dto, product, type);
+        }
+
+        AtomicStockChange applied = change.get();
+        eventPublisher.publishEvent(new StockChangedEvent(dto.getIdProduct(), applied.getCategoryId(),
+                applied.getSupplierId(), applied.getPreviousQuantity(), applied.getNewQuantity(), type, timestamp));
+        StockMovement movement = StockMovement.builder()
+                .id(id)
+                .product(Product.builder().id(dto.getIdProduct()).name(applied.getProductName()).build())
+                .quantityChange(amount)
+                .movementType(type)
+                .notes(dto.getNotes())
+                .operationStatus(OperationStatus.SUCCESS)
+                .operationMessage(message)
+                .timestamp(timestamp)
+                .build();
+        return MapperStockMovement.toResponse(movement, applied.getPreviousQuantity(), applied.getNewQuantity());
+    }
+
+    private Product loadProduct(CreateStockMovementDTO dto, MovementType movementType) {
+        try {
+            return productService.getByIdFull(dto.getIdProduct());
+        } catch (ProductNotFoundException e) {
+            recordError(null, dto, movementType, e.getMessage());
+            throw new ProductNotFoundException("No se encontró el producto con ID " + dto.getIdProduct());
+        }
+    }
+
     private StockMovementResponseDTO processSuccessfulStockMovement(CreateStockMovementDTO dto, Product product, MovementType type) {
+        if (product.isStockSharded()) {
+            return processShardedStockMovement(dto, product, type);
+        }
+
         String message = movementMessages.getOrDefault(type, "Movimiento de stock registrado");
         StockInfo stockInfo = calculateStockQuantities(product, dto, type);
         product.setCurrentStock(stockInfo.getNewQuantity());
@@ -73,9 +316,41 @@ public class StockMovementServiceImpl implements StockMovementService {
 
         saveStockMovement(movement);
         productService.modifyStock(product);
+        publishStockChange(product, movement, stockInfo);
         return mapToResponse(movement, stockInfo);
     }
 
+    /**
+     * Aplica el movimiento sobre los subcontadores de un producto fragmentado, sin modificar la fila del producto.
+     */
+    private StockMovementResponseDTO processShardedStockMovement(CreateStockMovementDTO dto, Product product, MovementType type) {
+        Optional<StockInfo> applied = shardedStockService.apply(product, type, dto.getAmount());
+        if (applied.isEmpty()) {
+            String message = "No hay stock suficiente: solicitado = " + dto.getAmount();
+            recordErrorAndThrow(product, dto, type, message, new InsufficientStockException(message));
+        }
+
+        StockInfo stockInfo = applied.get();
+        StockMovement movement = buildStockMovement(
+                product, dto, type, OperationStatus.SUCCESS,
+                movementMessages.getOrDefault(type, "Movimiento de stock registrado"),
+                stockInfo.getPreviousQuantity(), stockInfo.getNewQuantity()
+        );
+        saveStockMovement(movement);
+        publishStockChange(product, movement, stockInfo);
+        return mapToResponse(movement, stockInfo);
+    }
+
+    /**
+     * Publica el cambio de stock; los oyentes solo lo reciben si la transacción del movimiento se confirma.
+     */
+    private void publishStockChange(Product product, StockMovement movement, StockInfo stockInfo) {
+        eventPublisher.publishEvent(new StockChangedEvent(
+                product.getId(), product.getCategory().getId(), product.getSupplier().getId(),
+                stockInfo.getPreviousQuantity(), stockInfo.getNewQuantity(),
+                movement.getMovementType(), movement.getTimestamp()));
+    }
+
     private StockInfo calculateStockQuantities(Product product, CreateStockMovementDTO dto, MovementType type) {
         int previousQuantity = product.getCurrentStock();
         int amount = dto.getAmount();
@@ -87,40 +362,53 @@ public class StockMovementServiceImpl implements StockMovementService {
     }
 
     private void validateStockMovementPreconditions(Product product, CreateStockMovementDTO dto, MovementType type) {
-        validateSupplierStatus(product, dto, type);
-        validateProductStatus(product, dto, type);
+        validateRules(product, dto, type);
         validateStockSufficiency(product, dto, type);
     }
 
-    private void validateSupplierStatus(Product product, CreateStockMovementDTO dto, MovementType type) {
-        if (product.getSupplier().getStatus() == SupplierStatus.INACTIVE) {
-            String message = "El proveedor está inactivo y no se puede registrar una entrada de stock para este producto.";
-            recordErrorAndThrow(product, dto, type, message, new InactiveSupplierException(message));
+    private void validateRules(Product product, CreateStockMovementDTO dto, MovementType type) {
+        StockRuleOutcome outcome = evaluateRules(product, type);
+        if (outcome == StockRuleOutcome.SUPPLIER_INACTIVE) {
+            recordErrorAndThrow(product, dto, type, outcome.getMessage(), new InactiveSupplierException(outcome.getMessage()));
+        } else if (outcome == StockRuleOutcome.EXIT_NOT_ALLOWED) {
+            recordErrorAndThrow(product, dto, type, outcome.getMessage(), new StockExitNotAllowedException(outcome.getMessage()));
+        } else if (!outcome.isAllowed()) {
+            recordErrorAndThrow(product, dto, type, outcome.getMessage(), new StockReplenishmentNotAllowedException(outcome.getMessage()));
         }
     }
 
-    private void validateProductStatus(Product product, CreateStockMovementDTO dto, MovementType type) {
-        switch (product.getStatus()) {
-            case DISCONTINUED, BLOCKED, UNAVAILABLE -> {
-                String message = "No se puede reponer stock para este producto.";
-                recordErrorAndThrow(product, dto, type, message, new StockReplenishmentNotAllowedException(message));
-            }
-        }
+    private StockRuleOutcome evaluateRules(Product product, MovementType type) {
+        return stockMovementRules.evaluate(type, product.getStatus(), product.getSupplier().getStatus());
     }
 
     private void validateStockSufficiency(Product product, CreateStockMovementDTO dto, MovementType type) {
-        if (!type.isEntry() && product.getCurrentStock() < dto.getAmount()) {
-            String message = "No hay stock suficiente: actual = " + product.getCurrentStock() + ", solicitado = " + dto.getAmount();
+        if (!type.isEntry() && product.getAvailableStock() < dto.getAmount()) {
+            String message = "No hay stock suficiente: disponible = " + product.getAvailableStock() + ", solicitado = " + dto.getAmount();
             recordErrorAndThrow(product, dto, type, message, new InsufficientStockException(message));
         }
     }
 
     private void recordErrorAndThrow(Product product, CreateStockMovementDTO dto, MovementType type, String message, RuntimeException ex) {
-        StockMovement errorMovement = buildStockMovement(product, dto, type, OperationStatus.ERROR, message, null, null);
-        saveStockMovement(errorMovement);
+        recordError(product, dto, type, message);
         throw ex;
     }
 
+    /**
+     * Envía el movimiento fallido al registro de auditoría, que lo escribe fuera de la transacción actual
+     * para que no se pierda cuando esta se revierta.
+     */
+    private void recordError(Product product, CreateStockMovementDTO dto, MovementType type, String message) {
+        auditWriter.submit(new StockAuditRecord(
+                UuidV7Generator.next(),
+                product != null ? product.getId() : null,
+                dto.getAmount(),
+                type,
+                dto.getNotes(),
+                message,
+                LocalDateTime.now()
+        ));
+    }
+
     private StockMovement buildStockMovement(Product product, CreateStockMovementDTO dto, MovementType movementType,
                                              OperationStatus status, String message, Integer previousQuantity, Integer newQuantity) {
         return StockMovement.builder()
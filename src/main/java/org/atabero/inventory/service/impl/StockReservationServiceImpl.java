@@ -0,0 +1,268 @@
+package org.atabero.inventory.service.impl;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.atabero.inventory.config.StockProperties;
+import org.atabero.inventory.dto.stockmovement.CreateStockMovementDTO;
+import org.atabero.inventory.dto.stockmovement.StockMovementResponseDTO;
+import org.atabero.inventory.dto.stockreservation.CreateStockReservationDTO;
+import org.atabero.inventory.dto.stockreservation.StockReservationResponseDTO;
+import org.atabero.inventory.engine.HierarchicalTimingWheel;
+import org.atabero.inventory.engine.OptimisticRetryExecutor;
+import org.atabero.inventory.engine.StockMovementRules;
+import org.atabero.inventory.engine.StripedStockExecutor;
+import org.atabero.inventory.exception.stockmovemen.InsufficientStockException;
+import org.atabero.inventory.exception.stockmovemen.StockExitNotAllowedException;
+import org.atabero.inventory.exception.stockreservation.StockReservationNotActiveException;
+import org.atabero.inventory.exception.stockreservation.StockReservationNotAllowedException;
+import org.atabero.inventory.exception.stockreservation.StockReservationNotFoundException;
+import org.atabero.inventory.exception.supplier.InactiveSupplierException;
+import org.atabero.inventory.mapper.MapperStockReservation;
+import org.atabero.inventory.model.Product;
+import org.atabero.inventory.model.StockReservation;
+import org.atabero.inventory.model.enums.MovementType;
+import org.atabero.inventory.model.enums.ReservationStatus;
+import org.atabero.inventory.model.enums.StockRuleOutcome;
+import org.atabero.inventory.repository.ReservationExpiration;
+import org.atabero.inventory.repository.StockReservationRepository;
+import org.atabero.inventory.service.ProductService;
+import org.atabero.inventory.service.StockMovementService;
+import org.atabero.inventory.service.StockReservationService;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Implementación de {@link StockReservationService}.
+ * <p>
+ * La cantidad reservada se acumula en {@code Product.reservedStock}, de modo que las salidas comprueban el
+ * stock disponible sin consultar las reservas. El vencimiento de cada reserva se programa en un
+ * {@link HierarchicalTimingWheel} en memoria; al arrancar se vuelven a programar las reservas activas.
+ * </p>
+ * <p>
+ * Los productos con el stock fragmentado no admiten reservas: sus salidas descuentan de un subcontador sin mirar
+ * {@code reservedStock}, así que una venta podría consumir el stock reservado.
+ * </p>
+ */
+@Slf4j
+@Service
+public class StockReservationServiceImpl implements StockReservationService {
+
+    private final StockReservationRepository repository;
+    private final ProductService productService;
+    private final StockMovementService stockMovementService;
+    private final StockProperties.Reservations properties;
+    private final StripedStockExecutor stripedStockExecutor;
+    private final OptimisticRetryExecutor optimisticRetryExecutor;
+    private final TransactionTemplate transactionTemplate;
+    private final StockMovementRules stockMovementRules;
+
+    private final HierarchicalTimingWheel<UUID> expiryWheel;
+    private final Map<UUID, HierarchicalTimingWheel.Timeout> pendingExpirations = new ConcurrentHashMap<>();
+
+    public StockReservationServiceImpl(StockReservationRepository repository, ProductService productService,
+                                       StockMovementService stockMovementService, StockProperties stockProperties,
+                                       StripedStockExecutor stripedStockExecutor,
+                                       OptimisticRetryExecutor optimisticRetryExecutor,
+                                       TransactionTemplate transactionTemplate,
+                                       StockMovementRules stockMovementRules) {
+        this.repository = repository;
+        this.productService = productService;
+        this.stockMovementService = stockMovementService;
+        this.properties = stockProperties.getReservations();
+        this.stripedStockExecutor = stripedStockExecutor;
+        this.optimisticRetryExecutor = optimisticRetryExecutor;
+        this.transactionTemplate = transactionTemplate;
+        this.stockMovementRules = stockMovementRules;
+        this.expiryWheel = new HierarchicalTimingWheel<>(
+                "stock-reservation-expiry", properties.getTick(), properties.getWheelSize(), this::expire);
+    }
+
+    @Override
+    public StockReservationResponseDTO reserve(CreateStockReservationDTO dto) {
+        Duration ttl = dto.getTtlSeconds() != null ? Duration.ofSeconds(dto.getTtlSeconds()) : properties.getDefaultTtl();
+        if (ttl.compareTo(properties.getMaxTtl()) > 0) {
+            ttl = properties.getMaxTtl();
+        }
+        Duration reservationTtl = ttl;
+
+        StockReservation reservation = inProductTransaction(dto.getIdProduct(), () -> {
+            Product product = productService.getByIdFull(dto.getIdProduct());
+            validateReservable(product, dto.getQuantity());
+
+            LocalDateTime now = LocalDateTime.now();
+            product.setReservedStock(product.getReservedStock() + dto.getQuantity());
+            productService.modifyStock(product);
+            return repository.save(StockReservation.builder()
+                    .productId(product.getId())
+                    .quantity(dto.getQuantity())
+                    .status(ReservationStatus.ACTIVE)
+                    .notes(dto.getNotes())
+                    .expiresAt(now.plus(reservationTtl))
+                    .createdAt(now)
+                    .build());
+        });
+
+        scheduleExpiration(reservation.getId(), reservation.getExpiresAt());
+        return MapperStockReservation.toResponse(reservation);
+    }
+
+    @Override
+    public StockReservationResponseDTO confirm(UUID id) {
+        Long productId = findReservation(id).getProductId();
+        StockMovementResponseDTO[] movement = new StockMovementResponseDTO[1];
+
+        StockReservation reservation = inProductTransaction(productId, () -> {
+            StockReservation locked = lockActiveReservation(id, "confirmar");
+            if (locked.getExpiresAt().isBefore(LocalDateTime.now())) {
+                throw new StockReservationNotActiveException("No se puede confirmar la reserva " + id + " porque ya venció");
+            }
+            release(locked, ReservationStatus.CONFIRMED);
+
+            // La venta se registra por la vía habitual dentro de la misma transacción que libera la reserva.
+            movement[0] = stockMovementService.create(MovementType.SALE, CreateStockMovementDTO.builder()
+                    .idProduct(locked.getProductId())
+                    .amount(locked.getQuantity())
+                    .notes(locked.getNotes() != null ? locked.getNotes() : "Confirmación de la reserva " + id)
+                    .build(), null);
+            locked.setMovementId(movement[0].id());
+            return locked;
+        });
+
+        cancelExpiration(id);
+        return MapperStockReservation.toResponse(reservation, movement[0]);
+    }
+
+    @Override
+    public StockReservationResponseDTO cancel(UUID id) {
+        Long productId = findReservation(id).getProductId();
+        StockReservation reservation = inProductTransaction(productId, () -> {
+            StockReservation locked = lockActiveReservation(id, "cancelar");
+            release(locked, ReservationStatus.CANCELLED);
+            return locked;
+        });
+
+        cancelExpiration(id);
+        return MapperStockReservation.toResponse(reservation);
+    }
+
+    @Override
+    public StockReservationResponseDTO findById(UUID id) {
+        return MapperStockReservation.toResponse(findReservation(id));
+    }
+
+    /**
+     * Vuelve a programar el vencimiento de las reservas activas al arrancar la aplicación.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void recoverActiveReservations() {
+        for (ReservationExpiration active : repository.findByStatus(ReservationStatus.ACTIVE)) {
+            scheduleExpiration(active.getId(), active.getExpiresAt());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        expiryWheel.close();
+    }
+
+    /**
+     * Marca la reserva como vencida si sigue activa. Se ejecuta en el hilo del temporizador; si falla,
+     * se vuelve a intentar pasado un segundo.
+     */
+    private void expire(UUID id) {
+        pendingExpirations.remove(id);
+        try {
+            expireIfDue(id);
+        } catch (RuntimeException e) {
+            log.warn("No se pudo vencer la reserva {}, se reintentará", id, e);
+            scheduleExpiration(id, LocalDateTime.now().plusSeconds(1));
+        }
+    }
+
+    private void expireIfDue(UUID id) {
+        StockReservation reservation = repository.findById(id).orElse(null);
+        if (reservation == null || reservation.getStatus() != ReservationStatus.ACTIVE) {
+            return;
+        }
+        Duration remaining = Duration.between(LocalDateTime.now(), reservation.getExpiresAt());
+        if (!remaining.isNegative() && !remaining.isZero()) {
+            scheduleExpiration(id, reservation.getExpiresAt());
+            return;
+        }
+        inProductTransaction(reservation.getProductId(), () -> {
+            repository.findByIdForUpdate(id)
+                    .filter(locked -> locked.getStatus() == ReservationStatus.ACTIVE)
+                    .ifPresent(locked -> release(locked, ReservationStatus.EXPIRED));
+            return null;
+        });
+    }
+
+    private void release(StockReservation reservation, ReservationStatus status) {
+        Product product = productService.getByIdFull(reservation.getProductId());
+        product.setReservedStock(Math.max(0, product.getReservedStock() - reservation.getQuantity()));
+        productService.modifyStock(product);
+
+        reservation.setStatus(status);
+        reservation.setResolvedAt(LocalDateTime.now());
+    }
+
+    private void validateReservable(Product product, int quantity) {
+        if (product.isStockSharded()) {
+            throw new StockReservationNotAllowedException(
+                    "El producto " + product.getId() + " tiene el stock fragmentado y no admite reservas.");
+        }
+        // Una reserva termina en una venta: se aplican las mismas reglas que a la venta.
+        StockRuleOutcome outcome = stockMovementRules.evaluate(
+                MovementType.SALE, product.getStatus(), product.getSupplier().getStatus());
+        if (outcome == StockRuleOutcome.SUPPLIER_INACTIVE) {
+            throw new InactiveSupplierException("El proveedor está inactivo y no se puede reservar stock para este producto.");
+        }
+        if (!outcome.isAllowed()) {
+            throw new StockExitNotAllowedException("No se puede reservar stock para este producto.");
+        }
+        if (product.getAvailableStock() < quantity) {
+            throw new InsufficientStockException(
+                    "No hay stock suficiente: disponible = " + product.getAvailableStock() + ", solicitado = " + quantity);
+        }
+    }
+
+    private StockReservation findReservation(UUID id) {
+        return repository.findById(id).orElseThrow(() -> new StockReservationNotFoundException(id));
+    }
+
+    private StockReservation lockActiveReservation(UUID id, String action) {
+        StockReservation reservation = repository.findByIdForUpdate(id)
+                .orElseThrow(() -> new StockReservationNotFoundException(id));
+        if (reservation.getStatus() != ReservationStatus.ACTIVE) {
+            throw new StockReservationNotActiveException(
+                    "No se puede " + action + " la reserva " + id + " porque su estado es " + reservation.getStatus());
+        }
+        return reservation;
+    }
+
+    private <T> T inProductTransaction(Long productId, Supplier<T> operation) {
+        return optimisticRetryExecutor.execute(() -> stripedStockExecutor.execute(productId,
+                () -> transactionTemplate.execute(status -> operation.get())));
+    }
+
+    private void scheduleExpiration(UUID id, LocalDateTime expiresAt) {
+        Duration delay = Duration.between(LocalDateTime.now(), expiresAt);
+        pendingExpirations.put(id, expiryWheel.schedule(id, delay));
+    }
+
+    private void cancelExpiration(UUID id) {
+        HierarchicalTimingWheel.Timeout timeout = pendingExpirations.remove(id);
+        if (timeout != null) {
+            timeout.cancel();
+        }
+    }
+}
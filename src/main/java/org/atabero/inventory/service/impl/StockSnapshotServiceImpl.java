@@ -0,0 +1,169 @@
+package org.atabero.inventory.service.impl;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.atabero.inventory.config.StockProperties;
+import org.atabero.inventory.dto.stocksnapshot.StockAsOfResponseDTO;
+import org.atabero.inventory.dto.stocksnapshot.StockSnapshotRunResponseDTO;
+import org.atabero.inventory.exception.product.ProductNotFoundException;
+import org.atabero.inventory.mapper.MapperStockSnapshot;
+import org.atabero.inventory.model.enums.MovementType;
+import org.atabero.inventory.repository.ProductRepository;
+import org.atabero.inventory.repository.StockSnapshotRepository;
+import org.atabero.inventory.service.StockSnapshotService;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Implementación de {@link StockSnapshotService} para PostgreSQL.
+ * <p>
+ * Cada foto se calcula en una sola sentencia como el stock actual menos los movimientos posteriores a su instante,
+ * de modo que no depende de otras fotos. Las fotos se fechan con un margen hacia atrás para que los movimientos
+ * de las transacciones que seguían abiertas al tomarlas ya estén confirmados.
+ * </p>
+ * <p>
+ * En la consulta del catálogo completo, una transacción coordinadora exporta su vista con
+ * {@code pg_export_snapshot()} y cada bloque se calcula en su propia transacción importándola con
+ * {@code SET TRANSACTION SNAPSHOT}, así que todos los bloques ven exactamente los mismos datos.
+ * </p>
+ */
+@Slf4j
+@Service
+public class StockSnapshotServiceImpl implements StockSnapshotService {
+
+    private static final List<String> entryTypes = Arrays.stream(MovementType.values())
+            .filter(MovementType::isEntry)
+            .map(Enum::name)
+            .toList();
+
+    private final StockSnapshotRepository repository;
+    private final ProductRepository productRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final StockProperties.Snapshots properties;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate readOnlySnapshotTransaction;
+    private final ExecutorService workers;
+
+    public StockSnapshotServiceImpl(StockSnapshotRepository repository, ProductRepository productRepository,
+                                    JdbcTemplate jdbcTemplate, StockProperties stockProperties,
+                                    PlatformTransactionManager transactionManager) {
+        this.repository = repository;
+        this.productRepository = productRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.properties = stockProperties.getSnapshots();
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlySnapshotTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlySnapshotTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.readOnlySnapshotTransaction.setReadOnly(true);
+
+        AtomicInteger threads = new AtomicInteger();
+        this.workers = Executors.newFixedThreadPool(Math.max(1, properties.getParallelism()), task -> {
+            Thread thread = new Thread(task, "stock-as-of-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    @Scheduled(cron = "${inventory.stock.snapshots.cron}")
+    public StockSnapshotRunResponseDTO takeSnapshot() {
+        LocalDateTime at = LocalDateTime.now().minus(properties.getLag());
+        int products = 0;
+        for (long[] range : idRanges()) {
+            products += transactionTemplate.execute(status ->
+                    repository.insertSnapshots(range[0], range[1], at, entryTypes));
+        }
+
+        int purged = 0;
+        if (!properties.getRetention().isZero()) {
+            LocalDateTime before = LocalDateTime.now().minus(properties.getRetention());
+            purged = transactionTemplate.execute(status -> repository.deleteBySnapshotAtBefore(before));
+        }
+        log.info("Foto de stock a {}: {} productos, {} fotos antiguas borradas", at, products, purged);
+        return new StockSnapshotRunResponseDTO(at, products, purged);
+    }
+
+    @Override
+    public StockAsOfResponseDTO getStockAsOf(Long idProduct, LocalDateTime at) {
+        LocalDateTime now = LocalDateTime.now();
+        return transactionTemplate.execute(status ->
+                repository.findStockAsOf(idProduct, idProduct + 1, at, now, entryTypes).stream()
+                        .findFirst()
+                        .map(stockAsOf -> MapperStockSnapshot.toResponse(stockAsOf, at))
+                        .orElseThrow(() -> new ProductNotFoundException(idProduct)));
+    }
+
+    @Override
+    public List<StockAsOfResponseDTO> getCatalogStockAsOf(LocalDateTime at) {
+        LocalDateTime now = LocalDateTime.now();
+        return readOnlySnapshotTransaction.execute(status -> {
+            String snapshotId = jdbcTemplate.queryForObject("SELECT pg_export_snapshot()", String.class);
+
+            // La vista exportada solo es válida mientras la transacción coordinadora siga abierta.
+            List<Future<List<StockAsOfResponseDTO>>> chunks = new ArrayList<>();
+            for (long[] range : idRanges()) {
+                chunks.add(workers.submit(() -> readOnlySnapshotTransaction.execute(chunkStatus -> {
+                    jdbcTemplate.execute("SET TRANSACTION SNAPSHOT '" + snapshotId + "'");
+                    return repository.findStockAsOf(range[0], range[1], at, now, entryTypes).stream()
+                            .map(stockAsOf -> MapperStockSnapshot.toResponse(stockAsOf, at))
+                            .toList();
+                })));
+            }
+
+            List<StockAsOfResponseDTO> result = new ArrayList<>();
+            try {
+                for (Future<List<StockAsOfResponseDTO>> chunk : chunks) {
+                    result.addAll(chunk.get());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                chunks.forEach(chunk -> chunk.cancel(true));
+                throw new IllegalStateException("Interrumpido mientras se calculaba el stock del catálogo", e);
+            } catch (ExecutionException e) {
+                chunks.forEach(chunk -> chunk.cancel(true));
+                if (e.getCause() instanceof RuntimeException runtime) {
+                    throw runtime;
+                }
+                throw new IllegalStateException(e.getCause());
+            }
+            return result;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdownNow();
+    }
+
+    /**
+     * Reparte el rango de IDs de producto en bloques semiabiertos {@code [desde, hasta)} del tamaño configurado.
+     */
+    private List<long[]> idRanges() {
+        Object[] bounds = productRepository.findIdRange().get(0);
+        if (bounds[0] == null) {
+            return List.of();
+        }
+        long min = ((Number) bounds[0]).longValue();
+        long max = ((Number) bounds[1]).longValue();
+        long size = Math.max(1, properties.getChunkSize());
+        List<long[]> ranges = new ArrayList<>();
+        for (long from = min; from <= max; from += size) {
+            ranges.add(new long[]{from, Math.min(from + size, max + 1)});
+        }
+        return ranges;
+    }
+}
@@ -0,0 +1,238 @@
+package org.atabero.inventory.service.impl;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.atabero.inventory.config.StockProperties;
+import org.atabero.inventory.dto.stockmovement.StockChangeEventDTO;
+import org.atabero.inventory.engine.StockChangedEvent;
+import org.atabero.inventory.exception.stockmovemen.StockStreamLimitExceededException;
+import org.atabero.inventory.service.StockStreamService;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Implementación de {@link StockStreamService}.
+ * <p>
+ * Los cambios llegan tras confirmarse la transacción del movimiento. El hilo que confirma solo deja el cambio en el
+ * búfer de cada suscriptor interesado, indexado por producto: si ya había un cambio pendiente de ese producto se
+ * sustituye por el nuevo, de modo que el búfer nunca tiene más de una entrada por producto. El envío por la red lo
+ * hacen los hilos del distribuidor, así que un cliente lento no frena a quien escribe. Si un suscriptor acumula más
+ * productos pendientes de los permitidos se le desconecta; al reconectarse debe volver a consultar el stock.
+ * </p>
+ */
+@Slf4j
+@Service
+public class StockStreamServiceImpl implements StockStreamService {
+
+    private static final String EVENT_NAME = "stock-change";
+
+    private final StockProperties.ChangeStream properties;
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final ExecutorService dispatcher;
+    private final ScheduledExecutorService heartbeats;
+    private final AtomicLong sequence = new AtomicLong();
+
+    private final Counter coalesced;
+    private final Counter overflows;
+
+    public StockStreamServiceImpl(StockProperties stockProperties, MeterRegistry meterRegistry) {
+        this.properties = stockProperties.getChangeStream();
+
+        AtomicInteger threads = new AtomicInteger();
+        this.dispatcher = Executors.newFixedThreadPool(Math.max(1, properties.getDispatcherThreads()), task -> {
+            Thread thread = new Thread(task, "stock-stream-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.heartbeats = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "stock-stream-heartbeat");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long heartbeatMillis = Math.max(1, properties.getHeartbeat().toMillis());
+        heartbeats.scheduleAtFixedRate(this::sendHeartbeats, heartbeatMillis, heartbeatMillis, TimeUnit.MILLISECONDS);
+
+        Gauge.builder("inventory.stock.stream.subscribers", subscribers, Set::size)
+                .description("Suscriptores conectados al flujo de cambios de stock")
+                .register(meterRegistry);
+        this.coalesced = Counter.builder("inventory.stock.stream.coalesced")
+                .description("Cambios que sustituyeron a otro pendiente del mismo producto")
+                .register(meterRegistry);
+        this.overflows = Counter.builder("inventory.stock.stream.overflows")
+                .description("Suscriptores desconectados por superar su búfer")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public SseEmitter subscribe(Long productId, Long categoryId, Long supplierId) {
+        if (subscribers.size() >= properties.getMaxSubscribers()) {
+            throw new StockStreamLimitExceededException(
+                    "Se alcanzó el máximo de " + properties.getMaxSubscribers() + " suscriptores, reintente más tarde");
+        }
+        SseEmitter emitter = new SseEmitter(properties.getTimeout().toMillis());
+        Subscriber subscriber = new Subscriber(emitter, productId, categoryId, supplierId);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(error -> subscribers.remove(subscriber));
+        subscribers.add(subscriber);
+
+        try {
+            // Envía las cabeceras de inmediato para que el cliente sepa que la suscripción está activa.
+            emitter.send(SseEmitter.event().comment("suscrito"));
+        } catch (IOException e) {
+            subscribers.remove(subscriber);
+            emitter.completeWithError(e);
+        }
+        return emitter;
+    }
+
+    /**
+     * Reparte el cambio entre los suscriptores cuyos filtros lo aceptan. Se ejecuta en el hilo que confirmó la
+     * transacción, así que no hace ninguna operación de red.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onStockChanged(StockChangedEvent event) {
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.accepts(event)) {
+                subscriber.offer(event);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        heartbeats.shutdownNow();
+        dispatcher.shutdownNow();
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+        subscribers.clear();
+    }
+
+    private void sendHeartbeats() {
+        for (Subscriber subscriber : subscribers) {
+            dispatcher.execute(subscriber::heartbeat);
+        }
+    }
+
+    private final class Subscriber {
+
+        private final SseEmitter emitter;
+        private final Long productId;
+        private final Long categoryId;
+        private final Long supplierId;
+
+        /**
+         * Último cambio pendiente de cada producto, en el orden en que apareció por primera vez.
+         */
+        private final Map<Long, StockChangedEvent> pending = new LinkedHashMap<>();
+        private boolean draining;
+        private boolean closed;
+
+        private Subscriber(SseEmitter emitter, Long productId, Long categoryId, Long supplierId) {
+            this.emitter = emitter;
+            this.productId = productId;
+            this.categoryId = categoryId;
+            this.supplierId = supplierId;
+        }
+
+        private boolean accepts(StockChangedEvent event) {
+            return (productId == null || productId.equals(event.productId()))
+                    && (categoryId == null || categoryId.equals(event.categoryId()))
+                    && (supplierId == null || supplierId.equals(event.supplierId()));
+        }
+
+        private void offer(StockChangedEvent event) {
+            synchronized (pending) {
+                if (closed) {
+                    return;
+                }
+                if (pending.containsKey(event.productId())) {
+                    pending.put(event.productId(), event);
+                    coalesced.increment();
+                } else if (pending.size() >= properties.getBufferSize()) {
+                    overflow();
+                    return;
+                } else {
+                    pending.put(event.productId(), event);
+                }
+                if (!draining) {
+                    draining = true;
+                    dispatcher.execute(this::drain);
+                }
+            }
+        }
+
+        private void overflow() {
+            closed = true;
+            pending.clear();
+            subscribers.remove(this);
+            overflows.increment();
+            log.warn("Suscriptor del flujo de stock desconectado por superar {} productos pendientes", properties.getBufferSize());
+            dispatcher.execute(emitter::complete);
+        }
+
+        private void drain() {
+            while (true) {
+                List<StockChangedEvent> batch;
+                synchronized (pending) {
+                    if (closed || pending.isEmpty()) {
+                        draining = false;
+                        return;
+                    }
+                    batch = new ArrayList<>(pending.values());
+                    pending.clear();
+                }
+                for (StockChangedEvent event : batch) {
+                    if (!send(SseEmitter.event()
+                            .id(Long.toString(sequence.incrementAndGet()))
+                            .name(EVENT_NAME)
+                            .data(new StockChangeEventDTO(event.productId(), event.previousQuantity(),
+                                    event.newQuantity(), event.movementType(), event.timestamp()),
+                                    MediaType.APPLICATION_JSON))) {
+                        return;
+                    }
+                }
+            }
+        }
+
+        private void heartbeat() {
+            send(SseEmitter.event().comment("latido"));
+        }
+
+        private boolean send(SseEmitter.SseEventBuilder event) {
+            try {
+                emitter.send(event);
+                return true;
+            } catch (IOException | IllegalStateException e) {
+                // El cliente se desconectó: se descarta el suscriptor.
+                synchronized (pending) {
+                    closed = true;
+                    draining = false;
+                    pending.clear();
+                }
+                subscribers.remove(this);
+                emitter.completeWithError(e);
+                return false;
+            }
+        }
+    }
+}
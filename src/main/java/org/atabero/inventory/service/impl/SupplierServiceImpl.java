@@ -1,6 +1,8 @@
 package org.atabero.inventory.service.impl;
 
 import lombok.RequiredArgsConstructor;
+import org.atabero.inventory.dto.page.PageQueryDTO;
+import org.atabero.inventory.dto.page.PageResponseDTO;
 import org.atabero.inventory.dto.supplier.CreateSupplierDTO;
 import org.atabero.inventory.dto.supplier.SupplierResponseDTO;
 import org.atabero.inventory.dto.supplier.UpdateSupplierDTO;
@@ -12,33 +14,68 @@ import org.atabero.inventory.model.Supplier;
 import org.atabero.inventory.model.enums.SupplierStatus;
 import org.atabero.inventory.repository.SupplierRepository;
 import org.atabero.inventory.service.SupplierService;
+import org.atabero.inventory.util.PageQueryResolver;
+import org.atabero.inventory.util.PageQueryResolver.PageQuery;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 
 @Service
 @RequiredArgsConstructor
 public class SupplierServiceImpl implements SupplierService {
 
+    /**
+     * Propiedades por las que se puede ordenar el listado; el nombre es único y tiene índice.
+     */
+    private static final Map<String, Function<String, ?>> sortKeys = Map.of(
+            "id", Long::valueOf,
+            "name", Function.identity());
+
     private final SupplierRepository supplierRepository;
+    private final PageQueryResolver pageQueryResolver;
 
     @Override
     @Transactional(readOnly = true)
-    public List<SupplierResponseDTO> findAll() {
-        return supplierRepository
-                .findAll()
-                .stream()
-                .map(
-                        MapperSupplier::toResponse
-                ).toList();
+    public PageResponseDTO<SupplierResponseDTO> findAll(String name, SupplierStatus status, PageQueryDTO page) {
+        PageQuery query = pageQueryResolver.resolve(page, sortKeys, "id,asc");
+        if (query.isKeyset()) {
+            Window<SupplierResponseDTO> window;
+            if (name != null && status != null) {
+                window = supplierRepository.findByNameContainingIgnoreCaseAndStatus(name, status,
+                        query.position(), query.limit(), query.sort());
+            } else if (name != null) {
+                window = supplierRepository.findByNameContainingIgnoreCase(name,
+                        query.position(), query.limit(), query.sort());
+            } else if (status != null) {
+                window = supplierRepository.findByStatus(status, query.position(), query.limit(), query.sort());
+            } else {
+                window = supplierRepository.findAllBy(query.position(), query.limit(), query.sort());
+            }
+            return pageQueryResolver.toResponse(window, Function.identity(), query);
+        }
+        Page<SupplierResponseDTO> result;
+        if (name != null && status != null) {
+            result = supplierRepository.findByNameContainingIgnoreCaseAndStatus(name, status, query.pageable());
+        } else if (name != null) {
+            result = supplierRepository.findByNameContainingIgnoreCase(name, query.pageable());
+        } else if (status != null) {
+            result = supplierRepository.findByStatus(status, query.pageable());
+        } else {
+            result = supplierRepository.findAllBy(query.pageable());
+        }
+        return pageQueryResolver.toResponse(result, Function.identity());
     }
 
     @Override
     @Transactional(readOnly = true)
     public SupplierResponseDTO findById(Long id) {
-        Supplier supplier = findByIdFull(id);
-        return MapperSupplier.toResponse(supplier);
+        return supplierRepository.findResponseById(id).orElseThrow(
+                () -> new SupplierNotFoundException(id)
+        );
     }
 
     @Override
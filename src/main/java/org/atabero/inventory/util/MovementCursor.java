@@ -0,0 +1,49 @@
+package org.atabero.inventory.util;
+
+import org.atabero.inventory.exception.pagination.InvalidPageRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Cursor del historial de movimientos: instante e ID del último movimiento devuelto.
+ * <p>
+ * El historial se recorre del más reciente al más antiguo por {@code (timestamp, id)}, así que la página siguiente
+ * continúa por el primer movimiento anterior a esta posición. Se codifica en Base64 URL sin relleno.
+ * </p>
+ *
+ * @param timestamp instante del último movimiento devuelto.
+ * @param id        ID del último movimiento devuelto.
+ */
+public record MovementCursor(LocalDateTime timestamp, UUID id) {
+
+    /**
+     * @return el cursor codificado, tal como se devuelve en {@code nextCursor}.
+     */
+    public String encode() {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((timestamp + "|" + id).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodifica un cursor recibido en la petición.
+     *
+     * @param cursor cursor codificado.
+     * @return la posición que representa.
+     * @throws InvalidPageRequestException si el cursor no tiene el formato esperado.
+     */
+    public static MovementCursor decode(String cursor) {
+        try {
+            String[] position = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|");
+            if (position.length == 2) {
+                return new MovementCursor(LocalDateTime.parse(position[0]), UUID.fromString(position[1]));
+            }
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            // Se informa abajo como cursor no válido.
+        }
+        throw new InvalidPageRequestException("El cursor de paginación no es válido");
+    }
+}
@@ -0,0 +1,223 @@
+package org.atabero.inventory.util;
+
+import lombok.RequiredArgsConstructor;
+import org.atabero.inventory.config.PaginationProperties;
+import org.atabero.inventory.dto.page.PageQueryDTO;
+import org.atabero.inventory.dto.page.PageResponseDTO;
+import org.atabero.inventory.exception.pagination.InvalidPageRequestException;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.stereotype.Component;
+
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.TreeSet;
+import java.util.function.Function;
+
+/**
+ * Traduce los parámetros de paginación de un listado a la consulta que debe lanzarse y su resultado a la respuesta.
+ * <p>
+ * Sin número de página, el listado se recorre por cursor: cada página continúa desde los valores de orden de la
+ * última fila de la anterior, así que no hay {@code OFFSET} ni recuento y el coste no crece con la profundidad. Con
+ * número de página se usa {@code OFFSET} y se devuelve el total, pensado para interfaces que saltan a una página.
+ * </p>
+ * <p>
+ * Solo se admite ordenar por las columnas que cada listado declara, que tienen índice; el ID se añade siempre como
+ * desempate, en la misma dirección, para que el orden sea total. El cursor guarda el orden con el que se generó y los
+ * valores de la fila.
+ * </p>
+ */
+@Component
+@RequiredArgsConstructor
+public class PageQueryResolver {
+
+    private static final String idProperty = "id";
+
+    private final PaginationProperties properties;
+
+    /**
+     * Valida los parámetros de paginación de un listado.
+     *
+     * @param query       parámetros recibidos.
+     * @param sortKeys    propiedades por las que se puede ordenar, incluido el ID, con la función que convierte su
+     *                    valor en el cursor al tipo de la propiedad.
+     * @param defaultSort orden por defecto, con el formato {@code propiedad,asc|desc}.
+     * @return la consulta que debe lanzarse.
+     * @throws InvalidPageRequestException si algún parámetro no es válido.
+     */
+    public PageQuery resolve(PageQueryDTO query, Map<String, Function<String, ?>> sortKeys, String defaultSort) {
+        int size = resolveSize(query);
+        boolean hasCursor = query.getCursor() != null && !query.getCursor().isBlank();
+
+        if (query.getPage() != null) {
+            if (query.getPage() < 0) {
+                throw new InvalidPageRequestException("El número de página no puede ser negativo");
+            }
+            if (hasCursor) {
+                throw new InvalidPageRequestException("No se puede indicar a la vez un número de página y un cursor");
+            }
+            String sortSpec = normalizeSort(query.getSort() != null ? query.getSort() : defaultSort, sortKeys);
+            return new PageQuery(sortSpec, toSort(sortSpec), size, query.getPage(), null);
+        }
+
+        if (!hasCursor) {
+            String sortSpec = normalizeSort(query.getSort() != null ? query.getSort() : defaultSort, sortKeys);
+            return new PageQuery(sortSpec, toSort(sortSpec), size, null, ScrollPosition.keyset());
+        }
+
+        String[] parts = decode(query.getCursor()).split("\\|");
+        String sortSpec;
+        try {
+            sortSpec = normalizeSort(parts[0], sortKeys);
+        } catch (InvalidPageRequestException e) {
+            throw invalidCursor();
+        }
+        if (query.getSort() != null && !normalizeSort(query.getSort(), sortKeys).equals(sortSpec)) {
+            throw new InvalidPageRequestException(
+                    "El cursor se generó con otro orden; repita la petición sin cursor");
+        }
+        Map<String, Object> keys = new LinkedHashMap<>();
+        for (int i = 1; i < parts.length; i++) {
+            int eq = parts[i].indexOf('=');
+            String property = eq > 0 ? parts[i].substring(0, eq) : null;
+            Function<String, ?> parser = property != null ? sortKeys.get(property) : null;
+            if (parser == null) {
+                throw invalidCursor();
+            }
+            try {
+                keys.put(property, parser.apply(URLDecoder.decode(parts[i].substring(eq + 1), StandardCharsets.UTF_8)));
+            } catch (RuntimeException e) {
+                throw invalidCursor();
+            }
+        }
+        if (!keys.containsKey(idProperty)) {
+            throw invalidCursor();
+        }
+        return new PageQuery(sortSpec, toSort(sortSpec), size, null, ScrollPosition.forward(keys));
+    }
+
+    /**
+     * Valida el tamaño de página pedido, o devuelve el tamaño por defecto si no se indica.
+     *
+     * @param query parámetros recibidos.
+     * @return el tamaño de página.
+     * @throws InvalidPageRequestException si el tamaño está fuera de los límites configurados.
+     */
+    public int resolveSize(PageQueryDTO query) {
+        int size = query.getSize() != null ? query.getSize() : properties.getDefaultPageSize();
+        if (size < 1 || size > properties.getMaxPageSize()) {
+            throw new InvalidPageRequestException(
+                    "El tamaño de página debe estar entre 1 y " + properties.getMaxPageSize());
+        }
+        return size;
+    }
+
+    /**
+     * Convierte una página numerada en la respuesta del listado.
+     */
+    public <E, T> PageResponseDTO<T> toResponse(Page<E> page, Function<E, T> mapper) {
+        return new PageResponseDTO<>(page.getContent().stream().map(mapper).toList(), page.getNumberOfElements(),
+                page.getNumber(), page.getTotalElements(), page.getTotalPages(), null);
+    }
+
+    /**
+     * Convierte una página leída por cursor en la respuesta del listado, con el cursor de la siguiente si la hay.
+     */
+    public <E, T> PageResponseDTO<T> toResponse(Window<E> window, Function<E, T> mapper, PageQuery query) {
+        String nextCursor = null;
+        if (window.hasNext() && !window.isEmpty()) {
+            KeysetScrollPosition last = (KeysetScrollPosition) window.positionAt(window.size() - 1);
+            nextCursor = encode(query.sortSpec(), last.getKeys());
+        }
+        return new PageResponseDTO<>(window.getContent().stream().map(mapper).toList(), window.size(),
+                null, null, null, nextCursor);
+    }
+
+    private static String normalizeSort(String sort, Map<String, Function<String, ?>> sortKeys) {
+        String[] parts = sort.split(",");
+        String property = parts[0].trim();
+        if (!sortKeys.containsKey(property) || parts.length > 2) {
+            throw new InvalidPageRequestException(
+                    "Solo se puede ordenar por: " + String.join(", ", new TreeSet<>(sortKeys.keySet())));
+        }
+        String direction = parts.length == 2 ? parts[1].trim().toLowerCase(Locale.ROOT) : "asc";
+        if (!direction.equals("asc") && !direction.equals("desc")) {
+            throw new InvalidPageRequestException("La dirección del orden debe ser asc o desc");
+        }
+        return property + "," + direction;
+    }
+
+    private static Sort toSort(String sortSpec) {
+        String[] parts = sortSpec.split(",");
+        Sort.Direction direction = Sort.Direction.fromString(parts[1]);
+        Sort sort = Sort.by(direction, parts[0]);
+        // En la misma dirección, un índice sobre (columna, id) sirve tanto al orden como al filtro del cursor.
+        return parts[0].equals(idProperty) ? sort : sort.and(Sort.by(direction, idProperty));
+    }
+
+    private static String encode(String sortSpec, Map<String, Object> keys) {
+        StringJoiner cursor = new StringJoiner("|").add(sortSpec);
+        keys.forEach((property, value) ->
+                cursor.add(property + "=" + URLEncoder.encode(String.valueOf(value), StandardCharsets.UTF_8)));
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(cursor.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String decode(String cursor) {
+        try {
+            return new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw invalidCursor();
+        }
+    }
+
+    private static InvalidPageRequestException invalidCursor() {
+        return new InvalidPageRequestException("El cursor de paginación no es válido");
+    }
+
+    /**
+     * Consulta resultante de los parámetros de paginación: por número de página si {@code page} no es nulo o por
+     * cursor a partir de {@code position} en otro caso.
+     *
+     * @param sortSpec orden normalizado, con el formato {@code propiedad,dirección}.
+     * @param sort     orden con el ID como desempate.
+     * @param size     tamaño de página.
+     * @param page     número de página, o {@code null} si se pagina por cursor.
+     * @param position posición desde la que continúa la página, o {@code null} si se pagina por número.
+     */
+    public record PageQuery(String sortSpec, Sort sort, int size, Integer page, KeysetScrollPosition position) {
+
+        /**
+         * @return si la página se lee por cursor.
+         */
+        public boolean isKeyset() {
+            return page == null;
+        }
+
+        /**
+         * @return la página numerada con su orden.
+         */
+        public Pageable pageable() {
+            return PageRequest.of(page, size, sort);
+        }
+
+        /**
+         * @return el número máximo de filas de la página.
+         */
+        public Limit limit() {
+            return Limit.of(size);
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package org.atabero.inventory;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Comprueba que las lecturas de productos no lanzan una consulta por fila: cada petición tiene un número máximo
+ * de sentencias SQL, independiente del número de productos.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+		+ "org.atabero.inventory.StatementBudgetTests$StatementCounter")
+@AutoConfigureMockMvc
+class StatementBudgetTests {
+
+	private static final Pattern ID = Pattern.compile("\"id\":(\\d+)");
+	private static final Pattern NEXT_CURSOR = Pattern.compile("\"nextCursor\":\"([^\"]+)\"");
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	private long productId;
+
+	@BeforeEach
+	void createProducts() throws Exception {
+		// Varias categorías y proveedores, para que una carga perezosa por fila supere el presupuesto.
+		for (int i = 0; i < 3; i++) {
+			String suffix = UUID.randomUUID().toString().substring(0, 18);
+			long categoryId = create("/api/v1/categories", "{\"name\":\"Cat " + suffix + "\"}");
+			long supplierId = create("/api/v1/suppliers", "{\"name\":\"Sup " + suffix + "\"}");
+			productId = create("/api/v1/products", "{\"name\":\"Prod " + suffix + "\",\"code\":\"" + suffix
+					+ "\",\"price\":5,\"currentStock\":10,\"idCategory\":" + categoryId + ",\"supplier\":" + supplierId + "}");
+		}
+	}
+
+	@Test
+	void listingProductsRunsOneStatement() throws Exception {
+		assertStatementBudget(1, get("/api/v1/products"));
+	}
+
+	@Test
+	void listingProductsByPageNumberRunsSelectAndCount() throws Exception {
+		assertStatementBudget(2, get("/api/v1/products").param("page", "0").param("size", "2"));
+	}
+
+	@Test
+	void followingProductCursorRunsOneStatement() throws Exception {
+		String firstPage = mockMvc.perform(get("/api/v1/products").param("size", "1").param("sort", "name"))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getContentAsString();
+		Matcher matcher = NEXT_CURSOR.matcher(firstPage);
+		if (!matcher.find()) {
+			fail("La primera página no incluye el cursor de la siguiente");
+		}
+		assertStatementBudget(1, get("/api/v1/products").param("size", "1").param("cursor", matcher.group(1)));
+	}
+
+	@Test
+	void gettingProductRunsOneStatement() throws Exception {
+		assertStatementBudget(1, get("/api/v1/products/" + productId));
+	}
+
+	@Test
+	void updatingProductLoadsItOnce() throws Exception {
+		assertStatementBudget(2, put("/api/v1/products/" + productId)
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"description\":\"" + UUID.randomUUID() + "\"}"));
+	}
+
+	private void assertStatementBudget(int budget, RequestBuilder request) throws Exception {
+		StatementCounter.start();
+		List<String> statements;
+		try {
+			mockMvc.perform(request).andExpect(status().is2xxSuccessful());
+		} finally {
+			statements = StatementCounter.stop();
+		}
+		assertTrue(statements.size() <= budget, () -> "Se esperaban como mucho " + budget + " sentencias y se ejecutaron "
+				+ statements.size() + ":\n" + String.join("\n", statements));
+	}
+
+	private long create(String path, String json) throws Exception {
+		MvcResult result = mockMvc.perform(post(path).contentType(MediaType.APPLICATION_JSON).content(json))
+				.andExpect(status().is2xxSuccessful())
+				.andReturn();
+		Matcher matcher = ID.matcher(result.getResponse().getContentAsString());
+		if (!matcher.find()) {
+			fail("La respuesta de " + path + " no incluye el ID creado");
+		}
+		return Long.parseLong(matcher.group(1));
+	}
+
+	/**
+	 * Registra las sentencias que prepara Hibernate en el hilo de la prueba; las de otros hilos, como las tareas
+	 * programadas, no cuentan.
+	 */
+	public static class StatementCounter implements StatementInspector {
+
+		private static final ThreadLocal<List<String>> statements = new ThreadLocal<>();
+
+		static void start() {
+			statements.set(new ArrayList<>());
+		}
+
+		static List<String> stop() {
+			List<String> recorded = statements.get();
+			statements.remove();
+			return recorded;
+		}
+
+		@Override
+		public String inspect(String sql) {
+			List<String> recorded = statements.get();
+			if (recorded != null) {
+				recorded.add(sql);
+			}
+			return sql;
+		}
+	}
+}
@@ -0,0 +1,186 @@
+package org.atabero.inventory.engine;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.atabero.inventory.config.StockProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Comprueba la confirmación agrupada: una tarea que falla se deshace en su punto de guardado sin afectar al resto
+ * del grupo, y si falla la transacción del grupo cada tarea se vuelve a ejecutar por separado.
+ */
+@SpringBootTest
+class GroupCommitExecutorTests {
+
+	private static final int BATCH = 3;
+
+	@Autowired
+	private EntityManager entityManager;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+	private final ExecutorService callers = Executors.newFixedThreadPool(BATCH);
+	private GroupCommitExecutor executor;
+
+	@BeforeEach
+	void createExecutor() {
+		jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS group_commit_test (id int PRIMARY KEY, label text)");
+		jdbcTemplate.execute("TRUNCATE group_commit_test");
+
+		StockProperties properties = new StockProperties();
+		properties.getGroupCommit().setEnabled(true);
+		properties.getGroupCommit().setLanes(1);
+		// Ventana amplia: el grupo se cierra al llegar la última tarea, no por tiempo.
+		properties.getGroupCommit().setWindow(Duration.ofSeconds(2));
+		properties.getGroupCommit().setMaxBatchSize(BATCH);
+		executor = new GroupCommitExecutor(properties, entityManager, transactionManager, meterRegistry);
+	}
+
+	@AfterEach
+	void shutdown() throws InterruptedException {
+		executor.shutdown();
+		callers.shutdownNow();
+		jdbcTemplate.execute("DROP TABLE IF EXISTS group_commit_test");
+	}
+
+	@Test
+	void failedTaskIsRolledBackWithoutAffectingTheGroup() throws Exception {
+		List<CompletableFuture<Integer>> results = submitAll(
+				() -> insert(1),
+				() -> {
+					insert(2);
+					throw new IllegalStateException("falla la segunda tarea");
+				},
+				() -> insert(3));
+
+		assertEquals(1, results.get(0).get(5, TimeUnit.SECONDS));
+		assertEquals(3, results.get(2).get(5, TimeUnit.SECONDS));
+		ExecutionException failure = assertThrows(ExecutionException.class, () -> results.get(1).get(5, TimeUnit.SECONDS));
+		assertInstanceOf(IllegalStateException.class, failure.getCause());
+
+		assertEquals(List.of(1, 3), storedIds());
+		assertEquals(BATCH, meterRegistry.get("inventory.stock.groupcommit.batch.size").summary().max());
+		assertEquals(0, meterRegistry.get("inventory.stock.groupcommit.fallbacks").counter().count());
+	}
+
+	@Test
+	void rolledBackTaskDoesNotNotifyAfterCommit() throws Exception {
+		List<String> committed = new CopyOnWriteArrayList<>();
+
+		List<CompletableFuture<Integer>> results = submitAll(
+				() -> {
+					afterCommit(committed, "primera");
+					return insert(1);
+				},
+				() -> {
+					afterCommit(committed, "segunda");
+					insert(2);
+					throw new IllegalStateException("falla la segunda tarea");
+				},
+				() -> {
+					afterCommit(committed, "tercera");
+					return insert(3);
+				});
+		awaitAll(results);
+
+		// El grupo se confirma, pero los eventos de la tarea deshecha se descartan con ella.
+		assertEquals(List.of("primera", "tercera"), committed);
+	}
+
+	@Test
+	void failedGroupTransactionRunsEachTaskAlone() throws Exception {
+		jdbcTemplate.update("INSERT INTO group_commit_test VALUES (2, 'existente')");
+		AtomicInteger attempts = new AtomicInteger();
+
+		List<CompletableFuture<Integer>> results = submitAll(
+				() -> {
+					attempts.incrementAndGet();
+					return insert(1);
+				},
+				// Un error de la base de datos deja la transacción abortada: se deshace el grupo entero.
+				() -> {
+					attempts.incrementAndGet();
+					return insert(2);
+				},
+				() -> {
+					attempts.incrementAndGet();
+					return insert(3);
+				});
+
+		assertEquals(1, results.get(0).get(5, TimeUnit.SECONDS));
+		assertEquals(3, results.get(2).get(5, TimeUnit.SECONDS));
+		ExecutionException failure = assertThrows(ExecutionException.class, () -> results.get(1).get(5, TimeUnit.SECONDS));
+		assertInstanceOf(DuplicateKeyException.class, failure.getCause());
+
+		assertEquals(List.of(1, 2, 3), storedIds());
+		// En el grupo, la tercera tarea no llega a ejecutarse; después se ejecutan las tres por separado.
+		assertEquals(2 + BATCH, attempts.get());
+		assertEquals(1, meterRegistry.get("inventory.stock.groupcommit.fallbacks").counter().count());
+	}
+
+	@SafeVarargs
+	private List<CompletableFuture<Integer>> submitAll(Supplier<Integer>... tasks) throws InterruptedException {
+		List<CompletableFuture<Integer>> results = new ArrayList<>();
+		for (Supplier<Integer> task : tasks) {
+			results.add(CompletableFuture.supplyAsync(() -> executor.execute(1L, task), callers));
+			// Mantiene el orden de llegada al carril.
+			Thread.sleep(50);
+		}
+		return results;
+	}
+
+	private static void awaitAll(List<CompletableFuture<Integer>> results) throws Exception {
+		// Los errores de cada tarea se comprueban en las otras pruebas; aquí solo se espera a que terminen.
+		CompletableFuture.allOf(results.toArray(CompletableFuture[]::new))
+				.handle((ignored, error) -> null)
+				.get(5, TimeUnit.SECONDS);
+	}
+
+	private int insert(int id) {
+		jdbcTemplate.update("INSERT INTO group_commit_test VALUES (?, ?)", id, "tarea " + id);
+		return id;
+	}
+
+	private static void afterCommit(List<String> committed, String name) {
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			@Override
+			public void afterCommit() {
+				committed.add(name);
+			}
+		});
+	}
+
+	private List<Integer> storedIds() {
+		return jdbcTemplate.queryForList("SELECT id FROM group_commit_test ORDER BY id", Integer.class);
+	}
+}
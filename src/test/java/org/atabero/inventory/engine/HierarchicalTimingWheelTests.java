@@ -0,0 +1,111 @@
+package org.atabero.inventory.engine;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Comprueba los vencimientos del temporizador de ruedas jerárquicas, incluidos los que se guardan en ruedas
+ * superiores y bajan de rueda antes de vencer.
+ */
+class HierarchicalTimingWheelTests {
+
+	// Con 4 casillas de 10 ms, la primera rueda abarca 40 ms y la segunda 160 ms.
+	private static final Duration TICK = Duration.ofMillis(10);
+	private static final int WHEEL_SIZE = 4;
+
+	@Test
+	void entriesInUpperWheelsCascadeAndExpireOnTime() throws InterruptedException {
+		Map<String, Long> firedAt = new ConcurrentHashMap<>();
+		CountDownLatch latch = new CountDownLatch(3);
+		long start = System.nanoTime();
+		try (HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>("test-wheel", TICK, WHEEL_SIZE,
+				item -> {
+					firedAt.put(item, System.nanoTime() - start);
+					latch.countDown();
+				})) {
+			wheel.schedule("first-wheel", Duration.ofMillis(25));
+			wheel.schedule("second-wheel", Duration.ofMillis(90));
+			wheel.schedule("third-wheel", Duration.ofMillis(300));
+			assertEquals(3, wheel.size());
+
+			assertTrue(latch.await(5, TimeUnit.SECONDS), "no vencieron todos los elementos: " + firedAt.keySet());
+			assertEquals(0, wheel.size());
+		}
+
+		assertTrue(firedAt.get("first-wheel") >= TimeUnit.MILLISECONDS.toNanos(25));
+		assertTrue(firedAt.get("second-wheel") >= TimeUnit.MILLISECONDS.toNanos(90));
+		assertTrue(firedAt.get("third-wheel") >= TimeUnit.MILLISECONDS.toNanos(300));
+		assertTrue(firedAt.get("first-wheel") < firedAt.get("second-wheel"));
+		assertTrue(firedAt.get("second-wheel") < firedAt.get("third-wheel"));
+	}
+
+	@Test
+	void expiredEntryIsDeliveredWithoutWaitingForABucket() throws InterruptedException {
+		CountDownLatch latch = new CountDownLatch(1);
+		try (HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>("test-wheel", TICK, WHEEL_SIZE,
+				item -> latch.countDown())) {
+			wheel.schedule("now", Duration.ZERO);
+
+			assertTrue(latch.await(1, TimeUnit.SECONDS));
+		}
+	}
+
+	@Test
+	void cancelledEntryDoesNotExpire() throws InterruptedException {
+		List<String> fired = new CopyOnWriteArrayList<>();
+		CountDownLatch latch = new CountDownLatch(1);
+		try (HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>("test-wheel", TICK, WHEEL_SIZE,
+				item -> {
+					fired.add(item);
+					latch.countDown();
+				})) {
+			HierarchicalTimingWheel.Timeout cancelled = wheel.schedule("cancelled", Duration.ofMillis(60));
+			wheel.schedule("kept", Duration.ofMillis(120));
+
+			assertTrue(cancelled.cancel());
+			assertFalse(cancelled.cancel());
+			assertEquals(1, wheel.size());
+
+			// El elemento conservado vence después que el cancelado, así que este ya habría vencido.
+			assertTrue(latch.await(5, TimeUnit.SECONDS));
+			assertEquals(List.of("kept"), fired);
+			assertEquals(0, wheel.size());
+		}
+	}
+
+	@Test
+	void firedEntryCannotBeCancelled() throws InterruptedException {
+		CountDownLatch latch = new CountDownLatch(1);
+		try (HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>("test-wheel", TICK, WHEEL_SIZE,
+				item -> latch.countDown())) {
+			HierarchicalTimingWheel.Timeout timeout = wheel.schedule("fired", Duration.ofMillis(20));
+
+			assertTrue(latch.await(5, TimeUnit.SECONDS));
+			assertFalse(timeout.cancel());
+			assertEquals(0, wheel.size());
+		}
+	}
+
+	@Test
+	void interruptedCloseKeepsTheInterruptFlag() {
+		HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>("test-wheel", TICK, WHEEL_SIZE, item -> {
+		});
+
+		Thread.currentThread().interrupt();
+		wheel.close();
+
+		// Thread.interrupted() también limpia la marca para no afectar a las demás pruebas.
+		assertTrue(Thread.interrupted());
+	}
+}
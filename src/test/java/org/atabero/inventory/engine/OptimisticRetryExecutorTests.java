@@ -0,0 +1,150 @@
+package org.atabero.inventory.engine;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.atabero.inventory.config.StockProperties;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Comprueba los reintentos ante conflictos de versión: el límite de intentos, el presupuesto global de reintentos
+ * y que dentro de una transacción ya abierta no se reintenta.
+ */
+class OptimisticRetryExecutorTests {
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+	@Test
+	void retriesConflictsUntilTheOperationSucceeds() {
+		OptimisticRetryExecutor executor = executor(3, 100, 0.2);
+		AtomicInteger attempts = new AtomicInteger();
+
+		String result = executor.execute(() -> {
+			if (attempts.incrementAndGet() < 3) {
+				throw conflict();
+			}
+			return "ok";
+		});
+
+		assertEquals("ok", result);
+		assertEquals(3, attempts.get());
+		assertEquals(2, count("inventory.stock.optimistic.conflicts"));
+		assertEquals(2, count("inventory.stock.optimistic.retries"));
+	}
+
+	@Test
+	void givesUpAfterMaxAttempts() {
+		OptimisticRetryExecutor executor = executor(3, 100, 0.2);
+		AtomicInteger attempts = new AtomicInteger();
+
+		assertThrows(OptimisticLockingFailureException.class, () -> executor.execute(() -> {
+			attempts.incrementAndGet();
+			throw conflict();
+		}));
+
+		assertEquals(3, attempts.get());
+		assertEquals(1, meterRegistry.get("inventory.stock.optimistic.exhausted").tag("reason", "attempts")
+				.counter().count());
+	}
+
+	@Test
+	void exhaustedBudgetStopsRetrying() {
+		// Un único reintento disponible y ninguna aportación por operación.
+		OptimisticRetryExecutor executor = executor(5, 1, 0);
+		AtomicInteger attempts = new AtomicInteger();
+
+		assertThrows(OptimisticLockingFailureException.class, () -> executor.execute(() -> {
+			attempts.incrementAndGet();
+			throw conflict();
+		}));
+
+		assertEquals(2, attempts.get());
+		assertEquals(1, meterRegistry.get("inventory.stock.optimistic.exhausted").tag("reason", "budget")
+				.counter().count());
+
+		attempts.set(0);
+		assertThrows(OptimisticLockingFailureException.class, () -> executor.execute(() -> {
+			attempts.incrementAndGet();
+			throw conflict();
+		}));
+		assertEquals(1, attempts.get());
+	}
+
+	@Test
+	void operationsRefillTheBudget() {
+		// Cada operación aporta medio reintento, sin superar la capacidad de un reintento.
+		OptimisticRetryExecutor executor = executor(2, 1, 0.5);
+		AtomicInteger attempts = new AtomicInteger();
+		executor.execute(() -> failOnce(attempts));
+
+		attempts.set(0);
+		assertThrows(OptimisticLockingFailureException.class, () -> executor.execute(() -> failOnce(attempts)));
+
+		attempts.set(0);
+		assertEquals("ok", executor.execute(() -> failOnce(attempts)));
+		assertEquals(2, attempts.get());
+	}
+
+	@Test
+	void otherFailuresAreNotRetried() {
+		OptimisticRetryExecutor executor = executor(3, 100, 0.2);
+		AtomicInteger attempts = new AtomicInteger();
+
+		assertThrows(IllegalStateException.class, () -> executor.execute(() -> {
+			attempts.incrementAndGet();
+			throw new IllegalStateException("no es un conflicto");
+		}));
+
+		assertEquals(1, attempts.get());
+		assertEquals(0, count("inventory.stock.optimistic.conflicts"));
+	}
+
+	@Test
+	void doesNotRetryInsideAnActiveTransaction() {
+		OptimisticRetryExecutor executor = executor(3, 100, 0.2);
+		AtomicInteger attempts = new AtomicInteger();
+
+		TransactionSynchronizationManager.setActualTransactionActive(true);
+		try {
+			assertThrows(OptimisticLockingFailureException.class, () -> executor.execute(() -> {
+				attempts.incrementAndGet();
+				throw conflict();
+			}));
+		} finally {
+			TransactionSynchronizationManager.setActualTransactionActive(false);
+		}
+
+		assertEquals(1, attempts.get());
+	}
+
+	private OptimisticRetryExecutor executor(int maxAttempts, int budgetMaxTokens, double budgetRatio) {
+		StockProperties properties = new StockProperties();
+		properties.getRetry().setMaxAttempts(maxAttempts);
+		properties.getRetry().setBudgetMaxTokens(budgetMaxTokens);
+		properties.getRetry().setBudgetRatio(budgetRatio);
+		properties.getRetry().setInitialBackoff(Duration.ofMillis(1));
+		properties.getRetry().setMaxBackoff(Duration.ofMillis(2));
+		return new OptimisticRetryExecutor(properties, meterRegistry);
+	}
+
+	private double count(String name) {
+		return meterRegistry.get(name).counter().count();
+	}
+
+	private static String failOnce(AtomicInteger attempts) {
+		if (attempts.incrementAndGet() == 1) {
+			throw conflict();
+		}
+		return "ok";
+	}
+
+	private static OptimisticLockingFailureException conflict() {
+		return new OptimisticLockingFailureException("conflicto de versión");
+	}
+}
@@ -0,0 +1,255 @@
+package org.atabero.inventory.engine;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.atabero.inventory.config.StockProperties;
+import org.atabero.inventory.model.enums.MovementType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Comprueba las políticas de desbordamiento de la cola de auditoría y cuándo se escribe cada lote.
+ * <p>
+ * La escritura JDBC se sustituye por una que anota los lotes y puede quedarse detenida, de modo que la cola se
+ * llena de forma controlada.
+ * </p>
+ */
+class StockMovementAuditWriterTests {
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+	private final RecordingJdbcTemplate jdbcTemplate = new RecordingJdbcTemplate();
+	private StockMovementAuditWriter writer;
+
+	@AfterEach
+	void shutdown() throws InterruptedException {
+		jdbcTemplate.open();
+		if (writer != null) {
+			writer.shutdown();
+		}
+	}
+
+	@Test
+	void dropNewestDiscardsTheIncomingRecord() throws Exception {
+		List<StockAuditRecord> records = fillQueue(StockProperties.OverflowPolicy.DROP_NEWEST, Duration.ZERO);
+
+		writer.submit(records.get(3));
+
+		assertEquals(1, dropped());
+		assertWritten(records.subList(0, 3));
+	}
+
+	@Test
+	void dropOldestMakesRoomForTheIncomingRecord() throws Exception {
+		List<StockAuditRecord> records = fillQueue(StockProperties.OverflowPolicy.DROP_OLDEST, Duration.ZERO);
+
+		writer.submit(records.get(3));
+
+		assertEquals(1, dropped());
+		assertWritten(List.of(records.get(0), records.get(2), records.get(3)));
+	}
+
+	@Test
+	void blockDiscardsTheRecordAfterTheTimeout() throws Exception {
+		List<StockAuditRecord> records = fillQueue(StockProperties.OverflowPolicy.BLOCK, Duration.ofMillis(50));
+
+		long start = System.nanoTime();
+		writer.submit(records.get(3));
+
+		assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(50));
+		assertEquals(1, dropped());
+		assertWritten(records.subList(0, 3));
+	}
+
+	@Test
+	void blockWaitsForRoomInTheQueue() throws Exception {
+		List<StockAuditRecord> records = fillQueue(StockProperties.OverflowPolicy.BLOCK, Duration.ofSeconds(5));
+
+		CompletableFuture.runAsync(() -> {
+			sleep(100);
+			jdbcTemplate.open();
+		});
+		writer.submit(records.get(3));
+
+		assertEquals(0, dropped());
+		assertWritten(records);
+	}
+
+	@Test
+	void fullBatchIsWrittenAtOnce() throws Exception {
+		writer = writer(StockProperties.OverflowPolicy.DROP_NEWEST, 100, 3, Duration.ofSeconds(30), Duration.ZERO);
+		List<StockAuditRecord> records = records(3);
+
+		records.forEach(writer::submit);
+
+		// Con el lote completo no se espera al intervalo de escritura.
+		assertTrue(jdbcTemplate.awaitRecords(3, 5, TimeUnit.SECONDS));
+		assertEquals(List.of(ids(records)), jdbcTemplate.batches);
+	}
+
+	@Test
+	void partialBatchIsWrittenAfterTheFlushInterval() throws Exception {
+		writer = writer(StockProperties.OverflowPolicy.DROP_NEWEST, 100, 50, Duration.ofMillis(100), Duration.ZERO);
+		List<StockAuditRecord> records = records(2);
+
+		long start = System.nanoTime();
+		records.forEach(writer::submit);
+
+		assertTrue(jdbcTemplate.awaitRecords(2, 5, TimeUnit.SECONDS));
+		assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(100));
+		assertEquals(List.of(ids(records)), jdbcTemplate.batches);
+	}
+
+	@Test
+	void shutdownWritesPendingRecords() throws Exception {
+		writer = writer(StockProperties.OverflowPolicy.DROP_NEWEST, 100, 50, Duration.ofMillis(200), Duration.ZERO);
+		List<StockAuditRecord> records = records(5);
+
+		records.forEach(writer::submit);
+		writer.shutdown();
+
+		assertEquals(ids(records), jdbcTemplate.batches.stream().flatMap(List::stream).toList());
+	}
+
+	/**
+	 * Deja el escritor detenido en el primer registro y llena la cola, de capacidad 2, con los dos siguientes.
+	 * Devuelve cuatro registros: el cuarto es el que ya no cabe.
+	 */
+	private List<StockAuditRecord> fillQueue(StockProperties.OverflowPolicy policy, Duration blockTimeout)
+			throws InterruptedException {
+		writer = writer(policy, 2, 1, Duration.ofMillis(10), blockTimeout);
+		List<StockAuditRecord> records = records(4);
+		jdbcTemplate.close();
+
+		writer.submit(records.get(0));
+		assertTrue(jdbcTemplate.awaitBlocked(5, TimeUnit.SECONDS));
+		writer.submit(records.get(1));
+		writer.submit(records.get(2));
+		assertEquals(0, dropped());
+		return records;
+	}
+
+	private void assertWritten(List<StockAuditRecord> expected) throws InterruptedException {
+		jdbcTemplate.open();
+		assertTrue(jdbcTemplate.awaitRecords(expected.size(), 5, TimeUnit.SECONDS));
+		writer.shutdown();
+		assertEquals(ids(expected), jdbcTemplate.batches.stream().flatMap(List::stream).toList());
+	}
+
+	private StockMovementAuditWriter writer(StockProperties.OverflowPolicy policy, int queueCapacity, int batchSize,
+											Duration flushInterval, Duration blockTimeout) {
+		StockProperties properties = new StockProperties();
+		properties.getAudit().setOverflowPolicy(policy);
+		properties.getAudit().setQueueCapacity(queueCapacity);
+		properties.getAudit().setBatchSize(batchSize);
+		properties.getAudit().setFlushInterval(flushInterval);
+		properties.getAudit().setBlockTimeout(blockTimeout);
+		return new StockMovementAuditWriter(properties, jdbcTemplate, new NoOpTransactionManager(), meterRegistry);
+	}
+
+	private double dropped() {
+		return meterRegistry.get("inventory.stock.audit.dropped").counter().count();
+	}
+
+	private static List<StockAuditRecord> records(int count) {
+		List<StockAuditRecord> records = new ArrayList<>();
+		for (int i = 0; i < count; i++) {
+			records.add(new StockAuditRecord(UUID.randomUUID(), 1L, 1, MovementType.SALE, null,
+					"error " + i, LocalDateTime.now()));
+		}
+		return records;
+	}
+
+	private static List<UUID> ids(List<StockAuditRecord> records) {
+		return records.stream().map(StockAuditRecord::id).toList();
+	}
+
+	private static void sleep(long millis) {
+		try {
+			Thread.sleep(millis);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	/**
+	 * Anota los identificadores de cada lote en lugar de escribirlo. Mientras está cerrada, la escritura espera.
+	 */
+	private static class RecordingJdbcTemplate extends JdbcTemplate {
+
+		private final List<List<UUID>> batches = new CopyOnWriteArrayList<>();
+		private volatile CountDownLatch gate = new CountDownLatch(0);
+		private final CountDownLatch blocked = new CountDownLatch(1);
+
+		void close() {
+			gate = new CountDownLatch(1);
+		}
+
+		void open() {
+			gate.countDown();
+		}
+
+		boolean awaitBlocked(long timeout, TimeUnit unit) throws InterruptedException {
+			return blocked.await(timeout, unit);
+		}
+
+		boolean awaitRecords(int count, long timeout, TimeUnit unit) throws InterruptedException {
+			long deadline = System.nanoTime() + unit.toNanos(timeout);
+			while (batches.stream().mapToInt(List::size).sum() < count) {
+				if (System.nanoTime() > deadline) {
+					return false;
+				}
+				Thread.sleep(5);
+			}
+			return true;
+		}
+
+		@Override
+		@SuppressWarnings("unchecked")
+		public <T> int[][] batchUpdate(String sql, Collection<T> batchArgs, int batchSize,
+									   ParameterizedPreparedStatementSetter<T> pss) {
+			blocked.countDown();
+			try {
+				gate.await();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			batches.add(((Collection<StockAuditRecord>) batchArgs).stream().map(StockAuditRecord::id).toList());
+			return new int[0][];
+		}
+	}
+
+	private static class NoOpTransactionManager implements PlatformTransactionManager {
+
+		@Override
+		public TransactionStatus getTransaction(TransactionDefinition definition) {
+			return new SimpleTransactionStatus();
+		}
+
+		@Override
+		public void commit(TransactionStatus status) {
+		}
+
+		@Override
+		public void rollback(TransactionStatus status) {
+		}
+	}
+}
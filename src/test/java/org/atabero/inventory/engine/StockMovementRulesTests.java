@@ -0,0 +1,74 @@
+package org.atabero.inventory.engine;
+
+import org.atabero.inventory.model.enums.MovementType;
+import org.atabero.inventory.model.enums.ProductStatus;
+import org.atabero.inventory.model.enums.StockRuleOutcome;
+import org.atabero.inventory.model.enums.SupplierStatus;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Comprueba la tabla de decisión de los movimientos de stock.
+ */
+class StockMovementRulesTests {
+
+	private final StockMovementRules rules = new StockMovementRules();
+
+	@Test
+	void discontinuedAndUnavailableProductsAllowExits() {
+		for (MovementType type : exits()) {
+			for (SupplierStatus supplierStatus : SupplierStatus.values()) {
+				assertEquals(StockRuleOutcome.ALLOWED, rules.evaluate(type, ProductStatus.DISCONTINUED, supplierStatus));
+				assertEquals(StockRuleOutcome.ALLOWED, rules.evaluate(type, ProductStatus.UNAVAILABLE, supplierStatus));
+			}
+		}
+	}
+
+	@Test
+	void inactiveProductsRejectExits() {
+		for (MovementType type : exits()) {
+			for (SupplierStatus supplierStatus : SupplierStatus.values()) {
+				assertEquals(StockRuleOutcome.EXIT_NOT_ALLOWED,
+						rules.evaluate(type, ProductStatus.INACTIVE, supplierStatus));
+			}
+		}
+	}
+
+	@Test
+	void inactiveSupplierBlocksOnlyEntries() {
+		for (MovementType type : MovementType.values()) {
+			StockRuleOutcome outcome = rules.evaluate(type, ProductStatus.ACTIVE, SupplierStatus.INACTIVE);
+			assertEquals(type.isEntry() ? StockRuleOutcome.SUPPLIER_INACTIVE : StockRuleOutcome.ALLOWED, outcome,
+					type.name());
+		}
+	}
+
+	@Test
+	void allowedCombinationsMatchTheTable() {
+		for (MovementType type : MovementType.values()) {
+			for (ProductStatus productStatus : ProductStatus.values()) {
+				for (SupplierStatus supplierStatus : SupplierStatus.values()) {
+					boolean listed = rules.allowedCombinations(type)
+							.contains(StockMovementRules.combination(productStatus.name(), supplierStatus.name()));
+					assertEquals(rules.evaluate(type, productStatus, supplierStatus).isAllowed(), listed);
+				}
+			}
+		}
+	}
+
+	@Test
+	void versionIsStableBetweenInstances() {
+		String version = rules.getVersion();
+
+		assertEquals(version, new StockMovementRules().getVersion());
+		assertTrue(version.matches("[0-9a-f]{64}"), version);
+	}
+
+	private static MovementType[] exits() {
+		return Arrays.stream(MovementType.values()).filter(type -> !type.isEntry()).toArray(MovementType[]::new);
+	}
+}
@@ -0,0 +1,141 @@
+package org.atabero.inventory.engine;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.atabero.inventory.config.StockProperties;
+import org.atabero.inventory.exception.stockmovemen.StockEngineSaturatedException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Comprueba que el motor de franjas ejecuta de una en una las mutaciones de un producto, que una tarea puede
+ * volver a entrar en el motor sin bloquearse y que rechaza las tareas cuando la cola de la franja está llena.
+ */
+class StripedStockExecutorTests {
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+	private final ExecutorService callers = Executors.newFixedThreadPool(8);
+	private StripedStockExecutor executor;
+
+	@AfterEach
+	void shutdown() throws InterruptedException {
+		callers.shutdownNow();
+		if (executor != null) {
+			executor.shutdown();
+		}
+	}
+
+	@Test
+	void disabledEngineRunsTasksOnTheCallerThread() {
+		executor = executor(false, 4, 10);
+
+		assertFalse(executor.isEnabled());
+		assertSame(Thread.currentThread(), executor.execute(1L, Thread::currentThread));
+	}
+
+	@Test
+	void tasksOfTheSameProductNeverOverlap() throws Exception {
+		executor = executor(true, 4, 1000);
+		AtomicInteger running = new AtomicInteger();
+		AtomicInteger maxRunning = new AtomicInteger();
+		Set<String> threads = ConcurrentHashMap.newKeySet();
+
+		List<CompletableFuture<Void>> results = new ArrayList<>();
+		for (int i = 0; i < 200; i++) {
+			results.add(CompletableFuture.runAsync(() -> executor.execute(42L, () -> {
+				maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+				threads.add(Thread.currentThread().getName());
+				Thread.yield();
+				running.decrementAndGet();
+				return null;
+			}), callers));
+		}
+		CompletableFuture.allOf(results.toArray(CompletableFuture[]::new)).get(10, TimeUnit.SECONDS);
+
+		assertEquals(1, maxRunning.get());
+		assertEquals(1, threads.size());
+		assertTrue(threads.iterator().next().startsWith("stock-stripe-"), threads.toString());
+	}
+
+	@Test
+	void nestedCallRunsInsideTheCurrentStripe() {
+		executor = executor(true, 1, 10);
+
+		// Con una sola franja, encolar la llamada anidada la dejaría esperando a la tarea que la invoca.
+		Thread nested = executor.execute(1L, () -> executor.execute(2L, Thread::currentThread));
+
+		assertTrue(nested.getName().startsWith("stock-stripe-"), nested.getName());
+	}
+
+	@Test
+	void taskExceptionsReachTheCaller() {
+		executor = executor(true, 2, 10);
+		IllegalStateException failure = new IllegalStateException("fallo de la tarea");
+
+		assertSame(failure, assertThrows(IllegalStateException.class, () -> executor.execute(1L, () -> {
+			throw failure;
+		})));
+	}
+
+	@Test
+	void fullStripeQueueRejectsTasks() throws Exception {
+		executor = executor(true, 1, 1);
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+
+		CompletableFuture<Object> busy = CompletableFuture.supplyAsync(() -> executor.execute(1L, () -> {
+			started.countDown();
+			await(release);
+			return null;
+		}), callers);
+		assertTrue(started.await(5, TimeUnit.SECONDS));
+		CompletableFuture<Object> queued = CompletableFuture.supplyAsync(() -> executor.execute(1L, () -> null), callers);
+		waitForQueueDepth(1);
+
+		assertThrows(StockEngineSaturatedException.class, () -> executor.execute(1L, () -> null));
+
+		release.countDown();
+		busy.get(5, TimeUnit.SECONDS);
+		queued.get(5, TimeUnit.SECONDS);
+	}
+
+	private StripedStockExecutor executor(boolean enabled, int stripes, int queueCapacity) {
+		StockProperties properties = new StockProperties();
+		properties.getEngine().setEnabled(enabled);
+		properties.getEngine().setStripes(stripes);
+		properties.getEngine().setQueueCapacity(queueCapacity);
+		return new StripedStockExecutor(properties, meterRegistry);
+	}
+
+	private void waitForQueueDepth(int depth) throws InterruptedException {
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+		while (meterRegistry.get("inventory.stock.engine.queue.depth").gauge().value() < depth) {
+			assertTrue(System.nanoTime() < deadline, "la tarea no llegó a la cola de la franja");
+			Thread.sleep(5);
+		}
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			latch.await(5, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
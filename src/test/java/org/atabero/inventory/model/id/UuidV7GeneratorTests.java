@@ -0,0 +1,53 @@
+package org.atabero.inventory.model.id;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Comprueba el formato de los UUID versión 7 y que se generan en orden creciente.
+ */
+class UuidV7GeneratorTests {
+
+	@Test
+	void setsVersionAndVariantBits() {
+		UUID id = UuidV7Generator.next();
+
+		assertEquals(7, id.version());
+		assertEquals(2, id.variant());
+	}
+
+	@Test
+	void encodesCurrentTimeInTheHighestBits() {
+		long before = System.currentTimeMillis();
+		UUID id = UuidV7Generator.next();
+		long after = System.currentTimeMillis();
+
+		long millis = id.getMostSignificantBits() >>> 16;
+		// Si otra prueba agotó el contador, puede haber tomado prestados algunos milisegundos siguientes.
+		assertTrue(millis >= before && millis <= after + 10, "milisegundos fuera de rango: " + millis);
+	}
+
+	@Test
+	void idsAreStrictlyIncreasingWithinTheSameMillisecond() {
+		UUID[] ids = new UUID[4096];
+		for (int i = 0; i < ids.length; i++) {
+			ids[i] = UuidV7Generator.next();
+		}
+
+		int sameMillisecond = 0;
+		for (int i = 1; i < ids.length; i++) {
+			long previous = ids[i - 1].getMostSignificantBits();
+			long current = ids[i].getMostSignificantBits();
+			// PostgreSQL compara los uuid byte a byte, es decir, sin signo.
+			assertTrue(Long.compareUnsigned(previous, current) < 0, "UUID no creciente en la posición " + i);
+			if (previous >>> 16 == current >>> 16) {
+				sameMillisecond++;
+			}
+		}
+		assertTrue(sameMillisecond > 0, "ningún par de UUID compartió milisegundo");
+	}
+}
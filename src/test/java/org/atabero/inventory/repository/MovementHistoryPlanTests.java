@@ -0,0 +1,93 @@
+package org.atabero.inventory.repository;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Comprueba sobre {@code movement_logs} ya particionada que el historial por cursor se resuelve con los índices
+ * {@code (filtro, timestamp, id)} de cada partición, sin recorrer ni ordenar la tabla.
+ */
+@SpringBootTest
+class MovementHistoryPlanTests {
+
+	private static final Pattern sortNode = Pattern.compile("(^|->\\s+)(Incremental )?Sort\\b", Pattern.MULTILINE);
+
+	private static final List<String> keysetIndexes = List.of(
+			"idx_movement_logs_timestamp_id", "idx_movement_logs_product_timestamp_id");
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@Test
+	void everyPartitionHasTheKeysetIndexes() {
+		assertEquals("p", jdbcTemplate.queryForObject(
+				"SELECT relkind::text FROM pg_class WHERE oid = to_regclass('movement_logs')", String.class));
+
+		List<String> partitions = jdbcTemplate.queryForList(
+				"SELECT inhrelid::regclass::text FROM pg_inherits WHERE inhparent = to_regclass('movement_logs')",
+				String.class);
+		assertFalse(partitions.isEmpty());
+		for (String index : keysetIndexes) {
+			List<String> indexedPartitions = jdbcTemplate.queryForList("""
+					SELECT i.indrelid::regclass::text
+					  FROM pg_inherits h
+					  JOIN pg_index i ON i.indexrelid = h.inhrelid
+					 WHERE h.inhparent = to_regclass(?)
+					""", String.class, index);
+			assertTrue(indexedPartitions.containsAll(partitions),
+					index + " falta en " + partitions.stream().filter(p -> !indexedPartitions.contains(p)).toList());
+		}
+	}
+
+	@Test
+	void keysetPageUsesIndexesWithoutSorting() {
+		assertIndexOnlyPlan("""
+				SELECT * FROM movement_logs
+				 WHERE "timestamp" <= ? AND ("timestamp", id) < (?, ?)
+				 ORDER BY "timestamp" DESC, id DESC LIMIT 21
+				""", false);
+	}
+
+	@Test
+	void productKeysetPageUsesIndexesWithoutSorting() {
+		assertIndexOnlyPlan("""
+				SELECT * FROM movement_logs
+				 WHERE product_id = ? AND "timestamp" <= ? AND ("timestamp", id) < (?, ?)
+				 ORDER BY "timestamp" DESC, id DESC LIMIT 21
+				""", true);
+	}
+
+	private void assertIndexOnlyPlan(String sql, boolean byProduct) {
+		Timestamp after = Timestamp.valueOf(LocalDateTime.now());
+		UUID afterId = UUID.randomUUID();
+		Object[] parameters = byProduct ? new Object[]{1L, after, after, afterId} : new Object[]{after, after, afterId};
+
+		List<String> plan = transactionTemplate.execute(status -> {
+			// Con pocas filas el planificador prefiere recorrer la tabla; así solo lo hace si falta el índice.
+			jdbcTemplate.execute("SET LOCAL enable_seqscan = off");
+			return jdbcTemplate.queryForList("EXPLAIN " + sql, String.class, parameters);
+		});
+
+		String text = String.join("\n", plan);
+		assertFalse(text.contains("Seq Scan"), text);
+		assertFalse(sortNode.matcher(text).find(), text);
+		// La posición del cursor debe ser condición del índice, no un filtro sobre las filas leídas.
+		assertTrue(plan.stream().anyMatch(line -> line.contains("Index Cond") && line.contains("ROW(")), text);
+	}
+}
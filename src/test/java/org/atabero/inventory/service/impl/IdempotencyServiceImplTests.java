@@ -0,0 +1,187 @@
+package org.atabero.inventory.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.atabero.inventory.config.IdempotencyProperties;
+import org.atabero.inventory.exception.idempotency.IdempotencyKeyMismatchException;
+import org.atabero.inventory.repository.IdempotencyKeyRepository;
+import org.atabero.inventory.service.IdempotencyService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Comprueba que una clave de idempotencia devuelve la respuesta guardada para la misma petición, rechaza otra
+ * petición distinta y, si dos nodos la usan a la vez, solo uno ejecuta la operación.
+ * <p>
+ * Las pruebas de la reserva en la base de datos usan instancias propias del servicio, cada una con su caché vacía,
+ * como si fueran nodos distintos.
+ * </p>
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class IdempotencyServiceImplTests {
+
+	private static final Pattern ID = Pattern.compile("\"id\":(\\d+)");
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private IdempotencyKeyRepository repository;
+
+	@Autowired
+	private IdempotencyProperties properties;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	private final ExecutorService nodes = Executors.newFixedThreadPool(2);
+
+	@AfterEach
+	void shutdown() {
+		nodes.shutdownNow();
+	}
+
+	@Test
+	void sameKeyAndBodyReplaysTheResponse() throws Exception {
+		long productId = createProduct();
+		String key = UUID.randomUUID().toString();
+
+		String first = sale(key, productId, 3).andExpect(status().isOk()).andReturn().getResponse().getContentAsString();
+		String replay = sale(key, productId, 3).andExpect(status().isOk()).andReturn().getResponse().getContentAsString();
+
+		assertEquals(first, replay);
+		mockMvc.perform(get("/api/v1/products/" + productId))
+				.andExpect(jsonPath("$.currentStock").value(7));
+	}
+
+	@Test
+	void sameKeyWithAnotherBodyIsRejected() throws Exception {
+		long productId = createProduct();
+		String key = UUID.randomUUID().toString();
+
+		sale(key, productId, 3).andExpect(status().isOk());
+		sale(key, productId, 4).andExpect(status().isUnprocessableEntity());
+
+		mockMvc.perform(get("/api/v1/products/" + productId))
+				.andExpect(jsonPath("$.currentStock").value(7));
+	}
+
+	@Test
+	void storedResponseIsReplayedByAnotherNode() {
+		String key = UUID.randomUUID().toString();
+		AtomicInteger executions = new AtomicInteger();
+
+		assertEquals("respuesta 1", node().execute(key, Map.of("amount", 3), String.class,
+				registration -> run(registration, executions, null)));
+		// Otro nodo no tiene la respuesta en caché: la encuentra al reservar la clave.
+		assertEquals("respuesta 1", node().execute(key, Map.of("amount", 3), String.class,
+				registration -> run(registration, executions, null)));
+		assertThrows(IdempotencyKeyMismatchException.class, () -> node().execute(key, Map.of("amount", 4),
+				String.class, registration -> run(registration, executions, null)));
+
+		assertEquals(1, executions.get());
+	}
+
+	@Test
+	void concurrentClaimWaitsAndReplaysTheWinner() throws Exception {
+		String key = UUID.randomUUID().toString();
+		AtomicInteger executions = new AtomicInteger();
+		CountDownLatch claimed = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+
+		CompletableFuture<String> winner = CompletableFuture.supplyAsync(() -> node().execute(key, "petición",
+				String.class, registration -> run(registration, executions, () -> {
+					claimed.countDown();
+					await(release);
+				})), nodes);
+		assertTrue(claimed.await(5, TimeUnit.SECONDS));
+
+		// El segundo nodo queda esperando en el INSERT ... ON CONFLICT hasta que el primero confirma.
+		CompletableFuture<String> loser = CompletableFuture.supplyAsync(() -> node().execute(key, "petición",
+				String.class, registration -> run(registration, executions, null)), nodes);
+		Thread.sleep(300);
+		assertFalse(loser.isDone());
+
+		release.countDown();
+		assertEquals("respuesta 1", winner.get(5, TimeUnit.SECONDS));
+		assertEquals("respuesta 1", loser.get(5, TimeUnit.SECONDS));
+		assertEquals(1, executions.get());
+	}
+
+	private IdempotencyService node() {
+		return new IdempotencyServiceImpl(repository, properties, objectMapper);
+	}
+
+	private String run(IdempotencyService.Registration<String> registration, AtomicInteger executions,
+					   Runnable afterClaim) {
+		return transactionTemplate.execute(status -> {
+			registration.claim();
+			if (afterClaim != null) {
+				afterClaim.run();
+			}
+			return registration.complete("respuesta " + executions.incrementAndGet());
+		});
+	}
+
+	private ResultActions sale(String key, long productId, int amount) throws Exception {
+		return mockMvc.perform(post("/api/v1/stock/sale")
+				.header("Idempotency-Key", key)
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"idProduct\":" + productId + ",\"amount\":" + amount + "}"));
+	}
+
+	private long createProduct() throws Exception {
+		String suffix = UUID.randomUUID().toString().substring(0, 18);
+		long categoryId = create("/api/v1/categories", "{\"name\":\"Cat " + suffix + "\"}");
+		long supplierId = create("/api/v1/suppliers", "{\"name\":\"Sup " + suffix + "\"}");
+		return create("/api/v1/products", "{\"name\":\"Prod " + suffix + "\",\"code\":\"" + suffix
+				+ "\",\"price\":5,\"currentStock\":10,\"idCategory\":" + categoryId + ",\"supplier\":" + supplierId + "}");
+	}
+
+	private long create(String path, String json) throws Exception {
+		String body = mockMvc.perform(post(path).contentType(MediaType.APPLICATION_JSON).content(json))
+				.andExpect(status().is2xxSuccessful())
+				.andReturn().getResponse().getContentAsString();
+		Matcher matcher = ID.matcher(body);
+		assertTrue(matcher.find(), "La respuesta de " + path + " no incluye el ID creado");
+		return Long.parseLong(matcher.group(1));
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			latch.await(5, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
@@ -0,0 +1,185 @@
+package org.atabero.inventory.service.impl;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.atabero.inventory.dto.product.LowStockProductResponseDTO;
+import org.atabero.inventory.engine.LowStockChangedEvent;
+import org.atabero.inventory.engine.ProductUpdatedEvent;
+import org.atabero.inventory.engine.StockChangedEvent;
+import org.atabero.inventory.model.enums.MovementType;
+import org.atabero.inventory.repository.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Comprueba que el índice de stock bajo publica un único cruce al bajar del punto de pedido y otro al recuperarse,
+ * que sigue al producto cuando cambia de categoría y que la reconstrucción deja de seguir a los productos que ya no
+ * tienen punto de pedido.
+ * <p>
+ * Cada prueba usa una instancia propia del servicio que anota los cruces publicados. Las dos primeras le pasan los
+ * eventos directamente, con IDs negativos que no existen en la base de datos.
+ * </p>
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class LowStockServiceImplTests {
+
+	private static final Pattern ID = Pattern.compile("\"id\":(\\d+)");
+
+	@Autowired
+	private ProductRepository productRepository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	private final List<LowStockChangedEvent> crossings = new CopyOnWriteArrayList<>();
+	private LowStockServiceImpl service;
+
+	@BeforeEach
+	void setUp() {
+		service = new LowStockServiceImpl(productRepository, event -> crossings.add((LowStockChangedEvent) event),
+				new SimpleMeterRegistry());
+	}
+
+	@Test
+	void crossingBelowTheReorderPointAndRecoveringPublishOneEventEach() {
+		long productId = newProductId();
+		long categoryId = newProductId();
+		service.onProductUpdated(new ProductUpdatedEvent(productId, "Tornillos", categoryId, 10, 5));
+		assertTrue(crossings.isEmpty());
+
+		stockChanged(productId, 10, 4);
+		stockChanged(productId, 4, 2);
+
+		assertEquals(1, crossings.size());
+		assertCrossing(crossings.get(0), productId, 4, true);
+		LowStockProductResponseDTO entry = find(null, productId);
+		assertEquals(2, entry.stock());
+		assertEquals(3, entry.shortage());
+
+		stockChanged(productId, 2, 5);
+
+		assertEquals(2, crossings.size());
+		assertCrossing(crossings.get(1), productId, 5, false);
+		assertFalse(contains(null, productId));
+		assertTrue(service.findLowStock(categoryId).isEmpty());
+	}
+
+	@Test
+	void productMovedToAnotherCategoryWhileLowIsListedOnlyInTheNewOne() {
+		long productId = newProductId();
+		long oldCategory = newProductId();
+		long newCategory = newProductId();
+		service.onProductUpdated(new ProductUpdatedEvent(productId, "Tuercas", oldCategory, 3, 5));
+		assertEquals(1, crossings.size());
+
+		service.onProductUpdated(new ProductUpdatedEvent(productId, "Tuercas", newCategory, 3, 5));
+
+		// Sigue por debajo: no hay un nuevo cruce, solo cambia de categoría.
+		assertEquals(1, crossings.size());
+		assertTrue(service.findLowStock(oldCategory).isEmpty());
+		assertTrue(contains(newCategory, productId));
+		assertEquals(newCategory, find(null, productId).idCategory());
+
+		stockChanged(productId, 3, 8);
+
+		assertEquals(2, crossings.size());
+		assertCrossing(crossings.get(1), productId, 8, false);
+		assertTrue(service.findLowStock(newCategory).isEmpty());
+	}
+
+	@Test
+	void resyncUntracksProductsWhoseReorderPointWasRemoved() throws Exception {
+		long productId = createProduct(4, 5);
+		long categoryId = jdbcTemplate.queryForObject("SELECT category_id FROM products WHERE id_product = ?",
+				Long.class, productId);
+
+		service.resync();
+		assertTrue(contains(categoryId, productId));
+		assertTrue(crossings.stream().anyMatch(crossing -> crossing.productId() == productId && crossing.low()));
+
+		// Otro nodo quita el punto de pedido: este nodo no recibe el evento del producto.
+		jdbcTemplate.update("UPDATE products SET reorder_point = 0 WHERE id_product = ?", productId);
+		service.resync();
+
+		assertFalse(contains(null, productId));
+		assertTrue(service.findLowStock(categoryId).isEmpty());
+		List<LowStockChangedEvent> ofProduct = crossings.stream()
+				.filter(crossing -> crossing.productId() == productId)
+				.toList();
+		assertEquals(2, ofProduct.size());
+		assertFalse(ofProduct.get(1).low());
+
+		// Sin punto de pedido, los movimientos del producto ya no lo vuelven a añadir.
+		stockChanged(productId, 4, 1);
+		assertFalse(contains(null, productId));
+		assertEquals(2, crossings.stream().filter(crossing -> crossing.productId() == productId).count());
+	}
+
+	private void stockChanged(long productId, int previous, int current) {
+		service.onStockChanged(new StockChangedEvent(productId, null, null, previous, current, MovementType.SALE,
+				LocalDateTime.now()));
+	}
+
+	private LowStockProductResponseDTO find(Long categoryId, long productId) {
+		return service.findLowStock(categoryId).stream()
+				.filter(entry -> entry.id() == productId)
+				.findFirst()
+				.orElseThrow();
+	}
+
+	private boolean contains(Long categoryId, long productId) {
+		return service.findLowStock(categoryId).stream().anyMatch(entry -> entry.id() == productId);
+	}
+
+	private static void assertCrossing(LowStockChangedEvent crossing, long productId, int stock, boolean low) {
+		assertEquals(productId, crossing.productId());
+		assertEquals(stock, crossing.stock());
+		assertEquals(low, crossing.low());
+	}
+
+	private long createProduct(int stock, int reorderPoint) throws Exception {
+		String suffix = UUID.randomUUID().toString().substring(0, 18);
+		long categoryId = create("/api/v1/categories", "{\"name\":\"Cat " + suffix + "\"}");
+		long supplierId = create("/api/v1/suppliers", "{\"name\":\"Sup " + suffix + "\"}");
+		return create("/api/v1/products", "{\"name\":\"Prod " + suffix + "\",\"code\":\"" + suffix
+				+ "\",\"price\":5,\"currentStock\":" + stock + ",\"reorderPoint\":" + reorderPoint
+				+ ",\"idCategory\":" + categoryId + ",\"supplier\":" + supplierId + "}");
+	}
+
+	private long create(String path, String json) throws Exception {
+		String body = mockMvc.perform(post(path).contentType(MediaType.APPLICATION_JSON).content(json))
+				.andExpect(status().is2xxSuccessful())
+				.andReturn().getResponse().getContentAsString();
+		Matcher matcher = ID.matcher(body);
+		assertTrue(matcher.find(), "La respuesta de " + path + " no incluye el ID creado");
+		return Long.parseLong(matcher.group(1));
+	}
+
+	private static long newProductId() {
+		// Fuera del rango de los productos reales.
+		return -ThreadLocalRandom.current().nextLong(1, Long.MAX_VALUE);
+	}
+}
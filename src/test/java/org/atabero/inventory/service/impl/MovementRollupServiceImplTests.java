@@ -0,0 +1,231 @@
+package org.atabero.inventory.service.impl;
+
+import org.atabero.inventory.dto.report.RollupBackfillResponseDTO;
+import org.atabero.inventory.exception.report.InvalidReportRangeException;
+import org.atabero.inventory.service.MovementRollupService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Comprueba que el recálculo de los acumulados diarios da el mismo resultado que el disparador y que solo el día en
+ * curso espera a las inserciones pendientes en {@code movement_logs}.
+ * <p>
+ * Los movimientos se insertan directamente en {@code movement_logs}, como hacen los lotes JDBC. Los días cerrados
+ * se eligen al azar en el pasado, de modo que el recálculo solo encuentra los movimientos de la prueba.
+ * </p>
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class MovementRollupServiceImplTests {
+
+	private static final Pattern ID = Pattern.compile("\"id\":(\\d+)");
+
+	@Autowired
+	private MovementRollupService movementRollupService;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	private final ExecutorService otherNode = Executors.newFixedThreadPool(2);
+
+	@AfterEach
+	void shutdown() {
+		otherNode.shutdownNow();
+	}
+
+	@Test
+	void backfillRebuildsWhatTheTriggerWrote() throws Exception {
+		long productId = createProduct();
+		LocalDate day = pastDay();
+		LocalDateTime at = day.atTime(10, 0);
+
+		insertMovements(productId, at, "SALE", -2, "SALE", -3, "PURCHASE", 10);
+		insertFailedMovement(productId, at.plusHours(1));
+		Map<String, List<Long>> byTrigger = rollups(productId, day);
+		assertEquals(Map.of("PURCHASE", List.of(1L, 10L), "SALE", List.of(2L, -5L)), byTrigger);
+
+		jdbcTemplate.update("UPDATE movement_daily_rollups SET movements = 99, quantity = 99 WHERE product_id = ?"
+				+ " AND day = ? AND movement_type = 'SALE'", productId, day);
+		jdbcTemplate.update("DELETE FROM movement_daily_rollups WHERE product_id = ? AND day = ?"
+				+ " AND movement_type = 'PURCHASE'", productId, day);
+		RollupBackfillResponseDTO result = movementRollupService.backfill(day, day.plusDays(1));
+
+		assertEquals(1, result.days());
+		assertEquals(2, result.rows());
+		assertEquals(byTrigger, rollups(productId, day));
+	}
+
+	@Test
+	void closedDayIsRebuiltWithoutWaitingForPendingInserts() throws Exception {
+		long productId = createProduct();
+		LocalDate day = pastDay();
+		insertMovements(productId, day.atTime(9, 0), "SALE", -1);
+		CountDownLatch release = new CountDownLatch(1);
+		CompletableFuture<Void> pending = insertAndHold(productId, release);
+
+		try {
+			CompletableFuture<RollupBackfillResponseDTO> backfill = CompletableFuture.supplyAsync(
+					() -> movementRollupService.backfill(day, day.plusDays(1)), otherNode);
+			assertEquals(1, backfill.get(5, TimeUnit.SECONDS).days());
+		} finally {
+			release.countDown();
+		}
+		pending.get(5, TimeUnit.SECONDS);
+		assertEquals(Map.of("SALE", List.of(1L, -1L)), rollups(productId, day));
+	}
+
+	@Test
+	void openDayWaitsForPendingInsertsAndIncludesThem() throws Exception {
+		long productId = createProduct();
+		long pendingProductId = createProduct();
+		LocalDate today = LocalDate.now();
+		insertMovements(productId, LocalDateTime.now(), "SALE", -1);
+		CountDownLatch release = new CountDownLatch(1);
+		// Otro producto, para que el recálculo no espere por el bloqueo de la fila de acumulados del primero.
+		CompletableFuture<Void> pending = insertAndHold(pendingProductId, release);
+
+		// El bloqueo SHARE del día en curso espera a que la inserción pendiente termine.
+		CompletableFuture<RollupBackfillResponseDTO> backfill = CompletableFuture.supplyAsync(
+				() -> movementRollupService.backfill(today, today.plusDays(1)), otherNode);
+		Thread.sleep(300);
+		assertFalse(backfill.isDone());
+
+		release.countDown();
+		pending.get(5, TimeUnit.SECONDS);
+		backfill.get(10, TimeUnit.SECONDS);
+
+		// El recálculo ve la inserción confirmada sin sumarla dos veces.
+		assertEquals(Map.of("SALE", List.of(1L, -1L)), rollups(productId, today));
+		assertEquals(Map.of("SALE", List.of(1L, -2L)), rollups(pendingProductId, today));
+		assertEquals(fromMovements(pendingProductId, today), rollups(pendingProductId, today));
+	}
+
+	@Test
+	void emptyRangeIsRejected() {
+		LocalDate day = pastDay();
+
+		assertThrows(InvalidReportRangeException.class, () -> movementRollupService.backfill(day, day));
+	}
+
+	/**
+	 * Inserta en otro hilo un movimiento de hoy y mantiene la transacción abierta hasta {@code release}.
+	 */
+	private CompletableFuture<Void> insertAndHold(long productId, CountDownLatch release) throws InterruptedException {
+		CountDownLatch inserted = new CountDownLatch(1);
+		CompletableFuture<Void> pending = CompletableFuture.runAsync(() -> transactionTemplate.executeWithoutResult(
+				status -> {
+					insertMovements(productId, LocalDateTime.now(), "SALE", -2);
+					inserted.countDown();
+					await(release);
+				}), otherNode);
+		assertTrue(inserted.await(5, TimeUnit.SECONDS));
+		return pending;
+	}
+
+	/**
+	 * Inserta en una sola sentencia los movimientos exitosos indicados como pares de tipo y cantidad.
+	 */
+	private void insertMovements(long productId, LocalDateTime at, Object... typesAndQuantities) {
+		StringBuilder sql = new StringBuilder("INSERT INTO movement_logs (id, movement_type, quantity_change,"
+				+ " operation_status, timestamp, product_id) VALUES ");
+		List<Object> parameters = new ArrayList<>();
+		for (int i = 0; i < typesAndQuantities.length; i += 2) {
+			sql.append(i == 0 ? "" : ", ").append("(?, ?, ?, 'SUCCESS', ?, ?)");
+			parameters.addAll(List.of(UUID.randomUUID(), typesAndQuantities[i], typesAndQuantities[i + 1],
+					Timestamp.valueOf(at), productId));
+		}
+		jdbcTemplate.update(sql.toString(), parameters.toArray());
+	}
+
+	private void insertFailedMovement(long productId, LocalDateTime at) {
+		jdbcTemplate.update("INSERT INTO movement_logs (id, movement_type, quantity_change, operation_status,"
+				+ " timestamp, product_id) VALUES (?, 'SALE', -7, 'ERROR', ?, ?)",
+				UUID.randomUUID(), Timestamp.valueOf(at), productId);
+	}
+
+	private Map<String, List<Long>> rollups(long productId, LocalDate day) {
+		return rows("SELECT movement_type, movements, quantity FROM movement_daily_rollups"
+				+ " WHERE product_id = ? AND day = ?", productId, day);
+	}
+
+	private Map<String, List<Long>> fromMovements(long productId, LocalDate day) {
+		return rows("SELECT movement_type, COUNT(*) AS movements, SUM(quantity_change) AS quantity FROM movement_logs"
+				+ " WHERE product_id = ? AND CAST(timestamp AS date) = ? AND operation_status = 'SUCCESS'"
+				+ " GROUP BY movement_type", productId, day);
+	}
+
+	private Map<String, List<Long>> rows(String sql, long productId, LocalDate day) {
+		Map<String, List<Long>> rows = new TreeMap<>();
+		jdbcTemplate.query(sql, resultSet -> {
+			rows.put(resultSet.getString(1), List.of(resultSet.getLong(2), resultSet.getLong(3)));
+		}, productId, day);
+		return rows;
+	}
+
+	private long createProduct() throws Exception {
+		String suffix = UUID.randomUUID().toString().substring(0, 18);
+		long categoryId = create("/api/v1/categories", "{\"name\":\"Cat " + suffix + "\"}");
+		long supplierId = create("/api/v1/suppliers", "{\"name\":\"Sup " + suffix + "\"}");
+		return create("/api/v1/products", "{\"name\":\"Prod " + suffix + "\",\"code\":\"" + suffix
+				+ "\",\"price\":5,\"currentStock\":10,\"idCategory\":" + categoryId + ",\"supplier\":" + supplierId + "}");
+	}
+
+	private long create(String path, String json) throws Exception {
+		String body = mockMvc.perform(post(path).contentType(MediaType.APPLICATION_JSON).content(json))
+				.andExpect(status().is2xxSuccessful())
+				.andReturn().getResponse().getContentAsString();
+		Matcher matcher = ID.matcher(body);
+		assertTrue(matcher.find(), "La respuesta de " + path + " no incluye el ID creado");
+		return Long.parseLong(matcher.group(1));
+	}
+
+	private static LocalDate pastDay() {
+		// Un día cualquiera de 1990 a 2019, anterior a cualquier movimiento real.
+		return LocalDate.of(1990, 1, 1).plusDays(ThreadLocalRandom.current().nextInt(30 * 365));
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			latch.await(5, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
@@ -0,0 +1,179 @@
+package org.atabero.inventory.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.atabero.inventory.config.OutboxProperties;
+import org.atabero.inventory.dto.outbox.OutboxMessageDTO;
+import org.atabero.inventory.model.enums.OutboxEventType;
+import org.atabero.inventory.repository.OutboxEventRepository;
+import org.atabero.inventory.service.OutboxService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Comprueba que la bandeja de salida solo entrega eventos confirmados y que no adelanta los eventos de un producto
+ * cuando otro nodo tiene reservado uno anterior.
+ * <p>
+ * El repetidor de la prueba es una instancia propia con un destino que anota los mensajes. Los repetidores de la
+ * aplicación pueden seguir activos, así que las comprobaciones se hacen sobre el estado de cada evento en la base
+ * de datos y sobre agregados que solo usa esta prueba.
+ * </p>
+ */
+@SpringBootTest
+class OutboxServiceImplTests {
+
+	@Autowired
+	private OutboxService outboxService;
+
+	@Autowired
+	private OutboxEventRepository repository;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Autowired
+	private OutboxProperties properties;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	private final List<OutboxMessageDTO> delivered = new CopyOnWriteArrayList<>();
+	private final ExecutorService otherNode = Executors.newSingleThreadExecutor();
+
+	@AfterEach
+	void shutdown() {
+		otherNode.shutdownNow();
+	}
+
+	@Test
+	void eventsOfRolledBackTransactionsAreNeverRelayed() {
+		long aggregateId = newAggregateId();
+
+		transactionTemplate.executeWithoutResult(status -> {
+			outboxService.record(OutboxEventType.STOCK_CHANGED, aggregateId, Map.of("stock", 1));
+			status.setRollbackOnly();
+		});
+		relay().relay();
+
+		assertEquals(0, eventIds(aggregateId).size());
+		assertTrue(delivered.stream().noneMatch(message -> message.aggregateId() == aggregateId));
+	}
+
+	@Test
+	void eventsCannotBeRecordedOutsideATransaction() {
+		assertThrows(IllegalStateException.class,
+				() -> outboxService.record(OutboxEventType.STOCK_CHANGED, newAggregateId(), Map.of("stock", 1)));
+	}
+
+	@Test
+	void laterEventsWaitWhileAnEarlierOneIsHeldElsewhere() throws Exception {
+		long held = newAggregateId();
+		long free = newAggregateId();
+		transactionTemplate.executeWithoutResult(status -> {
+			for (int i = 1; i <= 3; i++) {
+				outboxService.record(OutboxEventType.STOCK_CHANGED, held, Map.of("stock", i));
+			}
+			outboxService.record(OutboxEventType.STOCK_CHANGED, free, Map.of("stock", 1));
+		});
+		List<Long> heldIds = eventIds(held);
+		long freeId = eventIds(free).get(0);
+
+		// Otro nodo reserva el primer evento del producto y aún no lo ha entregado.
+		CountDownLatch locked = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		CompletableFuture<Void> otherRelay = CompletableFuture.runAsync(() -> transactionTemplate.executeWithoutResult(
+				status -> {
+					jdbcTemplate.queryForList("SELECT id FROM outbox_events WHERE id = ? FOR UPDATE", heldIds.get(0));
+					locked.countDown();
+					await(release);
+				}), otherNode);
+		assertTrue(locked.await(5, TimeUnit.SECONDS));
+
+		// El evento del otro producto sale aunque lo entregue el repetidor de la aplicación.
+		OutboxService relay = relay();
+		awaitPublished(relay, List.of(freeId));
+
+		for (Long id : heldIds) {
+			assertNull(publishedAt(id), "se adelantó el evento " + id);
+		}
+		assertFalse(delivered.stream().anyMatch(message -> message.aggregateId() == held));
+
+		release.countDown();
+		otherRelay.get(5, TimeUnit.SECONDS);
+		awaitPublished(relay, heldIds);
+
+		List<Long> relayedHere = delivered.stream()
+				.filter(message -> message.aggregateId() == held)
+				.map(OutboxMessageDTO::id)
+				.toList();
+		// Parte de los eventos puede entregarla otro repetidor, pero los de aquí salen en orden.
+		assertEquals(relayedHere.stream().sorted().toList(), relayedHere);
+		for (int i = 1; i < heldIds.size(); i++) {
+			assertFalse(publishedAt(heldIds.get(i)).before(publishedAt(heldIds.get(i - 1))));
+		}
+	}
+
+	private OutboxService relay() {
+		return new OutboxServiceImpl(repository, delivered::addAll, objectMapper, properties, transactionManager,
+				new SimpleMeterRegistry());
+	}
+
+	private void awaitPublished(OutboxService relay, List<Long> ids) throws InterruptedException {
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+		while (ids.stream().anyMatch(id -> publishedAt(id) == null)) {
+			assertTrue(System.nanoTime() < deadline, "los eventos no llegaron a publicarse");
+			relay.relay();
+			Thread.sleep(20);
+		}
+	}
+
+	private List<Long> eventIds(long aggregateId) {
+		return jdbcTemplate.queryForList("SELECT id FROM outbox_events WHERE aggregate_id = ? ORDER BY id",
+				Long.class, aggregateId);
+	}
+
+	private Timestamp publishedAt(long id) {
+		return jdbcTemplate.queryForObject("SELECT published_at FROM outbox_events WHERE id = ?", Timestamp.class, id);
+	}
+
+	private static long newAggregateId() {
+		// Fuera del rango de los productos reales, para no mezclarse con sus eventos.
+		return -ThreadLocalRandom.current().nextLong(1, Long.MAX_VALUE);
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			latch.await(5, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
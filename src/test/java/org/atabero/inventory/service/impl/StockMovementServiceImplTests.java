@@ -0,0 +1,87 @@
+package org.atabero.inventory.service.impl;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Comprueba que cada resultado de las reglas de movimiento se traduce en su propio error: una salida rechazada no
+ * se informa como una reposición rechazada.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class StockMovementServiceImplTests {
+
+	private static final Pattern ID = Pattern.compile("\"id\":(\\d+)");
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	private long productId;
+
+	@BeforeEach
+	void createProduct() throws Exception {
+		String suffix = UUID.randomUUID().toString().substring(0, 18);
+		long categoryId = create("/api/v1/categories", "{\"name\":\"Cat " + suffix + "\"}");
+		long supplierId = create("/api/v1/suppliers", "{\"name\":\"Sup " + suffix + "\"}");
+		productId = create("/api/v1/products", "{\"name\":\"Prod " + suffix + "\",\"code\":\"" + suffix
+				+ "\",\"price\":5,\"currentStock\":10,\"idCategory\":" + categoryId + ",\"supplier\":" + supplierId + "}");
+	}
+
+	@Test
+	void exitFromInactiveProductIsRejectedAsAnExit() throws Exception {
+		setStatus("INACTIVE");
+
+		movement("sale", 1)
+				.andExpect(status().isBadRequest())
+				.andExpect(jsonPath("$.error").value("No se permite retirar stock"));
+	}
+
+	@Test
+	void entryToDiscontinuedProductIsRejectedAsAReplenishment() throws Exception {
+		setStatus("DISCONTINUED");
+
+		movement("purchase", 1)
+				.andExpect(status().isBadRequest())
+				.andExpect(jsonPath("$.error").value("No se permite reponer el stock"));
+		movement("sale", 1).andExpect(status().isOk());
+	}
+
+	private void setStatus(String status) {
+		// La API no permite cambiar el estado de un producto con stock.
+		jdbcTemplate.update("UPDATE products SET status = ? WHERE id_product = ?", status, productId);
+	}
+
+	private ResultActions movement(String type, int amount) throws Exception {
+		return mockMvc.perform(post("/api/v1/stock/" + type)
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"idProduct\":" + productId + ",\"amount\":" + amount + "}"));
+	}
+
+	private long create(String path, String json) throws Exception {
+		String body = mockMvc.perform(post(path).contentType(MediaType.APPLICATION_JSON).content(json))
+				.andExpect(status().is2xxSuccessful())
+				.andReturn().getResponse().getContentAsString();
+		Matcher matcher = ID.matcher(body);
+		assertTrue(matcher.find(), "La respuesta de " + path + " no incluye el ID creado");
+		return Long.parseLong(matcher.group(1));
+	}
+}
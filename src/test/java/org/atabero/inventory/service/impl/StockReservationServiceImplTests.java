@@ -0,0 +1,119 @@
+package org.atabero.inventory.service.impl;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Comprueba las condiciones para reservar stock. Las reservas y el stock fragmentado no conviven: una venta sobre un
+ * producto fragmentado no mira el stock reservado, así que nunca debe haber stock reservado en él.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class StockReservationServiceImplTests {
+
+	private static final Pattern ID = Pattern.compile("\"id\":\"?([^\",]+)\"?");
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	private long productId;
+
+	@BeforeEach
+	void createProduct() throws Exception {
+		String suffix = UUID.randomUUID().toString().substring(0, 18);
+		String categoryId = create("/api/v1/categories", "{\"name\":\"Cat " + suffix + "\"}");
+		String supplierId = create("/api/v1/suppliers", "{\"name\":\"Sup " + suffix + "\"}");
+		productId = Long.parseLong(create("/api/v1/products", "{\"name\":\"Prod " + suffix + "\",\"code\":\"" + suffix
+				+ "\",\"price\":5,\"currentStock\":10,\"idCategory\":" + categoryId + ",\"supplier\":" + supplierId + "}"));
+	}
+
+	@Test
+	void shardedProductRejectsReservations() throws Exception {
+		sharding(true).andExpect(status().is2xxSuccessful());
+
+		reserve(3).andExpect(status().isConflict());
+
+		// No queda nada reservado: se puede vender todo el stock.
+		sale(10).andExpect(status().is2xxSuccessful());
+	}
+
+	@Test
+	void saleCannotConsumeHeldStockOnceShardingIsRequested() throws Exception {
+		String reservationId = create("/api/v1/stock/reservations",
+				"{\"idProduct\":" + productId + ",\"quantity\":8}");
+
+		// El producto no pasa a fragmentado mientras tenga stock reservado.
+		sharding(true).andExpect(status().isConflict());
+
+		sale(5).andExpect(status().isBadRequest());
+		sale(2).andExpect(status().is2xxSuccessful());
+		mockMvc.perform(post("/api/v1/stock/reservations/" + reservationId + "/confirm"))
+				.andExpect(status().is2xxSuccessful());
+
+		mockMvc.perform(get("/api/v1/products/" + productId))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.currentStock").value(0))
+				.andExpect(jsonPath("$.availableStock").value(0));
+
+		// Sin reservas ya puede fragmentarse.
+		sharding(true).andExpect(status().is2xxSuccessful());
+	}
+
+	@Test
+	void reservationOnInactiveProductIsRejectedAsAnExit() throws Exception {
+		// La API no permite cambiar el estado de un producto con stock.
+		jdbcTemplate.update("UPDATE products SET status = 'INACTIVE' WHERE id_product = ?", productId);
+
+		reserve(1)
+				.andExpect(status().isBadRequest())
+				.andExpect(jsonPath("$.error").value("No se permite retirar stock"));
+	}
+
+	private ResultActions sharding(boolean enabled) throws Exception {
+		return mockMvc.perform(put("/api/v1/products/" + productId + "/stock-sharding")
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"enabled\":" + enabled + ",\"shards\":4}"));
+	}
+
+	private ResultActions reserve(int quantity) throws Exception {
+		return mockMvc.perform(post("/api/v1/stock/reservations")
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"idProduct\":" + productId + ",\"quantity\":" + quantity + "}"));
+	}
+
+	private ResultActions sale(int amount) throws Exception {
+		return mockMvc.perform(post("/api/v1/stock/sale")
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"idProduct\":" + productId + ",\"amount\":" + amount + "}"));
+	}
+
+	private String create(String path, String json) throws Exception {
+		String body = mockMvc.perform(post(path).contentType(MediaType.APPLICATION_JSON).content(json))
+				.andExpect(status().is2xxSuccessful())
+				.andReturn().getResponse().getContentAsString();
+		Matcher matcher = ID.matcher(body);
+		assertTrue(matcher.find(), "La respuesta de " + path + " no incluye el ID creado");
+		return matcher.group(1);
+	}
+}
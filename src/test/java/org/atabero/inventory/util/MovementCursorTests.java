@@ -0,0 +1,81 @@
+package org.atabero.inventory.util;
+
+import org.atabero.inventory.exception.ApiError;
+import org.atabero.inventory.exception.handler.PaginationExceptionHandler;
+import org.atabero.inventory.exception.pagination.InvalidPageRequestException;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Comprueba la codificación del cursor del historial de movimientos y el rechazo de cursores no válidos.
+ */
+class MovementCursorTests {
+
+	@Test
+	void encodedCursorDecodesToTheSamePosition() {
+		MovementCursor cursor = new MovementCursor(LocalDateTime.of(2026, 10, 18, 15, 4, 5, 123_456_789),
+				UUID.randomUUID());
+
+		assertEquals(cursor, MovementCursor.decode(cursor.encode()));
+	}
+
+	@Test
+	void cursorOnAWholeMinuteRoundTrips() {
+		// LocalDateTime omite los segundos a cero al convertirse en texto.
+		MovementCursor cursor = new MovementCursor(LocalDateTime.of(2026, 1, 1, 0, 0), UUID.randomUUID());
+
+		assertEquals(cursor, MovementCursor.decode(cursor.encode()));
+	}
+
+	@Test
+	void encodedCursorIsUrlSafe() {
+		String encoded = new MovementCursor(LocalDateTime.now(), UUID.randomUUID()).encode();
+
+		assertEquals(encoded, encoded.replaceAll("[^A-Za-z0-9_-]", ""));
+	}
+
+	@Test
+	void rejectsCursorThatIsNotBase64() {
+		assertThrows(InvalidPageRequestException.class, () -> MovementCursor.decode("no es base64!"));
+	}
+
+	@Test
+	void rejectsGarbage() {
+		assertThrows(InvalidPageRequestException.class, () -> MovementCursor.decode(encode("basura")));
+		assertThrows(InvalidPageRequestException.class, () -> MovementCursor.decode(""));
+	}
+
+	@Test
+	void rejectsCursorWithWrongFormat() {
+		assertThrows(InvalidPageRequestException.class, () -> MovementCursor.decode(encode("x|y")));
+		assertThrows(InvalidPageRequestException.class,
+				() -> MovementCursor.decode(encode("2026-10-18T15:04:05|no-es-un-uuid")));
+		assertThrows(InvalidPageRequestException.class,
+				() -> MovementCursor.decode(encode("2026-10-18T15:04:05|" + UUID.randomUUID() + "|extra")));
+	}
+
+	@Test
+	void invalidCursorIsABadRequest() {
+		InvalidPageRequestException ex = assertThrows(InvalidPageRequestException.class,
+				() -> MovementCursor.decode(encode("x|y")));
+
+		ResponseEntity<ApiError> response = new PaginationExceptionHandler()
+				.handleInvalidPageRequest(ex, new MockHttpServletRequest("GET", "/api/v1/stock/movements"));
+
+		assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+	}
+
+	private static String encode(String value) {
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+	}
+}